@@ -54,6 +54,7 @@ object Libraries {
         const val apacheCommonsText = "1.8"
         const val asm = "7.2"
         const val commonsCli = "1.4"
+        const val compileTesting = "0.18"
         const val discord = "1.1"
         const val fernflower = "07082019"
         const val findbugs = "3.0.2"
@@ -107,6 +108,7 @@ object Libraries {
     const val asmAll = "org.ow2.asm:asm:${Versions.asm}"
     const val asmUtil = "org.ow2.asm:asm-util:${Versions.asm}"
     const val commonsCli = "commons-cli:commons-cli:${Versions.commonsCli}"
+    const val compileTesting = "com.google.testing.compile:compile-testing:${Versions.compileTesting}"
     const val discord = "net.runelite:discord:${Versions.discord}"
     const val fernflower = "net.runelite:fernflower:${Versions.fernflower}"
     const val findbugs = "com.google.code.findbugs:jsr305:${Versions.findbugs}"
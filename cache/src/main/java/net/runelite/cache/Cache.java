@@ -26,7 +26,11 @@ package net.runelite.cache;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
 import net.runelite.cache.fs.Store;
+import net.runelite.cache.fs.flat.FlatStorage;
+import net.runelite.cache.util.ParallelDumper;
 import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.CommandLineParser;
 import org.apache.commons.cli.DefaultParser;
@@ -46,6 +50,12 @@ public class Cache
 		options.addOption(null, "objects", true, "directory to dump objects to");
 		options.addOption(null, "sprites", true, "directory to dump sprites to");
 
+		options.addOption(null, "threads", true, "decode and dump in parallel on this many threads");
+		options.addOption(null, "format", true, "dump format: files, ndjson or zip (implies parallel)");
+
+		options.addOption(null, "flatcache", true, "convert the flat cache directory given by --cache into this directory");
+		options.addOption(null, "binary", false, "write the binary flat cache format");
+
 		CommandLineParser parser = new DefaultParser();
 		CommandLine cmd;
 		try
@@ -61,6 +71,44 @@ public class Cache
 
 		String cache = cmd.getOptionValue("cache");
 
+		if (cmd.hasOption("flatcache"))
+		{
+			String flatdir = cmd.getOptionValue("flatcache");
+			boolean binary = cmd.hasOption("binary");
+
+			if (cache == null || !FlatStorage.isFlatCache(new File(cache)))
+			{
+				System.err.println("Cache base must be a flat cache directory to convert");
+				System.exit(-1);
+				return;
+			}
+
+			System.out.println("Converting flat cache " + cache + " to " + (binary ? "binary" : "text") + " in " + flatdir);
+			FlatStorage.convert(new File(cache), new File(flatdir), binary);
+			return;
+		}
+
+		ForkJoinPool pool = null;
+		ParallelDumper.Format format = ParallelDumper.Format.FILES;
+		if (cmd.hasOption("threads") || cmd.hasOption("format"))
+		{
+			try
+			{
+				int threads = cmd.hasOption("threads") ? Integer.parseInt(cmd.getOptionValue("threads")) : Runtime.getRuntime().availableProcessors();
+				if (cmd.hasOption("format"))
+				{
+					format = ParallelDumper.Format.valueOf(cmd.getOptionValue("format").toUpperCase(Locale.ROOT));
+				}
+				pool = new ForkJoinPool(threads);
+			}
+			catch (IllegalArgumentException ex)
+			{
+				System.err.println("Invalid parallel dump options: " + ex.getMessage());
+				System.exit(-1);
+				return;
+			}
+		}
+
 		Store store = loadStore(cache);
 
 		if (cmd.hasOption("items"))
@@ -74,7 +122,7 @@ public class Cache
 			}
 
 			System.out.println("Dumping items to " + itemdir);
-			dumpItems(store, new File(itemdir));
+			dumpItems(store, new File(itemdir), format, pool);
 		}
 		else if (cmd.hasOption("npcs"))
 		{
@@ -87,7 +135,7 @@ public class Cache
 			}
 
 			System.out.println("Dumping npcs to " + npcdir);
-			dumpNpcs(store, new File(npcdir));
+			dumpNpcs(store, new File(npcdir), format, pool);
 		}
 		else if (cmd.hasOption("objects"))
 		{
@@ -100,7 +148,7 @@ public class Cache
 			}
 
 			System.out.println("Dumping objects to " + objectdir);
-			dumpObjects(store, new File(objectdir));
+			dumpObjects(store, new File(objectdir), format, pool);
 		}
 		else if (cmd.hasOption("sprites"))
 		{
@@ -113,12 +161,17 @@ public class Cache
 			}
 
 			System.out.println("Dumping sprites to " + spritedir);
-			dumpSprites(store, new File(spritedir));
+			dumpSprites(store, new File(spritedir), format, pool);
 		}
 		else
 		{
 			System.err.println("Nothing to do");
 		}
+
+		if (pool != null)
+		{
+			pool.shutdown();
+		}
 	}
 
 	private static Store loadStore(String cache) throws IOException
@@ -128,34 +181,66 @@ public class Cache
 		return store;
 	}
 
-	private static void dumpItems(Store store, File itemdir) throws IOException
+	private static void dumpItems(Store store, File itemdir, ParallelDumper.Format format, ForkJoinPool pool) throws IOException
 	{
 		ItemManager dumper = new ItemManager(store);
-		dumper.load();
-		dumper.export(itemdir);
+		if (pool != null)
+		{
+			dumper.load(pool);
+			dumper.export(itemdir, format, pool);
+		}
+		else
+		{
+			dumper.load();
+			dumper.export(itemdir);
+		}
 		dumper.java(itemdir);
 	}
 
-	private static void dumpNpcs(Store store, File npcdir) throws IOException
+	private static void dumpNpcs(Store store, File npcdir, ParallelDumper.Format format, ForkJoinPool pool) throws IOException
 	{
 		NpcManager dumper = new NpcManager(store);
-		dumper.load();
-		dumper.dump(npcdir);
+		if (pool != null)
+		{
+			dumper.load(pool);
+			dumper.dump(npcdir, format, pool);
+		}
+		else
+		{
+			dumper.load();
+			dumper.dump(npcdir);
+		}
 		dumper.java(npcdir);
 	}
 
-	private static void dumpObjects(Store store, File objectdir) throws IOException
+	private static void dumpObjects(Store store, File objectdir, ParallelDumper.Format format, ForkJoinPool pool) throws IOException
 	{
 		ObjectManager dumper = new ObjectManager(store);
-		dumper.load();
-		dumper.dump(objectdir);
+		if (pool != null)
+		{
+			dumper.load(pool);
+			dumper.dump(objectdir, format, pool);
+		}
+		else
+		{
+			dumper.load();
+			dumper.dump(objectdir);
+		}
 		dumper.java(objectdir);
 	}
 
-	private static void dumpSprites(Store store, File spritedir) throws IOException
+	private static void dumpSprites(Store store, File spritedir, ParallelDumper.Format format, ForkJoinPool pool) throws IOException
 	{
 		SpriteManager dumper = new SpriteManager(store);
-		dumper.load();
-		dumper.export(spritedir);
+		if (pool != null)
+		{
+			dumper.load(pool);
+			dumper.export(spritedir, format, pool);
+		}
+		else
+		{
+			dumper.load();
+			dumper.export(spritedir);
+		}
 	}
 }
@@ -51,8 +51,7 @@ public class HeightMapDumper
 	public void load() throws IOException
 	{
 		regionLoader = new RegionLoader(store);
-		regionLoader.loadRegions();
-		regionLoader.calculateBounds();
+		regionLoader.scanRegions();
 	}
 
 	public BufferedImage drawHeightMap(int z)
@@ -81,7 +80,7 @@ public class HeightMapDumper
 		int max = Integer.MIN_VALUE;
 		int min = Integer.MAX_VALUE;
 
-		for (Region region : regionLoader.getRegions())
+		for (Region region : regionLoader.streamRegions())
 		{
 			int baseX = region.getBaseX();
 			int baseY = region.getBaseY();
@@ -30,7 +30,9 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
 import net.runelite.cache.definitions.ItemDefinition;
+import net.runelite.cache.definitions.columnar.DefinitionStore;
 import net.runelite.cache.definitions.exporters.ItemExporter;
 import net.runelite.cache.definitions.loaders.ItemLoader;
 import net.runelite.cache.definitions.providers.ItemProvider;
@@ -41,6 +43,7 @@ import net.runelite.cache.fs.Index;
 import net.runelite.cache.fs.Storage;
 import net.runelite.cache.fs.Store;
 import net.runelite.cache.util.IDClass;
+import net.runelite.cache.util.ParallelDumper;
 
 public class ItemManager implements ItemProvider
 {
@@ -56,12 +59,7 @@ public class ItemManager implements ItemProvider
 	{
 		ItemLoader loader = new ItemLoader();
 
-		Storage storage = store.getStorage();
-		Index index = store.getIndex(IndexType.CONFIGS);
-		Archive archive = index.getArchive(ConfigType.ITEM.getId());
-
-		byte[] archiveData = storage.loadArchive(archive);
-		ArchiveFiles files = archive.getFiles(archiveData);
+		ArchiveFiles files = loadFiles();
 
 		for (FSFile f : files.getFiles())
 		{
@@ -70,6 +68,26 @@ public class ItemManager implements ItemProvider
 		}
 	}
 
+	/**
+	 * Decode the item definitions in parallel on the given pool
+	 */
+	public void load(ForkJoinPool pool) throws IOException
+	{
+		ItemLoader loader = new ItemLoader();
+
+		items.putAll(ParallelDumper.decode(pool, loadFiles().getFiles(), loader::load));
+	}
+
+	private ArchiveFiles loadFiles() throws IOException
+	{
+		Storage storage = store.getStorage();
+		Index index = store.getIndex(IndexType.CONFIGS);
+		Archive archive = index.getArchive(ConfigType.ITEM.getId());
+
+		byte[] archiveData = storage.loadArchive(archive);
+		return archive.getFiles(archiveData);
+	}
+
 	public Collection<ItemDefinition> getItems()
 	{
 		return Collections.unmodifiableCollection(items.values());
@@ -93,6 +111,19 @@ public class ItemManager implements ItemProvider
 		}
 	}
 
+	public void export(File out, ParallelDumper.Format format, ForkJoinPool pool) throws IOException
+	{
+		ParallelDumper.export(pool, out, "items", format, items.values(), def -> def.id + ".json", ParallelDumper.json(format));
+	}
+
+	/**
+	 * Pack the loaded item definitions into a compact, read-only columnar store
+	 */
+	public DefinitionStore<ItemDefinition> toDefinitionStore()
+	{
+		return DefinitionStore.build(ItemDefinition.class, items.values());
+	}
+
 	public void java(File java) throws IOException
 	{
 		java.mkdirs();
@@ -29,6 +29,7 @@ import java.awt.Graphics2D;
 import java.awt.Image;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.HashMap;
 import java.util.Map;
 import lombok.Getter;
@@ -146,6 +147,20 @@ public class MapImageDumper
 
 	public BufferedImage drawRegion(Region region, int z)
 	{
+		// neighbouring regions are needed for blending. Regions drawn in column
+		// order, as from streamRegions(), keep using the window already loaded
+		if (!regionLoader.isWindowLoaded(region.getRegionID()))
+		{
+			try
+			{
+				regionLoader.loadWindow(region.getRegionID());
+			}
+			catch (IOException ex)
+			{
+				throw new UncheckedIOException(ex);
+			}
+		}
+
 		int pixelsX = Region.X * MAP_SCALE;
 		int pixelsY = Region.Y * MAP_SCALE;
 
@@ -192,7 +207,7 @@ public class MapImageDumper
 
 	private void drawMap(BufferedImage image, int z)
 	{
-		for (Region region : regionLoader.getRegions())
+		for (Region region : regionLoader.streamRegions())
 		{
 			int baseX = region.getBaseX();
 			int baseY = region.getBaseY();
@@ -692,7 +707,7 @@ public class MapImageDumper
 
 	private void drawObjects(BufferedImage image, int z)
 	{
-		for (Region region : regionLoader.getRegions())
+		for (Region region : regionLoader.streamRegions())
 		{
 			int baseX = region.getBaseX();
 			int baseY = region.getBaseY();
@@ -736,7 +751,7 @@ public class MapImageDumper
 	private void drawMapIcons(BufferedImage image, int z)
 	{
 		// map icons
-		for (Region region : regionLoader.getRegions())
+		for (Region region : regionLoader.streamRegions())
 		{
 			int baseX = region.getBaseX();
 			int baseY = region.getBaseY();
@@ -894,8 +909,7 @@ public class MapImageDumper
 	private void loadRegions(Store store) throws IOException
 	{
 		regionLoader = new RegionLoader(store);
-		regionLoader.loadRegions();
-		regionLoader.calculateBounds();
+		regionLoader.scanRegions();
 
 		logger.info("North most region: {}", regionLoader.getLowestY().getBaseY());
 		logger.info("South most region: {}", regionLoader.getHighestY().getBaseY());
@@ -30,7 +30,9 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
 import net.runelite.cache.definitions.NpcDefinition;
+import net.runelite.cache.definitions.columnar.DefinitionStore;
 import net.runelite.cache.definitions.exporters.NpcExporter;
 import net.runelite.cache.definitions.loaders.NpcLoader;
 import net.runelite.cache.fs.Archive;
@@ -40,6 +42,7 @@ import net.runelite.cache.fs.Index;
 import net.runelite.cache.fs.Storage;
 import net.runelite.cache.fs.Store;
 import net.runelite.cache.util.IDClass;
+import net.runelite.cache.util.ParallelDumper;
 
 public class NpcManager
 {
@@ -55,12 +58,7 @@ public class NpcManager
 	{
 		NpcLoader loader = new NpcLoader();
 
-		Storage storage = store.getStorage();
-		Index index = store.getIndex(IndexType.CONFIGS);
-		Archive archive = index.getArchive(ConfigType.NPC.getId());
-
-		byte[] archiveData = storage.loadArchive(archive);
-		ArchiveFiles files = archive.getFiles(archiveData);
+		ArchiveFiles files = loadFiles();
 
 		for (FSFile f : files.getFiles())
 		{
@@ -69,6 +67,26 @@ public class NpcManager
 		}
 	}
 
+	/**
+	 * Decode the npc definitions in parallel on the given pool
+	 */
+	public void load(ForkJoinPool pool) throws IOException
+	{
+		NpcLoader loader = new NpcLoader();
+
+		npcs.putAll(ParallelDumper.decode(pool, loadFiles().getFiles(), loader::load));
+	}
+
+	private ArchiveFiles loadFiles() throws IOException
+	{
+		Storage storage = store.getStorage();
+		Index index = store.getIndex(IndexType.CONFIGS);
+		Archive archive = index.getArchive(ConfigType.NPC.getId());
+
+		byte[] archiveData = storage.loadArchive(archive);
+		return archive.getFiles(archiveData);
+	}
+
 	public Collection<NpcDefinition> getNpcs()
 	{
 		return Collections.unmodifiableCollection(npcs.values());
@@ -92,6 +110,19 @@ public class NpcManager
 		}
 	}
 
+	public void dump(File out, ParallelDumper.Format format, ForkJoinPool pool) throws IOException
+	{
+		ParallelDumper.export(pool, out, "npcs", format, npcs.values(), def -> def.id + ".json", ParallelDumper.json(format));
+	}
+
+	/**
+	 * Pack the loaded npc definitions into a compact, read-only columnar store
+	 */
+	public DefinitionStore<NpcDefinition> toDefinitionStore()
+	{
+		return DefinitionStore.build(NpcDefinition.class, npcs.values());
+	}
+
 	public void java(File java) throws IOException
 	{
 		java.mkdirs();
@@ -30,7 +30,9 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
 import net.runelite.cache.definitions.ObjectDefinition;
+import net.runelite.cache.definitions.columnar.DefinitionStore;
 import net.runelite.cache.definitions.exporters.ObjectExporter;
 import net.runelite.cache.definitions.loaders.ObjectLoader;
 import net.runelite.cache.fs.Archive;
@@ -40,6 +42,7 @@ import net.runelite.cache.fs.Index;
 import net.runelite.cache.fs.Storage;
 import net.runelite.cache.fs.Store;
 import net.runelite.cache.util.IDClass;
+import net.runelite.cache.util.ParallelDumper;
 
 public class ObjectManager
 {
@@ -55,12 +58,7 @@ public class ObjectManager
 	{
 		ObjectLoader loader = new ObjectLoader();
 
-		Storage storage = store.getStorage();
-		Index index = store.getIndex(IndexType.CONFIGS);
-		Archive archive = index.getArchive(ConfigType.OBJECT.getId());
-
-		byte[] archiveData = storage.loadArchive(archive);
-		ArchiveFiles files = archive.getFiles(archiveData);
+		ArchiveFiles files = loadFiles();
 
 		for (FSFile f : files.getFiles())
 		{
@@ -69,6 +67,26 @@ public class ObjectManager
 		}
 	}
 
+	/**
+	 * Decode the object definitions in parallel on the given pool
+	 */
+	public void load(ForkJoinPool pool) throws IOException
+	{
+		ObjectLoader loader = new ObjectLoader();
+
+		objects.putAll(ParallelDumper.decode(pool, loadFiles().getFiles(), loader::load));
+	}
+
+	private ArchiveFiles loadFiles() throws IOException
+	{
+		Storage storage = store.getStorage();
+		Index index = store.getIndex(IndexType.CONFIGS);
+		Archive archive = index.getArchive(ConfigType.OBJECT.getId());
+
+		byte[] archiveData = storage.loadArchive(archive);
+		return archive.getFiles(archiveData);
+	}
+
 	public Collection<ObjectDefinition> getObjects()
 	{
 		return Collections.unmodifiableCollection(objects.values());
@@ -92,6 +110,19 @@ public class ObjectManager
 		}
 	}
 
+	public void dump(File out, ParallelDumper.Format format, ForkJoinPool pool) throws IOException
+	{
+		ParallelDumper.export(pool, out, "objects", format, objects.values(), def -> def.getId() + ".json", ParallelDumper.json(format));
+	}
+
+	/**
+	 * Pack the loaded object definitions into a compact, read-only columnar store
+	 */
+	public DefinitionStore<ObjectDefinition> toDefinitionStore()
+	{
+		return DefinitionStore.build(ObjectDefinition.class, objects.values());
+	}
+
 	public void java(File java) throws IOException
 	{
 		java.mkdirs();
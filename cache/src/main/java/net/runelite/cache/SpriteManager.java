@@ -27,10 +27,18 @@ package net.runelite.cache;
 import com.google.common.collect.LinkedListMultimap;
 import com.google.common.collect.Multimap;
 import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import javax.imageio.ImageIO;
 import net.runelite.cache.definitions.SpriteDefinition;
 import net.runelite.cache.definitions.exporters.SpriteExporter;
 import net.runelite.cache.definitions.loaders.SpriteLoader;
@@ -39,6 +47,7 @@ import net.runelite.cache.fs.Archive;
 import net.runelite.cache.fs.Index;
 import net.runelite.cache.fs.Storage;
 import net.runelite.cache.fs.Store;
+import net.runelite.cache.util.ParallelDumper;
 
 public class SpriteManager implements SpriteProvider
 {
@@ -69,6 +78,48 @@ public class SpriteManager implements SpriteProvider
 		}
 	}
 
+	/**
+	 * Decompress and decode the sprite archives in parallel on the given pool. Archives
+	 * are read from storage sequentially, as storages are not thread safe.
+	 */
+	public void load(ForkJoinPool pool) throws IOException
+	{
+		Storage storage = store.getStorage();
+		Index index = store.getIndex(IndexType.SPRITES);
+
+		List<Archive> archives = index.getArchives();
+		List<byte[]> data = new ArrayList<>(archives.size());
+		for (Archive a : archives)
+		{
+			data.add(storage.loadArchive(a));
+		}
+
+		SpriteLoader loader = new SpriteLoader();
+		List<SpriteDefinition[]> defs = ParallelDumper.invoke(pool, () -> IntStream.range(0, archives.size())
+			.parallel()
+			.mapToObj(i ->
+			{
+				Archive a = archives.get(i);
+				try
+				{
+					return loader.load(a.getArchiveId(), a.decompress(data.get(i)));
+				}
+				catch (IOException e)
+				{
+					throw new UncheckedIOException(e);
+				}
+			})
+			.collect(Collectors.toList()));
+
+		for (SpriteDefinition[] frames : defs)
+		{
+			for (SpriteDefinition sprite : frames)
+			{
+				sprites.put(sprite.getId(), sprite);
+			}
+		}
+	}
+
 	public Collection<SpriteDefinition> getSprites()
 	{
 		return Collections.unmodifiableCollection(sprites.values());
@@ -110,6 +161,31 @@ public class SpriteManager implements SpriteProvider
 		}
 	}
 
+	/**
+	 * Export sprites as png files or a zip of them. Sprites have no json form, so
+	 * {@link ParallelDumper.Format#NDJSON} is not supported.
+	 */
+	public void export(File outDir, ParallelDumper.Format format, ForkJoinPool pool) throws IOException
+	{
+		if (format == ParallelDumper.Format.NDJSON)
+		{
+			throw new IllegalArgumentException("sprites can not be exported as ndjson");
+		}
+
+		List<SpriteDefinition> valid = sprites.values().stream()
+			.filter(sprite -> sprite.getHeight() > 0 && sprite.getWidth() > 0)
+			.collect(Collectors.toList());
+
+		ParallelDumper.export(pool, outDir, "sprites", format, valid,
+			sprite -> sprite.getId() + "-" + sprite.getFrame() + ".png",
+			sprite ->
+			{
+				ByteArrayOutputStream out = new ByteArrayOutputStream();
+				ImageIO.write(new SpriteExporter(sprite).export(), "png", out);
+				return out.toByteArray();
+			});
+	}
+
 	@Override
 	public SpriteDefinition provide(int spriteId, int frameId)
 	{
@@ -0,0 +1,698 @@
+/*
+ * Copyright (c) 2020, https://openosrs.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.definitions.columnar;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A read-only, column oriented store of cache definitions. Every supported field of the
+ * definition class is stored as a primitive column, strings are interned into a shared
+ * table and variable length fields are offsets into a per column element blob. The
+ * store lives in a single buffer, which is memory mapped when opened from a file, so
+ * lookups do not require the definitions to be decoded onto the heap.
+ * <p>
+ * Supported field types are int, boolean, String, short[], int[], String[] and the
+ * {@code Map<Integer, Object>} params map. The {@code id} field is stored as the row key.
+ *
+ * @param <T> definition type
+ */
+public final class DefinitionStore<T>
+{
+	private static final int MAGIC = 0x43444546; // CDEF
+	private static final int VERSION = 1;
+
+	private static final int PARAM_INT = 0;
+	private static final int PARAM_STRING = 1;
+
+	enum Kind
+	{
+		INT, BOOLEAN, STRING, SHORTS, INTS, STRINGS, PARAMS;
+
+		static Kind of(Class<?> type)
+		{
+			if (type == int.class)
+			{
+				return INT;
+			}
+			if (type == boolean.class)
+			{
+				return BOOLEAN;
+			}
+			if (type == String.class)
+			{
+				return STRING;
+			}
+			if (type == short[].class)
+			{
+				return SHORTS;
+			}
+			if (type == int[].class)
+			{
+				return INTS;
+			}
+			if (type == String[].class)
+			{
+				return STRINGS;
+			}
+			if (type == Map.class)
+			{
+				return PARAMS;
+			}
+			return null;
+		}
+	}
+
+	private final Class<T> type;
+	private final ByteBuffer buffer;
+	private final int rows;
+	private final int idsOffset;
+	private final int stringCount;
+	private final int stringOffsets;
+	private final int stringData;
+	private final String[] strings;
+	private final Map<String, Column> columns = new LinkedHashMap<>();
+
+	private DefinitionStore(Class<T> type, ByteBuffer buffer) throws IOException
+	{
+		this.type = type;
+		this.buffer = buffer;
+
+		if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION)
+		{
+			throw new IOException("not a definition store");
+		}
+
+		rows = buffer.getInt(8);
+		idsOffset = 12;
+
+		int pos = idsOffset + rows * 4;
+		stringCount = buffer.getInt(pos);
+		stringOffsets = pos + 4;
+		stringData = stringOffsets + (stringCount + 1) * 4;
+		strings = new String[stringCount];
+
+		pos = stringData + buffer.getInt(stringOffsets + stringCount * 4);
+		int columnCount = buffer.getInt(pos);
+		pos += 4;
+
+		Map<String, Field> fields = fields(type);
+		for (int i = 0; i < columnCount; i++)
+		{
+			byte[] name = new byte[buffer.getShort(pos)];
+			ByteBuffer dup = buffer.duplicate();
+			dup.position(pos + 2);
+			dup.get(name);
+			pos += 2 + name.length;
+
+			Kind kind = Kind.values()[buffer.get(pos)];
+			int offset = buffer.getInt(pos + 1);
+			pos += 5;
+
+			String fieldName = new String(name, StandardCharsets.UTF_8);
+			Field field = fields.get(fieldName);
+			if (field == null || Kind.of(field.getType()) != kind)
+			{
+				throw new IOException("column " + fieldName + " does not match " + type.getSimpleName());
+			}
+
+			columns.put(fieldName, new Column(field, kind, offset));
+		}
+	}
+
+	/**
+	 * Build a store holding the given definitions
+	 */
+	public static <T> DefinitionStore<T> build(Class<T> type, Collection<T> definitions)
+	{
+		try
+		{
+			return new DefinitionStore<>(type, ByteBuffer.wrap(serialize(type, definitions)));
+		}
+		catch (IOException | ReflectiveOperationException e)
+		{
+			throw new IllegalArgumentException("unable to build definition store for " + type.getSimpleName(), e);
+		}
+	}
+
+	/**
+	 * Memory map a store previously saved with {@link #write(File)}
+	 */
+	public static <T> DefinitionStore<T> open(Class<T> type, File file) throws IOException
+	{
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ))
+		{
+			return new DefinitionStore<>(type, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+		}
+	}
+
+	public void write(File file) throws IOException
+	{
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING))
+		{
+			ByteBuffer dup = buffer.duplicate();
+			dup.position(0);
+			while (dup.hasRemaining())
+			{
+				channel.write(dup);
+			}
+		}
+	}
+
+	public int size()
+	{
+		return rows;
+	}
+
+	/**
+	 * @return the row holding the definition with the given id, or -1
+	 */
+	public int row(int id)
+	{
+		int lo = 0;
+		int hi = rows - 1;
+		while (lo <= hi)
+		{
+			int mid = (lo + hi) >>> 1;
+			int midId = buffer.getInt(idsOffset + mid * 4);
+			if (midId < id)
+			{
+				lo = mid + 1;
+			}
+			else if (midId > id)
+			{
+				hi = mid - 1;
+			}
+			else
+			{
+				return mid;
+			}
+		}
+		return -1;
+	}
+
+	public int id(int row)
+	{
+		return buffer.getInt(idsOffset + row * 4);
+	}
+
+	public boolean contains(int id)
+	{
+		return row(id) != -1;
+	}
+
+	/**
+	 * Get the column for a definition field. Columns are flyweights over the store, and
+	 * should be looked up once and reused.
+	 */
+	public Column column(String field)
+	{
+		Column column = columns.get(field);
+		if (column == null)
+		{
+			throw new IllegalArgumentException("no column " + field);
+		}
+		return column;
+	}
+
+	/**
+	 * Decode a full definition object, or null if there is none with this id
+	 */
+	public T get(int id)
+	{
+		int row = row(id);
+		if (row == -1)
+		{
+			return null;
+		}
+
+		try
+		{
+			T def = create(type, id);
+			for (Column column : columns.values())
+			{
+				column.field.set(def, column.getObject(row));
+			}
+			return def;
+		}
+		catch (ReflectiveOperationException e)
+		{
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private String string(int index)
+	{
+		if (index < 0)
+		{
+			return null;
+		}
+
+		String s = strings[index];
+		if (s == null)
+		{
+			int start = buffer.getInt(stringOffsets + index * 4);
+			int end = buffer.getInt(stringOffsets + index * 4 + 4);
+			byte[] bytes = new byte[end - start];
+			ByteBuffer dup = buffer.duplicate();
+			dup.position(stringData + start);
+			dup.get(bytes);
+			s = strings[index] = new String(bytes, StandardCharsets.UTF_8);
+		}
+		return s;
+	}
+
+	/**
+	 * A single field of every definition in the store
+	 */
+	public final class Column
+	{
+		private final Field field;
+		private final Kind kind;
+		private final int offset;
+		private final int elements;
+
+		private Column(Field field, Kind kind, int offset)
+		{
+			this.field = field;
+			this.kind = kind;
+			this.offset = offset;
+			this.elements = offset + rows * 8;
+		}
+
+		public String getName()
+		{
+			return field.getName();
+		}
+
+		public int getInt(int row)
+		{
+			check(Kind.INT);
+			return buffer.getInt(offset + row * 4);
+		}
+
+		public boolean getBoolean(int row)
+		{
+			check(Kind.BOOLEAN);
+			return buffer.get(offset + row) != 0;
+		}
+
+		public String getString(int row)
+		{
+			check(Kind.STRING);
+			return string(buffer.getInt(offset + row * 4));
+		}
+
+		public short[] getShorts(int row)
+		{
+			check(Kind.SHORTS);
+			int length = length(row);
+			if (length < 0)
+			{
+				return null;
+			}
+
+			short[] values = new short[length];
+			int pos = elements + start(row) * 2;
+			for (int i = 0; i < length; i++)
+			{
+				values[i] = buffer.getShort(pos + i * 2);
+			}
+			return values;
+		}
+
+		public int[] getInts(int row)
+		{
+			check(Kind.INTS);
+			int length = length(row);
+			if (length < 0)
+			{
+				return null;
+			}
+
+			int[] values = new int[length];
+			int pos = elements + start(row) * 4;
+			for (int i = 0; i < length; i++)
+			{
+				values[i] = buffer.getInt(pos + i * 4);
+			}
+			return values;
+		}
+
+		public String[] getStrings(int row)
+		{
+			check(Kind.STRINGS);
+			int length = length(row);
+			if (length < 0)
+			{
+				return null;
+			}
+
+			String[] values = new String[length];
+			int pos = elements + start(row) * 4;
+			for (int i = 0; i < length; i++)
+			{
+				values[i] = string(buffer.getInt(pos + i * 4));
+			}
+			return values;
+		}
+
+		public Map<Integer, Object> getParams(int row)
+		{
+			check(Kind.PARAMS);
+			int length = length(row);
+			if (length < 0)
+			{
+				return null;
+			}
+
+			Map<Integer, Object> params = new HashMap<>();
+			int pos = elements + start(row) * 4;
+			for (int i = 0; i < length; i += 3)
+			{
+				int key = buffer.getInt(pos + i * 4);
+				int tag = buffer.getInt(pos + i * 4 + 4);
+				int value = buffer.getInt(pos + i * 4 + 8);
+				params.put(key, tag == PARAM_STRING ? string(value) : (Object) value);
+			}
+			return params;
+		}
+
+		private Object getObject(int row)
+		{
+			switch (kind)
+			{
+				case INT:
+					return getInt(row);
+				case BOOLEAN:
+					return getBoolean(row);
+				case STRING:
+					return getString(row);
+				case SHORTS:
+					return getShorts(row);
+				case INTS:
+					return getInts(row);
+				case STRINGS:
+					return getStrings(row);
+				default:
+					return getParams(row);
+			}
+		}
+
+		private int start(int row)
+		{
+			return buffer.getInt(offset + row * 8);
+		}
+
+		private int length(int row)
+		{
+			return buffer.getInt(offset + row * 8 + 4);
+		}
+
+		private void check(Kind expected)
+		{
+			if (kind != expected)
+			{
+				throw new IllegalStateException("column " + field.getName() + " is " + kind + ", not " + expected);
+			}
+		}
+	}
+
+	private static Map<String, Field> fields(Class<?> type)
+	{
+		Map<String, Field> fields = new LinkedHashMap<>();
+		for (Field field : type.getDeclaredFields())
+		{
+			int mod = field.getModifiers();
+			if (Modifier.isStatic(mod) || Modifier.isTransient(mod) || Modifier.isFinal(mod) || field.getName().equals("id"))
+			{
+				continue;
+			}
+
+			if (Kind.of(field.getType()) == null)
+			{
+				throw new IllegalArgumentException("unsupported field type " + field);
+			}
+
+			field.setAccessible(true);
+			fields.put(field.getName(), field);
+		}
+		return fields;
+	}
+
+	private static int id(Object def) throws ReflectiveOperationException
+	{
+		Field field = def.getClass().getDeclaredField("id");
+		field.setAccessible(true);
+		return field.getInt(def);
+	}
+
+	private static <T> T create(Class<T> type, int id) throws ReflectiveOperationException
+	{
+		try
+		{
+			Constructor<T> constructor = type.getDeclaredConstructor(int.class);
+			constructor.setAccessible(true);
+			return constructor.newInstance(id);
+		}
+		catch (NoSuchMethodException e)
+		{
+			Constructor<T> constructor = type.getDeclaredConstructor();
+			constructor.setAccessible(true);
+			T def = constructor.newInstance();
+			Field field = type.getDeclaredField("id");
+			field.setAccessible(true);
+			field.setInt(def, id);
+			return def;
+		}
+		catch (InvocationTargetException e)
+		{
+			throw new IllegalStateException(e.getCause());
+		}
+	}
+
+	private static <T> byte[] serialize(Class<T> type, Collection<T> definitions) throws IOException, ReflectiveOperationException
+	{
+		List<T> defs = new ArrayList<>(definitions);
+		List<Integer> ids = new ArrayList<>(defs.size());
+		for (T def : defs)
+		{
+			ids.add(id(def));
+		}
+
+		Integer[] order = new Integer[defs.size()];
+		for (int i = 0; i < order.length; i++)
+		{
+			order[i] = i;
+		}
+		Arrays.sort(order, Comparator.comparingInt(ids::get));
+
+		Map<String, Integer> interned = new HashMap<>();
+		List<String> strings = new ArrayList<>();
+		Map<String, Field> fields = fields(type);
+		List<byte[]> columnData = new ArrayList<>(fields.size());
+
+		for (Field field : fields.values())
+		{
+			Kind kind = Kind.of(field.getType());
+			ByteArrayOutputStream fixed = new ByteArrayOutputStream();
+			ByteArrayOutputStream variable = new ByteArrayOutputStream();
+			DataOutputStream out = new DataOutputStream(fixed);
+			DataOutputStream elements = new DataOutputStream(variable);
+			int count = 0;
+
+			for (Integer idx : order)
+			{
+				Object value = field.get(defs.get(idx));
+				switch (kind)
+				{
+					case INT:
+						out.writeInt((int) value);
+						continue;
+					case BOOLEAN:
+						out.writeBoolean((boolean) value);
+						continue;
+					case STRING:
+						out.writeInt(intern(interned, strings, (String) value));
+						continue;
+				}
+
+				if (value == null)
+				{
+					out.writeInt(count);
+					out.writeInt(-1);
+					continue;
+				}
+
+				int length;
+				switch (kind)
+				{
+					case SHORTS:
+						short[] shorts = (short[]) value;
+						for (short s : shorts)
+						{
+							elements.writeShort(s);
+						}
+						length = shorts.length;
+						break;
+					case INTS:
+						int[] ints = (int[]) value;
+						for (int i : ints)
+						{
+							elements.writeInt(i);
+						}
+						length = ints.length;
+						break;
+					case STRINGS:
+						String[] strs = (String[]) value;
+						for (String s : strs)
+						{
+							elements.writeInt(intern(interned, strings, s));
+						}
+						length = strs.length;
+						break;
+					default:
+						@SuppressWarnings("unchecked")
+						Map<Integer, Object> params = (Map<Integer, Object>) value;
+						for (Map.Entry<Integer, Object> entry : params.entrySet())
+						{
+							elements.writeInt(entry.getKey());
+							if (entry.getValue() instanceof String)
+							{
+								elements.writeInt(PARAM_STRING);
+								elements.writeInt(intern(interned, strings, (String) entry.getValue()));
+							}
+							else
+							{
+								elements.writeInt(PARAM_INT);
+								elements.writeInt((Integer) entry.getValue());
+							}
+						}
+						length = params.size() * 3;
+						break;
+				}
+
+				out.writeInt(count);
+				out.writeInt(length);
+				count += length;
+			}
+
+			variable.writeTo(fixed);
+			columnData.add(fixed.toByteArray());
+		}
+
+		ByteArrayOutputStream header = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(header);
+		out.writeInt(MAGIC);
+		out.writeInt(VERSION);
+		out.writeInt(order.length);
+		for (Integer idx : order)
+		{
+			out.writeInt(ids.get(idx));
+		}
+
+		List<byte[]> encoded = new ArrayList<>(strings.size());
+		for (String s : strings)
+		{
+			encoded.add(s.getBytes(StandardCharsets.UTF_8));
+		}
+
+		out.writeInt(strings.size());
+		int stringOffset = 0;
+		for (byte[] s : encoded)
+		{
+			out.writeInt(stringOffset);
+			stringOffset += s.length;
+		}
+		out.writeInt(stringOffset);
+		for (byte[] s : encoded)
+		{
+			out.write(s);
+		}
+
+		out.writeInt(fields.size());
+
+		byte[][] names = new byte[fields.size()][];
+		int tableSize = 0;
+		int i = 0;
+		for (String name : fields.keySet())
+		{
+			names[i] = name.getBytes(StandardCharsets.UTF_8);
+			tableSize += 2 + names[i].length + 5;
+			i++;
+		}
+
+		int offset = out.size() + tableSize;
+		i = 0;
+		for (Field field : fields.values())
+		{
+			out.writeShort(names[i].length);
+			out.write(names[i]);
+			out.writeByte(Kind.of(field.getType()).ordinal());
+			out.writeInt(offset);
+			offset += columnData.get(i).length;
+			i++;
+		}
+
+		for (byte[] data : columnData)
+		{
+			out.write(data);
+		}
+
+		return header.toByteArray();
+	}
+
+	private static int intern(Map<String, Integer> interned, List<String> strings, String s)
+	{
+		if (s == null)
+		{
+			return -1;
+		}
+
+		return interned.computeIfAbsent(s, k ->
+		{
+			strings.add(k);
+			return strings.size() - 1;
+		});
+	}
+}
@@ -24,7 +24,10 @@
  */
 package net.runelite.cache.fs.flat;
 
+import java.io.BufferedOutputStream;
 import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
@@ -33,12 +36,20 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.OutputStream;
 import java.io.PrintStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Base64;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import net.runelite.cache.fs.Archive;
 import net.runelite.cache.fs.Index;
 import net.runelite.cache.fs.Storage;
@@ -48,22 +59,70 @@ import net.runelite.cache.index.FileData;
 /**
  * A Storage that stores the cache as a series of flat files, designed
  * to be git revisioned.
+ * <p>
+ * Each index may instead be stored in a binary form, which is memory mapped
+ * on load so that archive contents are only read when requested:
+ * <pre>
+ * header   magic (int), version (byte), protocol, revision, compression, crc (int), named (byte), archive count (int)
+ * archives id, namehash, revision, crc (int), compression (byte), hash length (byte), hash,
+ *          contents offset, contents length (int, -1 if none), file count (int), files (id, namehash)
+ * contents container bytes, offsets relative to the end of the archive table
+ * </pre>
+ * The binary form is used for an index whenever it is present.
  */
 public class FlatStorage implements Storage
 {
 	protected static final String EXTENSION = ".flatcache";
+	protected static final String BINARY_EXTENSION = ".flatcache.bin";
+
+	private static final int BINARY_MAGIC = 0x464C4154; // FLAT
+	private static final int BINARY_VERSION = 1;
 
 	private final File directory;
+	private final boolean binary;
 	private final Map<Long, byte[]> data = new HashMap<>();
+	private final Map<Long, ByteBuffer> contents = new HashMap<>();
+	private final Set<Integer> binaryIndexes = new HashSet<>();
 
 	public FlatStorage(File directory) throws IOException
+	{
+		this(directory, false);
+	}
+
+	/**
+	 * @param binary whether {@link #save(Store)} writes the binary format instead of text
+	 */
+	public FlatStorage(File directory, boolean binary) throws IOException
 	{
 		this.directory = directory;
+		this.binary = binary;
 	}
 
 	protected FlatStorage()
 	{
 		this.directory = null;
+		this.binary = false;
+	}
+
+	/**
+	 * Whether {@code directory} holds a flat cache in either the text or binary format
+	 */
+	public static boolean isFlatCache(File directory)
+	{
+		String[] files = directory.list(FlatStorage::isFlatcacheFile);
+		return files != null && files.length > 0;
+	}
+
+	/**
+	 * Rewrite the flat cache in {@code from} to {@code to} in either the text or binary format
+	 */
+	public static void convert(File from, File to, boolean binary) throws IOException
+	{
+		try (Store store = new Store(new FlatStorage(from)))
+		{
+			store.load();
+			new FlatStorage(to, binary).save(store);
+		}
 	}
 
 	protected InputStream openReader(String filename) throws IOException
@@ -76,9 +135,34 @@ public class FlatStorage implements Storage
 		return new FileOutputStream(new File(directory, filename));
 	}
 
+	/**
+	 * Map a binary flatcache file. Storages which do not override {@link #openReader(String)}
+	 * are mapped directly from disk, others are read fully into memory.
+	 */
+	protected ByteBuffer openBuffer(String filename) throws IOException
+	{
+		if (directory != null)
+		{
+			try (FileChannel channel = FileChannel.open(new File(directory, filename).toPath(), StandardOpenOption.READ))
+			{
+				return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			}
+		}
+
+		try (InputStream in = openReader(filename))
+		{
+			return ByteBuffer.wrap(in.readAllBytes());
+		}
+	}
+
+	private static boolean isFlatcacheFile(File dir, String name)
+	{
+		return name.endsWith(EXTENSION) || name.endsWith(BINARY_EXTENSION);
+	}
+
 	protected String[] listFlatcacheFiles() throws IOException
 	{
-		return directory.list((dir, name) -> name.endsWith(EXTENSION));
+		return directory.list(FlatStorage::isFlatcacheFile);
 	}
 
 	@Override
@@ -87,14 +171,24 @@ public class FlatStorage implements Storage
 		String[] idxs = listFlatcacheFiles();
 		for (String idx : idxs)
 		{
-			int id = Integer.parseInt(idx.substring(0, idx.length() - EXTENSION.length()));
-			store.addIndex(id);
+			boolean binaryIdx = idx.endsWith(BINARY_EXTENSION);
+			int id = Integer.parseInt(idx.substring(0, idx.length() - (binaryIdx ? BINARY_EXTENSION : EXTENSION).length()));
+			if (binaryIdx)
+			{
+				binaryIndexes.add(id);
+			}
+
+			if (store.findIndex(id) == null)
+			{
+				store.addIndex(id);
+			}
 		}
 	}
 
 	@Override
 	public void close() throws IOException
 	{
+		contents.clear();
 	}
 
 	@Override
@@ -102,6 +196,12 @@ public class FlatStorage implements Storage
 	{
 		for (Index idx : store.getIndexes())
 		{
+			if (binaryIndexes.contains(idx.getId()))
+			{
+				loadBinary(idx);
+				continue;
+			}
+
 			String file = idx.getId() + EXTENSION;
 			try (BufferedReader br = new BufferedReader(new InputStreamReader(openReader(file))))
 			{
@@ -206,13 +306,96 @@ public class FlatStorage implements Storage
 		}
 	}
 
+	private void loadBinary(Index idx) throws IOException
+	{
+		String file = idx.getId() + BINARY_EXTENSION;
+		ByteBuffer buffer = openBuffer(file);
+
+		try
+		{
+			if (buffer.getInt() != BINARY_MAGIC || buffer.get() != BINARY_VERSION)
+			{
+				throw new IOException("not a binary flatcache");
+			}
+
+			idx.setProtocol(buffer.getInt());
+			idx.setRevision(buffer.getInt());
+			idx.setCompression(buffer.getInt());
+			idx.setCrc(buffer.getInt());
+			idx.setNamed(buffer.get() != 0);
+
+			int count = buffer.getInt();
+			Archive[] archives = new Archive[count];
+			int[] offsets = new int[count];
+			int[] lengths = new int[count];
+
+			for (int i = 0; i < count; i++)
+			{
+				Archive archive = archives[i] = idx.addArchive(buffer.getInt());
+				archive.setNameHash(buffer.getInt());
+				archive.setRevision(buffer.getInt());
+				archive.setCrc(buffer.getInt());
+				archive.setCompression(buffer.get());
+
+				int hashLength = buffer.get() & 0xFF;
+				if (hashLength > 0)
+				{
+					byte[] hash = new byte[hashLength];
+					buffer.get(hash);
+					archive.setHash(hash);
+				}
+
+				offsets[i] = buffer.getInt();
+				lengths[i] = buffer.getInt();
+
+				FileData[] fileData = new FileData[buffer.getInt()];
+				for (int j = 0; j < fileData.length; j++)
+				{
+					FileData fd = fileData[j] = new FileData();
+					fd.setId(buffer.getInt());
+					fd.setNameHash(buffer.getInt());
+				}
+				archive.setFileData(fileData);
+			}
+
+			int dataStart = buffer.position();
+			for (int i = 0; i < count; i++)
+			{
+				if (lengths[i] < 0)
+				{
+					continue;
+				}
+
+				ByteBuffer slice = buffer.duplicate();
+				slice.position(dataStart + offsets[i]);
+				slice.limit(dataStart + offsets[i] + lengths[i]);
+				contents.put((long) idx.getId() << 32 | archives[i].getArchiveId(), slice.slice());
+			}
+		}
+		catch (BufferUnderflowException | IllegalArgumentException e)
+		{
+			throw new IOException("error reading flatcache at " + file, e);
+		}
+	}
+
 	@Override
 	public void save(Store store) throws IOException
 	{
 		store.getIndexes().sort(Comparator.comparing(Index::getId));
+
+		if (binary)
+		{
+			for (Index idx : store.getIndexes())
+			{
+				saveBinary(store, idx);
+			}
+			return;
+		}
+
 		for (Index idx : store.getIndexes())
 		{
 			String file = idx.getId() + EXTENSION;
+			deleteFile(idx.getId() + BINARY_EXTENSION);
 			try (PrintStream br = new PrintStream(openWriter(file)))
 			{
 				br.printf("protocol=%d\n", idx.getProtocol());
@@ -254,10 +437,107 @@ public class FlatStorage implements Storage
 		}
 	}
 
+	private void saveBinary(Store store, Index idx) throws IOException
+	{
+		idx.getArchives().sort(Comparator.comparing(Archive::getArchiveId));
+
+		// the archive table is written first so contents can be streamed after it
+		ByteArrayOutputStream table = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(table);
+		out.writeInt(BINARY_MAGIC);
+		out.writeByte(BINARY_VERSION);
+		out.writeInt(idx.getProtocol());
+		out.writeInt(idx.getRevision());
+		out.writeInt(idx.getCompression());
+		out.writeInt(idx.getCrc());
+		out.writeBoolean(idx.isNamed());
+		out.writeInt(idx.getArchives().size());
+
+		List<byte[]> archiveContents = new ArrayList<>(idx.getArchives().size());
+		int offset = 0;
+		for (Archive archive : idx.getArchives())
+		{
+			out.writeInt(archive.getArchiveId());
+			out.writeInt(archive.getNameHash());
+			out.writeInt(archive.getRevision());
+			out.writeInt(archive.getCrc());
+			out.writeByte(archive.getCompression());
+
+			byte[] hash = archive.getHash();
+			out.writeByte(hash != null ? hash.length : 0);
+			if (hash != null)
+			{
+				out.write(hash);
+			}
+
+			byte[] contents = store.getStorage().loadArchive(archive);
+			out.writeInt(offset);
+			out.writeInt(contents != null ? contents.length : -1);
+			if (contents != null)
+			{
+				offset += contents.length;
+				archiveContents.add(contents);
+			}
+
+			FileData[] fileData = archive.getFileData();
+			out.writeInt(fileData != null ? fileData.length : 0);
+			if (fileData != null)
+			{
+				for (FileData fd : fileData)
+				{
+					out.writeInt(fd.getId());
+					out.writeInt(fd.getNameHash());
+				}
+			}
+		}
+
+		String file = idx.getId() + BINARY_EXTENSION;
+		// write beside the old file and move it into place, as it may currently be mapped
+		String tmp = directory != null ? file + ".tmp" : file;
+		try (OutputStream os = new BufferedOutputStream(openWriter(tmp)))
+		{
+			table.writeTo(os);
+
+			for (byte[] contents : archiveContents)
+			{
+				os.write(contents);
+			}
+		}
+
+		if (directory != null)
+		{
+			Files.move(new File(directory, tmp).toPath(), new File(directory, file).toPath(), StandardCopyOption.REPLACE_EXISTING);
+		}
+		deleteFile(idx.getId() + EXTENSION);
+	}
+
+	private void deleteFile(String filename) throws IOException
+	{
+		if (directory != null)
+		{
+			Files.deleteIfExists(new File(directory, filename).toPath());
+		}
+	}
+
 	@Override
 	public byte[] loadArchive(Archive archive) throws IOException
 	{
-		return data.get((long) archive.getIndex().getId() << 32 | archive.getArchiveId());
+		long key = (long) archive.getIndex().getId() << 32 | archive.getArchiveId();
+		byte[] bytes = data.get(key);
+		if (bytes != null)
+		{
+			return bytes;
+		}
+
+		ByteBuffer buffer = contents.get(key);
+		if (buffer == null)
+		{
+			return null;
+		}
+
+		bytes = new byte[buffer.remaining()];
+		buffer.duplicate().get(bytes);
+		return bytes;
 	}
 
 	@Override
@@ -25,9 +25,14 @@
 package net.runelite.cache.region;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import net.runelite.cache.IndexType;
 import net.runelite.cache.definitions.LocationsDefinition;
 import net.runelite.cache.definitions.MapDefinition;
@@ -37,6 +42,7 @@ import net.runelite.cache.fs.Archive;
 import net.runelite.cache.fs.Index;
 import net.runelite.cache.fs.Storage;
 import net.runelite.cache.fs.Store;
+import net.runelite.cache.util.Djb2;
 import net.runelite.cache.util.XteaKeyManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -51,16 +57,31 @@ public class RegionLoader
 	private final Index index;
 	private final XteaKeyManager keyManager;
 
+	private final Map<Integer, Archive> archivesByName = new HashMap<>();
 	private final Map<Integer, Region> regions = new HashMap<>();
 	private Region lowestX = null, lowestY = null;
 	private Region highestX = null, highestY = null;
 
+	/**
+	 * Ids of every region in the cache, sorted, once {@link #scanRegions()} has run
+	 */
+	private int[] regionIds;
+	/**
+	 * Region x coordinates whose regions are currently decoded in {@link #regions}
+	 */
+	private final BitSet loadedColumns = new BitSet();
+
 	public RegionLoader(Store store)
 	{
 		this.store = store;
 		index = store.getIndex(IndexType.MAPS);
 		keyManager = new XteaKeyManager();
 		keyManager.loadKeys();
+
+		for (Archive archive : index.getArchives())
+		{
+			archivesByName.putIfAbsent(archive.getNameHash(), archive);
+		}
 	}
 
 	public void loadRegions() throws IOException
@@ -81,8 +102,8 @@ public class RegionLoader
 		int y = i & 0xFF;
 
 		Storage storage = store.getStorage();
-		Archive map = index.findArchiveByName("m" + x + "_" + y);
-		Archive land = index.findArchiveByName("l" + x + "_" + y);
+		Archive map = archivesByName.get(Djb2.hash("m" + x + "_" + y));
+		Archive land = archivesByName.get(Djb2.hash("l" + x + "_" + y));
 
 		assert (map == null) == (land == null);
 
@@ -116,6 +137,168 @@ public class RegionLoader
 		return region;
 	}
 
+	/**
+	 * Find every region in the cache and calculate the map bounds from the archive names
+	 * alone, without decoding any region. The bound regions are placeholders which only
+	 * carry their coordinates.
+	 *
+	 * @return the number of regions
+	 */
+	public int scanRegions()
+	{
+		int[] ids = new int[MAX_REGION];
+		int count = 0;
+
+		for (int i = 0; i < MAX_REGION; ++i)
+		{
+			int x = i >> 8;
+			int y = i & 0xFF;
+
+			if (archivesByName.containsKey(Djb2.hash("m" + x + "_" + y)) && archivesByName.containsKey(Djb2.hash("l" + x + "_" + y)))
+			{
+				ids[count++] = i;
+			}
+		}
+
+		regionIds = Arrays.copyOf(ids, count);
+
+		lowestX = lowestY = highestX = highestY = null;
+		for (int id : regionIds)
+		{
+			int x = id >> 8;
+			int y = id & 0xFF;
+
+			if (lowestX == null || x < lowestX.getRegionX())
+			{
+				lowestX = new Region(id);
+			}
+
+			if (highestX == null || x > highestX.getRegionX())
+			{
+				highestX = new Region(id);
+			}
+
+			if (lowestY == null || y < lowestY.getRegionY())
+			{
+				lowestY = new Region(id);
+			}
+
+			if (highestY == null || y > highestY.getRegionY())
+			{
+				highestY = new Region(id);
+			}
+		}
+
+		return count;
+	}
+
+	/**
+	 * Iterate every region in order of x and then y, decoding each on demand. While a
+	 * region is being visited its neighbours are available from
+	 * {@link #findRegionForWorldCoordinates(int, int)}, and regions more than one column
+	 * behind are released, so only around three columns of regions are held at once.
+	 */
+	public Iterable<Region> streamRegions()
+	{
+		if (regionIds == null)
+		{
+			scanRegions();
+		}
+
+		return () -> new Iterator<Region>()
+		{
+			private int next;
+
+			@Override
+			public boolean hasNext()
+			{
+				return next < regionIds.length;
+			}
+
+			@Override
+			public Region next()
+			{
+				if (!hasNext())
+				{
+					throw new NoSuchElementException();
+				}
+
+				int id = regionIds[next++];
+
+				try
+				{
+					loadWindow(id);
+				}
+				catch (IOException ex)
+				{
+					throw new UncheckedIOException(ex);
+				}
+
+				return regions.get(id);
+			}
+		};
+	}
+
+	/**
+	 * Decode the columns of regions around the given region, and release any others
+	 */
+	public void loadWindow(int regionId) throws IOException
+	{
+		if (regionIds == null)
+		{
+			scanRegions();
+		}
+
+		int x = regionId >> 8;
+
+		for (int col = loadedColumns.nextSetBit(0); col >= 0; col = loadedColumns.nextSetBit(col + 1))
+		{
+			if (col < x - 1 || col > x + 1)
+			{
+				final int evict = col;
+				regions.keySet().removeIf(id -> id >> 8 == evict);
+				loadedColumns.clear(col);
+			}
+		}
+
+		for (int col = Math.max(0, x - 1); col <= x + 1; ++col)
+		{
+			if (loadedColumns.get(col))
+			{
+				continue;
+			}
+
+			// ids are sorted, so a column is a contiguous run
+			int from = Arrays.binarySearch(regionIds, col << 8);
+			for (int i = from < 0 ? -from - 1 : from; i < regionIds.length && regionIds[i] >> 8 == col; ++i)
+			{
+				Region region = loadRegionFromArchive(regionIds[i]);
+				if (region != null)
+				{
+					regions.put(regionIds[i], region);
+				}
+			}
+			loadedColumns.set(col);
+		}
+	}
+
+	/**
+	 * @return whether the columns of regions around the given region are decoded
+	 */
+	public boolean isWindowLoaded(int regionId)
+	{
+		int x = regionId >> 8;
+
+		for (int col = Math.max(0, x - 1); col <= x + 1; ++col)
+		{
+			if (!loadedColumns.get(col))
+			{
+				return false;
+			}
+		}
+		return true;
+	}
+
 	public void calculateBounds()
 	{
 		for (Region region : regions.values())
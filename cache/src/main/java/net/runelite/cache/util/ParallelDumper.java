@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) 2020, https://openosrs.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.util;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import net.runelite.cache.fs.FSFile;
+
+/**
+ * Decodes and exports definitions in parallel on a fork join pool. Exports are
+ * encoded in bounded chunks, so at most {@link #CHUNK} encoded definitions are
+ * held in memory at once when writing a single ndjson or zip file.
+ */
+public final class ParallelDumper
+{
+	private static final int CHUNK = 1024;
+
+	private static final Gson PRETTY = new GsonBuilder().setPrettyPrinting().create();
+	private static final Gson COMPACT = new Gson();
+
+	public enum Format
+	{
+		/**
+		 * One file per definition, as the sequential exporters write
+		 */
+		FILES,
+		/**
+		 * A single file with one json definition per line
+		 */
+		NDJSON,
+		/**
+		 * A single zip holding one file per definition
+		 */
+		ZIP
+	}
+
+	@FunctionalInterface
+	public interface Decoder<T>
+	{
+		T decode(int id, byte[] contents);
+	}
+
+	@FunctionalInterface
+	public interface Encoder<T>
+	{
+		byte[] encode(T definition) throws IOException;
+	}
+
+	private ParallelDumper()
+	{
+	}
+
+	/**
+	 * Decode the given files, split across the pool
+	 */
+	public static <T> Map<Integer, T> decode(ForkJoinPool pool, List<FSFile> files, Decoder<T> decoder) throws IOException
+	{
+		return invoke(pool, () -> files.parallelStream()
+			.collect(Collectors.toMap(FSFile::getFileId, f -> decoder.decode(f.getFileId(), f.getContents()))));
+	}
+
+	/**
+	 * Encodes definitions as json, pretty printed unless they are written one per line
+	 */
+	public static <T> Encoder<T> json(Format format)
+	{
+		Gson gson = format == Format.NDJSON ? COMPACT : PRETTY;
+		return def -> gson.toJson(def).getBytes(StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Export definitions to {@code out}. Individual files are named by {@code name}, single file
+	 * formats are written to {@code out/bundle.ndjson} or {@code out/bundle.zip}.
+	 */
+	public static <T> void export(ForkJoinPool pool, File out, String bundle, Format format,
+		Collection<T> definitions, Function<T, String> name, Encoder<T> encoder) throws IOException
+	{
+		out.mkdirs();
+
+		if (format == Format.FILES)
+		{
+			invoke(pool, () ->
+			{
+				definitions.parallelStream().forEach(def ->
+				{
+					try
+					{
+						Files.write(new File(out, name.apply(def)).toPath(), encoder.encode(def));
+					}
+					catch (IOException e)
+					{
+						throw new UncheckedIOException(e);
+					}
+				});
+				return null;
+			});
+			return;
+		}
+
+		File file = new File(out, bundle + (format == Format.NDJSON ? ".ndjson" : ".zip"));
+		List<T> all = new ArrayList<>(definitions);
+
+		try (OutputStream os = new BufferedOutputStream(new FileOutputStream(file), 1 << 16);
+			ZipOutputStream zip = format == Format.ZIP ? new ZipOutputStream(os) : null)
+		{
+			for (int start = 0; start < all.size(); start += CHUNK)
+			{
+				List<T> chunk = all.subList(start, Math.min(start + CHUNK, all.size()));
+				List<byte[]> encoded = invoke(pool, () -> chunk.parallelStream()
+					.map(def ->
+					{
+						try
+						{
+							return encoder.encode(def);
+						}
+						catch (IOException e)
+						{
+							throw new UncheckedIOException(e);
+						}
+					})
+					.collect(Collectors.toList()));
+
+				for (int i = 0; i < encoded.size(); i++)
+				{
+					if (zip != null)
+					{
+						zip.putNextEntry(new ZipEntry(name.apply(chunk.get(i))));
+						zip.write(encoded.get(i));
+						zip.closeEntry();
+					}
+					else
+					{
+						os.write(encoded.get(i));
+						os.write('\n');
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Run a task on the pool, rethrowing any {@link IOException} it raised
+	 */
+	public static <T> T invoke(ForkJoinPool pool, Callable<T> task) throws IOException
+	{
+		try
+		{
+			return pool.submit(task).get();
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			throw new IOException(e);
+		}
+		catch (ExecutionException e)
+		{
+			Throwable cause = e.getCause();
+			if (cause instanceof UncheckedIOException)
+			{
+				throw ((UncheckedIOException) cause).getCause();
+			}
+			if (cause instanceof IOException)
+			{
+				throw (IOException) cause;
+			}
+			if (cause instanceof RuntimeException)
+			{
+				throw (RuntimeException) cause;
+			}
+			throw new IOException(cause);
+		}
+	}
+}
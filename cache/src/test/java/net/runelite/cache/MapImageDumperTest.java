@@ -83,13 +83,13 @@ public class MapImageDumperTest
 			store.load();
 
 			RegionLoader regionLoader = new RegionLoader(store);
-			regionLoader.loadRegions();
 
 			MapImageDumper dumper = new MapImageDumper(store);
 			dumper.load();
 
+			// column order, so the dumper only decodes each region's neighbours once
 			int z = 0;
-			for (Region region : regionLoader.getRegions())
+			for (Region region : regionLoader.streamRegions())
 			{
 				File imageFile = new File(outDir, "img-" + z + "-" + region.getRegionID() + ".png");
 				BufferedImage image = dumper.drawRegion(region, z);
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2020, https://openosrs.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.definitions.columnar;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import net.runelite.cache.definitions.ItemDefinition;
+import net.runelite.cache.definitions.ObjectDefinition;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class DefinitionStoreTest
+{
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testItems() throws Exception
+	{
+		List<ItemDefinition> items = new ArrayList<>();
+		for (int i = 500; i >= 0; i--)
+		{
+			ItemDefinition def = new ItemDefinition(i * 2);
+			def.name = i % 3 == 0 ? "null" : "Item " + i;
+			def.cost = i * 7;
+			def.members = i % 2 == 0;
+			def.colorFind = i % 5 == 0 ? null : new short[]{(short) i, -1};
+			def.countObj = new int[]{i, i + 1, i + 2};
+			def.options[1] = "Wield";
+			if (i == 42)
+			{
+				Map<Integer, Object> params = new HashMap<>();
+				params.put(1, 5);
+				params.put(2, "text");
+				def.params = params;
+			}
+			items.add(def);
+		}
+
+		DefinitionStore<ItemDefinition> store = DefinitionStore.build(ItemDefinition.class, items);
+		File file = folder.newFile();
+		store.write(file);
+
+		DefinitionStore<ItemDefinition> mapped = DefinitionStore.open(ItemDefinition.class, file);
+		assertEquals(501, mapped.size());
+		assertFalse(mapped.contains(3));
+		assertNull(mapped.get(3));
+
+		for (ItemDefinition def : items)
+		{
+			assertEquals(def, mapped.get(def.id));
+		}
+
+		DefinitionStore<ItemDefinition>.Column cost = mapped.column("cost");
+		DefinitionStore<ItemDefinition>.Column colorFind = mapped.column("colorFind");
+		int row = mapped.row(84);
+		assertEquals(42 * 7, cost.getInt(row));
+		assertArrayEquals(new short[]{42, -1}, colorFind.getShorts(row));
+		assertEquals("text", mapped.column("params").getParams(row).get(2));
+	}
+
+	@Test
+	public void testObjects()
+	{
+		ObjectDefinition def = new ObjectDefinition();
+		def.setId(1276);
+		def.setName("Tree");
+		def.setObjectModels(new int[]{1, 2});
+		def.setActions(new String[]{"Chop down", null, null, null, null});
+
+		DefinitionStore<ObjectDefinition> store = DefinitionStore.build(ObjectDefinition.class, List.of(def));
+		assertEquals(def, store.get(1276));
+		assertEquals("Tree", store.column("name").getString(store.row(1276)));
+	}
+}
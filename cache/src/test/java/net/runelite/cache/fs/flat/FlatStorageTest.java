@@ -25,6 +25,7 @@
 package net.runelite.cache.fs.flat;
 
 import java.io.File;
+import java.nio.file.Files;
 import net.runelite.cache.fs.Archive;
 import net.runelite.cache.fs.Container;
 import net.runelite.cache.fs.Index;
@@ -98,4 +99,65 @@ public class FlatStorageTest
 			assertEquals(archive2.getRevision(), archive2_2.getRevision());
 		}
 	}
+
+	@Test
+	public void testBinaryConversion() throws Exception
+	{
+		File text = folder.newFolder();
+		try (Store store = new Store(new FlatStorage(text)))
+		{
+			Index index = store.addIndex(2);
+			index.setRevision(7);
+			index.setNamed(true);
+
+			Archive archive = index.addArchive(10);
+			archive.setNameHash(1234);
+			archive.setRevision(3);
+			archive.setHash(new byte[]{1, 2, 3});
+
+			FileData[] fileData = new FileData[2];
+			archive.setFileData(fileData);
+			fileData[0] = new FileData();
+			fileData[1] = new FileData();
+			fileData[1].setId(1);
+			fileData[1].setNameHash(99);
+
+			Archive empty = index.addArchive(11);
+			empty.setFileData(new FileData[0]);
+
+			store.getStorage().saveArchive(archive, "contents".getBytes());
+			store.save();
+		}
+
+		assertTrue(FlatStorage.isFlatCache(text));
+		assertFalse(FlatStorage.isFlatCache(folder.newFolder()));
+
+		File binary = folder.newFolder();
+		FlatStorage.convert(text, binary, true);
+		assertTrue(new File(binary, "2" + FlatStorage.BINARY_EXTENSION).exists());
+		assertFalse(new File(binary, "2" + FlatStorage.EXTENSION).exists());
+
+		FlatStorage storage = new FlatStorage(binary);
+		try (Store store = new Store(storage))
+		{
+			store.load();
+			Index index = store.findIndex(2);
+			assertEquals(7, index.getRevision());
+			assertTrue(index.isNamed());
+
+			Archive archive = index.getArchive(10);
+			assertEquals(1234, archive.getNameHash());
+			assertEquals(3, archive.getRevision());
+			assertArrayEquals(new byte[]{1, 2, 3}, archive.getHash());
+			assertEquals(2, archive.getFileData().length);
+			assertEquals(99, archive.getFileData()[1].getNameHash());
+			assertArrayEquals("contents".getBytes(), storage.loadArchive(archive));
+			assertNull(storage.loadArchive(index.getArchive(11)));
+		}
+
+		File roundTrip = folder.newFolder();
+		FlatStorage.convert(binary, roundTrip, false);
+		assertArrayEquals(Files.readAllBytes(new File(text, "2" + FlatStorage.EXTENSION).toPath()),
+			Files.readAllBytes(new File(roundTrip, "2" + FlatStorage.EXTENSION).toPath()));
+	}
 }
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2020, https://openosrs.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.util;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import net.runelite.cache.fs.FSFile;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ParallelDumperTest
+{
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private final ForkJoinPool pool = new ForkJoinPool(4);
+
+	@Test
+	public void testDecode() throws Exception
+	{
+		List<FSFile> files = new ArrayList<>();
+		for (int i = 0; i < 5000; i++)
+		{
+			FSFile file = new FSFile(i);
+			file.setContents(new byte[]{(byte) i});
+			files.add(file);
+		}
+
+		Map<Integer, Byte> decoded = ParallelDumper.decode(pool, files, (id, contents) -> contents[0]);
+		assertEquals(5000, decoded.size());
+		assertEquals((byte) 4321, (byte) decoded.get(4321));
+	}
+
+	@Test
+	public void testExport() throws Exception
+	{
+		List<Integer> defs = new ArrayList<>();
+		for (int i = 0; i < 3000; i++)
+		{
+			defs.add(i);
+		}
+
+		File out = folder.newFolder();
+		ParallelDumper.export(pool, out, "ints", ParallelDumper.Format.NDJSON, defs, i -> i + ".json", ParallelDumper.json(ParallelDumper.Format.NDJSON));
+		List<String> lines = Files.readAllLines(new File(out, "ints.ndjson").toPath());
+		assertEquals(3000, lines.size());
+		assertEquals("2999", lines.get(2999));
+
+		ParallelDumper.export(pool, out, "ints", ParallelDumper.Format.ZIP, defs, i -> i + ".json", i -> String.valueOf(i).getBytes(StandardCharsets.UTF_8));
+		try (ZipFile zip = new ZipFile(new File(out, "ints.zip")))
+		{
+			assertEquals(3000, zip.size());
+			ZipEntry entry = zip.getEntry("1500.json");
+			assertNotNull(entry);
+			assertEquals("1500", new String(zip.getInputStream(entry).readAllBytes(), StandardCharsets.UTF_8));
+		}
+
+		ParallelDumper.export(pool, out, "ints", ParallelDumper.Format.FILES, Arrays.asList(7, 8), i -> i + ".json", ParallelDumper.json(ParallelDumper.Format.FILES));
+		assertEquals("8", new String(Files.readAllBytes(new File(out, "8.json").toPath()), StandardCharsets.UTF_8));
+	}
+}
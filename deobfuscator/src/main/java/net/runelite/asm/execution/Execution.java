@@ -26,6 +26,7 @@ package net.runelite.asm.execution;
 
 import com.google.common.collect.HashMultimap;
 import com.google.common.collect.Multimap;
+import com.google.common.collect.Sets;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
@@ -50,7 +51,9 @@ public class Execution
 
 	private final ClassGroup group;
 	public List<Frame> frames = new ArrayList<>(), framesOther = new ArrayList<>();
-	public Set<Instruction> executed = new HashSet<>(); // executed instructions
+	// XXX this could be a bit set per method indexed by instruction position, but
+	// positions aren't stable while deobfuscators insert and remove instructions
+	public Set<Instruction> executed = Sets.newIdentityHashSet(); // executed instructions
 	private Multimap<WeakInstructionContext, Method> stepInvokes = HashMultimap.create();
 	private Set<Method> invokes = new HashSet<>();
 	public boolean paused;
@@ -63,6 +66,17 @@ public class Execution
 	private final Map<Object, Integer> accesses = new HashMap<>();
 	public boolean staticStep; // whether to step through static methods
 	public boolean noExceptions;
+	/**
+	 * Don't retain instruction contexts in frames and method contexts once the
+	 * execution visitors have seen them. For users which only need visitors or
+	 * {@link #executed}, this lets the context graph be collected as execution
+	 * proceeds instead of keeping every context of a method alive.
+	 * <p>
+	 * XXX ModArith and ConstantParameter walk the context graph after execution,
+	 * so they can't use this and still hold every context on the heap. They
+	 * would have to collect what they need from visitors first.
+	 */
+	public boolean lean;
 
 	public Execution(ClassGroup group)
 	{
@@ -207,6 +221,7 @@ public class Execution
 	public void run()
 	{
 		assert !paused;
+		assert !lean || !(step || staticStep) : "step executors need the frame instruction contexts";
 
 		int fcount = 0;
 		while (!frames.isEmpty())
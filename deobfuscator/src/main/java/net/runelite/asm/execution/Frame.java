@@ -225,7 +225,10 @@ public class Frame
 
 	public void addInstructionContext(InstructionContext i)
 	{
-		instructions.add(i);
+		if (!execution.lean)
+		{
+			instructions.add(i);
+		}
 	}
 
 	public List<InstructionContext> getInstructions()
@@ -269,7 +272,10 @@ public class Frame
 			}
 
 			assert ictx.getInstruction() == oldCur;
-			ctx.contexts.put(oldCur, ictx);
+			if (!execution.lean)
+			{
+				ctx.contexts.put(oldCur, ictx);
+			}
 
 			execution.executed.add(oldCur);
 
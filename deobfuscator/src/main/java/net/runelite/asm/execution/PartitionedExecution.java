@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2020, https://openosrs.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.asm.execution;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+import net.runelite.asm.ClassFile;
+import net.runelite.asm.ClassGroup;
+import net.runelite.asm.Method;
+import net.runelite.asm.attributes.code.Instruction;
+import net.runelite.asm.attributes.code.instruction.types.InvokeInstruction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs a separate {@link Execution} for every connected component of the
+ * call graph, in parallel.
+ * <p>
+ * Frames only ever invoke methods in their own component, so each partition
+ * executes exactly the frames the serial execution would for those methods,
+ * in the same relative order. Visitors see the same contexts as in a serial
+ * run, but only those of their partition, and must not share mutable state
+ * with other partitions. Visitors which modify code should keep using a
+ * serial execution.
+ */
+public class PartitionedExecution
+{
+	private static final Logger logger = LoggerFactory.getLogger(PartitionedExecution.class);
+
+	private final ClassGroup group;
+	private final ForkJoinPool pool;
+
+	public PartitionedExecution(ClassGroup group)
+	{
+		this(group, ForkJoinPool.commonPool());
+	}
+
+	public PartitionedExecution(ClassGroup group, ForkJoinPool pool)
+	{
+		this.group = group;
+		this.pool = pool;
+	}
+
+	/**
+	 * Executes every partition containing an initial method
+	 *
+	 * @param setup called on the calling thread for each partition, in order. configures
+	 *              the partition's execution and returns the state its visitors collect into
+	 * @return the state of each partition, in partition order
+	 */
+	public <T> List<T> run(Function<Execution, T> setup)
+	{
+		// this builds the class graph and looks up methods, which partitioning needs
+		List<Method> initialMethods = new Execution(group).getInitialMethods();
+		List<List<Method>> partitions = partition(initialMethods);
+
+		List<Execution> executions = new ArrayList<>(partitions.size());
+		List<T> states = new ArrayList<>(partitions.size());
+
+		for (List<Method> methods : partitions)
+		{
+			Execution execution = new Execution(group);
+			T state = setup.apply(execution);
+
+			assert !execution.step && !execution.staticStep : "step executors can't be partitioned";
+
+			for (Method method : methods)
+			{
+				execution.addMethod(method);
+			}
+
+			executions.add(execution);
+			states.add(state);
+		}
+
+		pool.submit(() -> executions.parallelStream().forEach(Execution::run)).join();
+
+		logger.debug("Executed {} partitions", partitions.size());
+
+		return states;
+	}
+
+	/**
+	 * Groups the initial methods by the call graph component they are in
+	 *
+	 * @return the initial methods of each component, ordered by the first initial method of each
+	 */
+	private List<List<Method>> partition(List<Method> initialMethods)
+	{
+		Map<Method, Integer> ids = new IdentityHashMap<>();
+		List<Method> methods = new ArrayList<>();
+
+		for (ClassFile cf : group.getClasses())
+		{
+			for (Method method : cf.getMethods())
+			{
+				if (method.getCode() != null)
+				{
+					ids.put(method, methods.size());
+					methods.add(method);
+				}
+			}
+		}
+
+		int[] parents = IntStream.range(0, methods.size()).toArray();
+
+		for (Method method : methods)
+		{
+			for (Instruction i : method.getCode().getInstructions().getInstructions())
+			{
+				if (!(i instanceof InvokeInstruction))
+				{
+					continue;
+				}
+
+				for (Method target : ((InvokeInstruction) i).getMethods())
+				{
+					Integer id = ids.get(target);
+					if (id != null)
+					{
+						union(parents, ids.get(method), id);
+					}
+				}
+			}
+		}
+
+		Map<Integer, List<Method>> partitions = new LinkedHashMap<>();
+		for (Method method : initialMethods)
+		{
+			Integer id = ids.get(method);
+			if (id != null)
+			{
+				partitions.computeIfAbsent(find(parents, id), k -> new ArrayList<>()).add(method);
+			}
+		}
+
+		return new ArrayList<>(partitions.values());
+	}
+
+	private static int find(int[] parents, int i)
+	{
+		while (parents[i] != i)
+		{
+			parents[i] = parents[parents[i]];
+			i = parents[i];
+		}
+		return i;
+	}
+
+	private static void union(int[] parents, int i, int j)
+	{
+		int ri = find(parents, i), rj = find(parents, j);
+		if (ri != rj)
+		{
+			parents[Math.max(ri, rj)] = Math.min(ri, rj);
+		}
+	}
+}
@@ -33,7 +33,8 @@ import net.runelite.asm.Type;
 public class Stack
 {
 	private int size;
-	private final StackContext[] stack;
+	private StackContext[] stack;
+	private boolean shared; // stack is shared with a copy, and must be copied before it is written to
 
 	public Stack(int sz)
 	{
@@ -42,8 +43,10 @@ public class Stack
 
 	public Stack(Stack other)
 	{
+		// most duplicated frames stop or pop before they push, so defer the copy until a write
 		this.size = other.size;
-		this.stack = other.stack.clone();
+		this.stack = other.stack;
+		this.shared = other.shared = true;
 	}
 
 	private void printStack(StackContext ctx, int level)
@@ -68,6 +71,12 @@ public class Stack
 
 		assert !i.getType().equals(Type.VOID);
 
+		if (shared)
+		{
+			stack = stack.clone();
+			shared = false;
+		}
+
 		stack[size] = i;
 		++size;
 	}
@@ -27,7 +27,8 @@ package net.runelite.asm.execution;
 
 public class Variables
 {
-	private final VariableContext[] variables;
+	private VariableContext[] variables;
+	private boolean shared; // variables are shared with a copy, and must be copied before they are written to
 
 	public Variables(int sz)
 	{
@@ -36,11 +37,18 @@ public class Variables
 	
 	public Variables(Variables other)
 	{
-		this.variables = other.variables.clone();
+		this.variables = other.variables;
+		this.shared = other.shared = true;
 	}
 
 	public void set(int index, VariableContext value)
 	{
+		if (shared)
+		{
+			variables = variables.clone();
+			shared = false;
+		}
+
 		variables[index] = value;
 	}
 
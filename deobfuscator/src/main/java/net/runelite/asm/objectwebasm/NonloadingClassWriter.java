@@ -25,6 +25,7 @@
 
 package net.runelite.asm.objectwebasm;
 
+import java.util.concurrent.ConcurrentMap;
 import net.runelite.asm.ClassFile;
 import net.runelite.asm.ClassGroup;
 import org.objectweb.asm.ClassWriter;
@@ -32,16 +33,39 @@ import org.objectweb.asm.ClassWriter;
 public class NonloadingClassWriter extends ClassWriter
 {
 	private final ClassGroup group;
+	private final ConcurrentMap<String, String> commonSuperClasses;
 
 	public NonloadingClassWriter(ClassGroup group, int flags)
+	{
+		this(group, flags, null);
+	}
+
+	/**
+	 * @param commonSuperClasses resolved common super classes shared between writers
+	 *                           of the same group, or null to resolve every lookup
+	 */
+	public NonloadingClassWriter(ClassGroup group, int flags, ConcurrentMap<String, String> commonSuperClasses)
 	{
 		super(flags);
 
 		this.group = group;
+		this.commonSuperClasses = commonSuperClasses;
 	}
 
 	@Override
 	protected String getCommonSuperClass(String type1, String type2)
+	{
+		if (commonSuperClasses == null)
+		{
+			return resolveCommonSuperClass(type1, type2);
+		}
+
+		// the result is symmetric, so order the key to share entries for both directions
+		String key = type1.compareTo(type2) <= 0 ? type1 + ';' + type2 : type2 + ';' + type1;
+		return commonSuperClasses.computeIfAbsent(key, k -> resolveCommonSuperClass(type1, type2));
+	}
+
+	private String resolveCommonSuperClass(String type1, String type2)
 	{
 		// Checking more than this wouldn't make any sense
 		// Object has no super class, and RS api is guaranteed to be interfaces, which always extend from Object
@@ -28,7 +28,6 @@ import com.google.common.base.Stopwatch;
 import java.io.File;
 import java.io.IOException;
 import net.runelite.asm.ClassGroup;
-import net.runelite.asm.execution.Execution;
 import net.runelite.deob.deobfuscators.CastNull;
 import net.runelite.deob.deobfuscators.EnumDeobfuscator;
 import net.runelite.deob.deobfuscators.FieldInliner;
@@ -78,71 +77,75 @@ public class Deob
 
 		Stopwatch stopwatch = Stopwatch.createStarted();
 
-		ClassGroup group = JarUtil.loadJar(new File(args[0]));
+		// -Ddeob.checkpoints=<dir> saves the group after expensive passes and resumes from there on re-runs
+		String checkpoints = System.getProperty("deob.checkpoints");
+		DeobPipeline pipeline = new DeobPipeline(checkpoints != null ? new File(checkpoints) : null, CHECK_EXEC);
 
-		run(group, new StaticShouldBeInstance());
+		pipeline.add(new StaticShouldBeInstance());
 
 		if (args.length <= 2 || !args[2].equals("rl"))
 		{
 			// remove except RuntimeException
-			run(group, new RuntimeExceptions());
+			pipeline.add(new RuntimeExceptions());
 
-			run(group, new ControlFlowDeobfuscator());
+			pipeline.add(new ControlFlowDeobfuscator()).checkpoint();
 
-			run(group, new RenameUnique());
+			pipeline.add(new RenameUnique());
 
 			// remove unused methods - this leaves Code with no instructions,
 			// which is not valid, so unused methods is run after
-			run(group, new UnreachedCode());
-			run(group, new UnusedMethods());
+			pipeline.add(new UnreachedCode());
+			pipeline.add(new UnusedMethods());
 
 			// remove illegal state exceptions, frees up some parameters
-			run(group, new IllegalStateExceptions());
+			pipeline.add(new IllegalStateExceptions());
 
 			// remove constant logically dead parameters
-			run(group, new ConstantParameter());
+			pipeline.add(new ConstantParameter()).checkpoint();
 
 			// remove unhit blocks
-			run(group, new UnreachedCode());
-			run(group, new UnusedMethods());
+			pipeline.add(new UnreachedCode());
+			pipeline.add(new UnusedMethods());
 
 			// remove unused parameters
-			run(group, new UnusedParameters());
+			pipeline.add(new UnusedParameters());
 
 			// remove unused fields
-			run(group, new UnusedFields());
+			pipeline.add(new UnusedFields());
 
-			run(group, new FieldInliner());
+			pipeline.add(new FieldInliner());
 
 			// order uses class name order for sorting fields/methods,
 			// so run it before removing classes below
-			run(group, new Order());
+			pipeline.add(new Order());
 
-			run(group, new UnusedClass());
+			pipeline.add(new UnusedClass()).checkpoint();
 
-			runMath(group);
+			pipeline.add("ModArith", ModArith.class, Deob::runMath).checkpoint();
 
-			run(group, new ExprArgOrder());
+			pipeline.add(new ExprArgOrder());
 
-			run(group, new Lvt());
+			pipeline.add(new Lvt());
 
-			run(group, new CastNull());
+			pipeline.add(new CastNull());
 
-			run(group, new EnumDeobfuscator());
+			pipeline.add(new EnumDeobfuscator());
 
-			new OpcodesTransformer().transform(group);
-			//run(group, new PacketHandlerOrder());
-			//run(group, new PacketWriteDeobfuscator());
+			pipeline.add(new OpcodesTransformer());
+			//pipeline.add(new PacketHandlerOrder());
+			//pipeline.add(new PacketWriteDeobfuscator());
 
-			run(group, new MenuActionDeobfuscator());
+			pipeline.add(new MenuActionDeobfuscator());
 
-			new GetPathTransformer().transform(group);
-			new ClientErrorTransformer().transform(group);
-			new ReflectionTransformer().transform(group);
-			//new MaxMemoryTransformer().transform(group);
-			//new RuneliteBufferTransformer().transform(group);
+			pipeline.add(new GetPathTransformer());
+			pipeline.add(new ClientErrorTransformer());
+			pipeline.add(new ReflectionTransformer());
+			//pipeline.add(new MaxMemoryTransformer());
+			//pipeline.add(new RuneliteBufferTransformer());
 		}
 
+		ClassGroup group = pipeline.run(new File(args[0]));
+
 		JarUtil.saveJar(group, new File(args[1]));
 
 		stopwatch.stop();
@@ -191,21 +194,4 @@ public class Deob
 
 		mod.annotateEncryption();
 	}
-
-	private static void run(ClassGroup group, Deobfuscator deob)
-	{
-		Stopwatch stopwatch = Stopwatch.createStarted();
-		deob.run(group);
-		stopwatch.stop();
-
-		logger.info("{} took {}", deob.getClass().getSimpleName(), stopwatch);
-
-		// check code is still correct
-		if (CHECK_EXEC)
-		{
-			Execution execution = new Execution(group);
-			execution.populateInitialMethods();
-			execution.run();
-		}
-	}
 }
@@ -0,0 +1,412 @@
+/*
+ * Copyright (c) 2020, https://openosrs.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.deob;
+
+import com.google.common.base.Stopwatch;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.io.ByteSource;
+import com.google.common.io.ByteStreams;
+import com.google.common.io.Files;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import net.runelite.asm.ClassGroup;
+import net.runelite.asm.execution.Execution;
+import net.runelite.deob.util.JarUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An ordered list of deobfuscation passes which reports the time and heap
+ * usage of every pass, and optionally checkpoints the group to disk after
+ * expensive passes so a re-run can resume from the last valid checkpoint.
+ * <p>
+ * A checkpoint is keyed by the hash of the input jar and of the shared code
+ * in {@code net.runelite.asm} and {@code net.runelite.deob.util}, chained with
+ * the name and code of every pass up to and including it. The code of a pass
+ * is its class and nested classes, or its whole package when the pass has a
+ * package of its own. Changing shared code invalidates every checkpoint, while
+ * changing, renaming or reordering a pass only invalidates the checkpoints
+ * from that pass on.
+ */
+public class DeobPipeline
+{
+	private static final Logger logger = LoggerFactory.getLogger(DeobPipeline.class);
+
+	private static final long MB = 1024 * 1024;
+
+	/**
+	 * Packages of the code shared by every pass, which seeds every checkpoint key
+	 */
+	private static final String[] SHARED_PACKAGES = {"net/runelite/asm/", "net/runelite/deob/util/"};
+
+	/**
+	 * Packages holding several passes, where a pass's code is only its own class
+	 */
+	private static final String[] PASS_PACKAGES = {"net/runelite/deob/deobfuscators/", "net/runelite/deob/deobfuscators/transformers/"};
+
+	private final List<Pass> passes = new ArrayList<>();
+	private final File checkpointDir;
+	private final boolean checkExec;
+	private SortedMap<String, ByteSource> code;
+
+	/**
+	 * @param checkpointDir directory to store checkpoints in, or null to disable checkpoints
+	 * @param checkExec whether to execute the group after every pass to check it is still valid
+	 */
+	public DeobPipeline(File checkpointDir, boolean checkExec)
+	{
+		this(checkpointDir, checkExec, null);
+	}
+
+	/**
+	 * @param code class files of the deobfuscator by name, or null to read the classes it was loaded from
+	 */
+	DeobPipeline(File checkpointDir, boolean checkExec, SortedMap<String, ByteSource> code)
+	{
+		this.checkpointDir = checkpointDir;
+		this.checkExec = checkExec;
+		this.code = code;
+	}
+
+	public DeobPipeline add(Deobfuscator deob)
+	{
+		return add(deob.getClass().getSimpleName(), deob.getClass(), deob::run, true);
+	}
+
+	public DeobPipeline add(Transformer transformer)
+	{
+		return add(transformer.getClass().getSimpleName(), transformer.getClass(), transformer::transform, false);
+	}
+
+	/**
+	 * Adds a pass
+	 *
+	 * @param name name of the pass used in reports and checkpoint keys
+	 * @param impl class implementing the pass, its code is part of the checkpoint keys
+	 * @param pass the pass
+	 */
+	public DeobPipeline add(String name, Class<?> impl, Consumer<ClassGroup> pass)
+	{
+		return add(name, impl, pass, false);
+	}
+
+	private DeobPipeline add(String name, Class<?> impl, Consumer<ClassGroup> pass, boolean checkExec)
+	{
+		passes.add(new Pass(name, impl, pass, checkExec));
+		return this;
+	}
+
+	/**
+	 * Checkpoints the group after the last added pass
+	 */
+	public DeobPipeline checkpoint()
+	{
+		passes.get(passes.size() - 1).checkpoint = true;
+		return this;
+	}
+
+	public ClassGroup run(File jar) throws IOException
+	{
+		String[] keys = checkpointDir != null ? keys(jar) : null;
+
+		ClassGroup group = null;
+		int start = 0;
+
+		if (keys != null)
+		{
+			for (int i = passes.size() - 1; i >= 0; --i)
+			{
+				File file = checkpointFile(keys[i]);
+				if (passes.get(i).checkpoint && file.exists())
+				{
+					logger.info("Resuming after {} from checkpoint {}", passes.get(i).name, file);
+					group = JarUtil.loadJar(file);
+					start = i + 1;
+					break;
+				}
+			}
+		}
+
+		if (group == null)
+		{
+			group = JarUtil.loadJar(jar);
+		}
+
+		for (int i = start; i < passes.size(); ++i)
+		{
+			Pass pass = passes.get(i);
+
+			runPass(group, pass);
+
+			if (keys != null && pass.checkpoint)
+			{
+				saveCheckpoint(group, checkpointFile(keys[i]));
+			}
+		}
+
+		report(start);
+
+		return group;
+	}
+
+	private void runPass(ClassGroup group, Pass pass)
+	{
+		Runtime runtime = Runtime.getRuntime();
+		long before = runtime.totalMemory() - runtime.freeMemory();
+
+		Stopwatch stopwatch = Stopwatch.createStarted();
+		pass.pass.accept(group);
+		stopwatch.stop();
+
+		long after = runtime.totalMemory() - runtime.freeMemory();
+
+		pass.millis = stopwatch.elapsed(TimeUnit.MILLISECONDS);
+		pass.heapDelta = after - before;
+		pass.heapUsed = after;
+		pass.ran = true;
+
+		logger.info("{} took {} (heap {} MB, {}{} MB)", pass.name, stopwatch,
+			after / MB, pass.heapDelta >= 0 ? "+" : "", pass.heapDelta / MB);
+
+		// check code is still correct. As before the pipeline, transformers and
+		// the ModArith loop are not checked
+		if (checkExec && pass.checkExec)
+		{
+			Execution execution = new Execution(group);
+			execution.populateInitialMethods();
+			execution.run();
+		}
+	}
+
+	private void saveCheckpoint(ClassGroup group, File file) throws IOException
+	{
+		if (!checkpointDir.exists() && !checkpointDir.mkdirs())
+		{
+			throw new IOException("unable to create checkpoint directory " + checkpointDir);
+		}
+
+		Stopwatch stopwatch = Stopwatch.createStarted();
+
+		// write to a temporary file first so an interrupted run can't leave a partial checkpoint
+		File tmp = new File(checkpointDir, file.getName() + ".tmp");
+		JarUtil.saveJar(group, tmp);
+		Files.move(tmp, file);
+
+		logger.info("Saved checkpoint {} in {}", file, stopwatch);
+	}
+
+	private void report(int start)
+	{
+		long total = 0;
+		StringBuilder sb = new StringBuilder("Pass report:");
+
+		for (int i = start; i < passes.size(); ++i)
+		{
+			Pass pass = passes.get(i);
+			if (!pass.ran)
+			{
+				continue;
+			}
+
+			total += pass.millis;
+			sb.append(String.format("%n  %-30s %8d ms %8d MB %+8d MB", pass.name, pass.millis, pass.heapUsed / MB, pass.heapDelta / MB));
+		}
+
+		sb.append(String.format("%n  %-30s %8d ms", "total", total));
+		logger.info("{}", sb);
+	}
+
+	String[] keys(File jar) throws IOException
+	{
+		if (code == null)
+		{
+			code = loadCode();
+		}
+
+		String key = Hashing.sha256().newHasher()
+			.putBytes(hash(name -> startsWithAny(name, SHARED_PACKAGES)))
+			.putBytes(Files.asByteSource(jar).hash(Hashing.sha256()).asBytes())
+			.hash()
+			.toString();
+
+		String[] keys = new String[passes.size()];
+		for (int i = 0; i < passes.size(); ++i)
+		{
+			Pass pass = passes.get(i);
+
+			// each key chains the previous one, so it covers every pass before it
+			key = Hashing.sha256().newHasher()
+				.putString(key, StandardCharsets.UTF_8)
+				.putString(pass.name, StandardCharsets.UTF_8)
+				.putBytes(hash(passCode(pass.impl)))
+				.hash()
+				.toString();
+			keys[i] = key;
+		}
+		return keys;
+	}
+
+	private File checkpointFile(String key)
+	{
+		return new File(checkpointDir, key + ".jar");
+	}
+
+	/**
+	 * Selects the class files making up the code of a pass
+	 */
+	static Predicate<String> passCode(Class<?> impl)
+	{
+		String name = impl.getName().replace('.', '/');
+		String pkg = name.substring(0, name.lastIndexOf('/') + 1);
+
+		for (String passPackage : PASS_PACKAGES)
+		{
+			if (pkg.equals(passPackage))
+			{
+				return file -> file.equals(name + ".class") || file.startsWith(name + "$");
+			}
+		}
+
+		// classes of the package, but not of its subpackages
+		return file -> file.startsWith(pkg) && file.indexOf('/', pkg.length()) == -1;
+	}
+
+	/**
+	 * Reads the class files of the deobfuscator, from the directory or jar
+	 * this class was loaded from.
+	 */
+	static SortedMap<String, ByteSource> loadCode() throws IOException
+	{
+		File source;
+		try
+		{
+			source = new File(DeobPipeline.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+		}
+		catch (URISyntaxException ex)
+		{
+			throw new IOException(ex);
+		}
+
+		// sorted, so hashes don't depend on file system or jar order
+		SortedMap<String, ByteSource> classes = new TreeMap<>();
+		if (source.isDirectory())
+		{
+			for (File file : Files.fileTraverser().depthFirstPreOrder(source))
+			{
+				String name = source.toPath().relativize(file.toPath()).toString().replace(File.separatorChar, '/');
+				if (isCodeClass(name))
+				{
+					classes.put(name, Files.asByteSource(file));
+				}
+			}
+			return classes;
+		}
+
+		try (JarFile jar = new JarFile(source))
+		{
+			for (JarEntry entry : Collections.list(jar.entries()))
+			{
+				if (isCodeClass(entry.getName()))
+				{
+					byte[] data;
+					try (InputStream in = jar.getInputStream(entry))
+					{
+						data = ByteStreams.toByteArray(in);
+					}
+					classes.put(entry.getName(), ByteSource.wrap(data));
+				}
+			}
+			return classes;
+		}
+	}
+
+	private static boolean isCodeClass(String name)
+	{
+		return name.startsWith("net/runelite/") && name.endsWith(".class");
+	}
+
+	private static boolean startsWithAny(String name, String[] prefixes)
+	{
+		for (String prefix : prefixes)
+		{
+			if (name.startsWith(prefix))
+			{
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private byte[] hash(Predicate<String> filter) throws IOException
+	{
+		Hasher hasher = Hashing.sha256().newHasher();
+		for (Map.Entry<String, ByteSource> entry : code.entrySet())
+		{
+			if (filter.test(entry.getKey()))
+			{
+				hasher.putString(entry.getKey(), StandardCharsets.UTF_8);
+				hasher.putBytes(entry.getValue().hash(Hashing.sha256()).asBytes());
+			}
+		}
+		return hasher.hash().asBytes();
+	}
+
+	private static class Pass
+	{
+		private final String name;
+		private final Class<?> impl;
+		private final Consumer<ClassGroup> pass;
+		private final boolean checkExec;
+		private boolean checkpoint;
+
+		private boolean ran;
+		private long millis;
+		private long heapUsed;
+		private long heapDelta;
+
+		private Pass(String name, Class<?> impl, Consumer<ClassGroup> pass, boolean checkExec)
+		{
+			this.name = name;
+			this.impl = impl;
+			this.pass = pass;
+			this.checkExec = checkExec;
+		}
+	}
+}
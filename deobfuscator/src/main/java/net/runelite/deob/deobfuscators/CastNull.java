@@ -82,6 +82,7 @@ public class CastNull implements Deobfuscator
 	public void run(ClassGroup group)
 	{
 		Execution execution = new Execution(group);
+		execution.lean = true; // only the visitors are used
 		execution.addExecutionVisitor(i -> visit(i));
 		execution.addMethodContextVisitor(i -> visit(i));
 		execution.populateInitialMethods();
@@ -155,6 +155,7 @@ public class IllegalStateExceptions implements Deobfuscator
 		findInteresting(group);
 		
 		Execution execution = new Execution(group);
+		execution.lean = true; // only the visitors are used
 		execution.addExecutionVisitor(i -> visit(i));
 		execution.addMethodContextVisitor(i -> visit(i));
 		execution.populateInitialMethods();
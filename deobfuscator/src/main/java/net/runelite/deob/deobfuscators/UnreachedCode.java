@@ -42,8 +42,22 @@ public class UnreachedCode implements Deobfuscator
 {
 	private static final Logger logger = LoggerFactory.getLogger(UnreachedCode.class);
 
+	private final boolean lean;
 	private Execution execution;
-	
+
+	public UnreachedCode()
+	{
+		this(true); // only the executed instructions are used
+	}
+
+	/**
+	 * @param lean whether to run a lean execution, which is the default
+	 */
+	UnreachedCode(boolean lean)
+	{
+		this.lean = lean;
+	}
+
 	private int removeUnused(Method m)
 	{
 		Instructions ins = m.getCode().getInstructions();
@@ -92,6 +106,7 @@ public class UnreachedCode implements Deobfuscator
 		group.buildClassGraph();
 		
 		execution = new Execution(group);
+		execution.lean = lean;
 		execution.populateInitialMethods();
 		execution.run();
 		
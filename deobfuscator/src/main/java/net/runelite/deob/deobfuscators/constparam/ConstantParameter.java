@@ -52,6 +52,7 @@ import net.runelite.asm.attributes.code.instructions.If0;
 import net.runelite.asm.execution.Execution;
 import net.runelite.asm.execution.InstructionContext;
 import net.runelite.asm.execution.MethodContext;
+import net.runelite.asm.execution.PartitionedExecution;
 import net.runelite.asm.execution.StackContext;
 import net.runelite.deob.DeobAnnotations;
 import net.runelite.deob.Deobfuscator;
@@ -64,6 +65,20 @@ public class ConstantParameter implements Deobfuscator
 
 	private Map<ConstantMethodParameter, ConstantMethodParameter> parameters = new HashMap<>();
 	private Multimap<Method, ConstantMethodParameter> mparams = HashMultimap.create();
+	private final boolean partitioned;
+
+	public ConstantParameter()
+	{
+		this(true);
+	}
+
+	/**
+	 * @param partitioned whether to find parameters with a {@link PartitionedExecution}
+	 */
+	public ConstantParameter(boolean partitioned)
+	{
+		this.partitioned = partitioned;
+	}
 
 	private void checkMethodsAreConsistent(List<Method> methods)
 	{
@@ -461,17 +476,45 @@ public class ConstantParameter implements Deobfuscator
 	@Override
 	public void run(ClassGroup group)
 	{
-		Execution execution = new Execution(group);
-		execution.addExecutionVisitor(this::findParameters);
-		execution.populateInitialMethods();
-		execution.run();
+		if (partitioned)
+		{
+			// parameters are only ever passed within a call graph component, so each
+			// partition collects into its own maps, which are disjoint and merged in order
+			List<ConstantParameter> partitions = new PartitionedExecution(group).run(execution ->
+			{
+				ConstantParameter partition = new ConstantParameter();
+				execution.addExecutionVisitor(partition::findParameters);
+				return partition;
+			});
 
-		execution = new Execution(group);
-		execution.addMethodContextVisitor(this::findDeadParameters);
-		execution.populateInitialMethods();
-		execution.run();
+			for (ConstantParameter partition : partitions)
+			{
+				parameters.putAll(partition.parameters);
+				mparams.putAll(partition.mparams);
+			}
+
+			// only modifies the parameters of the partition's own methods
+			new PartitionedExecution(group).run(execution ->
+			{
+				execution.addMethodContextVisitor(this::findDeadParameters);
+				return null;
+			});
+		}
+		else
+		{
+			Execution execution = new Execution(group);
+			execution.addExecutionVisitor(this::findParameters);
+			execution.populateInitialMethods();
+			execution.run();
+
+			execution = new Execution(group);
+			execution.addMethodContextVisitor(this::findDeadParameters);
+			execution.populateInitialMethods();
+			execution.run();
+		}
 
-		execution = new Execution(group);
+		// removing operations modifies code, so it is always serial
+		Execution execution = new Execution(group);
 		execution.addMethodContextVisitor(m -> count += removeDeadOperations(m));
 		execution.populateInitialMethods();
 		execution.run();
@@ -29,12 +29,18 @@ import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Enumeration;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ForkJoinPool;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 import java.util.jar.JarOutputStream;
 import java.util.jar.Manifest;
+import java.util.stream.Collectors;
 import net.runelite.asm.ClassFile;
 import net.runelite.asm.ClassGroup;
 import net.runelite.asm.objectwebasm.NonloadingClassWriter;
@@ -52,7 +58,17 @@ public class JarUtil
 
 	public static ClassGroup loadJar(File jarfile) throws IOException
 	{
-		ClassGroup group = new ClassGroup();
+		return loadJar(jarfile, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Loads a jar, parsing its classes on the given pool. Entries are read
+	 * sequentially and added to the group in jar order, so the resulting
+	 * group is identical to a single threaded load.
+	 */
+	public static ClassGroup loadJar(File jarfile, ForkJoinPool pool) throws IOException
+	{
+		List<byte[]> classes = new ArrayList<>();
 
 		try (JarFile jar = new JarFile(jarfile))
 		{
@@ -65,20 +81,14 @@ public class JarUtil
 					continue;
 				}
 
-				InputStream is = jar.getInputStream(entry);
-
-				ClassReader reader = new ClassReader(is);
-				ClassFileVisitor cv = new ClassFileVisitor();
-
-				reader.accept(cv, ClassReader.SKIP_FRAMES);
-
-				group.addClass(cv.getClassFile());
+				try (InputStream is = jar.getInputStream(entry))
+				{
+					classes.add(is.readAllBytes());
+				}
 			}
 		}
 
-		group.initialize();
-
-		return group;
+		return createGroup(pool, classes);
 	}
 
 	public static ClassFile loadClass(byte[] bytes)
@@ -91,7 +101,7 @@ public class JarUtil
 
 	public static ClassGroup loadClasses(Collection<File> files) throws IOException
 	{
-		final ClassGroup group = new ClassGroup();
+		List<byte[]> classes = new ArrayList<>();
 
 		for (File file : files)
 		{
@@ -102,13 +112,26 @@ public class JarUtil
 
 			try (InputStream is = new FileInputStream(file))
 			{
-				ClassReader reader = new ClassReader(is);
-				ClassFileVisitor cv = new ClassFileVisitor();
+				classes.add(is.readAllBytes());
+			}
+		}
 
-				reader.accept(cv, ClassReader.SKIP_FRAMES);
+		return createGroup(ForkJoinPool.commonPool(), classes);
+	}
 
-				group.addClass(cv.getClassFile());
-			}
+	private static ClassGroup createGroup(ForkJoinPool pool, List<byte[]> classes)
+	{
+		// parsing only touches the class being built, the group is assembled afterwards
+		List<ClassFile> parsed = pool.submit(() -> classes.parallelStream()
+			.map(JarUtil::loadClass)
+			.collect(Collectors.toList()))
+			.join();
+
+		ClassGroup group = new ClassGroup();
+
+		for (ClassFile cf : parsed)
+		{
+			group.addClass(cf);
 		}
 
 		group.initialize();
@@ -118,16 +141,31 @@ public class JarUtil
 
 	public static void saveJar(ClassGroup group, File jarfile) throws IOException
 	{
+		saveJar(group, jarfile, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Saves a group to a jar, computing frames for each class on the given pool.
+	 * The group must not be modified while it is being written. Entries are
+	 * written in group order regardless of which class finishes first.
+	 */
+	public static void saveJar(ClassGroup group, File jarfile, ForkJoinPool pool) throws IOException
+	{
+		List<ClassFile> classes = new ArrayList<>(group.getClasses());
+		ConcurrentMap<String, String> commonSuperClasses = new ConcurrentHashMap<>();
+
+		List<byte[]> data = pool.submit(() -> classes.parallelStream()
+			.map(cf -> writeClass(group, cf, commonSuperClasses))
+			.collect(Collectors.toList()))
+			.join();
+
 		try (JarOutputStream jout = new JarOutputStream(new FileOutputStream(jarfile), new Manifest()))
 		{
-			for (ClassFile cf : group.getClasses())
+			for (int i = 0; i < classes.size(); ++i)
 			{
-				JarEntry entry = new JarEntry(cf.getName() + ".class");
+				JarEntry entry = new JarEntry(classes.get(i).getName() + ".class");
 				jout.putNextEntry(entry);
-
-				byte[] data = writeClass(group, cf);
-
-				jout.write(data);
+				jout.write(data.get(i));
 				jout.closeEntry();
 			}
 		}
@@ -135,7 +173,12 @@ public class JarUtil
 
 	public static byte[] writeClass(ClassGroup group, ClassFile cf)
 	{
-		ClassWriter writer = new NonloadingClassWriter(group, ClassWriter.COMPUTE_FRAMES | ClassWriter.COMPUTE_MAXS);
+		return writeClass(group, cf, null);
+	}
+
+	private static byte[] writeClass(ClassGroup group, ClassFile cf, ConcurrentMap<String, String> commonSuperClasses)
+	{
+		ClassWriter writer = new NonloadingClassWriter(group, ClassWriter.COMPUTE_FRAMES | ClassWriter.COMPUTE_MAXS, commonSuperClasses);
 		CheckClassAdapter cca = new CheckClassAdapter(writer, false);
 
 		cf.accept(cca);
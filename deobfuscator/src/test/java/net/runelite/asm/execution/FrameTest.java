@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2020, https://openosrs.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.asm.execution;
+
+import net.runelite.asm.ClassGroup;
+import net.runelite.asm.Method;
+import net.runelite.asm.Type;
+import net.runelite.asm.attributes.code.Instruction;
+import net.runelite.deob.ClassGroupFactory;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class FrameTest
+{
+	private Frame frame;
+	private Instruction instruction;
+
+	@Before
+	public void before()
+	{
+		ClassGroup group = ClassGroupFactory.generateGroup();
+		Method method = group.findClass("test").findMethod("func2");
+		method.getCode().setMaxStack(2);
+
+		frame = new Frame(new Execution(group), method);
+		frame.initialize();
+		instruction = method.getCode().getInstructions().getInstructions().get(0);
+	}
+
+	@Test
+	public void testDupStack()
+	{
+		StackContext a = push(frame);
+		Frame dup = frame.dup();
+		Stack stack = frame.getStack();
+		Stack dupStack = dup.getStack();
+
+		Assert.assertEquals(1, dupStack.getSize());
+		Assert.assertSame(a, dupStack.getStack().get(0));
+
+		// the dup overwrites the slot the original still uses
+		Assert.assertSame(a, dupStack.pop());
+		StackContext b = push(dup);
+		StackContext c = push(dup);
+
+		Assert.assertEquals(1, stack.getSize());
+		Assert.assertSame(a, stack.getStack().get(0));
+		Assert.assertNull(stack.getStack().get(1));
+
+		// and the original writes over the dup
+		StackContext d = push(frame);
+
+		Assert.assertSame(d, stack.getStack().get(1));
+		Assert.assertEquals(2, dupStack.getSize());
+		Assert.assertSame(b, dupStack.getStack().get(0));
+		Assert.assertSame(c, dupStack.getStack().get(1));
+	}
+
+	@Test
+	public void testDupVariables()
+	{
+		Variables variables = frame.getVariables();
+		VariableContext parameter = variables.get(0);
+		Assert.assertNotNull(parameter);
+
+		Frame dup = frame.dup();
+		Variables dupVariables = dup.getVariables();
+		Assert.assertSame(parameter, dupVariables.get(0));
+
+		VariableContext a = new VariableContext(Type.INT);
+		VariableContext b = new VariableContext(Type.INT);
+		dupVariables.set(0, a);
+		variables.set(1, b);
+
+		Assert.assertSame(parameter, variables.get(0));
+		Assert.assertSame(b, variables.get(1));
+		Assert.assertSame(a, dupVariables.get(0));
+		Assert.assertTrue(dupVariables.get(1).isIsParameter());
+	}
+
+	@Test
+	public void testInstructionContextSnapshot()
+	{
+		StackContext a = push(frame);
+		InstructionContext ictx = new InstructionContext(instruction, frame);
+
+		frame.getStack().pop();
+		push(frame);
+		frame.getVariables().set(0, new VariableContext(Type.INT));
+
+		Assert.assertEquals(1, ictx.getStack().getSize());
+		Assert.assertSame(a, ictx.getStack().getStack().get(0));
+		Assert.assertTrue(ictx.getVariables().get(0).isIsParameter());
+	}
+
+	private StackContext push(Frame f)
+	{
+		StackContext ctx = new StackContext(new InstructionContext(instruction, f), Type.INT, Value.UNKNOWN);
+		f.getStack().push(ctx);
+		return ctx;
+	}
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2020, https://openosrs.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.asm.execution;
+
+import com.google.common.collect.Sets;
+import java.io.File;
+import java.util.Set;
+import net.runelite.asm.ClassGroup;
+import net.runelite.asm.attributes.code.Instruction;
+import net.runelite.deob.DeobTestProperties;
+import net.runelite.deob.util.JarUtil;
+import static org.junit.Assert.assertEquals;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class PartitionedExecutionTest
+{
+	@Rule
+	public DeobTestProperties properties = new DeobTestProperties();
+
+	@Test
+	public void testExecutesSameInstructions() throws Exception
+	{
+		ClassGroup group = JarUtil.loadJar(new File(properties.getVanillaClient()));
+
+		Execution serial = new Execution(group);
+		serial.populateInitialMethods();
+		serial.run();
+
+		Set<Instruction> executed = Sets.newIdentityHashSet();
+		for (Execution e : new PartitionedExecution(group).run(e -> e))
+		{
+			executed.addAll(e.executed);
+		}
+
+		assertEquals(serial.executed, executed);
+	}
+}
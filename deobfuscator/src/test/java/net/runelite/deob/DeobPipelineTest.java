@@ -0,0 +1,246 @@
+/*
+ * Copyright (c) 2020, https://openosrs.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.deob;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.io.ByteSource;
+import com.google.common.io.Files;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+import net.runelite.asm.ClassGroup;
+import net.runelite.deob.deobfuscators.CastNull;
+import net.runelite.deob.deobfuscators.Order;
+import net.runelite.deob.deobfuscators.UnreachedCode;
+import net.runelite.deob.deobfuscators.arithmetic.ModArith;
+import net.runelite.deob.deobfuscators.constparam.ConstantParameter;
+import net.runelite.deob.util.JarUtil;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class DeobPipelineTest
+{
+	private static final Map<String, Class<?>> PASSES = ImmutableMap.of(
+		"A", UnreachedCode.class,
+		"B", ConstantParameter.class,
+		"C", ModArith.class,
+		"D", CastNull.class,
+		"X", Order.class
+	);
+
+	@Rule
+	public TemporaryFolder folder = TemporyFolderLocation.getTemporaryFolder();
+
+	private File jar;
+	private File checkpoints;
+	private SortedMap<String, ByteSource> code;
+	private final List<String> ran = new ArrayList<>();
+	private int edits;
+
+	@Before
+	public void before() throws IOException
+	{
+		jar = folder.newFile("in.jar");
+		JarUtil.saveJar(new ClassGroup(), jar);
+		checkpoints = folder.newFolder("checkpoints");
+
+		code = new TreeMap<>();
+		edit("net/runelite/asm/ClassGroup.class");
+		edit("net/runelite/deob/util/JarUtil.class");
+		edit("net/runelite/deob/Deob.class");
+		edit("net/runelite/deob/deobfuscators/UnreachedCode.class");
+		edit("net/runelite/deob/deobfuscators/UnreachedCode$1.class");
+		edit("net/runelite/deob/deobfuscators/Renamer.class");
+		edit("net/runelite/deob/deobfuscators/constparam/ConstantParameter.class");
+		edit("net/runelite/deob/deobfuscators/arithmetic/ModArith.class");
+		edit("net/runelite/deob/deobfuscators/arithmetic/MultiplicationDeobfuscator.class");
+		edit("net/runelite/deob/deobfuscators/CastNull.class");
+	}
+
+	@Test
+	public void testKeysChain() throws IOException
+	{
+		String[] keys = keys("A", "B", "C", "D");
+		assertEquals(4, keys.length);
+		assertEquals(4, new HashSet<>(Arrays.asList(keys)).size());
+
+		// same passes, same keys
+		assertArrayEquals(keys, keys("A", "B", "C", "D"));
+
+		// a changed pass keeps the keys before it and changes every key from it on
+		String[] changed = keys("A", "X", "C", "D");
+		assertEquals(keys[0], changed[0]);
+		assertNotEquals(keys[1], changed[1]);
+		assertNotEquals(keys[2], changed[2]);
+		assertNotEquals(keys[3], changed[3]);
+
+		// as does a change to the code of a pass, including its package helpers
+		edit("net/runelite/deob/deobfuscators/arithmetic/MultiplicationDeobfuscator.class");
+		changed = keys("A", "B", "C", "D");
+		assertEquals(keys[1], changed[1]);
+		assertNotEquals(keys[2], changed[2]);
+		assertNotEquals(keys[3], changed[3]);
+
+		// and to its nested classes
+		keys = changed;
+		edit("net/runelite/deob/deobfuscators/UnreachedCode$1.class");
+		changed = keys("A", "B", "C", "D");
+		assertNotEquals(keys[0], changed[0]);
+
+		// code which no pass owns changes nothing
+		keys = changed;
+		edit("net/runelite/deob/deobfuscators/Renamer.class");
+		edit("net/runelite/deob/Deob.class");
+		assertArrayEquals(keys, keys("A", "B", "C", "D"));
+
+		// a changed shared code or input changes every key
+		edit("net/runelite/asm/ClassGroup.class");
+		assertNotEquals(keys[0], keys("A", "B", "C", "D")[0]);
+
+		File other = folder.newFile("other.jar");
+		Files.write(new byte[]{1, 2, 3}, other);
+		assertNotEquals(keys[0], pipeline("A", "B", "C", "D").keys(other)[0]);
+	}
+
+	@Test
+	public void testPassCode()
+	{
+		Predicate<String> unreachedCode = DeobPipeline.passCode(UnreachedCode.class);
+		assertTrue(unreachedCode.test("net/runelite/deob/deobfuscators/UnreachedCode.class"));
+		assertTrue(unreachedCode.test("net/runelite/deob/deobfuscators/UnreachedCode$1.class"));
+		assertFalse(unreachedCode.test("net/runelite/deob/deobfuscators/UnreachedCodeTwo.class"));
+		assertFalse(unreachedCode.test("net/runelite/deob/deobfuscators/Renamer.class"));
+
+		Predicate<String> modArith = DeobPipeline.passCode(ModArith.class);
+		assertTrue(modArith.test("net/runelite/deob/deobfuscators/arithmetic/ModArith.class"));
+		assertTrue(modArith.test("net/runelite/deob/deobfuscators/arithmetic/MultiplicationDeobfuscator.class"));
+		assertFalse(modArith.test("net/runelite/deob/deobfuscators/arithmetic/sub/Other.class"));
+		assertFalse(modArith.test("net/runelite/deob/deobfuscators/CastNull.class"));
+	}
+
+	@Test
+	public void testLoadCode() throws IOException
+	{
+		SortedMap<String, ByteSource> classes = DeobPipeline.loadCode();
+		assertTrue(classes.containsKey("net/runelite/deob/DeobPipeline.class"));
+		assertTrue(classes.containsKey("net/runelite/asm/ClassGroup.class"));
+	}
+
+	@Test
+	public void testResume() throws IOException
+	{
+		pipeline("A", "B!", "C!", "D").run(jar);
+		assertEquals(Arrays.asList("A", "B", "C", "D"), ran);
+
+		// resumes after the last checkpoint
+		ran.clear();
+		pipeline("A", "B!", "C!", "D").run(jar);
+		assertEquals(Collections.singletonList("D"), ran);
+
+		// a changed pass falls back to the last checkpoint before it
+		ran.clear();
+		pipeline("A", "B!", "X!", "D").run(jar);
+		assertEquals(Arrays.asList("X", "D"), ran);
+
+		// as does a change to the code of a pass
+		ran.clear();
+		edit("net/runelite/deob/deobfuscators/arithmetic/ModArith.class");
+		pipeline("A", "B!", "C!", "D").run(jar);
+		assertEquals(Arrays.asList("C", "D"), ran);
+
+		// changed shared code invalidates every checkpoint
+		ran.clear();
+		edit("net/runelite/asm/ClassGroup.class");
+		pipeline("A", "B!", "C!", "D").run(jar);
+		assertEquals(Arrays.asList("A", "B", "C", "D"), ran);
+	}
+
+	@Test
+	public void testNoCheckpoints() throws IOException
+	{
+		new DeobPipeline(null, false, code)
+			.add("A", UnreachedCode.class, group -> ran.add("A"))
+			.add("B", ConstantParameter.class, group -> ran.add("B"))
+			.checkpoint()
+			.run(jar);
+		new DeobPipeline(null, false, code)
+			.add("A", UnreachedCode.class, group -> ran.add("A"))
+			.add("B", ConstantParameter.class, group -> ran.add("B"))
+			.checkpoint()
+			.run(jar);
+
+		assertEquals(Arrays.asList("A", "B", "A", "B"), ran);
+		assertEquals(0, checkpoints.list().length);
+	}
+
+	/**
+	 * Changes the contents of a class file
+	 */
+	private void edit(String name)
+	{
+		code.put(name, ByteSource.wrap(Integer.toString(++edits).getBytes(StandardCharsets.UTF_8)));
+	}
+
+	private String[] keys(String... names) throws IOException
+	{
+		return pipeline(names).keys(jar);
+	}
+
+	/**
+	 * Builds a pipeline of passes which record their name when run, and are
+	 * checkpointed if their name ends with an exclamation mark.
+	 */
+	private DeobPipeline pipeline(String... names)
+	{
+		DeobPipeline pipeline = new DeobPipeline(checkpoints, false, code);
+		for (String name : names)
+		{
+			boolean checkpoint = name.endsWith("!");
+			String pass = checkpoint ? name.substring(0, name.length() - 1) : name;
+			pipeline.add(pass, PASSES.get(pass), group -> ran.add(pass));
+			if (checkpoint)
+			{
+				pipeline.checkpoint();
+			}
+		}
+		return pipeline;
+	}
+}
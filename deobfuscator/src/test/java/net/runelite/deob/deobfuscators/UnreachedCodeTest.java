@@ -25,6 +25,9 @@
 package net.runelite.deob.deobfuscators;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
 import net.runelite.asm.ClassFile;
 import net.runelite.asm.ClassGroup;
 import net.runelite.asm.ClassUtil;
@@ -89,4 +92,46 @@ public class UnreachedCodeTest
 		// remove it too
 		cf.removeMethod(method);
 	}
+
+	@Test
+	public void testLeanMatchesFull() throws IOException
+	{
+		ClassGroup full = load();
+		new UnreachedCode(false).run(full);
+
+		ClassGroup lean = load();
+		new UnreachedCode().run(lean);
+
+		Assert.assertNotEquals(describe(load()), describe(lean));
+		Assert.assertEquals(describe(full), describe(lean));
+	}
+
+	private static ClassGroup load() throws IOException
+	{
+		ClassGroup group = new ClassGroup();
+		group.addClass(ClassUtil.loadClass(UnreachedCodeTest.class.getResourceAsStream("unreachedcode/UnreachableTest.class")));
+		group.addClass(ClassUtil.loadClass(UnreachedCodeTest.class.getResourceAsStream("/net/runelite/asm/execution/tests/TableSwitch.class")));
+		return group;
+	}
+
+	/**
+	 * Lists the remaining instructions and exception handlers of every method
+	 */
+	private static List<String> describe(ClassGroup group)
+	{
+		List<String> methods = new ArrayList<>();
+		for (ClassFile cf : group.getClasses())
+		{
+			for (Method method : cf.getMethods())
+			{
+				methods.add(cf.getName() + "." + method.getName() + " "
+					+ method.getCode().getInstructions().getInstructions().stream()
+					.filter(i -> !(i instanceof Label))
+					.map(i -> i.getType().name())
+					.collect(Collectors.joining(","))
+					+ " exceptions=" + method.getCode().getExceptions().getExceptions().size());
+			}
+		}
+		return methods;
+	}
 }
@@ -26,11 +26,14 @@ package net.runelite.deob.deobfuscators.constparam;
 
 import java.io.File;
 import java.io.IOException;
+import net.runelite.asm.ClassFile;
 import net.runelite.asm.ClassGroup;
 import net.runelite.deob.DeobTestProperties;
 import net.runelite.deob.TemporyFolderLocation;
 import net.runelite.deob.util.JarUtil;
 import org.junit.After;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
 import org.junit.Before;
 import org.junit.Ignore;
 import org.junit.Rule;
@@ -66,4 +69,19 @@ public class ConstantParameterTest
 		ConstantParameter cp = new ConstantParameter();
 		cp.run(group);
 	}
+
+	@Test
+	public void testPartitionedMatchesSerial() throws IOException
+	{
+		ClassGroup serial = JarUtil.loadJar(new File(properties.getVanillaClient()));
+		new ConstantParameter(false).run(serial);
+		new ConstantParameter(true).run(group);
+
+		assertEquals(serial.getClasses().size(), group.getClasses().size());
+		for (ClassFile cf : serial.getClasses())
+		{
+			ClassFile other = group.findClass(cf.getName());
+			assertArrayEquals(cf.getName(), JarUtil.writeClass(serial, cf), JarUtil.writeClass(group, other));
+		}
+	}
 }
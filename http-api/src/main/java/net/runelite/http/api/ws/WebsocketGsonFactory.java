@@ -31,6 +31,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import net.runelite.http.api.ws.messages.Handshake;
+import net.runelite.http.api.ws.messages.HandshakeResponse;
 import net.runelite.http.api.ws.messages.LoginResponse;
 import net.runelite.http.api.ws.messages.party.Join;
 import net.runelite.http.api.ws.messages.party.Part;
@@ -47,6 +48,7 @@ public class WebsocketGsonFactory
 	{
 		final List<Class<? extends WebsocketMessage>> messages = new ArrayList<>();
 		messages.add(Handshake.class);
+		messages.add(HandshakeResponse.class);
 		messages.add(LoginResponse.class);
 		messages.add(Join.class);
 		messages.add(Part.class);
@@ -24,13 +24,23 @@
  */
 package net.runelite.http.api.ws.messages;
 
+import java.util.List;
 import java.util.UUID;
 import net.runelite.http.api.ws.WebsocketMessage;
 
 public class Handshake extends WebsocketMessage
 {
+	public static final String CODEC_JSON = "json";
+	public static final String CODEC_BINARY = "binary";
+
 	private UUID session;
 
+	/**
+	 * Frame codecs the client understands, in order of preference. Servers which
+	 * do not know about this field keep speaking json.
+	 */
+	private List<String> codecs;
+
 	public UUID getSession()
 	{
 		return session;
@@ -40,4 +50,14 @@ public class Handshake extends WebsocketMessage
 	{
 		this.session = session;
 	}
+
+	public List<String> getCodecs()
+	{
+		return codecs;
+	}
+
+	public void setCodecs(List<String> codecs)
+	{
+		this.codecs = codecs;
+	}
 }
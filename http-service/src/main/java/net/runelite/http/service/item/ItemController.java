@@ -24,27 +24,40 @@
  */
 package net.runelite.http.service.item;
 
-import com.google.common.base.Supplier;
-import com.google.common.base.Suppliers;
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.hash.HashCode;
 import com.google.common.hash.Hasher;
 import com.google.common.hash.Hashing;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
 import javax.servlet.http.HttpServletResponse;
+import net.runelite.http.api.RuneLiteAPI;
 import net.runelite.http.api.item.Item;
 import net.runelite.http.api.item.ItemPrice;
 import net.runelite.http.api.item.SearchResult;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -54,24 +67,57 @@ import org.springframework.web.bind.annotation.RestController;
 public class ItemController
 {
 	private static final String RUNELITE_CACHE = "RuneLite-Cache";
+	private static final String RUNELITE_DELTA = "RuneLite-Delta";
 	private static final int MAX_BATCH_LOOKUP = 1024;
+	private static final int PRICE_HISTORY = 16;
 
-	private static class MemoizedPrices
+	private static class PriceSnapshot
 	{
-		final ItemPrice[] prices;
+		final Map<Integer, ItemPrice> prices;
 		final String hash;
+		final byte[] json;
+		final byte[] gzip;
+		// changed prices since an older snapshot, by the older snapshot's hash. Empty if
+		// items have been removed since, as a delta has no way to express that
+		final Map<String, Optional<byte[]>> deltas = new ConcurrentHashMap<>();
 
-		MemoizedPrices(ItemPrice[] prices)
+		PriceSnapshot(ItemPrice[] prices)
 		{
-			this.prices = prices;
+			this.prices = new LinkedHashMap<>(prices.length);
 
 			Hasher hasher = Hashing.sha256().newHasher();
 			for (ItemPrice itemPrice : prices)
 			{
+				this.prices.put(itemPrice.getId(), itemPrice);
 				hasher.putInt(itemPrice.getId()).putInt(itemPrice.getPrice());
 			}
 			HashCode code = hasher.hash();
 			hash = code.toString();
+
+			json = toJson(prices);
+			gzip = gzip(json);
+		}
+
+		boolean matches(String ifNoneMatch)
+		{
+			if (ifNoneMatch == null)
+			{
+				return false;
+			}
+
+			for (String etag : ifNoneMatch.split(","))
+			{
+				etag = etag.trim();
+				if (etag.startsWith("W/"))
+				{
+					etag = etag.substring(2);
+				}
+				if (etag.equals("*") || etag.replace("\"", "").equals(hash))
+				{
+					return true;
+				}
+			}
+			return false;
 		}
 	}
 
@@ -81,24 +127,17 @@ public class ItemController
 
 	private final ItemService itemService;
 
-	private final Supplier<MemoizedPrices> memoizedPrices;
+	// recent snapshot prices by snapshot hash, to compute deltas from
+	private final Cache<String, Map<Integer, ItemPrice>> priceHistory = CacheBuilder.newBuilder()
+		.maximumSize(PRICE_HISTORY)
+		.build();
+
+	private volatile PriceSnapshot priceSnapshot;
 
 	@Autowired
 	public ItemController(ItemService itemService)
 	{
 		this.itemService = itemService;
-
-		memoizedPrices = Suppliers.memoizeWithExpiration(() -> new MemoizedPrices(itemService.fetchPrices().stream()
-			.map(priceEntry ->
-			{
-				ItemPrice itemPrice = new ItemPrice();
-				itemPrice.setId(priceEntry.getItem());
-				itemPrice.setName(priceEntry.getName());
-				itemPrice.setPrice(priceEntry.getPrice());
-				itemPrice.setTime(priceEntry.getTime());
-				return itemPrice;
-			})
-			.toArray(ItemPrice[]::new)), 30, TimeUnit.MINUTES);
 	}
 
 	@GetMapping("/{itemId}")
@@ -240,12 +279,127 @@ public class ItemController
 	}
 
 	@GetMapping("/prices")
-	public ResponseEntity<ItemPrice[]> prices()
+	public ResponseEntity<byte[]> prices(
+		@RequestParam(required = false) String since,
+		@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+		@RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
+	)
 	{
-		MemoizedPrices memorizedPrices = this.memoizedPrices.get();
-		return ResponseEntity.ok()
-			.eTag(memorizedPrices.hash)
+		PriceSnapshot snapshot = this.priceSnapshot;
+		if (snapshot == null)
+		{
+			// prices haven't been loaded yet
+			return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+		}
+
+		if (snapshot.matches(ifNoneMatch) || snapshot.hash.equals(since))
+		{
+			return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+				.eTag(snapshot.hash)
+				.cacheControl(CacheControl.maxAge(30, TimeUnit.MINUTES).cachePublic())
+				.build();
+		}
+
+		if (since != null)
+		{
+			Map<Integer, ItemPrice> previous = priceHistory.getIfPresent(since);
+			if (previous != null)
+			{
+				Optional<byte[]> delta = snapshot.deltas.computeIfAbsent(since, k -> delta(previous, snapshot.prices));
+				if (delta.isPresent())
+				{
+					return ResponseEntity.ok()
+						.eTag(snapshot.hash)
+						.cacheControl(CacheControl.maxAge(30, TimeUnit.MINUTES).cachePublic())
+						.header(RUNELITE_DELTA, "true")
+						.contentType(MediaType.APPLICATION_JSON)
+						.body(delta.get());
+				}
+			}
+			// too old to compute a delta from, or items were removed, so fall through to the full snapshot
+		}
+
+		ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+			.eTag(snapshot.hash)
 			.cacheControl(CacheControl.maxAge(30, TimeUnit.MINUTES).cachePublic())
-			.body(memorizedPrices.prices);
+			.varyBy(HttpHeaders.ACCEPT_ENCODING)
+			.contentType(MediaType.APPLICATION_JSON);
+
+		if (acceptEncoding != null && acceptEncoding.contains("gzip"))
+		{
+			return builder
+				.header(HttpHeaders.CONTENT_ENCODING, "gzip")
+				.body(snapshot.gzip);
+		}
+
+		return builder.body(snapshot.json);
+	}
+
+	/**
+	 * Refresh the price snapshot in the background, so requests never wait on the price query
+	 */
+	@Scheduled(fixedDelay = 30 * 60 * 1000)
+	public void refreshPrices()
+	{
+		ItemPrice[] prices = itemService.fetchPrices().stream()
+			.map(priceEntry ->
+			{
+				ItemPrice itemPrice = new ItemPrice();
+				itemPrice.setId(priceEntry.getItem());
+				itemPrice.setName(priceEntry.getName());
+				itemPrice.setPrice(priceEntry.getPrice());
+				itemPrice.setTime(priceEntry.getTime());
+				return itemPrice;
+			})
+			.toArray(ItemPrice[]::new);
+
+		PriceSnapshot snapshot = new PriceSnapshot(prices);
+		PriceSnapshot current = this.priceSnapshot;
+		if (current != null && current.hash.equals(snapshot.hash))
+		{
+			// keep the current snapshot and the deltas computed for it
+			return;
+		}
+
+		priceHistory.put(snapshot.hash, snapshot.prices);
+		priceSnapshot = snapshot;
+	}
+
+	/**
+	 * The prices which were added or changed between two snapshots, or empty if any item was removed
+	 */
+	private static Optional<byte[]> delta(Map<Integer, ItemPrice> previous, Map<Integer, ItemPrice> current)
+	{
+		if (!current.keySet().containsAll(previous.keySet()))
+		{
+			return Optional.empty();
+		}
+
+		return Optional.of(toJson(current.values().stream()
+			.filter(itemPrice ->
+			{
+				ItemPrice old = previous.get(itemPrice.getId());
+				return old == null || old.getPrice() != itemPrice.getPrice();
+			})
+			.toArray(ItemPrice[]::new)));
+	}
+
+	private static byte[] toJson(ItemPrice[] prices)
+	{
+		return RuneLiteAPI.GSON.toJson(prices).getBytes(StandardCharsets.UTF_8);
+	}
+
+	private static byte[] gzip(byte[] data)
+	{
+		ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 4);
+		try (GZIPOutputStream gzip = new GZIPOutputStream(out))
+		{
+			gzip.write(data);
+		}
+		catch (IOException ex)
+		{
+			throw new UncheckedIOException(ex);
+		}
+		return out.toByteArray();
 	}
 }
@@ -24,14 +24,25 @@
  */
 package net.runelite.http.service.xp;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.hash.BloomFilter;
 import com.google.common.hash.Funnels;
+import com.google.common.util.concurrent.RateLimiter;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.nio.charset.Charset;
 import java.time.Duration;
 import java.time.Instant;
-import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.http.api.hiscore.HiscoreEndpoint;
 import net.runelite.http.api.hiscore.HiscoreResult;
@@ -44,7 +55,9 @@ import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.sql2o.Connection;
+import org.sql2o.Query;
 import org.sql2o.Sql2o;
+import org.sql2o.Sql2oException;
 
 @Service
 @Slf4j
@@ -52,17 +65,90 @@ public class XpTrackerService
 {
 	private static final int QUEUE_LIMIT = 32768;
 	private static final int BLOOMFILTER_EXPECTED_INSERTIONS = 100_000;
+	private static final int WORKERS = 4;
+	private static final double HISCORE_LOOKUPS_PER_SECOND = 4;
+	private static final int BATCH_SIZE = 256;
+	private static final int PLAYER_CACHE_SIZE = 100_000;
 
-	@Autowired
-	@Qualifier("Runelite XP Tracker SQL2O")
-	private Sql2o sql2o;
+	private static final String INSERT_XP_QUERY = "insert into xp (player,attack_xp,defence_xp,strength_xp,hitpoints_xp,ranged_xp,prayer_xp,magic_xp,cooking_xp,woodcutting_xp,"
+		+ "fletching_xp,fishing_xp,firemaking_xp,crafting_xp,smithing_xp,mining_xp,herblore_xp,agility_xp,thieving_xp,slayer_xp,farming_xp,"
+		+ "runecraft_xp,hunter_xp,construction_xp,attack_rank,defence_rank,strength_rank,hitpoints_rank,ranged_rank,prayer_rank,magic_rank,"
+		+ "cooking_rank,woodcutting_rank,fletching_rank,fishing_rank,firemaking_rank,crafting_rank,smithing_rank,mining_rank,herblore_rank,"
+		+ "agility_rank,thieving_rank,slayer_rank,farming_rank,runecraft_rank,hunter_rank,construction_rank,overall_rank) values (:player,:attack_xp,:defence_xp,"
+		+ ":strength_xp,:hitpoints_xp,:ranged_xp,:prayer_xp,:magic_xp,:cooking_xp,:woodcutting_xp,:fletching_xp,:fishing_xp,:firemaking_xp,"
+		+ ":crafting_xp,:smithing_xp,:mining_xp,:herblore_xp,:agility_xp,:thieving_xp,:slayer_xp,:farming_xp,:runecraft_xp,:hunter_xp,"
+		+ ":construction_xp,:attack_rank,:defence_rank,:strength_rank,:hitpoints_rank,:ranged_rank,:prayer_rank,:magic_rank,:cooking_rank,"
+		+ ":woodcutting_rank,:fletching_rank,:fishing_rank,:firemaking_rank,:crafting_rank,:smithing_rank,:mining_rank,:herblore_rank,"
+		+ ":agility_rank,:thieving_rank,:slayer_rank,:farming_rank,:runecraft_rank,:hunter_rank,:construction_rank,:overall_rank)";
+	private static final String UPDATE_PLAYER_QUERY = "update player set rank = :rank, last_updated = CURRENT_TIMESTAMP where id = :id";
 
-	@Autowired
-	private HiscoreService hiscoreService;
+	/**
+	 * A player and the last xp recorded for them
+	 */
+	private static class TrackedPlayer
+	{
+		private final PlayerEntity playerEntity;
+		private XpData xpData;
+		private boolean xpLoaded;
+
+		private TrackedPlayer(PlayerEntity playerEntity)
+		{
+			this.playerEntity = playerEntity;
+		}
+	}
+
+	private static class PendingXp
+	{
+		private final String username;
+		private final int player;
+		private final HiscoreResult hiscoreResult;
 
-	private final Queue<String> usernameUpdateQueue = new ArrayDeque<>();
+		private PendingXp(String username, int player, HiscoreResult hiscoreResult)
+		{
+			this.username = username;
+			this.player = player;
+			this.hiscoreResult = hiscoreResult;
+		}
+	}
+
+	private final Sql2o sql2o;
+	private final HiscoreService hiscoreService;
+
+	private final XpUpdateQueue usernameUpdateQueue = new XpUpdateQueue(QUEUE_LIMIT);
 	private BloomFilter<String> usernameFilter = createFilter();
 
+	// players are cached so checking whether to update them doesn't need a query
+	private final Cache<String, TrackedPlayer> players = CacheBuilder.newBuilder()
+		.maximumSize(PLAYER_CACHE_SIZE)
+		.expireAfterAccess(6, TimeUnit.HOURS)
+		.build();
+
+	// token bucket for hiscore lookups, shared by all workers
+	private final RateLimiter hiscoreLimiter;
+	private final ExecutorService workers;
+	// usernames are only handed out to idle workers, so the rest wait in the update queue
+	private final Semaphore idleWorkers = new Semaphore(WORKERS);
+
+	// xp rows waiting to be inserted by flush()
+	private final Queue<PendingXp> pendingXp = new ConcurrentLinkedQueue<>();
+
+	@Autowired
+	public XpTrackerService(@Qualifier("Runelite XP Tracker SQL2O") Sql2o sql2o, HiscoreService hiscoreService)
+	{
+		this(sql2o, hiscoreService, RateLimiter.create(HISCORE_LOOKUPS_PER_SECOND), Executors.newFixedThreadPool(WORKERS, new ThreadFactoryBuilder()
+			.setNameFormat("xp-tracker-%d")
+			.setDaemon(true)
+			.build()));
+	}
+
+	XpTrackerService(Sql2o sql2o, HiscoreService hiscoreService, RateLimiter hiscoreLimiter, ExecutorService workers)
+	{
+		this.sql2o = sql2o;
+		this.hiscoreService = hiscoreService;
+		this.hiscoreLimiter = hiscoreLimiter;
+		this.workers = workers;
+	}
+
 	public void update(String username) throws ExecutionException
 	{
 		HiscoreResult hiscoreResult = hiscoreService.lookupUsername(username, HiscoreEndpoint.NORMAL);
@@ -76,118 +162,82 @@ public class XpTrackerService
 			return;
 		}
 
-		try (Connection con = sql2o.open())
+		TrackedPlayer player = getPlayer(username);
+
+		long overdue;
+		synchronized (player)
 		{
-			PlayerEntity playerEntity = findOrCreatePlayer(con, username);
+			PlayerEntity playerEntity = player.playerEntity;
 			Duration frequency = updateFrequency(playerEntity);
-			Instant now = Instant.now();
-			Duration timeSinceLastUpdate = Duration.between(playerEntity.getLast_updated(), now);
-			if (timeSinceLastUpdate.toMillis() < frequency.toMillis())
-			{
-				log.debug("User {} updated too recently", username);
-				usernameFilter.put(username);
-				return;
-			}
+			Duration timeSinceLastUpdate = Duration.between(playerEntity.getLast_updated(), Instant.now());
+			overdue = timeSinceLastUpdate.toMillis() - frequency.toMillis();
+		}
 
-			synchronized (usernameUpdateQueue)
-			{
-				if (usernameUpdateQueue.size() >= QUEUE_LIMIT)
-				{
-					log.warn("Username update queue is full ({})", QUEUE_LIMIT);
-					return;
-				}
+		if (overdue < 0)
+		{
+			log.debug("User {} updated too recently", username);
+			usernameFilter.put(username);
+			return;
+		}
 
-				usernameUpdateQueue.add(username);
-			}
+		if (!usernameUpdateQueue.offer(username, overdue))
+		{
+			log.warn("Username update queue is full ({})", QUEUE_LIMIT);
+			return;
 		}
 
 		usernameFilter.put(username);
 	}
 
+	/**
+	 * Record a hiscore result for a player. The xp row is inserted by the next {@link #flush()}.
+	 *
+	 * @param username
+	 * @param hiscoreResult
+	 */
 	public void update(String username, HiscoreResult hiscoreResult)
 	{
-		try (Connection con = sql2o.open())
+		TrackedPlayer player = getPlayer(username);
+		XpData hiscoreData = XpMapper.INSTANCE.hiscoreResultToXpData(hiscoreResult);
+
+		synchronized (player)
 		{
-			PlayerEntity playerEntity = findOrCreatePlayer(con, username);
+			if (!player.xpLoaded)
+			{
+				XpEntity currentXp = findXpAtTime(username, Instant.now());
+				player.xpData = currentXp != null ? XpMapper.INSTANCE.xpEntityToXpData(currentXp) : null;
+				player.xpLoaded = true;
+			}
 
-			Instant now = Instant.now();
-			XpEntity currentXp = findXpAtTime(con, username, now);
-			if (currentXp != null)
+			if (hiscoreData.equals(player.xpData))
 			{
-				XpData hiscoreData = XpMapper.INSTANCE.hiscoreResultToXpData(hiscoreResult);
-				XpData existingData = XpMapper.INSTANCE.xpEntityToXpData(currentXp);
+				log.debug("Hiscore for {} already up to date", username);
+				return;
+			}
+
+			player.xpData = hiscoreData;
+			player.playerEntity.setRank(hiscoreResult.getOverall().getRank());
+			player.playerEntity.setLast_updated(Instant.now());
+		}
 
-				if (hiscoreData.equals(existingData))
+		pendingXp.add(new PendingXp(username, player.playerEntity.getId(), hiscoreResult));
+	}
+
+	private TrackedPlayer getPlayer(String username)
+	{
+		try
+		{
+			return players.get(username, () ->
+			{
+				try (Connection con = sql2o.open())
 				{
-					log.debug("Hiscore for {} already up to date", username);
-					return;
+					return new TrackedPlayer(findOrCreatePlayer(con, username));
 				}
-			}
-
-			con.createQuery("insert into xp (player,attack_xp,defence_xp,strength_xp,hitpoints_xp,ranged_xp,prayer_xp,magic_xp,cooking_xp,woodcutting_xp,"
-				+ "fletching_xp,fishing_xp,firemaking_xp,crafting_xp,smithing_xp,mining_xp,herblore_xp,agility_xp,thieving_xp,slayer_xp,farming_xp,"
-				+ "runecraft_xp,hunter_xp,construction_xp,attack_rank,defence_rank,strength_rank,hitpoints_rank,ranged_rank,prayer_rank,magic_rank,"
-				+ "cooking_rank,woodcutting_rank,fletching_rank,fishing_rank,firemaking_rank,crafting_rank,smithing_rank,mining_rank,herblore_rank,"
-				+ "agility_rank,thieving_rank,slayer_rank,farming_rank,runecraft_rank,hunter_rank,construction_rank,overall_rank) values (:player,:attack_xp,:defence_xp,"
-				+ ":strength_xp,:hitpoints_xp,:ranged_xp,:prayer_xp,:magic_xp,:cooking_xp,:woodcutting_xp,:fletching_xp,:fishing_xp,:firemaking_xp,"
-				+ ":crafting_xp,:smithing_xp,:mining_xp,:herblore_xp,:agility_xp,:thieving_xp,:slayer_xp,:farming_xp,:runecraft_xp,:hunter_xp,"
-				+ ":construction_xp,:attack_rank,:defence_rank,:strength_rank,:hitpoints_rank,:ranged_rank,:prayer_rank,:magic_rank,:cooking_rank,"
-				+ ":woodcutting_rank,:fletching_rank,:fishing_rank,:firemaking_rank,:crafting_rank,:smithing_rank,:mining_rank,:herblore_rank,"
-				+ ":agility_rank,:thieving_rank,:slayer_rank,:farming_rank,:runecraft_rank,:hunter_rank,:construction_rank,:overall_rank)")
-				.addParameter("player", playerEntity.getId())
-				.addParameter("attack_xp", hiscoreResult.getAttack().getExperience())
-				.addParameter("defence_xp", hiscoreResult.getDefence().getExperience())
-				.addParameter("strength_xp", hiscoreResult.getStrength().getExperience())
-				.addParameter("hitpoints_xp", hiscoreResult.getHitpoints().getExperience())
-				.addParameter("ranged_xp", hiscoreResult.getRanged().getExperience())
-				.addParameter("prayer_xp", hiscoreResult.getPrayer().getExperience())
-				.addParameter("magic_xp", hiscoreResult.getMagic().getExperience())
-				.addParameter("cooking_xp", hiscoreResult.getCooking().getExperience())
-				.addParameter("woodcutting_xp", hiscoreResult.getWoodcutting().getExperience())
-				.addParameter("fletching_xp", hiscoreResult.getFletching().getExperience())
-				.addParameter("fishing_xp", hiscoreResult.getFishing().getExperience())
-				.addParameter("firemaking_xp", hiscoreResult.getFiremaking().getExperience())
-				.addParameter("crafting_xp", hiscoreResult.getCrafting().getExperience())
-				.addParameter("smithing_xp", hiscoreResult.getSmithing().getExperience())
-				.addParameter("mining_xp", hiscoreResult.getMining().getExperience())
-				.addParameter("herblore_xp", hiscoreResult.getHerblore().getExperience())
-				.addParameter("agility_xp", hiscoreResult.getAgility().getExperience())
-				.addParameter("thieving_xp", hiscoreResult.getThieving().getExperience())
-				.addParameter("slayer_xp", hiscoreResult.getSlayer().getExperience())
-				.addParameter("farming_xp", hiscoreResult.getFarming().getExperience())
-				.addParameter("runecraft_xp", hiscoreResult.getRunecraft().getExperience())
-				.addParameter("hunter_xp", hiscoreResult.getHunter().getExperience())
-				.addParameter("construction_xp", hiscoreResult.getConstruction().getExperience())
-				.addParameter("attack_rank", hiscoreResult.getAttack().getRank())
-				.addParameter("defence_rank", hiscoreResult.getDefence().getRank())
-				.addParameter("strength_rank", hiscoreResult.getStrength().getRank())
-				.addParameter("hitpoints_rank", hiscoreResult.getHitpoints().getRank())
-				.addParameter("ranged_rank", hiscoreResult.getRanged().getRank())
-				.addParameter("prayer_rank", hiscoreResult.getPrayer().getRank())
-				.addParameter("magic_rank", hiscoreResult.getMagic().getRank())
-				.addParameter("cooking_rank", hiscoreResult.getCooking().getRank())
-				.addParameter("woodcutting_rank", hiscoreResult.getWoodcutting().getRank())
-				.addParameter("fletching_rank", hiscoreResult.getFletching().getRank())
-				.addParameter("fishing_rank", hiscoreResult.getFishing().getRank())
-				.addParameter("firemaking_rank", hiscoreResult.getFiremaking().getRank())
-				.addParameter("crafting_rank", hiscoreResult.getCrafting().getRank())
-				.addParameter("smithing_rank", hiscoreResult.getSmithing().getRank())
-				.addParameter("mining_rank", hiscoreResult.getMining().getRank())
-				.addParameter("herblore_rank", hiscoreResult.getHerblore().getRank())
-				.addParameter("agility_rank", hiscoreResult.getAgility().getRank())
-				.addParameter("thieving_rank", hiscoreResult.getThieving().getRank())
-				.addParameter("slayer_rank", hiscoreResult.getSlayer().getRank())
-				.addParameter("farming_rank", hiscoreResult.getFarming().getRank())
-				.addParameter("runecraft_rank", hiscoreResult.getRunecraft().getRank())
-				.addParameter("hunter_rank", hiscoreResult.getHunter().getRank())
-				.addParameter("construction_rank", hiscoreResult.getConstruction().getRank())
-				.addParameter("overall_rank", hiscoreResult.getOverall().getRank())
-				.executeUpdate();
-
-			con.createQuery("update player set rank = :rank, last_updated = CURRENT_TIMESTAMP where id = :id")
-				.addParameter("id", playerEntity.getId())
-				.addParameter("rank", hiscoreResult.getOverall().getRank())
-				.executeUpdate();
+			});
+		}
+		catch (ExecutionException ex)
+		{
+			throw new RuntimeException(ex.getCause());
 		}
 	}
 
@@ -234,21 +284,161 @@ public class XpTrackerService
 		}
 	}
 
+	/**
+	 * Hand queued usernames to idle workers, as fast as the hiscore rate limit allows
+	 */
+	@Scheduled(fixedDelay = 250)
+	public void update()
+	{
+		while (usernameUpdateQueue.size() > 0 && idleWorkers.tryAcquire())
+		{
+			String next = hiscoreLimiter.tryAcquire() ? usernameUpdateQueue.poll() : null;
+			if (next == null)
+			{
+				idleWorkers.release();
+				break;
+			}
+
+			workers.execute(() ->
+			{
+				try
+				{
+					update(next);
+				}
+				catch (Exception ex)
+				{
+					log.warn("unable to update {}", next, ex);
+				}
+				finally
+				{
+					idleWorkers.release();
+				}
+			});
+		}
+	}
+
+	/**
+	 * Insert pending xp rows and update their players, in batches. A batch
+	 * which fails is dropped and its players are reloaded from the database.
+	 */
 	@Scheduled(fixedDelay = 1000)
-	public void update() throws ExecutionException
+	public void flush()
 	{
-		String next;
-		synchronized (usernameUpdateQueue)
+		List<PendingXp> batch = new ArrayList<>(BATCH_SIZE);
+
+		do
 		{
-			next = usernameUpdateQueue.poll();
+			batch.clear();
+
+			PendingXp pending;
+			while (batch.size() < BATCH_SIZE && (pending = pendingXp.poll()) != null)
+			{
+				batch.add(pending);
+			}
+
+			if (batch.isEmpty())
+			{
+				return;
+			}
+
+			try (Connection con = sql2o.beginTransaction())
+			{
+				Query insertXp = con.createQuery(INSERT_XP_QUERY);
+				Query updatePlayer = con.createQuery(UPDATE_PLAYER_QUERY);
+
+				for (PendingXp xp : batch)
+				{
+					addXpParameters(insertXp, xp.player, xp.hiscoreResult)
+						.addToBatch();
+
+					updatePlayer
+						.addParameter("id", xp.player)
+						.addParameter("rank", xp.hiscoreResult.getOverall().getRank())
+						.addToBatch();
+				}
+
+				insertXp.executeBatch();
+				updatePlayer.executeBatch();
+				con.commit(false);
+			}
+			catch (Sql2oException ex)
+			{
+				log.warn("unable to insert {} xp rows", batch.size(), ex);
+
+				// the cached xp and last update of these players were never stored, so
+				// reload them to let the next update record the same hiscores again
+				for (PendingXp xp : batch)
+				{
+					players.invalidate(xp.username);
+				}
+				return;
+			}
 		}
+		while (batch.size() == BATCH_SIZE);
+	}
 
-		if (next == null)
+	@PreDestroy
+	public void shutdown()
+	{
+		List<Runnable> dropped = workers.shutdownNow();
+		if (!dropped.isEmpty())
 		{
-			return;
+			log.warn("dropped {} pending xp updates", dropped.size());
 		}
+		flush();
+	}
 
-		update(next);
+	private static Query addXpParameters(Query query, int player, HiscoreResult hiscoreResult)
+	{
+		return query
+			.addParameter("player", player)
+			.addParameter("attack_xp", hiscoreResult.getAttack().getExperience())
+			.addParameter("defence_xp", hiscoreResult.getDefence().getExperience())
+			.addParameter("strength_xp", hiscoreResult.getStrength().getExperience())
+			.addParameter("hitpoints_xp", hiscoreResult.getHitpoints().getExperience())
+			.addParameter("ranged_xp", hiscoreResult.getRanged().getExperience())
+			.addParameter("prayer_xp", hiscoreResult.getPrayer().getExperience())
+			.addParameter("magic_xp", hiscoreResult.getMagic().getExperience())
+			.addParameter("cooking_xp", hiscoreResult.getCooking().getExperience())
+			.addParameter("woodcutting_xp", hiscoreResult.getWoodcutting().getExperience())
+			.addParameter("fletching_xp", hiscoreResult.getFletching().getExperience())
+			.addParameter("fishing_xp", hiscoreResult.getFishing().getExperience())
+			.addParameter("firemaking_xp", hiscoreResult.getFiremaking().getExperience())
+			.addParameter("crafting_xp", hiscoreResult.getCrafting().getExperience())
+			.addParameter("smithing_xp", hiscoreResult.getSmithing().getExperience())
+			.addParameter("mining_xp", hiscoreResult.getMining().getExperience())
+			.addParameter("herblore_xp", hiscoreResult.getHerblore().getExperience())
+			.addParameter("agility_xp", hiscoreResult.getAgility().getExperience())
+			.addParameter("thieving_xp", hiscoreResult.getThieving().getExperience())
+			.addParameter("slayer_xp", hiscoreResult.getSlayer().getExperience())
+			.addParameter("farming_xp", hiscoreResult.getFarming().getExperience())
+			.addParameter("runecraft_xp", hiscoreResult.getRunecraft().getExperience())
+			.addParameter("hunter_xp", hiscoreResult.getHunter().getExperience())
+			.addParameter("construction_xp", hiscoreResult.getConstruction().getExperience())
+			.addParameter("attack_rank", hiscoreResult.getAttack().getRank())
+			.addParameter("defence_rank", hiscoreResult.getDefence().getRank())
+			.addParameter("strength_rank", hiscoreResult.getStrength().getRank())
+			.addParameter("hitpoints_rank", hiscoreResult.getHitpoints().getRank())
+			.addParameter("ranged_rank", hiscoreResult.getRanged().getRank())
+			.addParameter("prayer_rank", hiscoreResult.getPrayer().getRank())
+			.addParameter("magic_rank", hiscoreResult.getMagic().getRank())
+			.addParameter("cooking_rank", hiscoreResult.getCooking().getRank())
+			.addParameter("woodcutting_rank", hiscoreResult.getWoodcutting().getRank())
+			.addParameter("fletching_rank", hiscoreResult.getFletching().getRank())
+			.addParameter("fishing_rank", hiscoreResult.getFishing().getRank())
+			.addParameter("firemaking_rank", hiscoreResult.getFiremaking().getRank())
+			.addParameter("crafting_rank", hiscoreResult.getCrafting().getRank())
+			.addParameter("smithing_rank", hiscoreResult.getSmithing().getRank())
+			.addParameter("mining_rank", hiscoreResult.getMining().getRank())
+			.addParameter("herblore_rank", hiscoreResult.getHerblore().getRank())
+			.addParameter("agility_rank", hiscoreResult.getAgility().getRank())
+			.addParameter("thieving_rank", hiscoreResult.getThieving().getRank())
+			.addParameter("slayer_rank", hiscoreResult.getSlayer().getRank())
+			.addParameter("farming_rank", hiscoreResult.getFarming().getRank())
+			.addParameter("runecraft_rank", hiscoreResult.getRunecraft().getRank())
+			.addParameter("hunter_rank", hiscoreResult.getHunter().getRank())
+			.addParameter("construction_rank", hiscoreResult.getConstruction().getRank())
+			.addParameter("overall_rank", hiscoreResult.getOverall().getRank());
 	}
 
 	@Scheduled(fixedDelay = 6 * 60 * 60 * 1000) // 6 hours
@@ -264,12 +454,9 @@ public class XpTrackerService
 			BLOOMFILTER_EXPECTED_INSERTIONS
 		);
 
-		synchronized (usernameUpdateQueue)
+		for (String toUpdate : usernameUpdateQueue.usernames())
 		{
-			for (String toUpdate : usernameUpdateQueue)
-			{
-				filter.put(toUpdate);
-			}
+			filter.put(toUpdate);
 		}
 
 		return filter;
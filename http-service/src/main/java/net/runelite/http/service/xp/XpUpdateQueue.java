@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2020, https://openosrs.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.http.service.xp;
+
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * A bounded queue of usernames waiting for a hiscore update, which ignores
+ * usernames that are already queued and yields the most overdue username first.
+ */
+class XpUpdateQueue
+{
+	private static class QueuedUpdate
+	{
+		private final String username;
+		private final long overdue;
+		private final long sequence;
+
+		private QueuedUpdate(String username, long overdue, long sequence)
+		{
+			this.username = username;
+			this.overdue = overdue;
+			this.sequence = sequence;
+		}
+	}
+
+	private final int limit;
+	// most overdue first, then in the order they were queued
+	private final PriorityQueue<QueuedUpdate> queue = new PriorityQueue<>(Comparator
+		.comparingLong((QueuedUpdate update) -> -update.overdue)
+		.thenComparingLong(update -> update.sequence));
+	private final Set<String> usernames = new HashSet<>();
+	private long sequence;
+
+	XpUpdateQueue(int limit)
+	{
+		this.limit = limit;
+	}
+
+	/**
+	 * Queue a username
+	 *
+	 * @param username
+	 * @param overdue how long the player has been due for an update, in milliseconds
+	 * @return false if the queue is full, true if the username is queued
+	 */
+	synchronized boolean offer(String username, long overdue)
+	{
+		if (usernames.contains(username))
+		{
+			return true;
+		}
+
+		if (queue.size() >= limit)
+		{
+			return false;
+		}
+
+		usernames.add(username);
+		queue.add(new QueuedUpdate(username, overdue, sequence++));
+		return true;
+	}
+
+	/**
+	 * @return the most overdue username, or null if the queue is empty
+	 */
+	synchronized String poll()
+	{
+		QueuedUpdate update = queue.poll();
+		if (update == null)
+		{
+			return null;
+		}
+
+		usernames.remove(update.username);
+		return update.username;
+	}
+
+	synchronized int size()
+	{
+		return queue.size();
+	}
+
+	synchronized Set<String> usernames()
+	{
+		return new HashSet<>(usernames);
+	}
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2020, https://openosrs.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.http.service.item;
+
+import java.time.Instant;
+import java.util.Arrays;
+import net.runelite.http.api.RuneLiteAPI;
+import net.runelite.http.api.item.ItemPrice;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import static org.mockito.Mockito.when;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@RunWith(SpringRunner.class)
+@WebMvcTest(ItemController.class)
+@ActiveProfiles("test")
+public class ItemControllerTest
+{
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ItemController itemController;
+
+	@MockBean
+	private ItemService itemService;
+
+	@Test
+	public void testPricesNotModified() throws Exception
+	{
+		when(itemService.fetchPrices()).thenReturn(Arrays.asList(priceEntry(4151, 1_500_000)));
+		itemController.refreshPrices();
+
+		String etag = mockMvc.perform(get("/item/prices"))
+			.andExpect(status().isOk())
+			.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+		mockMvc.perform(get("/item/prices").header(HttpHeaders.IF_NONE_MATCH, etag))
+			.andExpect(status().isNotModified());
+	}
+
+	@Test
+	public void testPricesDelta() throws Exception
+	{
+		when(itemService.fetchPrices()).thenReturn(Arrays.asList(priceEntry(4151, 1_500_000), priceEntry(11802, 20_000_000)));
+		itemController.refreshPrices();
+
+		String etag = mockMvc.perform(get("/item/prices"))
+			.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+		when(itemService.fetchPrices()).thenReturn(Arrays.asList(priceEntry(4151, 1_600_000), priceEntry(11802, 20_000_000)));
+		itemController.refreshPrices();
+
+		MockHttpServletResponse response = mockMvc.perform(get("/item/prices").param("since", etag.replace("\"", "")))
+			.andExpect(status().isOk())
+			.andExpect(header().string("RuneLite-Delta", "true"))
+			.andReturn().getResponse();
+
+		ItemPrice[] prices = RuneLiteAPI.GSON.fromJson(response.getContentAsString(), ItemPrice[].class);
+		assertEquals(1, prices.length);
+		assertEquals(4151, prices[0].getId());
+		assertEquals(1_600_000, prices[0].getPrice());
+	}
+
+	@Test
+	public void testPricesRemovedSince() throws Exception
+	{
+		when(itemService.fetchPrices()).thenReturn(Arrays.asList(priceEntry(4151, 1_500_000), priceEntry(11802, 20_000_000)));
+		itemController.refreshPrices();
+
+		String etag = mockMvc.perform(get("/item/prices"))
+			.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+		when(itemService.fetchPrices()).thenReturn(Arrays.asList(priceEntry(4151, 1_600_000)));
+		itemController.refreshPrices();
+
+		MockHttpServletResponse response = mockMvc.perform(get("/item/prices").param("since", etag.replace("\"", "")))
+			.andExpect(status().isOk())
+			.andExpect(header().doesNotExist("RuneLite-Delta"))
+			.andReturn().getResponse();
+
+		ItemPrice[] prices = RuneLiteAPI.GSON.fromJson(response.getContentAsString(), ItemPrice[].class);
+		assertEquals(1, prices.length);
+		assertEquals(4151, prices[0].getId());
+		assertEquals(1_600_000, prices[0].getPrice());
+	}
+
+	private static PriceEntry priceEntry(int item, int price)
+	{
+		PriceEntry priceEntry = new PriceEntry();
+		priceEntry.setItem(item);
+		priceEntry.setName("item " + item);
+		priceEntry.setPrice(price);
+		priceEntry.setTime(Instant.now());
+		return priceEntry;
+	}
+}
@@ -0,0 +1,217 @@
+/*
+ * Copyright (c) 2020, https://openosrs.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.http.service.xp;
+
+import com.google.common.util.concurrent.RateLimiter;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import net.runelite.http.api.hiscore.HiscoreEndpoint;
+import net.runelite.http.api.hiscore.HiscoreResult;
+import net.runelite.http.api.hiscore.Skill;
+import net.runelite.http.service.hiscore.HiscoreService;
+import net.runelite.http.service.xp.beans.PlayerEntity;
+import net.runelite.http.service.xp.beans.XpEntity;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import org.mockito.Mock;
+import static org.mockito.Mockito.RETURNS_DEFAULTS;
+import static org.mockito.Mockito.RETURNS_SELF;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.sql2o.Connection;
+import org.sql2o.Query;
+import org.sql2o.Sql2o;
+import org.sql2o.Sql2oException;
+
+@RunWith(MockitoJUnitRunner.class)
+public class XpTrackerServiceTest
+{
+	@Mock
+	private Sql2o sql2o;
+
+	@Mock
+	private HiscoreService hiscoreService;
+
+	@Mock
+	private RateLimiter hiscoreLimiter;
+
+	@Mock
+	private ExecutorService workers;
+
+	private XpTrackerService xpTrackerService;
+
+	@Mock
+	private Connection connection;
+
+	private final Query selectPlayer = mock(Query.class, RETURNS_SELF);
+	private final Query selectXp = mock(Query.class, RETURNS_SELF);
+	private final Query insertXp = mock(Query.class, RETURNS_SELF);
+	private final Query updatePlayer = mock(Query.class, RETURNS_SELF);
+
+	private int nextId;
+
+	@Before
+	public void before()
+	{
+		xpTrackerService = new XpTrackerService(sql2o, hiscoreService, hiscoreLimiter, workers);
+
+		lenient().when(sql2o.open()).thenReturn(connection);
+		lenient().when(sql2o.beginTransaction()).thenReturn(connection);
+		lenient().when(connection.createQuery(startsWith("select * from player"))).thenReturn(selectPlayer);
+		lenient().when(connection.createQuery(startsWith("select * from xp"))).thenReturn(selectXp);
+		lenient().when(connection.createQuery(startsWith("insert into xp"))).thenReturn(insertXp);
+		lenient().when(connection.createQuery(startsWith("update player"))).thenReturn(updatePlayer);
+
+		// every player exists, was last updated a month ago and has no xp recorded
+		lenient().when(selectPlayer.executeAndFetchFirst(PlayerEntity.class)).thenAnswer(invocation ->
+		{
+			PlayerEntity playerEntity = new PlayerEntity();
+			playerEntity.setId(++nextId);
+			playerEntity.setLast_updated(Instant.now().minus(Duration.ofDays(30)));
+			return playerEntity;
+		});
+		lenient().when(selectXp.executeAndFetchFirst(XpEntity.class)).thenReturn(null);
+	}
+
+	@After
+	public void after()
+	{
+		xpTrackerService.shutdown();
+	}
+
+	@Test
+	public void testFlush()
+	{
+		xpTrackerService.update("zezima", hiscoreResult(1000));
+		verify(sql2o, never()).beginTransaction();
+
+		xpTrackerService.flush();
+
+		verify(insertXp).addToBatch();
+		verify(insertXp).executeBatch();
+		verify(updatePlayer).addToBatch();
+		verify(updatePlayer).executeBatch();
+		verify(connection).commit(false);
+	}
+
+	@Test
+	public void testUnchangedXp()
+	{
+		xpTrackerService.update("zezima", hiscoreResult(1000));
+		xpTrackerService.update("zezima", hiscoreResult(1000));
+		xpTrackerService.flush();
+
+		verify(insertXp).addToBatch();
+		verify(selectPlayer).executeAndFetchFirst(PlayerEntity.class);
+	}
+
+	@Test
+	public void testFlushFailure()
+	{
+		when(insertXp.executeBatch())
+			.thenThrow(new Sql2oException("test"))
+			.thenReturn(connection);
+
+		xpTrackerService.update("zezima", hiscoreResult(1000));
+		xpTrackerService.flush();
+
+		verify(connection, never()).commit(false);
+
+		// the failed row was never stored, so the same hiscores are recorded again
+		xpTrackerService.update("zezima", hiscoreResult(1000));
+		xpTrackerService.flush();
+
+		verify(selectPlayer, times(2)).executeAndFetchFirst(PlayerEntity.class);
+		verify(insertXp, times(2)).addToBatch();
+		verify(connection).commit(false);
+	}
+
+	@Test
+	public void testWorkersTakeWorkWhenIdle() throws ExecutionException
+	{
+		when(hiscoreLimiter.tryAcquire()).thenReturn(true);
+		when(hiscoreService.lookupUsername(anyString(), eq(HiscoreEndpoint.NORMAL))).thenReturn(hiscoreResult(1000));
+
+		for (int i = 0; i < 6; ++i)
+		{
+			xpTrackerService.tryUpdate("player" + i);
+		}
+
+		// one username per worker, the rest wait in the update queue without taking a token
+		xpTrackerService.update();
+		xpTrackerService.update();
+
+		ArgumentCaptor<Runnable> tasks = ArgumentCaptor.forClass(Runnable.class);
+		verify(workers, times(4)).execute(tasks.capture());
+		verify(hiscoreLimiter, times(4)).tryAcquire();
+
+		// a worker which finishes takes the next username
+		tasks.getValue().run();
+		verify(hiscoreService).lookupUsername(anyString(), eq(HiscoreEndpoint.NORMAL));
+
+		xpTrackerService.update();
+		verify(workers, times(5)).execute(any(Runnable.class));
+	}
+
+	@Test
+	public void testWorkersRateLimited()
+	{
+		when(hiscoreLimiter.tryAcquire()).thenReturn(true, false);
+
+		xpTrackerService.tryUpdate("zezima");
+		xpTrackerService.tryUpdate("lynx titan");
+
+		xpTrackerService.update();
+		verify(workers).execute(any(Runnable.class));
+
+		// out of tokens, so the idle workers wait
+		xpTrackerService.update();
+		verify(workers).execute(any(Runnable.class));
+		verify(hiscoreLimiter, times(3)).tryAcquire();
+	}
+
+	/**
+	 * Creates a hiscore result with the same rank, level and xp in every skill
+	 */
+	private static HiscoreResult hiscoreResult(long xp)
+	{
+		Skill skill = new Skill(1, 99, xp);
+		return mock(HiscoreResult.class, invocation -> invocation.getMethod().getReturnType() == Skill.class ? skill : RETURNS_DEFAULTS.answer(invocation));
+	}
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2020, https://openosrs.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.http.service.xp;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class XpUpdateQueueTest
+{
+	@Test
+	public void testMostOverdueFirst()
+	{
+		XpUpdateQueue queue = new XpUpdateQueue(8);
+		queue.offer("zezima", 1000);
+		queue.offer("lynx titan", 5000);
+		queue.offer("b0aty", 1000);
+
+		assertEquals("lynx titan", queue.poll());
+		assertEquals("zezima", queue.poll());
+		assertEquals("b0aty", queue.poll());
+		assertNull(queue.poll());
+	}
+
+	@Test
+	public void testDeduplicates()
+	{
+		XpUpdateQueue queue = new XpUpdateQueue(8);
+		assertTrue(queue.offer("zezima", 1000));
+		assertTrue(queue.offer("zezima", 2000));
+
+		assertEquals(1, queue.size());
+		assertEquals("zezima", queue.poll());
+
+		// can be queued again once it has been taken
+		assertTrue(queue.offer("zezima", 1000));
+		assertEquals(1, queue.size());
+	}
+
+	@Test
+	public void testLimit()
+	{
+		XpUpdateQueue queue = new XpUpdateQueue(2);
+		assertTrue(queue.offer("zezima", 0));
+		assertTrue(queue.offer("lynx titan", 0));
+		assertFalse(queue.offer("b0aty", 0));
+		assertEquals(2, queue.size());
+	}
+}
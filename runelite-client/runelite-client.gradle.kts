@@ -39,6 +39,7 @@ description = "RuneLite Client"
 
 dependencies {
     annotationProcessor(Libraries.lombok)
+    annotationProcessor(project(":runelite-plugin-processor"))
 
     compileOnly(Libraries.javax)
     compileOnly(Libraries.lombok)
@@ -24,25 +24,50 @@
  */
 package net.runelite.client;
 
+import io.reactivex.Completable;
+import io.reactivex.functions.Action;
+import io.reactivex.schedulers.Schedulers;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import net.runelite.client.plugins.PluginManager;
 import net.runelite.client.ui.FontManager;
 
 /**
- * Loads some slow to initialize classes (hopefully) before they are needed to streamline client startup
+ * Loads some slow to initialize classes (hopefully) before they are needed to streamline client startup.
+ * The groups are independent of each other, so each is loaded on its own computation thread,
+ * and the returned Completable only finishes once all of them have.
  */
 @SuppressWarnings({"ResultOfMethodCallIgnored", "unused"})
 class ClassPreloader
 {
-	static void preload()
+	static Completable preload()
 	{
-		// This needs to enumerate the system fonts for some reason, and that takes a while
-		FontManager.getRunescapeSmallFont();
+		return Completable.mergeArrayDelayError(
+			// This needs to enumerate the system fonts for some reason, and that takes a while
+			preload("Preload fonts", FontManager::getRunescapeSmallFont),
 
-		// This needs to load a timezone database that is mildly large
-		ZoneId.of("Europe/London");
+			// This needs to load a timezone database that is mildly large
+			preload("Preload time zones", () -> ZoneId.of("Europe/London")),
 
-		// This just needs to call 20 different DateTimeFormatter constructors, which are slow
-		Object unused = DateTimeFormatter.BASIC_ISO_DATE;
+			// This just needs to call 20 different DateTimeFormatter constructors, which are slow
+			preload("Preload date formatters", () ->
+			{
+				Object unused = DateTimeFormatter.BASIC_ISO_DATE;
+			}),
+
+			// Plugin classes are defined here so the plugin manager finds them already loaded
+			preload("Preload plugin classes", PluginManager::preloadCorePlugins)
+		);
+	}
+
+	private static Completable preload(String name, Action action)
+	{
+		return Completable.fromAction(() ->
+		{
+			try (StartupProfiler.Phase ignored = StartupProfiler.phase(name))
+			{
+				action.run();
+			}
+		}).subscribeOn(Schedulers.computation());
 	}
 }
@@ -185,6 +185,9 @@ public class RuneLite
 		parser.accepts("developer-mode", "Enable developer tools");
 		parser.accepts("debug", "Show extra debugging output");
 		parser.accepts("no-splash", "Do not show the splash screen");
+		final ArgumentAcceptingOptionSpec<File> startupProfile = parser
+			.accepts("startup-profile", "Write a trace of client startup, by default to logs/startup-profile.json")
+			.withOptionalArg().ofType(File.class);
 		final ArgumentAcceptingOptionSpec<String> proxyInfo = parser
 			.accepts("proxy")
 			.withRequiredArg().ofType(String.class);
@@ -212,6 +215,11 @@ public class RuneLite
 			System.exit(0);
 		}
 
+		if (options.has("startup-profile"))
+		{
+			StartupProfiler.enable();
+		}
+
 		if (options.has("debug"))
 		{
 			final Logger logger = (Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME);
@@ -253,13 +261,20 @@ public class RuneLite
 		client.setRelease(RuneLiteProperties.getPlusVersion());
 
 		final ClientLoader clientLoader = new ClientLoader(options.valueOf(updateMode));
-		Completable.fromAction(clientLoader::get)
+		final Completable loadClient = Completable.fromAction(() ->
+		{
+			try (StartupProfiler.Phase ignored = StartupProfiler.phase("Load client"))
+			{
+				clientLoader.get();
+			}
+		})
 			.subscribeOn(Schedulers.computation())
-			.subscribe();
+			.cache();
+		loadClient.subscribe();
 
-		Completable.fromAction(ClassPreloader::preload)
-			.subscribeOn(Schedulers.computation())
-			.subscribe();
+		final Completable preload = ClassPreloader.preload()
+			.cache();
+		preload.subscribe();
 
 		if (!options.has("no-splash"))
 		{
@@ -294,9 +309,12 @@ public class RuneLite
 
 		final long start = System.currentTimeMillis();
 
-		injector = Guice.createInjector(new RuneLiteModule(
-			clientLoader,
-			true));
+		try (StartupProfiler.Phase ignored = StartupProfiler.phase("Create injector"))
+		{
+			injector = Guice.createInjector(new RuneLiteModule(
+				clientLoader,
+				true));
+		}
 
 		injector.getInstance(RuneLite.class).start();
 
@@ -304,6 +322,18 @@ public class RuneLite
 		final RuntimeMXBean rb = ManagementFactory.getRuntimeMXBean();
 		final long uptime = rb.getUptime();
 		log.info("Client initialization took {}ms. Uptime: {}ms", end - start, uptime);
+
+		if (options.has("startup-profile"))
+		{
+			final File profile = options.valueOf(startupProfile) != null
+				? options.valueOf(startupProfile)
+				: new File(LOGS_DIR, "startup-profile.json");
+
+			// the client load and preloading can outlast start(), so write once they are done too
+			Completable.mergeArrayDelayError(loadClient, preload)
+				.onErrorComplete()
+				.subscribe(() -> StartupProfiler.write(profile));
+		}
 	}
 
 	@VisibleForTesting
@@ -325,7 +355,10 @@ public class RuneLite
 
 		// Load user configuration
 		RuneLiteSplashScreen.stage(.57, "Loading user config");
-		configManager.load();
+		try (StartupProfiler.Phase ignored = StartupProfiler.phase("Load user config"))
+		{
+			configManager.load();
+		}
 
 		// Load the session, including saved configuration
 		RuneLiteSplashScreen.stage(.58, "Loading session data");
@@ -335,16 +368,25 @@ public class RuneLite
 		pluginManager.setOutdated(isOutdated);
 
 		// Load external plugins
-		pluginManager.loadExternalPlugins();
+		try (StartupProfiler.Phase ignored = StartupProfiler.phase("Load external plugins"))
+		{
+			pluginManager.loadExternalPlugins();
+		}
 
 		// Load the plugins, but does not start them yet.
 		// This will initialize configuration
-		pluginManager.loadCorePlugins();
+		try (StartupProfiler.Phase ignored = StartupProfiler.phase("Load core plugins"))
+		{
+			pluginManager.loadCorePlugins();
+		}
 		RuneLiteSplashScreen.stage(.70, "Finalizing configuration");
 
 		// Plugins have provided their config, so set default config
 		// to main settings
-		pluginManager.loadDefaultPluginConfiguration();
+		try (StartupProfiler.Phase ignored = StartupProfiler.phase("Load default plugin configuration"))
+		{
+			pluginManager.loadDefaultPluginConfiguration();
+		}
 
 		// Start client session
 		RuneLiteSplashScreen.stage(.75, "Starting core interface");
@@ -352,7 +394,10 @@ public class RuneLite
 
 		// Initialize UI
 		RuneLiteSplashScreen.stage(.80, "Initialize UI");
-		clientUI.init(this);
+		try (StartupProfiler.Phase ignored = StartupProfiler.phase("Initialize UI"))
+		{
+			clientUI.init(this);
+		}
 
 		// Initialize Discord service
 		discordService.init();
@@ -386,7 +431,10 @@ public class RuneLite
 		}
 
 		// Start plugins
-		pluginManager.startCorePlugins();
+		try (StartupProfiler.Phase ignored = StartupProfiler.phase("Start core plugins"))
+		{
+			pluginManager.startCorePlugins();
+		}
 
 		// Register additional schedulers
 		if (this.client != null)
@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2020, https://openosrs.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.http.api.RuneLiteAPI;
+
+/**
+ * Records the wall time of client startup phases and writes them out in the
+ * Chrome trace event format, which can be opened in chrome://tracing.
+ * Recording is a no-op until {@link #enable()} is called.
+ */
+@Slf4j
+public class StartupProfiler
+{
+	/**
+	 * nanoTime at JVM start, so trace timestamps line up with the reported uptime
+	 */
+	private static final long ORIGIN = System.nanoTime() - ManagementFactory.getRuntimeMXBean().getUptime() * 1_000_000L;
+
+	private static final Phase NOOP = new Phase(null, 0);
+
+	private static volatile List<Event> events;
+
+	public static void enable()
+	{
+		if (events == null)
+		{
+			events = new CopyOnWriteArrayList<>();
+		}
+	}
+
+	/**
+	 * Starts timing a phase on the calling thread. The phase ends when the returned handle is closed.
+	 */
+	public static Phase phase(String name)
+	{
+		if (events == null)
+		{
+			return NOOP;
+		}
+
+		return new Phase(name, System.nanoTime());
+	}
+
+	static void write(File file)
+	{
+		final List<Event> recorded = events;
+		if (recorded == null)
+		{
+			return;
+		}
+
+		final JsonArray traceEvents = new JsonArray();
+		final Map<Long, String> threads = new HashMap<>();
+		for (Event event : recorded)
+		{
+			final JsonObject json = new JsonObject();
+			json.addProperty("name", event.name);
+			json.addProperty("cat", "startup");
+			json.addProperty("ph", "X");
+			json.addProperty("ts", (event.start - ORIGIN) / 1000);
+			json.addProperty("dur", event.duration / 1000);
+			json.addProperty("pid", 1);
+			json.addProperty("tid", event.threadId);
+			traceEvents.add(json);
+			threads.putIfAbsent(event.threadId, event.threadName);
+		}
+
+		threads.forEach((id, name) ->
+		{
+			final JsonObject args = new JsonObject();
+			args.addProperty("name", name);
+
+			final JsonObject json = new JsonObject();
+			json.addProperty("name", "thread_name");
+			json.addProperty("ph", "M");
+			json.addProperty("pid", 1);
+			json.addProperty("tid", id);
+			json.add("args", args);
+			traceEvents.add(json);
+		});
+
+		final JsonObject trace = new JsonObject();
+		trace.add("traceEvents", traceEvents);
+		trace.addProperty("displayTimeUnit", "ms");
+
+		try (Writer out = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8))
+		{
+			RuneLiteAPI.GSON.toJson(trace, out);
+			log.info("Wrote startup profile with {} phases to {}", recorded.size(), file);
+		}
+		catch (IOException ex)
+		{
+			log.warn("Unable to write startup profile", ex);
+		}
+	}
+
+	@AllArgsConstructor(access = AccessLevel.PRIVATE)
+	public static class Phase implements AutoCloseable
+	{
+		private final String name;
+		private final long start;
+
+		@Override
+		public void close()
+		{
+			final List<Event> recorded = events;
+			if (name == null || recorded == null)
+			{
+				return;
+			}
+
+			final Thread thread = Thread.currentThread();
+			recorded.add(new Event(name, thread.getId(), thread.getName(), start, System.nanoTime() - start));
+		}
+	}
+
+	@AllArgsConstructor
+	private static class Event
+	{
+		private final String name;
+		private final long threadId;
+		private final String threadName;
+		private final long start;
+		private final long duration;
+	}
+}
@@ -35,7 +35,6 @@ import java.awt.RenderingHints;
 import java.awt.event.KeyEvent;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseWheelEvent;
-import java.awt.image.BufferedImage;
 import java.awt.image.VolatileImage;
 import javax.inject.Inject;
 import javax.inject.Singleton;
@@ -394,23 +393,16 @@ public class Hooks implements Callbacks
 		// Draw the image onto the game canvas
 		graphics.drawImage(finalImage, 0, 0, client.getCanvas());
 
-		// finalImage is backed by the client buffer which will change soon. make a copy
-		// so that callbacks can safely use it later from threads.
-		drawManager.processDrawComplete(() -> copy(finalImage));
-	}
-
-	/**
-	 * Copy an image
-	 */
-	private static Image copy(Image src)
-	{
-		final int width = src.getWidth(null);
-		final int height = src.getHeight(null);
-		BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
-		Graphics graphics = image.getGraphics();
-		graphics.drawImage(src, 0, 0, width, height, null);
-		graphics.dispose();
-		return image;
+		// finalImage is backed by the client buffer which will change soon, so frame listeners
+		// get a pooled copy. Without stretching the buffer pixels can be copied directly.
+		if (finalImage == image)
+		{
+			drawManager.processDrawComplete(mainBufferProvider);
+		}
+		else
+		{
+			drawManager.processDrawComplete(finalImage);
+		}
 	}
 
 	@Override
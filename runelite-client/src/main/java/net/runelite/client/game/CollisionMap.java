@@ -0,0 +1,492 @@
+/*
+ * Copyright (c) 2020, https://openosrs.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.game;
+
+import java.util.Arrays;
+import static net.runelite.api.CollisionDataFlag.BLOCK_LINE_OF_SIGHT_EAST;
+import static net.runelite.api.CollisionDataFlag.BLOCK_LINE_OF_SIGHT_FULL;
+import static net.runelite.api.CollisionDataFlag.BLOCK_LINE_OF_SIGHT_NORTH;
+import static net.runelite.api.CollisionDataFlag.BLOCK_LINE_OF_SIGHT_SOUTH;
+import static net.runelite.api.CollisionDataFlag.BLOCK_LINE_OF_SIGHT_WEST;
+import static net.runelite.api.CollisionDataFlag.BLOCK_MOVEMENT_EAST;
+import static net.runelite.api.CollisionDataFlag.BLOCK_MOVEMENT_FULL;
+import static net.runelite.api.CollisionDataFlag.BLOCK_MOVEMENT_NORTH;
+import static net.runelite.api.CollisionDataFlag.BLOCK_MOVEMENT_NORTH_EAST;
+import static net.runelite.api.CollisionDataFlag.BLOCK_MOVEMENT_NORTH_WEST;
+import static net.runelite.api.CollisionDataFlag.BLOCK_MOVEMENT_SOUTH;
+import static net.runelite.api.CollisionDataFlag.BLOCK_MOVEMENT_SOUTH_EAST;
+import static net.runelite.api.CollisionDataFlag.BLOCK_MOVEMENT_SOUTH_WEST;
+import static net.runelite.api.CollisionDataFlag.BLOCK_MOVEMENT_WEST;
+import net.runelite.api.CollisionData;
+import static net.runelite.api.Constants.MAX_Z;
+import static net.runelite.api.Constants.SCENE_SIZE;
+
+/**
+ * A snapshot of the scene collision flags, flattened into primitive arrays,
+ * with breadth first searches over it for a 1x1 entity.
+ * <p>
+ * Tiles are addressed as {@code (plane * SCENE_SIZE + x) * SCENE_SIZE + y}
+ * in scene coordinates. The search buffers are reused between calls, so an
+ * instance must only be used from one thread.
+ */
+public class CollisionMap
+{
+	public static final int UNREACHABLE = -1;
+
+	private static final int PLANE_TILES = SCENE_SIZE * SCENE_SIZE;
+
+	/**
+	 * Directions in the order the game's route finder tries them: west, east, south, north,
+	 * south-west, south-east, north-west and north-east.
+	 */
+	private static final int[] DX = {-1, 1, 0, 0, -1, 1, -1, 1};
+	private static final int[] DY = {0, 0, -1, 1, -1, -1, 1, 1};
+	private static final int[] OFFSETS = new int[DX.length];
+
+	static
+	{
+		for (int i = 0; i < DX.length; i++)
+		{
+			OFFSETS[i] = DX[i] * SCENE_SIZE + DY[i];
+		}
+	}
+
+	private final int[] flags = new int[MAX_Z * PLANE_TILES];
+	// bit i set if a 1x1 entity can step in direction i from the tile
+	private final byte[] moves = new byte[MAX_Z * PLANE_TILES];
+
+	private final int[] forwardVisited = new int[PLANE_TILES];
+	private final int[] backwardVisited = new int[PLANE_TILES];
+	private final short[] forwardParent = new short[PLANE_TILES];
+	private final short[] backwardParent = new short[PLANE_TILES];
+	private final short[] forwardQueue = new short[PLANE_TILES];
+	private final short[] backwardQueue = new short[PLANE_TILES];
+	private int stamp;
+
+	/**
+	 * Copies the collision flags of every plane and recomputes the allowed moves.
+	 */
+	public void update(CollisionData[] collisionMaps)
+	{
+		Arrays.fill(flags, 0);
+
+		for (int z = 0; z < MAX_Z && z < collisionMaps.length; z++)
+		{
+			if (collisionMaps[z] == null)
+			{
+				continue;
+			}
+
+			int[][] planeFlags = collisionMaps[z].getFlags();
+			for (int x = 0; x < SCENE_SIZE; x++)
+			{
+				System.arraycopy(planeFlags[x], 0, flags, (z * SCENE_SIZE + x) * SCENE_SIZE, SCENE_SIZE);
+			}
+		}
+
+		for (int z = 0; z < MAX_Z; z++)
+		{
+			for (int x = 0; x < SCENE_SIZE; x++)
+			{
+				for (int y = 0; y < SCENE_SIZE; y++)
+				{
+					moves[index(z, x, y)] = computeMoves(z, x, y);
+				}
+			}
+		}
+	}
+
+	public int getFlags(int plane, int x, int y)
+	{
+		return flags[index(plane, x, y)];
+	}
+
+	/**
+	 * Checks if a 1x1 entity can step from a tile to one of its eight neighbours.
+	 *
+	 * @param dx -1, 0 or 1
+	 * @param dy -1, 0 or 1
+	 */
+	public boolean canMove(int plane, int x, int y, int dx, int dy)
+	{
+		if (!inScene(x, y) || (dx == 0 && dy == 0))
+		{
+			return false;
+		}
+
+		for (int dir = 0; dir < DX.length; dir++)
+		{
+			if (DX[dir] == dx && DY[dir] == dy)
+			{
+				return (moves[index(plane, x, y)] & (1 << dir)) != 0;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Computes the number of steps to every tile on a plane from a start tile.
+	 *
+	 * @param distances array of at least {@code SCENE_SIZE * SCENE_SIZE} entries, indexed by
+	 *                  {@code x * SCENE_SIZE + y}, filled with the step count or {@link #UNREACHABLE}
+	 */
+	public void computeDistances(int plane, int startX, int startY, int[] distances)
+	{
+		Arrays.fill(distances, 0, PLANE_TILES, UNREACHABLE);
+
+		if (!inScene(startX, startY))
+		{
+			return;
+		}
+
+		int base = plane * PLANE_TILES;
+		short[] queue = forwardQueue;
+		int head = 0;
+		int tail = 0;
+
+		int start = startX * SCENE_SIZE + startY;
+		distances[start] = 0;
+		queue[tail++] = (short) start;
+
+		while (head < tail)
+		{
+			int tile = queue[head++];
+			int mask = moves[base + tile];
+			int distance = distances[tile] + 1;
+
+			for (int dir = 0; dir < OFFSETS.length; dir++)
+			{
+				if ((mask & (1 << dir)) == 0)
+				{
+					continue;
+				}
+
+				int next = tile + OFFSETS[dir];
+				if (distances[next] == UNREACHABLE)
+				{
+					distances[next] = distance;
+					queue[tail++] = (short) next;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Finds a shortest path between two tiles on the same plane with a bidirectional breadth first search.
+	 *
+	 * @return the tiles of the path as {@code x * SCENE_SIZE + y}, starting with the start tile and
+	 * ending with the end tile, or null if the end can't be reached
+	 */
+	public int[] findPath(int plane, int startX, int startY, int endX, int endY)
+	{
+		if (!inScene(startX, startY) || !inScene(endX, endY))
+		{
+			return null;
+		}
+
+		int start = startX * SCENE_SIZE + startY;
+		int end = endX * SCENE_SIZE + endY;
+
+		if (start == end)
+		{
+			return new int[]{start};
+		}
+
+		int base = plane * PLANE_TILES;
+		int searchStamp = nextStamp();
+
+		forwardVisited[start] = searchStamp;
+		backwardVisited[end] = searchStamp;
+		forwardParent[start] = -1;
+		backwardParent[end] = -1;
+		forwardQueue[0] = (short) start;
+		backwardQueue[0] = (short) end;
+
+		int forwardHead = 0;
+		int forwardTail = 1;
+		int backwardHead = 0;
+		int backwardTail = 1;
+
+		// No tile has been reached from both sides before the current level, so the first
+		// tile that is means the path through it is a shortest one.
+		while (forwardHead < forwardTail && backwardHead < backwardTail)
+		{
+			// expand one full level of the smaller frontier
+			if (forwardTail - forwardHead <= backwardTail - backwardHead)
+			{
+				int levelEnd = forwardTail;
+
+				while (forwardHead < levelEnd)
+				{
+					int tile = forwardQueue[forwardHead++];
+					int mask = moves[base + tile];
+
+					for (int dir = 0; dir < OFFSETS.length; dir++)
+					{
+						if ((mask & (1 << dir)) == 0)
+						{
+							continue;
+						}
+
+						int next = tile + OFFSETS[dir];
+						if (forwardVisited[next] == searchStamp)
+						{
+							continue;
+						}
+
+						forwardVisited[next] = searchStamp;
+						forwardParent[next] = (short) tile;
+						forwardQueue[forwardTail++] = (short) next;
+
+						if (backwardVisited[next] == searchStamp)
+						{
+							return buildPath(next);
+						}
+					}
+				}
+			}
+			else
+			{
+				int levelEnd = backwardTail;
+
+				while (backwardHead < levelEnd)
+				{
+					int tile = backwardQueue[backwardHead++];
+
+					for (int dir = 0; dir < OFFSETS.length; dir++)
+					{
+						// walking backwards, so look for the tiles which can step onto this one
+						int prev = tile - OFFSETS[dir];
+						if (prev < 0 || prev >= PLANE_TILES
+							|| (moves[base + prev] & (1 << dir)) == 0
+							|| backwardVisited[prev] == searchStamp)
+						{
+							continue;
+						}
+
+						backwardVisited[prev] = searchStamp;
+						backwardParent[prev] = (short) tile;
+						backwardQueue[backwardTail++] = (short) prev;
+
+						if (forwardVisited[prev] == searchStamp)
+						{
+							return buildPath(prev);
+						}
+					}
+				}
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * Checks line of sight between two tiles, the same way projectiles are traced by the game.
+	 */
+	public boolean hasLineOfSight(int plane, int x1, int y1, int x2, int y2)
+	{
+		if (!inScene(x1, y1) || !inScene(x2, y2))
+		{
+			return false;
+		}
+
+		if (x1 == x2 && y1 == y2)
+		{
+			return true;
+		}
+
+		int base = plane * PLANE_TILES;
+		int dx = x2 - x1;
+		int dy = y2 - y1;
+		int dxAbs = Math.abs(dx);
+		int dyAbs = Math.abs(dy);
+
+		int xFlags = BLOCK_LINE_OF_SIGHT_FULL | (dx < 0 ? BLOCK_LINE_OF_SIGHT_EAST : BLOCK_LINE_OF_SIGHT_WEST);
+		int yFlags = BLOCK_LINE_OF_SIGHT_FULL | (dy < 0 ? BLOCK_LINE_OF_SIGHT_NORTH : BLOCK_LINE_OF_SIGHT_SOUTH);
+
+		if (dxAbs > dyAbs)
+		{
+			int x = x1;
+			int yBig = (y1 << 16) + 0x8000; // fixed point, starting at the middle of the tile
+			int slope = (dy << 16) / dxAbs;
+			if (dy < 0)
+			{
+				yBig--; // For correct rounding
+			}
+			int direction = dx < 0 ? -1 : 1;
+
+			while (x != x2)
+			{
+				x += direction;
+				int y = yBig >>> 16;
+				if ((flags[base + x * SCENE_SIZE + y] & xFlags) != 0)
+				{
+					return false;
+				}
+				yBig += slope;
+				int nextY = yBig >>> 16;
+				if (nextY != y && (flags[base + x * SCENE_SIZE + nextY] & yFlags) != 0)
+				{
+					return false;
+				}
+			}
+		}
+		else
+		{
+			int y = y1;
+			int xBig = (x1 << 16) + 0x8000;
+			int slope = (dx << 16) / dyAbs;
+			if (dx < 0)
+			{
+				xBig--;
+			}
+			int direction = dy < 0 ? -1 : 1;
+
+			while (y != y2)
+			{
+				y += direction;
+				int x = xBig >>> 16;
+				if ((flags[base + x * SCENE_SIZE + y] & yFlags) != 0)
+				{
+					return false;
+				}
+				xBig += slope;
+				int nextX = xBig >>> 16;
+				if (nextX != x && (flags[base + nextX * SCENE_SIZE + y] & xFlags) != 0)
+				{
+					return false;
+				}
+			}
+		}
+
+		return true;
+	}
+
+	private int[] buildPath(int meet)
+	{
+		int forwardLength = 0;
+		for (int tile = meet; tile != -1; tile = forwardParent[tile])
+		{
+			forwardLength++;
+		}
+
+		int backwardLength = 0;
+		for (int tile = backwardParent[meet]; tile != -1; tile = backwardParent[tile])
+		{
+			backwardLength++;
+		}
+
+		int[] path = new int[forwardLength + backwardLength];
+
+		int i = forwardLength - 1;
+		for (int tile = meet; tile != -1; tile = forwardParent[tile])
+		{
+			path[i--] = tile;
+		}
+
+		i = forwardLength;
+		for (int tile = backwardParent[meet]; tile != -1; tile = backwardParent[tile])
+		{
+			path[i++] = tile;
+		}
+
+		return path;
+	}
+
+	private int nextStamp()
+	{
+		if (++stamp == Integer.MAX_VALUE)
+		{
+			Arrays.fill(forwardVisited, 0);
+			Arrays.fill(backwardVisited, 0);
+			stamp = 1;
+		}
+
+		return stamp;
+	}
+
+	private byte computeMoves(int z, int x, int y)
+	{
+		int mask = 0;
+
+		// west, east, south, north
+		if (x > 0 && !blocked(z, x - 1, y, BLOCK_MOVEMENT_EAST))
+		{
+			mask |= 1;
+		}
+		if (x < SCENE_SIZE - 1 && !blocked(z, x + 1, y, BLOCK_MOVEMENT_WEST))
+		{
+			mask |= 1 << 1;
+		}
+		if (y > 0 && !blocked(z, x, y - 1, BLOCK_MOVEMENT_NORTH))
+		{
+			mask |= 1 << 2;
+		}
+		if (y < SCENE_SIZE - 1 && !blocked(z, x, y + 1, BLOCK_MOVEMENT_SOUTH))
+		{
+			mask |= 1 << 3;
+		}
+
+		// diagonals also need both of the adjacent cardinal steps
+		if ((mask & 0b0101) == 0b0101
+			&& !blocked(z, x - 1, y - 1, BLOCK_MOVEMENT_NORTH | BLOCK_MOVEMENT_EAST | BLOCK_MOVEMENT_NORTH_EAST))
+		{
+			mask |= 1 << 4;
+		}
+		if ((mask & 0b0110) == 0b0110
+			&& !blocked(z, x + 1, y - 1, BLOCK_MOVEMENT_NORTH | BLOCK_MOVEMENT_WEST | BLOCK_MOVEMENT_NORTH_WEST))
+		{
+			mask |= 1 << 5;
+		}
+		if ((mask & 0b1001) == 0b1001
+			&& !blocked(z, x - 1, y + 1, BLOCK_MOVEMENT_SOUTH | BLOCK_MOVEMENT_EAST | BLOCK_MOVEMENT_SOUTH_EAST))
+		{
+			mask |= 1 << 6;
+		}
+		if ((mask & 0b1010) == 0b1010
+			&& !blocked(z, x + 1, y + 1, BLOCK_MOVEMENT_SOUTH | BLOCK_MOVEMENT_WEST | BLOCK_MOVEMENT_SOUTH_WEST))
+		{
+			mask |= 1 << 7;
+		}
+
+		return (byte) mask;
+	}
+
+	private boolean blocked(int z, int x, int y, int wallFlags)
+	{
+		return (flags[index(z, x, y)] & (BLOCK_MOVEMENT_FULL | wallFlags)) != 0;
+	}
+
+	private static int index(int plane, int x, int y)
+	{
+		return (plane * SCENE_SIZE + x) * SCENE_SIZE + y;
+	}
+
+	private static boolean inScene(int x, int y)
+	{
+		return x >= 0 && y >= 0 && x < SCENE_SIZE && y < SCENE_SIZE;
+	}
+}
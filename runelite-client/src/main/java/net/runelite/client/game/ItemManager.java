@@ -34,8 +34,11 @@ import java.awt.Color;
 import java.awt.image.BufferedImage;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -50,15 +53,20 @@ import net.runelite.api.Constants;
 import static net.runelite.api.Constants.CLIENT_DEFAULT_ZOOM;
 import static net.runelite.api.Constants.HIGH_ALCHEMY_MULTIPLIER;
 import net.runelite.api.GameState;
+import net.runelite.api.InventoryID;
+import net.runelite.api.Item;
 import net.runelite.api.ItemDefinition;
 import net.runelite.api.ItemID;
 import static net.runelite.api.ItemID.*;
 import net.runelite.api.Sprite;
+import net.runelite.api.events.ClientTick;
 import net.runelite.api.events.GameStateChanged;
+import net.runelite.api.events.ItemContainerChanged;
 import net.runelite.api.events.PostItemDefinition;
 import net.runelite.client.callback.ClientThread;
 import net.runelite.client.eventbus.EventBus;
 import net.runelite.client.util.AsyncBufferedImage;
+import net.runelite.client.util.ImageUtil;
 import net.runelite.http.api.item.ItemClient;
 import net.runelite.http.api.item.ItemPrice;
 import net.runelite.http.api.item.ItemStats;
@@ -130,6 +138,17 @@ public class ItemManager
 		put(AGILITY_CAPET_13341, AGILITY_CAPET).
 		put(AGILITY_CAPE_13340, AGILITY_CAPE).
 		build();
+	/**
+	 * Item images are 36x32 ARGB, so this holds several thousand; enough for a full bank
+	 * alongside the loot tracker, grand exchange and infobox icons without evicting each other.
+	 */
+	private static final long ITEM_IMAGE_CACHE_BYTES = 16L * 1024 * 1024;
+	private static final long ITEM_OUTLINE_CACHE_BYTES = 4L * 1024 * 1024;
+	/**
+	 * Item images created per client tick while warming the cache from the bank
+	 */
+	private static final int PREWARM_PER_TICK = 8;
+
 	private final Client client;
 	private final ClientThread clientThread;
 	private final ItemClient itemClient;
@@ -138,6 +157,8 @@ public class ItemManager
 	private final LoadingCache<OutlineKey, BufferedImage> itemOutlines;
 	private Map<Integer, ItemPrice> itemPrices = Collections.emptyMap();
 	private ImmutableMap<Integer, ItemStats> itemStats = ImmutableMap.of();
+	// client thread only
+	private final Set<Integer> prewarm = new LinkedHashSet<>();
 
 	@Inject
 	public ItemManager(
@@ -156,7 +177,8 @@ public class ItemManager
 		executor.submit(this::loadStats);
 
 		itemImages = CacheBuilder.newBuilder()
-			.maximumSize(128L)
+			.maximumWeight(ITEM_IMAGE_CACHE_BYTES)
+			.weigher((ImageKey key, AsyncBufferedImage image) -> ImageUtil.sizeInBytes(image))
 			.expireAfterAccess(1, TimeUnit.HOURS)
 			.build(new CacheLoader<ImageKey, AsyncBufferedImage>()
 			{
@@ -180,7 +202,8 @@ public class ItemManager
 			});
 
 		itemOutlines = CacheBuilder.newBuilder()
-			.maximumSize(128L)
+			.maximumWeight(ITEM_OUTLINE_CACHE_BYTES)
+			.weigher((OutlineKey key, BufferedImage image) -> ImageUtil.sizeInBytes(image))
 			.expireAfterAccess(1, TimeUnit.HOURS)
 			.build(new CacheLoader<OutlineKey, BufferedImage>()
 			{
@@ -193,6 +216,8 @@ public class ItemManager
 
 		eventbus.subscribe(GameStateChanged.class, this, this::onGameStateChanged);
 		eventbus.subscribe(PostItemDefinition.class, this, this::onPostItemDefinition);
+		eventbus.subscribe(ItemContainerChanged.class, this, this::onItemContainerChanged);
+		eventbus.subscribe(ClientTick.class, this, this::onClientTick);
 
 		Completable.fromAction(ItemVariationMapping::load)
 			.subscribeOn(Schedulers.computation())
@@ -229,6 +254,39 @@ public class ItemManager
 		if (event.getGameState() == GameState.HOPPING || event.getGameState() == GameState.LOGIN_SCREEN)
 		{
 			itemDefinitions.invalidateAll();
+			prewarm.clear();
+		}
+	}
+
+	private void onItemContainerChanged(ItemContainerChanged event)
+	{
+		if (event.getContainerId() != InventoryID.BANK.getId())
+		{
+			return;
+		}
+
+		// Queue the bank's item images, so panels showing them do not each create them on first paint
+		for (Item item : event.getItemContainer().getItems())
+		{
+			if (item.getId() > 0 && itemImages.getIfPresent(new ImageKey(item.getId(), 1, false)) == null)
+			{
+				prewarm.add(item.getId());
+			}
+		}
+	}
+
+	private void onClientTick(ClientTick event)
+	{
+		if (prewarm.isEmpty())
+		{
+			return;
+		}
+
+		final Iterator<Integer> it = prewarm.iterator();
+		for (int i = 0; i < PREWARM_PER_TICK && it.hasNext(); i++)
+		{
+			getImage(it.next());
+			it.remove();
 		}
 	}
 
@@ -0,0 +1,253 @@
+/*
+ * Copyright (c) 2020, https://openosrs.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.game;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nullable;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import net.runelite.api.Client;
+import net.runelite.api.CollisionData;
+import static net.runelite.api.Constants.SCENE_SIZE;
+import net.runelite.api.GameState;
+import net.runelite.api.coords.WorldPoint;
+import net.runelite.api.events.GameObjectDespawned;
+import net.runelite.api.events.GameObjectSpawned;
+import net.runelite.api.events.GameStateChanged;
+import net.runelite.api.events.WallObjectChanged;
+import net.runelite.api.events.WallObjectDespawned;
+import net.runelite.api.events.WallObjectSpawned;
+import net.runelite.client.eventbus.EventBus;
+
+/**
+ * Answers walking distance, path and line of sight queries against the
+ * currently loaded scene.
+ * <p>
+ * The collision flags are copied into a {@link CollisionMap} the first time
+ * they are needed after a region load or a wall/object change, and distance
+ * maps from recently used start tiles are kept until then. All methods must
+ * be called on the client thread.
+ */
+@Singleton
+public class PathfindingManager
+{
+	private static final int MAX_CACHED_DISTANCE_MAPS = 16;
+
+	private final Client client;
+	private final CollisionMap collisionMap = new CollisionMap();
+	private final Map<Integer, int[]> distanceMaps = new LinkedHashMap<Integer, int[]>(MAX_CACHED_DISTANCE_MAPS, 0.75f, true)
+	{
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Integer, int[]> eldest)
+		{
+			return size() > MAX_CACHED_DISTANCE_MAPS;
+		}
+	};
+
+	private boolean stale = true;
+
+	@Inject
+	private PathfindingManager(final EventBus eventBus, final Client client)
+	{
+		this.client = client;
+
+		eventBus.subscribe(GameStateChanged.class, this, this::onGameStateChanged);
+		eventBus.subscribe(GameObjectSpawned.class, this, e -> invalidate());
+		eventBus.subscribe(GameObjectDespawned.class, this, e -> invalidate());
+		eventBus.subscribe(WallObjectSpawned.class, this, e -> invalidate());
+		eventBus.subscribe(WallObjectChanged.class, this, e -> invalidate());
+		eventBus.subscribe(WallObjectDespawned.class, this, e -> invalidate());
+	}
+
+	private void onGameStateChanged(GameStateChanged event)
+	{
+		if (event.getGameState() == GameState.LOADING || event.getGameState() == GameState.LOGGED_IN)
+		{
+			invalidate();
+		}
+	}
+
+	private void invalidate()
+	{
+		stale = true;
+	}
+
+	/**
+	 * Gets the up to date collision snapshot of the scene.
+	 *
+	 * @return the collision map, or null if the scene isn't loaded
+	 */
+	@Nullable
+	public CollisionMap getCollisionMap()
+	{
+		if (stale)
+		{
+			CollisionData[] collisionMaps = client.getCollisionMaps();
+			if (collisionMaps == null)
+			{
+				return null;
+			}
+
+			collisionMap.update(collisionMaps);
+			distanceMaps.clear();
+			stale = false;
+		}
+
+		return collisionMap;
+	}
+
+	/**
+	 * Finds a shortest walking path between two points on the same plane.
+	 *
+	 * @return the points of the path including start and end, or null if the end can't be reached
+	 */
+	@Nullable
+	public List<WorldPoint> findPath(WorldPoint start, WorldPoint end)
+	{
+		CollisionMap map = getCollisionMap();
+		if (map == null || start.getPlane() != end.getPlane())
+		{
+			return null;
+		}
+
+		int baseX = client.getBaseX();
+		int baseY = client.getBaseY();
+		int[] tiles = map.findPath(start.getPlane(), start.getX() - baseX, start.getY() - baseY, end.getX() - baseX, end.getY() - baseY);
+
+		if (tiles == null)
+		{
+			return null;
+		}
+
+		List<WorldPoint> path = new ArrayList<>(tiles.length);
+		for (int tile : tiles)
+		{
+			path.add(new WorldPoint(baseX + tile / SCENE_SIZE, baseY + tile % SCENE_SIZE, start.getPlane()));
+		}
+
+		return Collections.unmodifiableList(path);
+	}
+
+	/**
+	 * Gets the number of steps needed to walk between two points on the same plane.
+	 * Distances from the start point to every other tile are cached, so repeated
+	 * queries from the same tile are a single array lookup.
+	 *
+	 * @return the step count, or {@link CollisionMap#UNREACHABLE}
+	 */
+	public int getWalkingDistance(WorldPoint start, WorldPoint end)
+	{
+		if (start.getPlane() != end.getPlane())
+		{
+			return CollisionMap.UNREACHABLE;
+		}
+
+		int[] distances = getDistanceMap(start);
+		if (distances == null)
+		{
+			return CollisionMap.UNREACHABLE;
+		}
+
+		int x = end.getX() - client.getBaseX();
+		int y = end.getY() - client.getBaseY();
+
+		if (x < 0 || y < 0 || x >= SCENE_SIZE || y >= SCENE_SIZE)
+		{
+			return CollisionMap.UNREACHABLE;
+		}
+
+		return distances[x * SCENE_SIZE + y];
+	}
+
+	public boolean isReachable(WorldPoint start, WorldPoint end)
+	{
+		return getWalkingDistance(start, end) != CollisionMap.UNREACHABLE;
+	}
+
+	/**
+	 * Checks if a 1x1 entity standing on a point can take a single step in a direction.
+	 *
+	 * @param dx -1, 0 or 1
+	 * @param dy -1, 0 or 1
+	 */
+	public boolean canTravelInDirection(WorldPoint from, int dx, int dy)
+	{
+		CollisionMap map = getCollisionMap();
+		return map != null && map.canMove(from.getPlane(), from.getX() - client.getBaseX(), from.getY() - client.getBaseY(), dx, dy);
+	}
+
+	public boolean hasLineOfSight(WorldPoint from, WorldPoint to)
+	{
+		CollisionMap map = getCollisionMap();
+		if (map == null || from.getPlane() != to.getPlane())
+		{
+			return false;
+		}
+
+		int baseX = client.getBaseX();
+		int baseY = client.getBaseY();
+		return map.hasLineOfSight(from.getPlane(), from.getX() - baseX, from.getY() - baseY, to.getX() - baseX, to.getY() - baseY);
+	}
+
+	/**
+	 * Gets the step counts from a point to every tile on its plane, indexed by
+	 * {@code sceneX * SCENE_SIZE + sceneY}. The returned array is shared and must not be modified.
+	 *
+	 * @return the distance map, or null if the scene isn't loaded or the point is outside of it
+	 */
+	@Nullable
+	public int[] getDistanceMap(WorldPoint start)
+	{
+		CollisionMap map = getCollisionMap();
+		if (map == null)
+		{
+			return null;
+		}
+
+		int x = start.getX() - client.getBaseX();
+		int y = start.getY() - client.getBaseY();
+
+		if (x < 0 || y < 0 || x >= SCENE_SIZE || y >= SCENE_SIZE)
+		{
+			return null;
+		}
+
+		int key = (start.getPlane() * SCENE_SIZE + x) * SCENE_SIZE + y;
+		int[] distances = distanceMaps.get(key);
+
+		if (distances == null)
+		{
+			distances = new int[SCENE_SIZE * SCENE_SIZE];
+			map.computeDistances(start.getPlane(), x, y, distances);
+			distanceMaps.put(key, distances);
+		}
+
+		return distances;
+	}
+}
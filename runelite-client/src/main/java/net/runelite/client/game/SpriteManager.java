@@ -48,6 +48,11 @@ import net.runelite.client.util.ImageUtil;
 @Singleton
 public class SpriteManager
 {
+	/**
+	 * Sprites range from small icons to full interface backgrounds, so the cache is bounded by their size
+	 */
+	private static final long CACHE_BYTES = 8L * 1024 * 1024;
+
 	@Inject
 	private Client client;
 
@@ -58,7 +63,8 @@ public class SpriteManager
 	private InfoBoxManager infoBoxManager;
 
 	private final Cache<Long, BufferedImage> cache = CacheBuilder.newBuilder()
-		.maximumSize(128L)
+		.maximumWeight(CACHE_BYTES)
+		.weigher((Long key, BufferedImage image) -> ImageUtil.sizeInBytes(image))
 		.expireAfterAccess(1, TimeUnit.HOURS)
 		.build();
 
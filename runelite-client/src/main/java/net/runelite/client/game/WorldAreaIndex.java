@@ -0,0 +1,260 @@
+/*
+ * Copyright (c) 2020, https://openosrs.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.game;
+
+import java.util.Arrays;
+import net.runelite.api.coords.WorldArea;
+
+/**
+ * An immutable grid-bucketed index over a fixed set of {@link WorldArea}s.
+ * <p>
+ * The areas are flattened into primitive bounds and every bucket of
+ * {@code BUCKET_SIZE x BUCKET_SIZE} tiles keeps the indices of the areas that
+ * overlap it, in ascending order. Containment looks at a single bucket, and
+ * nearest-area queries search rings of buckets outward from the point until
+ * no closer area can exist. Neither query allocates.
+ * <p>
+ * Results are indices into the array the index was built from. When several
+ * areas match, the lowest index wins, so the array order acts as priority.
+ */
+public final class WorldAreaIndex
+{
+	private static final int BUCKET_SHIFT = 6;
+	private static final int BUCKET_SIZE = 1 << BUCKET_SHIFT;
+
+	private final int[] minX;
+	private final int[] minY;
+	private final int[] maxX;
+	private final int[] maxY;
+	private final int[] plane;
+
+	private final int minBucketX;
+	private final int minBucketY;
+	private final int maxBucketX;
+	private final int maxBucketY;
+	private final int bucketsY;
+
+	// bucket b holds bucketAreas[bucketStart[b]] .. bucketAreas[bucketStart[b + 1] - 1]
+	private final int[] bucketStart;
+	private final int[] bucketAreas;
+
+	public WorldAreaIndex(WorldArea[] areas)
+	{
+		final int count = areas.length;
+		minX = new int[count];
+		minY = new int[count];
+		maxX = new int[count];
+		maxY = new int[count];
+		plane = new int[count];
+
+		int lowX = Integer.MAX_VALUE, lowY = Integer.MAX_VALUE;
+		int highX = Integer.MIN_VALUE, highY = Integer.MIN_VALUE;
+
+		for (int i = 0; i < count; i++)
+		{
+			final WorldArea area = areas[i];
+			if (area.getWidth() <= 0 || area.getHeight() <= 0)
+			{
+				throw new IllegalArgumentException("empty area: " + area);
+			}
+
+			minX[i] = area.getX();
+			minY[i] = area.getY();
+			maxX[i] = area.getX() + area.getWidth() - 1;
+			maxY[i] = area.getY() + area.getHeight() - 1;
+			plane[i] = area.getPlane();
+
+			lowX = Math.min(lowX, minX[i]);
+			lowY = Math.min(lowY, minY[i]);
+			highX = Math.max(highX, maxX[i]);
+			highY = Math.max(highY, maxY[i]);
+		}
+
+		if (count == 0)
+		{
+			lowX = lowY = highX = highY = 0;
+		}
+
+		minBucketX = lowX >> BUCKET_SHIFT;
+		minBucketY = lowY >> BUCKET_SHIFT;
+		maxBucketX = highX >> BUCKET_SHIFT;
+		maxBucketY = highY >> BUCKET_SHIFT;
+		bucketsY = maxBucketY - minBucketY + 1;
+
+		final int buckets = (maxBucketX - minBucketX + 1) * bucketsY;
+		bucketStart = new int[buckets + 1];
+
+		// count, prefix sum, then fill in area order so each bucket stays sorted
+		for (int i = 0; i < count; i++)
+		{
+			forEachBucket(i, (b) -> bucketStart[b + 1]++);
+		}
+
+		for (int b = 0; b < buckets; b++)
+		{
+			bucketStart[b + 1] += bucketStart[b];
+		}
+
+		bucketAreas = new int[bucketStart[buckets]];
+		final int[] fill = Arrays.copyOf(bucketStart, buckets);
+
+		for (int i = 0; i < count; i++)
+		{
+			final int area = i;
+			forEachBucket(i, (b) -> bucketAreas[fill[b]++] = area);
+		}
+	}
+
+	/**
+	 * Finds the area containing a tile.
+	 *
+	 * @return the lowest index of an area containing the tile, or -1 if there is none
+	 */
+	public int indexOf(int x, int y, int plane)
+	{
+		final int bx = x >> BUCKET_SHIFT;
+		final int by = y >> BUCKET_SHIFT;
+		if (bx < minBucketX || bx > maxBucketX || by < minBucketY || by > maxBucketY)
+		{
+			return -1;
+		}
+
+		final int bucket = bucket(bx, by);
+		for (int i = bucketStart[bucket], end = bucketStart[bucket + 1]; i < end; i++)
+		{
+			final int area = bucketAreas[i];
+			if (this.plane[area] == plane
+				&& x >= minX[area] && x <= maxX[area]
+				&& y >= minY[area] && y <= maxY[area])
+			{
+				return area;
+			}
+		}
+
+		return -1;
+	}
+
+	/**
+	 * Finds the area closest to a tile, measured the same way as
+	 * {@link WorldArea#distanceTo(net.runelite.api.coords.WorldPoint)}.
+	 * Areas on other planes are never considered.
+	 *
+	 * @param maxDistance exclusive upper bound on the distance of the result
+	 * @return the lowest index among the closest areas, or -1 if none is within {@code maxDistance}
+	 */
+	public int nearest(int x, int y, int plane, int maxDistance)
+	{
+		final int bx = x >> BUCKET_SHIFT;
+		final int by = y >> BUCKET_SHIFT;
+
+		// rings closer than the grid are empty, rings past its far side are never reached
+		final int firstRing = Math.max(0, Math.max(
+			Math.max(minBucketX - bx, bx - maxBucketX),
+			Math.max(minBucketY - by, by - maxBucketY)));
+		final int lastRing = Math.max(
+			Math.max(Math.abs(bx - minBucketX), Math.abs(bx - maxBucketX)),
+			Math.max(Math.abs(by - minBucketY), Math.abs(by - maxBucketY)));
+
+		int best = -1;
+		int bestDistance = maxDistance;
+
+		for (int ring = firstRing; ring <= lastRing; ring++)
+		{
+			// every tile of a bucket in this ring is at least this far from the point
+			final int bound = ring == 0 ? 0 : ((ring - 1) << BUCKET_SHIFT) + 1;
+			if (bound > bestDistance || (best < 0 && bound >= bestDistance))
+			{
+				break;
+			}
+
+			final int fromX = Math.max(bx - ring, minBucketX);
+			final int toX = Math.min(bx + ring, maxBucketX);
+			final int fromY = Math.max(by - ring, minBucketY);
+			final int toY = Math.min(by + ring, maxBucketY);
+
+			for (int cx = fromX; cx <= toX; cx++)
+			{
+				final boolean edgeX = cx == bx - ring || cx == bx + ring;
+				for (int cy = fromY; cy <= toY; cy++)
+				{
+					if (!edgeX && cy != by - ring && cy != by + ring)
+					{
+						// interior of the ring, already searched; jump to the far edge
+						cy = Math.max(cy, by + ring - 1);
+						continue;
+					}
+
+					final int bucket = bucket(cx, cy);
+					for (int i = bucketStart[bucket], end = bucketStart[bucket + 1]; i < end; i++)
+					{
+						final int area = bucketAreas[i];
+						if (this.plane[area] != plane)
+						{
+							continue;
+						}
+
+						final int distance = distance(area, x, y);
+						if (distance < bestDistance || (distance == bestDistance && best >= 0 && area < best))
+						{
+							best = area;
+							bestDistance = distance;
+						}
+					}
+				}
+			}
+		}
+
+		return best;
+	}
+
+	private int distance(int area, int x, int y)
+	{
+		final int dx = x < minX[area] ? minX[area] - x : x > maxX[area] ? x - maxX[area] : 0;
+		final int dy = y < minY[area] ? minY[area] - y : y > maxY[area] ? y - maxY[area] : 0;
+		return Math.max(dx, dy);
+	}
+
+	private int bucket(int bx, int by)
+	{
+		return (bx - minBucketX) * bucketsY + (by - minBucketY);
+	}
+
+	private void forEachBucket(int area, BucketConsumer consumer)
+	{
+		for (int bx = minX[area] >> BUCKET_SHIFT; bx <= maxX[area] >> BUCKET_SHIFT; bx++)
+		{
+			for (int by = minY[area] >> BUCKET_SHIFT; by <= maxY[area] >> BUCKET_SHIFT; by++)
+			{
+				consumer.accept(bucket(bx, by));
+			}
+		}
+	}
+
+	@FunctionalInterface
+	private interface BucketConsumer
+	{
+		void accept(int bucket);
+	}
+}
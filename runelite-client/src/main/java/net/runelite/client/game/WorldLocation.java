@@ -195,16 +195,23 @@ public enum WorldLocation
 	@Getter
 	private static final Map<WorldArea, String> LOCATION_MAP;
 
+	private static final WorldLocation[] LOCATIONS = values();
+	private static final WorldAreaIndex AREA_INDEX;
+
 	static
 	{
 		ImmutableMap.Builder<WorldArea, String> builder = ImmutableMap.builder();
+		WorldArea[] areas = new WorldArea[LOCATIONS.length];
 
-		for (WorldLocation value : values())
+		for (int i = 0; i < LOCATIONS.length; i++)
 		{
+			WorldLocation value = LOCATIONS[i];
 			builder.put(value.getWorldArea(), value.getName());
+			areas[i] = value.getWorldArea();
 		}
 
 		LOCATION_MAP = builder.build();
+		AREA_INDEX = new WorldAreaIndex(areas);
 	}
 
 	/**
@@ -251,56 +258,48 @@ public enum WorldLocation
 	 */
 	public static String location(WorldPoint worldPoint)
 	{
-		int dist = 10000;
-		String s = "";
-		WorldArea closestArea = null;
+		final int x = worldPoint.getX();
+		final int y = worldPoint.getY();
+		final int plane = worldPoint.getPlane();
 
-		for (Map.Entry<WorldArea, String> entry : LOCATION_MAP.entrySet())
+		int index = AREA_INDEX.indexOf(x, y, plane);
+		if (index >= 0)
 		{
-			final WorldArea worldArea = entry.getKey();
-
-			if (worldArea.toWorldPointList().contains(worldPoint))
-			{
-				s = entry.getValue();
-				return s;
-			}
-
-			final int distTo = worldArea.distanceTo(worldPoint);
-
-			if (distTo < dist)
-			{
-				dist = distTo;
-				closestArea = worldArea;
-			}
+			return LOCATIONS[index].getName();
 		}
 
-		if (closestArea == null)
+		index = AREA_INDEX.nearest(x, y, plane, 10000);
+		if (index < 0)
 		{
-			return s;
+			return "";
 		}
 
-		if (worldPoint.getY() > closestArea.toWorldPoint().getY() + closestArea.getHeight())
+		final WorldLocation closest = LOCATIONS[index];
+		final WorldArea closestArea = closest.getWorldArea();
+		String s = "";
+
+		if (y > closestArea.getY() + closestArea.getHeight())
 		{
 			s = s + "N";
 		}
 
-		if (worldPoint.getY() < closestArea.toWorldPoint().getY())
+		if (y < closestArea.getY())
 		{
 			s = s + "S";
 		}
 
-		if (worldPoint.getX() < closestArea.toWorldPoint().getX())
+		if (x < closestArea.getX())
 		{
 			s = s + "W";
 		}
 
-		if (worldPoint.getX() > (closestArea.toWorldPoint().getX() + closestArea.getWidth()))
+		if (x > (closestArea.getX() + closestArea.getWidth()))
 		{
 			s = s + "E";
 		}
 
 		s = s + " of ";
-		s = s + LOCATION_MAP.get(closestArea);
+		s = s + closest.getName();
 
 		if (s.startsWith(" of "))
 		{
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2020, https://openosrs.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.plugins;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import net.runelite.api.GameState;
+import net.runelite.api.Varbits;
+
+/**
+ * Conditions under which an enabled plugin is running. A plugin declaring
+ * any condition is not started with the rest of the client; it is started the
+ * first time one of its conditions holds and shut down again once none of
+ * them has held for {@link #idleTimeout()} seconds.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({})
+@Documented
+public @interface PluginActivation
+{
+	/**
+	 * Map region ids, satisfied while any of them is loaded.
+	 */
+	int[] regions() default {};
+
+	/**
+	 * Satisfied while the client is in any of these game states.
+	 */
+	GameState[] gameStates() default {};
+
+	/**
+	 * Satisfied while any of these varbits is non-zero.
+	 */
+	Varbits[] varbits() default {};
+
+	/**
+	 * Widget group ids, satisfied while any of the groups is loaded.
+	 */
+	int[] widgets() default {};
+
+	/**
+	 * Seconds without any condition holding before the plugin is shut down,
+	 * or -1 to keep it running once started.
+	 */
+	int idleTimeout() default 300;
+}
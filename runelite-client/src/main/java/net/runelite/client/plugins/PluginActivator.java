@@ -0,0 +1,243 @@
+/*
+ * Copyright (c) 2020, https://openosrs.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.plugins;
+
+import com.google.common.annotations.VisibleForTesting;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+import javax.inject.Inject;
+import javax.inject.Provider;
+import javax.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.Client;
+import net.runelite.api.GameState;
+import net.runelite.api.Varbits;
+import net.runelite.api.events.GameStateChanged;
+import net.runelite.api.events.GameTick;
+import net.runelite.api.events.WidgetLoaded;
+import net.runelite.client.eventbus.EventBus;
+import org.apache.commons.lang3.ArrayUtils;
+
+/**
+ * Starts and stops enabled plugins carrying a {@link PluginActivation}
+ * as their conditions come and go. Conditions are evaluated on the client
+ * thread; the plugins themselves are started and stopped on the executor, as
+ * {@link PluginManager} waits on the event thread to run them.
+ */
+@Singleton
+@Slf4j
+public class PluginActivator
+{
+	private final Client client;
+	private final Provider<PluginManager> pluginManager;
+	private final ScheduledExecutorService executor;
+	private final Map<Plugin, Activation> conditional = new ConcurrentHashMap<>();
+
+	@Inject
+	private PluginActivator(
+		@Nullable final Client client,
+		final Provider<PluginManager> pluginManager,
+		final ScheduledExecutorService executor,
+		final EventBus eventBus)
+	{
+		this.client = client;
+		this.pluginManager = pluginManager;
+		this.executor = executor;
+
+		eventBus.subscribe(GameStateChanged.class, this, this::onGameStateChanged);
+		eventBus.subscribe(GameTick.class, this, this::onGameTick);
+		eventBus.subscribe(WidgetLoaded.class, this, this::onWidgetLoaded);
+	}
+
+	/**
+	 * Registers the plugin if its descriptor declares activation conditions.
+	 *
+	 * @return true if the plugin is left to this activator to start
+	 */
+	boolean defer(Plugin plugin)
+	{
+		final PluginDescriptor descriptor = plugin.getClass().getAnnotation(PluginDescriptor.class);
+		if (client == null || descriptor == null || !isConditional(descriptor.activation()))
+		{
+			return false;
+		}
+
+		conditional.putIfAbsent(plugin, new Activation(descriptor.activation()));
+		return true;
+	}
+
+	void forget(Plugin plugin)
+	{
+		conditional.remove(plugin);
+	}
+
+	static boolean isConditional(PluginActivation activation)
+	{
+		return activation.regions().length > 0
+			|| activation.gameStates().length > 0
+			|| activation.varbits().length > 0
+			|| activation.widgets().length > 0;
+	}
+
+	private void onGameStateChanged(GameStateChanged event)
+	{
+		update(System.nanoTime());
+	}
+
+	private void onGameTick(GameTick event)
+	{
+		update(System.nanoTime());
+	}
+
+	private void onWidgetLoaded(WidgetLoaded event)
+	{
+		update(System.nanoTime());
+	}
+
+	@VisibleForTesting
+	void update(long now)
+	{
+		if (conditional.isEmpty())
+		{
+			return;
+		}
+
+		for (Map.Entry<Plugin, Activation> entry : conditional.entrySet())
+		{
+			final Activation activation = entry.getValue();
+			if (activation.busy)
+			{
+				continue;
+			}
+
+			if (matches(activation))
+			{
+				activation.idleSince = now;
+				if (!activation.active)
+				{
+					submit(entry.getKey(), activation, true);
+				}
+			}
+			else if (activation.active && activation.idleTimeout >= 0
+				&& now - activation.idleSince >= activation.idleTimeout)
+			{
+				submit(entry.getKey(), activation, false);
+			}
+		}
+	}
+
+	private boolean matches(Activation activation)
+	{
+		if (ArrayUtils.contains(activation.gameStates, client.getGameState()))
+		{
+			return true;
+		}
+
+		final int[] mapRegions = client.getMapRegions();
+		if (mapRegions != null)
+		{
+			for (int region : activation.regions)
+			{
+				if (ArrayUtils.contains(mapRegions, region))
+				{
+					return true;
+				}
+			}
+		}
+
+		for (Varbits varbit : activation.varbits)
+		{
+			if (client.getVar(varbit) != 0)
+			{
+				return true;
+			}
+		}
+
+		for (int groupId : activation.widgets)
+		{
+			if (client.getWidget(groupId, 0) != null)
+			{
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	private void submit(Plugin plugin, Activation activation, boolean start)
+	{
+		activation.busy = true;
+		executor.submit(() ->
+		{
+			try
+			{
+				if (start)
+				{
+					pluginManager.get().activate(plugin);
+				}
+				else
+				{
+					pluginManager.get().deactivate(plugin);
+				}
+
+				activation.active = start;
+			}
+			catch (PluginInstantiationException ex)
+			{
+				log.warn("Unable to {} plugin {}", start ? "activate" : "deactivate", plugin.getClass().getSimpleName(), ex);
+				conditional.remove(plugin);
+			}
+			finally
+			{
+				activation.busy = false;
+			}
+		});
+	}
+
+	private static class Activation
+	{
+		private final int[] regions;
+		private final GameState[] gameStates;
+		private final Varbits[] varbits;
+		private final int[] widgets;
+		private final long idleTimeout;
+
+		private volatile boolean active;
+		private volatile boolean busy;
+		private long idleSince;
+
+		private Activation(PluginActivation activation)
+		{
+			this.regions = activation.regions();
+			this.gameStates = activation.gameStates();
+			this.varbits = activation.varbits();
+			this.widgets = activation.widgets();
+			this.idleTimeout = activation.idleTimeout() < 0 ? -1 : TimeUnit.SECONDS.toNanos(activation.idleTimeout());
+		}
+	}
+}
@@ -60,4 +60,9 @@ public @interface PluginDescriptor
 	boolean loadWhenOutdated() default false;
 
 	PluginType type() default PluginType.UNCATEGORIZED;
+
+	/**
+	 * Conditions deferring the plugin's start until it is needed, by default none.
+	 */
+	PluginActivation activation() default @PluginActivation;
 }
@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2020, https://openosrs.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.plugins;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import javax.annotation.Nullable;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Reads the plugin index written at compile time by the plugin index processor,
+ * which lists every {@link PluginDescriptor} annotated class along with its
+ * descriptor, so plugins can be found without loading unrelated classes.
+ */
+@Slf4j
+final class PluginIndex
+{
+	static final String INDEX = "META-INF/runelite/plugins.index";
+
+	private static final int FIELDS = 9;
+
+	@Value
+	static class Entry
+	{
+		String className;
+		String name;
+		PluginType type;
+		boolean enabledByDefault;
+		boolean hidden;
+		boolean developerPlugin;
+		boolean loadWhenOutdated;
+		List<String> dependencies;
+		@Nullable
+		String config;
+	}
+
+	private PluginIndex()
+	{
+	}
+
+	/**
+	 * Reads every plugin index visible to a class loader.
+	 *
+	 * @return the indexed plugins, or null if the class loader has no index
+	 */
+	@Nullable
+	static List<Entry> read(ClassLoader classLoader) throws IOException
+	{
+		final Enumeration<URL> indexes = classLoader.getResources(INDEX);
+		if (!indexes.hasMoreElements())
+		{
+			return null;
+		}
+
+		final List<Entry> entries = new ArrayList<>();
+		while (indexes.hasMoreElements())
+		{
+			final URL url = indexes.nextElement();
+			try (BufferedReader reader = new BufferedReader(new InputStreamReader(url.openStream(), StandardCharsets.UTF_8)))
+			{
+				String line;
+				while ((line = reader.readLine()) != null)
+				{
+					if (line.isEmpty() || line.startsWith("#"))
+					{
+						continue;
+					}
+
+					final Entry entry = parse(line);
+					if (entry == null)
+					{
+						log.warn("Ignoring malformed plugin index entry in {}: {}", url, line);
+						continue;
+					}
+					entries.add(entry);
+				}
+			}
+		}
+
+		return entries;
+	}
+
+	@Nullable
+	static Entry parse(String line)
+	{
+		final String[] fields = line.split("\t", -1);
+		if (fields.length != FIELDS)
+		{
+			return null;
+		}
+
+		final PluginType type;
+		try
+		{
+			type = PluginType.valueOf(fields[2]);
+		}
+		catch (IllegalArgumentException ex)
+		{
+			return null;
+		}
+
+		return new Entry(
+			fields[0],
+			fields[1],
+			type,
+			Boolean.parseBoolean(fields[3]),
+			Boolean.parseBoolean(fields[4]),
+			Boolean.parseBoolean(fields[5]),
+			Boolean.parseBoolean(fields[6]),
+			fields[7].isEmpty() ? Collections.emptyList() : Arrays.asList(fields[7].split(",")),
+			fields[8].isEmpty() ? null : fields[8]
+		);
+	}
+}
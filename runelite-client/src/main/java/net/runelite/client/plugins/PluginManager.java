@@ -102,6 +102,9 @@ public class PluginManager
 	@Inject
 	ExternalPluginLoader externalPluginLoader;
 
+	@Inject
+	PluginActivator pluginActivator;
+
 	@Setter
 	boolean isOutdated;
 
@@ -211,6 +214,32 @@ public class PluginManager
 		externalPluginLoader.scanAndLoad();
 	}
 
+	/**
+	 * Loads, without initializing, the core plugin classes named in the plugin index. This is safe to run
+	 * alongside the rest of startup, and leaves {@link #loadCorePlugins()} with classes already defined.
+	 */
+	public static void preloadCorePlugins() throws IOException
+	{
+		final ClassLoader classLoader = PluginManager.class.getClassLoader();
+		final List<PluginIndex.Entry> index = PluginIndex.read(classLoader);
+		if (index == null)
+		{
+			return;
+		}
+
+		for (PluginIndex.Entry entry : index)
+		{
+			try
+			{
+				Class.forName(entry.getClassName(), false, classLoader);
+			}
+			catch (ClassNotFoundException | LinkageError e)
+			{
+				log.debug("Unable to preload plugin class {}", entry.getClassName(), e);
+			}
+		}
+	}
+
 	public void loadCorePlugins() throws IOException
 	{
 		plugins.addAll(scanAndInstantiate(getClass().getClassLoader(), PLUGIN_PACKAGE, false));
@@ -253,61 +282,15 @@ public class PluginManager
 			.directed()
 			.build();
 
-		ClassPath classPath = ClassPath.from(classLoader);
-
-		ImmutableSet<ClassInfo> classes = packageName == null ? classPath.getAllClasses()
-			: classPath.getTopLevelClassesRecursive(packageName);
-		for (ClassInfo classInfo : classes)
+		final List<PluginIndex.Entry> index = PluginIndex.read(classLoader);
+		if (index != null)
 		{
-			Class<?> clazz = classInfo.load();
-			PluginDescriptor pluginDescriptor = clazz.getAnnotation(PluginDescriptor.class);
-
-			if (pluginDescriptor == null)
-			{
-				if (clazz.getSuperclass() == Plugin.class)
-				{
-					log.warn("Class {} is a plugin, but has no plugin descriptor",
-						clazz);
-				}
-				continue;
-			}
-
-			if (clazz.getSuperclass() != Plugin.class)
-			{
-				log.warn("Class {} has plugin descriptor, but is not a plugin",
-					clazz);
-				continue;
-			}
-
-			if (external && pluginDescriptor.type() != PluginType.EXTERNAL)
-			{
-				log.error("Class {} is using the external plugin loader but doesn't have PluginType.EXTERNAL", clazz);
-				continue;
-			}
-
-			if (!pluginDescriptor.loadWhenOutdated() && isOutdated)
-			{
-				continue;
-			}
-
-			if (pluginDescriptor.developerPlugin() && !developerMode)
-			{
-				continue;
-			}
-
-			@SuppressWarnings("unchecked") Class<Plugin> pluginClass = (Class<Plugin>) clazz;
-			graph.addNode(pluginClass);
+			addIndexedPlugins(graph, index, classLoader, packageName, external);
 		}
-
-		// Build plugin graph
-		for (Class<? extends Plugin> pluginClazz : graph.nodes())
+		else
 		{
-			PluginDependency[] pluginDependencies = pluginClazz.getAnnotationsByType(PluginDependency.class);
-
-			for (PluginDependency pluginDependency : pluginDependencies)
-			{
-				graph.putEdge(pluginClazz, pluginDependency.value());
-			}
+			log.debug("No plugin index found, scanning the class path for plugins");
+			addScannedPlugins(graph, classLoader, packageName, external);
 		}
 
 		if (Graphs.hasCycle(graph))
@@ -365,6 +348,135 @@ public class PluginManager
 		return scannedPlugins;
 	}
 
+	/**
+	 * Adds the plugins listed in the compile time plugin index, loading only
+	 * the classes of the plugins which will be instantiated.
+	 */
+	@SuppressWarnings("unchecked")
+	private void addIndexedPlugins(MutableGraph<Class<? extends Plugin>> graph, List<PluginIndex.Entry> index,
+		ClassLoader classLoader, String packageName, boolean external)
+	{
+		for (PluginIndex.Entry entry : index)
+		{
+			final String className = entry.getClassName();
+
+			// the class path scan only looks at top level classes within the package
+			if (packageName != null && (!className.startsWith(packageName + ".") || className.indexOf('$') != -1))
+			{
+				continue;
+			}
+
+			if (!shouldLoad(className, entry.getType(), entry.isDeveloperPlugin(), entry.isLoadWhenOutdated(), external))
+			{
+				continue;
+			}
+
+			final Class<?> clazz;
+			try
+			{
+				clazz = Class.forName(className, false, classLoader);
+			}
+			catch (ClassNotFoundException | LinkageError ex)
+			{
+				log.warn("Unable to load indexed plugin {}", className, ex);
+				continue;
+			}
+
+			if (clazz.getSuperclass() != Plugin.class)
+			{
+				log.warn("Class {} has plugin descriptor, but is not a plugin",
+					clazz);
+				continue;
+			}
+
+			final Class<? extends Plugin> pluginClass = (Class<? extends Plugin>) clazz;
+			graph.addNode(pluginClass);
+
+			for (String dependency : entry.getDependencies())
+			{
+				try
+				{
+					graph.putEdge(pluginClass, (Class<? extends Plugin>) Class.forName(dependency, false, classLoader));
+				}
+				catch (ClassNotFoundException | LinkageError ex)
+				{
+					log.warn("Unable to load dependency {} of plugin {}", dependency, className, ex);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Finds plugins by loading every class on the class path and checking it for
+	 * a {@link PluginDescriptor}, for class loaders without a plugin index.
+	 */
+	private void addScannedPlugins(MutableGraph<Class<? extends Plugin>> graph,
+		ClassLoader classLoader, String packageName, boolean external) throws IOException
+	{
+		ClassPath classPath = ClassPath.from(classLoader);
+
+		ImmutableSet<ClassInfo> classes = packageName == null ? classPath.getAllClasses()
+			: classPath.getTopLevelClassesRecursive(packageName);
+		for (ClassInfo classInfo : classes)
+		{
+			Class<?> clazz = classInfo.load();
+			PluginDescriptor pluginDescriptor = clazz.getAnnotation(PluginDescriptor.class);
+
+			if (pluginDescriptor == null)
+			{
+				if (clazz.getSuperclass() == Plugin.class)
+				{
+					log.warn("Class {} is a plugin, but has no plugin descriptor",
+						clazz);
+				}
+				continue;
+			}
+
+			if (clazz.getSuperclass() != Plugin.class)
+			{
+				log.warn("Class {} has plugin descriptor, but is not a plugin",
+					clazz);
+				continue;
+			}
+
+			if (!shouldLoad(clazz.getName(), pluginDescriptor.type(), pluginDescriptor.developerPlugin(),
+				pluginDescriptor.loadWhenOutdated(), external))
+			{
+				continue;
+			}
+
+			@SuppressWarnings("unchecked") Class<Plugin> pluginClass = (Class<Plugin>) clazz;
+			graph.addNode(pluginClass);
+		}
+
+		// Build plugin graph
+		for (Class<? extends Plugin> pluginClazz : graph.nodes())
+		{
+			PluginDependency[] pluginDependencies = pluginClazz.getAnnotationsByType(PluginDependency.class);
+
+			for (PluginDependency pluginDependency : pluginDependencies)
+			{
+				graph.putEdge(pluginClazz, pluginDependency.value());
+			}
+		}
+	}
+
+	private boolean shouldLoad(String className, PluginType type, boolean developerPlugin, boolean loadWhenOutdated, boolean external)
+	{
+		if (external && type != PluginType.EXTERNAL)
+		{
+			log.error("Class {} is using the external plugin loader but doesn't have PluginType.EXTERNAL", className);
+			return false;
+		}
+
+		if (!loadWhenOutdated && isOutdated)
+		{
+			return false;
+		}
+
+		return !developerPlugin || developerMode;
+	}
+
 	public synchronized boolean startPlugin(Plugin plugin) throws PluginInstantiationException
 	{
 		if (activePlugins.contains(plugin) || !isPluginEnabled(plugin))
@@ -372,6 +484,30 @@ public class PluginManager
 			return false;
 		}
 
+		if (pluginActivator != null && pluginActivator.defer(plugin))
+		{
+			log.debug("Plugin {} is waiting for its activation conditions", plugin.getClass().getSimpleName());
+			return false;
+		}
+
+		return start(plugin);
+	}
+
+	/**
+	 * Starts an enabled plugin whose activation conditions were met.
+	 */
+	synchronized boolean activate(Plugin plugin) throws PluginInstantiationException
+	{
+		if (activePlugins.contains(plugin) || !isPluginEnabled(plugin))
+		{
+			return false;
+		}
+
+		return start(plugin);
+	}
+
+	private boolean start(Plugin plugin) throws PluginInstantiationException
+	{
 		activePlugins.add(plugin);
 
 		try
@@ -414,11 +550,39 @@ public class PluginManager
 
 	public synchronized boolean stopPlugin(Plugin plugin) throws PluginInstantiationException
 	{
-		if (!activePlugins.contains(plugin) || isPluginEnabled(plugin))
+		if (isPluginEnabled(plugin))
+		{
+			return false;
+		}
+
+		if (pluginActivator != null)
+		{
+			pluginActivator.forget(plugin);
+		}
+
+		if (!activePlugins.contains(plugin))
 		{
 			return false;
 		}
 
+		return stop(plugin);
+	}
+
+	/**
+	 * Stops a plugin that has been idle, leaving it enabled and waiting on its activation conditions.
+	 */
+	synchronized boolean deactivate(Plugin plugin) throws PluginInstantiationException
+	{
+		if (!activePlugins.contains(plugin))
+		{
+			return false;
+		}
+
+		return stop(plugin);
+	}
+
+	private boolean stop(Plugin plugin) throws PluginInstantiationException
+	{
 		activePlugins.remove(plugin);
 
 		try
@@ -50,11 +50,13 @@ import net.runelite.api.events.GameStateChanged;
 import net.runelite.api.events.GameTick;
 import net.runelite.api.events.NpcDespawned;
 import net.runelite.api.events.NpcSpawned;
+import net.runelite.client.callback.ClientThread;
 import net.runelite.client.config.ConfigManager;
 import net.runelite.client.eventbus.Subscribe;
 import net.runelite.client.events.ConfigChanged;
 import net.runelite.client.game.NPCManager;
 import net.runelite.client.plugins.Plugin;
+import net.runelite.client.plugins.PluginActivation;
 import net.runelite.client.plugins.PluginDescriptor;
 import net.runelite.client.plugins.PluginType;
 import net.runelite.client.ui.overlay.OverlayManager;
@@ -65,7 +67,8 @@ import org.apache.commons.lang3.ArrayUtils;
 	description = "Displays current and upcoming wave monsters in the Fight Caves",
 	tags = {"bosses", "combat", "minigame", "overlay", "pve", "pvm", "jad", "fire", "cape", "wave"},
 	type = PluginType.PVM,
-	enabledByDefault = false
+	enabledByDefault = false,
+	activation = @PluginActivation(regions = FightCavePlugin.FIGHT_CAVE_REGION)
 )
 @Singleton
 @Slf4j
@@ -75,7 +78,7 @@ public class FightCavePlugin extends Plugin
 	@Getter(AccessLevel.PACKAGE)
 	static final List<EnumMap<WaveMonster, Integer>> WAVES = new ArrayList<>();
 	private static final Pattern WAVE_PATTERN = Pattern.compile(".*Wave: (\\d+).*");
-	private static final int FIGHT_CAVE_REGION = 9551;
+	static final int FIGHT_CAVE_REGION = 9551;
 	private static final int MAX_MONSTERS_OF_TYPE_PER_WAVE = 2;
 
 	static
@@ -121,6 +124,9 @@ public class FightCavePlugin extends Plugin
 	@Inject
 	private Client client;
 
+	@Inject
+	private ClientThread clientThread;
+
 	@Inject
 	private NPCManager npcManager;
 
@@ -182,6 +188,9 @@ public class FightCavePlugin extends Plugin
 			validRegion = true;
 			overlayManager.add(waveOverlay);
 			overlayManager.add(fightCaveOverlay);
+
+			// the plugin is started once the player is already inside, so pick up the npcs of the wave in progress
+			clientThread.invoke(this::addExistingNpcs);
 		}
 	}
 
@@ -254,8 +263,26 @@ public class FightCavePlugin extends Plugin
 			return;
 		}
 
-		NPC npc = event.getNpc();
+		addNpc(event.getNpc());
+	}
+
+	private void addExistingNpcs()
+	{
+		if (!validRegion)
+		{
+			return;
+		}
 
+		fightCaveContainer.clear();
+
+		for (NPC npc : client.getNpcs())
+		{
+			addNpc(npc);
+		}
+	}
+
+	private void addNpc(NPC npc)
+	{
 		switch (npc.getId())
 		{
 			case NpcID.TOKXIL_3121:
@@ -187,12 +187,12 @@ public class FreezeTimersPlugin extends Plugin
 					timers.setTimerReApply(actor, TimerType.TELEBLOCK, System.currentTimeMillis());
 				}
 				else if (WorldType.isPvpWorld(worldTypes) &&
-					MapLocations.getPvpSafeZones(actorLoc.getPlane()).contains(actorLoc.getX(), actorLoc.getY()))
+					MapLocations.isPvpSafeZone(actorLoc.getX(), actorLoc.getY(), actorLoc.getPlane()))
 				{
 					timers.setTimerReApply(actor, TimerType.TELEBLOCK, System.currentTimeMillis());
 				}
 				else if (WorldType.isDeadmanWorld(worldTypes) &&
-					MapLocations.getDeadmanSafeZones(actorLoc.getPlane()).contains(actorLoc.getX(), actorLoc.getY()))
+					MapLocations.isDeadmanSafeZone(actorLoc.getX(), actorLoc.getY(), actorLoc.getPlane()))
 				{
 					timers.setTimerReApply(actor, TimerType.TELEBLOCK, System.currentTimeMillis());
 				}
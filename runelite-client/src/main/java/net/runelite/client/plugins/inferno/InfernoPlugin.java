@@ -47,10 +47,12 @@ import net.runelite.api.events.GameStateChanged;
 import net.runelite.api.events.GameTick;
 import net.runelite.api.events.NpcDespawned;
 import net.runelite.api.events.NpcSpawned;
+import net.runelite.client.callback.ClientThread;
 import net.runelite.client.config.ConfigManager;
 import net.runelite.client.eventbus.Subscribe;
 import net.runelite.client.events.ConfigChanged;
 import net.runelite.client.plugins.Plugin;
+import net.runelite.client.plugins.PluginActivation;
 import net.runelite.client.plugins.PluginDescriptor;
 import net.runelite.client.plugins.PluginType;
 import net.runelite.client.plugins.inferno.displaymodes.InfernoNamingDisplayMode;
@@ -65,17 +67,21 @@ import org.apache.commons.lang3.ArrayUtils;
 	name = "Inferno",
 	description = "Inferno helper",
 	tags = {"combat", "overlay", "pve", "pvm"},
-	type = PluginType.PVM
+	type = PluginType.PVM,
+	activation = @PluginActivation(regions = InfernoPlugin.INFERNO_REGION)
 )
 @Slf4j
 @Singleton
 public class InfernoPlugin extends Plugin
 {
-	private static final int INFERNO_REGION = 9043;
+	static final int INFERNO_REGION = 9043;
 
 	@Inject
 	private Client client;
 
+	@Inject
+	private ClientThread clientThread;
+
 	@Inject
 	private OverlayManager overlayManager;
 
@@ -261,6 +267,14 @@ public class InfernoPlugin extends Plugin
 			overlayManager.add(jadOverlay);
 			overlayManager.add(prayerOverlay);
 			hideNpcDeaths();
+
+			// the plugin is started once the player is already inside, so pick up the wave in progress
+			currentWaveNumber = 1;
+			clientThread.invoke(this::addExistingNpcs);
+		}
+		else
+		{
+			currentWaveNumber = -1;
 		}
 	}
 
@@ -344,12 +358,33 @@ public class InfernoPlugin extends Plugin
 			return;
 		}
 
-		if (event.getNpc().getId() == NpcID.ANCESTRAL_GLYPH)
+		addNpc(event.getNpc());
+	}
+
+	private void addExistingNpcs()
+	{
+		if (!isInInferno())
+		{
+			return;
+		}
+
+		infernoNpcs.clear();
+		zukShield = null;
+
+		for (NPC npc : client.getNpcs())
+		{
+			addNpc(npc);
+		}
+	}
+
+	private void addNpc(NPC npc)
+	{
+		if (npc.getId() == NpcID.ANCESTRAL_GLYPH)
 		{
-			zukShield = event.getNpc();
+			zukShield = npc;
 		}
 
-		final InfernoNPC.Type infernoNPCType = InfernoNPC.Type.typeFromId(event.getNpc().getId());
+		final InfernoNPC.Type infernoNPCType = InfernoNPC.Type.typeFromId(npc.getId());
 
 		if (infernoNPCType == null)
 		{
@@ -374,11 +409,11 @@ public class InfernoPlugin extends Plugin
 		// on the upcoming attacks of other NPC's
 		if (infernoNPCType == InfernoNPC.Type.BLOB)
 		{
-			infernoNpcs.add(new InfernoNPC(event.getNpc()));
+			infernoNpcs.add(new InfernoNPC(npc));
 		}
 		else
 		{
-			infernoNpcs.add(0, new InfernoNPC(event.getNpc()));
+			infernoNpcs.add(0, new InfernoNPC(npc));
 		}
 	}
 
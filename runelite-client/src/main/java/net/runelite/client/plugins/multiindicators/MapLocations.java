@@ -25,6 +25,7 @@
  */
 package net.runelite.client.plugins.multiindicators;
 
+import com.google.common.base.Suppliers;
 import java.awt.Polygon;
 import java.awt.Rectangle;
 import java.awt.Shape;
@@ -32,6 +33,7 @@ import java.awt.geom.Area;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.Supplier;
 import net.runelite.api.Constants;
 
 public class MapLocations
@@ -126,6 +128,98 @@ public class MapLocations
 		return getArea(PVP_WORLD_SAFE_ZONES[plane], view);
 	}
 
+	public static boolean isMulticombat(int x, int y, int plane)
+	{
+		return getMulticombatMap(plane).contains(x, y);
+	}
+
+	public static boolean isRoughWilderness(int x, int y, int plane)
+	{
+		return getRoughWildernessMap(plane).contains(x, y);
+	}
+
+	public static boolean isDeadmanSafeZone(int x, int y, int plane)
+	{
+		return getDeadmanSafeZonesMap(plane).contains(x, y);
+	}
+
+	public static boolean isPvpSafeZone(int x, int y, int plane)
+	{
+		return getPvpSafeZonesMap(plane).contains(x, y);
+	}
+
+	static ZoneMap getMulticombatMap(int plane)
+	{
+		return Zones.MULTICOMBAT[plane].get();
+	}
+
+	static ZoneMap getRoughWildernessMap(int plane)
+	{
+		return Zones.ROUGH_WILDERNESS[plane].get();
+	}
+
+	static ZoneMap getWildernessLevelLinesMap(int plane)
+	{
+		return Zones.WILDERNESS_LEVEL_LINES[plane].get();
+	}
+
+	static ZoneMap getDeadmanSafeZonesMap(int plane)
+	{
+		return Zones.DEADMAN_SAFE_ZONES[plane].get();
+	}
+
+	static ZoneMap getPvpSafeZonesMap(int plane)
+	{
+		return Zones.PVP_WORLD_SAFE_ZONES[plane].get();
+	}
+
+	/**
+	 * Tile rasters of the zones. Each zone is rasterized separately, for one
+	 * plane at a time, the first time it is queried, so a lookup only pays for
+	 * the polygons it needs.
+	 */
+	private static final class Zones
+	{
+		private static final Supplier<ZoneMap>[] MULTICOMBAT = multicombat();
+		private static final Supplier<ZoneMap>[] ROUGH_WILDERNESS = rasterize(MapLocations.ROUGH_WILDERNESS);
+		private static final Supplier<ZoneMap>[] WILDERNESS_LEVEL_LINES = rasterize(MapLocations.WILDERNESS_LEVEL_LINES);
+		private static final Supplier<ZoneMap>[] DEADMAN_SAFE_ZONES = rasterize(MapLocations.DEADMAN_SAFE_ZONES);
+		private static final Supplier<ZoneMap>[] PVP_WORLD_SAFE_ZONES = rasterize(MapLocations.PVP_WORLD_SAFE_ZONES);
+
+		private static Supplier<ZoneMap>[] multicombat()
+		{
+			Supplier<ZoneMap>[] multicombat = rasterize(MapLocations.MULTICOMBAT);
+			Supplier<ZoneMap>[] notMulticombat = rasterize(MapLocations.NOT_MULTICOMBAT);
+
+			@SuppressWarnings("unchecked")
+			Supplier<ZoneMap>[] maps = new Supplier[Constants.MAX_Z];
+			for (int plane = 0; plane < Constants.MAX_Z; plane++)
+			{
+				final Supplier<ZoneMap> include = multicombat[plane];
+				final Supplier<ZoneMap> exclude = notMulticombat[plane];
+				maps[plane] = plane > 0 && include == multicombat[plane - 1] && exclude == notMulticombat[plane - 1]
+					? maps[plane - 1]
+					: Suppliers.memoize(() -> include.get().subtract(exclude.get()));
+			}
+			return maps;
+		}
+
+		private static Supplier<ZoneMap>[] rasterize(List<Shape>[] shapes)
+		{
+			@SuppressWarnings("unchecked")
+			Supplier<ZoneMap>[] maps = new Supplier[shapes.length];
+			for (int plane = 0; plane < shapes.length; plane++)
+			{
+				// planes may share a shape list
+				final List<Shape> planeShapes = shapes[plane];
+				maps[plane] = plane > 0 && planeShapes == shapes[plane - 1]
+					? maps[plane - 1]
+					: Suppliers.memoize(() -> ZoneMap.rasterize(planeShapes));
+			}
+			return maps;
+		}
+	}
+
 	private static void initializeWithEmptyLists(List<Shape>[] array)
 	{
 		Arrays.fill(array, new ArrayList<>());
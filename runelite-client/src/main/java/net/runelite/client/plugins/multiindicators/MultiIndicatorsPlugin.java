@@ -286,20 +286,13 @@ public class MultiIndicatorsPlugin extends Plugin
 			{
 				currentPlane = i;
 
-				GeneralPath lines = new GeneralPath(MapLocations.getMulticombat(sceneRect, i));
-				lines = Geometry.clipPath(lines, sceneRect);
+				ZoneMap clip = null;
 				if (this.multicombatZoneVisibility == ZoneVisibility.SHOW_IN_PVP &&
 					!isInDeadman() && !isInPvp())
 				{
-					lines = Geometry.clipPath(lines, MapLocations.getRoughWilderness(i));
+					clip = MapLocations.getRoughWildernessMap(i);
 				}
-				lines = Geometry.splitIntoSegments(lines, 1);
-				if (useCollisionLogic())
-				{
-					lines = Geometry.filterPath(lines, this::collisionFilter);
-				}
-				lines = Geometry.transformPath(lines, this::transformWorldToLocal);
-				multicombatPathToDisplay[i] = lines;
+				multicombatPathToDisplay[i] = toScenePath(MapLocations.getMulticombatMap(i), sceneRect, clip);
 			}
 		}
 
@@ -311,21 +304,11 @@ public class MultiIndicatorsPlugin extends Plugin
 			GeneralPath safeZonePath = null;
 			if (this.showDeadmanSafeZones && isInDeadman())
 			{
-				safeZonePath = new GeneralPath(MapLocations.getDeadmanSafeZones(sceneRect, i));
+				safeZonePath = toScenePath(MapLocations.getDeadmanSafeZonesMap(i), sceneRect, null);
 			}
 			else if (this.showPvpSafeZones && isInPvp())
 			{
-				safeZonePath = new GeneralPath(MapLocations.getPvpSafeZones(sceneRect, i));
-			}
-			if (safeZonePath != null)
-			{
-				safeZonePath = Geometry.clipPath(safeZonePath, sceneRect);
-				safeZonePath = Geometry.splitIntoSegments(safeZonePath, 1);
-				if (useCollisionLogic())
-				{
-					safeZonePath = Geometry.filterPath(safeZonePath, this::collisionFilter);
-				}
-				safeZonePath = Geometry.transformPath(safeZonePath, this::transformWorldToLocal);
+				safeZonePath = toScenePath(MapLocations.getPvpSafeZonesMap(i), sceneRect, null);
 			}
 			pvpPathToDisplay[i] = safeZonePath;
 		}
@@ -338,22 +321,27 @@ public class MultiIndicatorsPlugin extends Plugin
 			GeneralPath wildernessLevelLinesPath = null;
 			if (this.showWildernessLevelLines)
 			{
-				wildernessLevelLinesPath = new GeneralPath(MapLocations.getWildernessLevelLines(sceneRect, i));
-			}
-			if (wildernessLevelLinesPath != null)
-			{
-				wildernessLevelLinesPath = Geometry.clipPath(wildernessLevelLinesPath, sceneRect);
-				wildernessLevelLinesPath = Geometry.splitIntoSegments(wildernessLevelLinesPath, 1);
-				if (useCollisionLogic())
-				{
-					wildernessLevelLinesPath = Geometry.filterPath(wildernessLevelLinesPath, this::collisionFilter);
-				}
-				wildernessLevelLinesPath = Geometry.transformPath(wildernessLevelLinesPath, this::transformWorldToLocal);
+				wildernessLevelLinesPath = toScenePath(MapLocations.getWildernessLevelLinesMap(i), sceneRect, null);
 			}
 			wildernessLevelLinesPathToDisplay[i] = wildernessLevelLinesPath;
 		}
 	}
 
+	/**
+	 * Builds the local-space lines of a zone's boundary within the scene,
+	 * one tile edge per segment.
+	 */
+	private GeneralPath toScenePath(ZoneMap zone, Rectangle sceneRect, ZoneMap clip)
+	{
+		GeneralPath lines = new GeneralPath();
+		zone.appendBoundary(lines, sceneRect, clip);
+		if (useCollisionLogic())
+		{
+			lines = Geometry.filterPath(lines, this::collisionFilter);
+		}
+		return Geometry.transformPath(lines, this::transformWorldToLocal);
+	}
+
 	private boolean useCollisionLogic()
 	{
 		// currently prevents overlay lines from showing up if this is ever enabled right now
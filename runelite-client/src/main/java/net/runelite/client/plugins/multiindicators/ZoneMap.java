@@ -0,0 +1,349 @@
+/*
+ * Copyright (c) 2020, https://openosrs.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.plugins.multiindicators;
+
+import java.awt.Rectangle;
+import java.awt.Shape;
+import java.awt.geom.GeneralPath;
+import java.awt.geom.PathIterator;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A rasterized set of world tiles, stored as a sparse grid of 64x64 tile
+ * chunks. Each chunk is 64 rows of 64 bits; empty chunks are not stored and
+ * completely filled chunks share a single array.
+ * <p>
+ * A tile is part of the zone when its center lies inside one of the shapes it
+ * was built from, which for the rectilinear polygons in {@link MapLocations}
+ * is exactly the set of tiles the equivalent {@link java.awt.geom.Area} covers.
+ */
+public final class ZoneMap
+{
+	private static final int CHUNK_SHIFT = 6;
+	private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+	private static final long[] FULL = new long[CHUNK_SIZE];
+
+	static
+	{
+		Arrays.fill(FULL, -1L);
+	}
+
+	static final ZoneMap EMPTY = new ZoneMap(0, 0, 0, 0);
+
+	private final int baseChunkX;
+	private final int baseChunkY;
+	private final int chunksX;
+	private final int chunksY;
+	private final long[][] chunks;
+
+	private ZoneMap(int baseChunkX, int baseChunkY, int chunksX, int chunksY)
+	{
+		this.baseChunkX = baseChunkX;
+		this.baseChunkY = baseChunkY;
+		this.chunksX = chunksX;
+		this.chunksY = chunksY;
+		this.chunks = new long[chunksX * chunksY][];
+	}
+
+	/**
+	 * Rasterizes the union of a list of shapes. Each shape is filled with the
+	 * even-odd rule, which is what {@link java.awt.Polygon} uses.
+	 */
+	static ZoneMap rasterize(List<? extends Shape> shapes)
+	{
+		if (shapes.isEmpty())
+		{
+			return EMPTY;
+		}
+
+		int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE;
+		int maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE;
+		for (Shape shape : shapes)
+		{
+			Rectangle bounds = shape.getBounds();
+			minX = Math.min(minX, bounds.x);
+			minY = Math.min(minY, bounds.y);
+			maxX = Math.max(maxX, bounds.x + bounds.width);
+			maxY = Math.max(maxY, bounds.y + bounds.height);
+		}
+
+		final int baseChunkX = minX >> CHUNK_SHIFT;
+		final int baseChunkY = minY >> CHUNK_SHIFT;
+		final ZoneMap map = new ZoneMap(baseChunkX, baseChunkY,
+			(maxX >> CHUNK_SHIFT) - baseChunkX + 1, (maxY >> CHUNK_SHIFT) - baseChunkY + 1);
+
+		float[] edges = new float[64];
+		double[] crossings = new double[16];
+		float[] coords = new float[6];
+
+		for (Shape shape : shapes)
+		{
+			// collect the closed outline as x1, y1, x2, y2 quads
+			int edgeCount = 0;
+			float startX = 0, startY = 0, lastX = 0, lastY = 0;
+			for (PathIterator it = shape.getPathIterator(null, 0.25); !it.isDone(); it.next())
+			{
+				int type = it.currentSegment(coords);
+				if (type == PathIterator.SEG_MOVETO)
+				{
+					startX = lastX = coords[0];
+					startY = lastY = coords[1];
+					continue;
+				}
+
+				if (type == PathIterator.SEG_CLOSE)
+				{
+					coords[0] = startX;
+					coords[1] = startY;
+				}
+
+				if (lastY != coords[1])
+				{
+					if (edgeCount + 4 > edges.length)
+					{
+						edges = Arrays.copyOf(edges, edges.length * 2);
+					}
+					edges[edgeCount++] = lastX;
+					edges[edgeCount++] = lastY;
+					edges[edgeCount++] = coords[0];
+					edges[edgeCount++] = coords[1];
+				}
+
+				lastX = coords[0];
+				lastY = coords[1];
+			}
+
+			// the outline may not be explicitly closed
+			if (lastY != startY)
+			{
+				if (edgeCount + 4 > edges.length)
+				{
+					edges = Arrays.copyOf(edges, edges.length * 2);
+				}
+				edges[edgeCount++] = lastX;
+				edges[edgeCount++] = lastY;
+				edges[edgeCount++] = startX;
+				edges[edgeCount++] = startY;
+			}
+
+			final Rectangle bounds = shape.getBounds();
+			for (int y = bounds.y; y < bounds.y + bounds.height; y++)
+			{
+				final double center = y + 0.5;
+				int count = 0;
+				for (int e = 0; e < edgeCount; e += 4)
+				{
+					final float x1 = edges[e], y1 = edges[e + 1], x2 = edges[e + 2], y2 = edges[e + 3];
+					if ((y1 < center) != (y2 < center))
+					{
+						if (count == crossings.length)
+						{
+							crossings = Arrays.copyOf(crossings, count * 2);
+						}
+						crossings[count++] = x1 + (center - y1) * (x2 - x1) / (y2 - y1);
+					}
+				}
+
+				Arrays.sort(crossings, 0, count);
+				for (int c = 0; c + 1 < count; c += 2)
+				{
+					// tiles whose center lies in [from, to)
+					map.fill(y, (int) Math.ceil(crossings[c] - 0.5), (int) Math.ceil(crossings[c + 1] - 0.5));
+				}
+			}
+		}
+
+		map.compact();
+		return map;
+	}
+
+	/**
+	 * Checks whether a tile is part of the zone.
+	 */
+	public boolean contains(int x, int y)
+	{
+		final int cx = (x >> CHUNK_SHIFT) - baseChunkX;
+		final int cy = (y >> CHUNK_SHIFT) - baseChunkY;
+		if (cx < 0 || cy < 0 || cx >= chunksX || cy >= chunksY)
+		{
+			return false;
+		}
+
+		final long[] chunk = chunks[cx * chunksY + cy];
+		return chunk != null && (chunk[y & (CHUNK_SIZE - 1)] & (1L << (x & (CHUNK_SIZE - 1)))) != 0;
+	}
+
+	/**
+	 * Returns the tiles of this zone which are not part of another zone.
+	 */
+	ZoneMap subtract(ZoneMap other)
+	{
+		final ZoneMap result = new ZoneMap(baseChunkX, baseChunkY, chunksX, chunksY);
+		for (int cx = 0; cx < chunksX; cx++)
+		{
+			for (int cy = 0; cy < chunksY; cy++)
+			{
+				final long[] chunk = chunks[cx * chunksY + cy];
+				if (chunk == null)
+				{
+					continue;
+				}
+
+				final long[] removed = other.chunkAt(cx + baseChunkX, cy + baseChunkY);
+				if (removed == null)
+				{
+					result.chunks[cx * chunksY + cy] = chunk;
+					continue;
+				}
+
+				final long[] rows = new long[CHUNK_SIZE];
+				for (int row = 0; row < CHUNK_SIZE; row++)
+				{
+					rows[row] = chunk[row] & ~removed[row];
+				}
+				result.chunks[cx * chunksY + cy] = rows;
+			}
+		}
+
+		result.compact();
+		return result;
+	}
+
+	/**
+	 * Appends the zone's boundary inside a window to a path, one tile edge per
+	 * segment. An edge is part of the boundary when exactly one of the two
+	 * tiles it separates is in the zone.
+	 *
+	 * @param path the path to append {@code moveTo}/{@code lineTo} pairs to
+	 * @param view the window, in world tiles; edges on its border are included
+	 * @param clip if not null, only edges touching a tile of this zone are kept
+	 */
+	void appendBoundary(GeneralPath path, Rectangle view, ZoneMap clip)
+	{
+		final int x0 = view.x, y0 = view.y;
+		final int x1 = view.x + view.width, y1 = view.y + view.height;
+
+		// vertical edges at x, between tiles x - 1 and x
+		for (int y = y0; y < y1; y++)
+		{
+			boolean inside = contains(x0 - 1, y);
+			for (int x = x0; x <= x1; x++)
+			{
+				final boolean next = contains(x, y);
+				if (inside != next && (clip == null || clip.contains(x - 1, y) || clip.contains(x, y)))
+				{
+					path.moveTo(x, y);
+					path.lineTo(x, y + 1);
+				}
+				inside = next;
+			}
+		}
+
+		// horizontal edges at y, between tiles y - 1 and y
+		for (int x = x0; x < x1; x++)
+		{
+			boolean inside = contains(x, y0 - 1);
+			for (int y = y0; y <= y1; y++)
+			{
+				final boolean next = contains(x, y);
+				if (inside != next && (clip == null || clip.contains(x, y - 1) || clip.contains(x, y)))
+				{
+					path.moveTo(x, y);
+					path.lineTo(x + 1, y);
+				}
+				inside = next;
+			}
+		}
+	}
+
+	private long[] chunkAt(int chunkX, int chunkY)
+	{
+		final int cx = chunkX - baseChunkX;
+		final int cy = chunkY - baseChunkY;
+		if (cx < 0 || cy < 0 || cx >= chunksX || cy >= chunksY)
+		{
+			return null;
+		}
+		return chunks[cx * chunksY + cy];
+	}
+
+	/**
+	 * Sets the tiles [fromX, toX) of a row.
+	 */
+	private void fill(int y, int fromX, int toX)
+	{
+		final int cy = (y >> CHUNK_SHIFT) - baseChunkY;
+		final int row = y & (CHUNK_SIZE - 1);
+
+		for (int x = fromX; x < toX; )
+		{
+			final int cx = (x >> CHUNK_SHIFT) - baseChunkX;
+			final int chunkEnd = Math.min(toX, (x | (CHUNK_SIZE - 1)) + 1);
+			final int bits = chunkEnd - x;
+			final long mask = bits == CHUNK_SIZE ? -1L : ((1L << bits) - 1) << (x & (CHUNK_SIZE - 1));
+
+			long[] chunk = chunks[cx * chunksY + cy];
+			if (chunk == null)
+			{
+				chunk = chunks[cx * chunksY + cy] = new long[CHUNK_SIZE];
+			}
+			chunk[row] |= mask;
+
+			x = chunkEnd;
+		}
+	}
+
+	/**
+	 * Drops empty chunks and shares full ones.
+	 */
+	private void compact()
+	{
+		for (int i = 0; i < chunks.length; i++)
+		{
+			final long[] chunk = chunks[i];
+			if (chunk == null || chunk == FULL)
+			{
+				continue;
+			}
+
+			long and = -1L, or = 0L;
+			for (long row : chunk)
+			{
+				and &= row;
+				or |= row;
+			}
+
+			if (or == 0L)
+			{
+				chunks[i] = null;
+			}
+			else if (and == -1L)
+			{
+				chunks[i] = FULL;
+			}
+		}
+	}
+}
@@ -72,6 +72,8 @@ import net.runelite.client.plugins.PluginType;
 import net.runelite.client.plugins.party.data.PartyData;
 import net.runelite.client.plugins.party.data.PartyTilePingData;
 import net.runelite.client.plugins.party.messages.LocationUpdate;
+import net.runelite.client.plugins.party.messages.MemberStateUpdate;
+import net.runelite.client.plugins.party.messages.MemberStateUpdateCodec;
 import net.runelite.client.plugins.party.messages.SkillUpdate;
 import net.runelite.client.plugins.party.messages.TilePing;
 import net.runelite.client.task.Schedule;
@@ -95,6 +97,8 @@ import net.runelite.http.api.ws.messages.party.UserSync;
 @Singleton
 public class PartyPlugin extends Plugin implements KeyListener
 {
+	private static final MemberStateUpdateCodec MEMBER_STATE_CODEC = new MemberStateUpdateCodec();
+
 	@Inject
 	private Client client;
 
@@ -139,6 +143,8 @@ public class PartyPlugin extends Plugin implements KeyListener
 	private final List<PartyTilePingData> pendingTilePings = Collections.synchronizedList(new ArrayList<>());
 
 	private int lastHp, lastPray;
+	private WorldPoint lastLocation;
+	private volatile boolean shareLocation;
 	private boolean hotkeyDown, doSync;
 	private boolean sendAlert;
 
@@ -166,6 +172,7 @@ public class PartyPlugin extends Plugin implements KeyListener
 		wsClient.registerMessage(SkillUpdate.class);
 		wsClient.registerMessage(TilePing.class);
 		wsClient.registerMessage(LocationUpdate.class);
+		wsClient.registerMessage(MemberStateUpdate.class, MEMBER_STATE_CODEC);
 		keyManager.registerKeyListener(this);
 		doSync = true; // Delay sync so eventbus can process correctly.
 	}
@@ -181,10 +188,13 @@ public class PartyPlugin extends Plugin implements KeyListener
 		wsClient.unregisterMessage(SkillUpdate.class);
 		wsClient.unregisterMessage(TilePing.class);
 		wsClient.unregisterMessage(LocationUpdate.class);
+		wsClient.unregisterMessage(MemberStateUpdate.class);
 		keyManager.unregisterKeyListener(this);
 		hotkeyDown = false;
 		doSync = false;
 		sendAlert = false;
+		shareLocation = false;
+		lastLocation = null;
 	}
 
 	@Provides
@@ -301,6 +311,13 @@ public class PartyPlugin extends Plugin implements KeyListener
 			return;
 		}
 
+		if (wsClient.isBinary())
+		{
+			// picked up by the next tick's state update
+			shareLocation = true;
+			return;
+		}
+
 		final LocationUpdate locationUpdate = new LocationUpdate(client.getLocalPlayer().getWorldLocation());
 		locationUpdate.setMemberId(localMember.getMemberId());
 		wsClient.send(locationUpdate);
@@ -331,7 +348,11 @@ public class PartyPlugin extends Plugin implements KeyListener
 		final int realPrayer = client.getRealSkillLevel(Skill.PRAYER);
 		final PartyMember localMember = party.getLocalMember();
 
-		if (localMember != null)
+		if (localMember != null && ws.isBinary())
+		{
+			sendMemberState(localMember, false);
+		}
+		else if (localMember != null)
 		{
 			if (currentHealth != lastHp)
 			{
@@ -352,6 +373,46 @@ public class PartyPlugin extends Plugin implements KeyListener
 		lastPray = currentPrayer;
 	}
 
+	/**
+	 * Send the local member's hp, prayer and, if due, location as one frame. Only the
+	 * fields which changed since the last frame are included unless {@code full} is set.
+	 */
+	private void sendMemberState(final PartyMember localMember, final boolean full)
+	{
+		final MemberStateUpdate update = new MemberStateUpdate();
+		final int currentHealth = client.getBoostedSkillLevel(Skill.HITPOINTS);
+		final int currentPrayer = client.getBoostedSkillLevel(Skill.PRAYER);
+
+		if (full || currentHealth != lastHp)
+		{
+			update.addStat(Skill.HITPOINTS, currentHealth, client.getRealSkillLevel(Skill.HITPOINTS));
+		}
+
+		if (full || currentPrayer != lastPray)
+		{
+			update.addStat(Skill.PRAYER, currentPrayer, client.getRealSkillLevel(Skill.PRAYER));
+		}
+
+		final WorldPoint location = client.getLocalPlayer() != null ? client.getLocalPlayer().getWorldLocation() : null;
+
+		// Location rides along with any other change, otherwise it waits for the share interval
+		if (location != null && !location.equals(lastLocation) && (full || shareLocation || !update.isEmpty()))
+		{
+			update.setWorldPoint(location);
+			lastLocation = location;
+		}
+
+		shareLocation = false;
+
+		if (update.isEmpty())
+		{
+			return;
+		}
+
+		update.setMemberId(localMember.getMemberId());
+		ws.send(update);
+	}
+
 	@Subscribe
 	private void onSkillUpdate(final SkillUpdate event)
 	{
@@ -362,15 +423,41 @@ public class PartyPlugin extends Plugin implements KeyListener
 			return;
 		}
 
-		if (event.getSkill() == Skill.HITPOINTS)
+		updateSkill(partyData, event.getSkill(), event.getValue(), event.getMax());
+	}
+
+	@Subscribe
+	private void onMemberStateUpdate(final MemberStateUpdate event)
+	{
+		final PartyData partyData = getPartyData(event.getMemberId());
+
+		if (partyData == null)
+		{
+			return;
+		}
+
+		if (event.getWorldPoint() != null)
+		{
+			partyData.getWorldMapPoint().setWorldPoint(event.getWorldPoint());
+		}
+
+		for (MemberStateUpdate.Stat stat : event.getStats())
+		{
+			updateSkill(partyData, stat.getSkill(), stat.getLevel(), stat.getMax());
+		}
+	}
+
+	private static void updateSkill(final PartyData partyData, final Skill skill, final int value, final int max)
+	{
+		if (skill == Skill.HITPOINTS)
 		{
-			partyData.setHitpoints(event.getValue());
-			partyData.setMaxHitpoints(event.getMax());
+			partyData.setHitpoints(value);
+			partyData.setMaxHitpoints(max);
 		}
-		else if (event.getSkill() == Skill.PRAYER)
+		else if (skill == Skill.PRAYER)
 		{
-			partyData.setPrayer(event.getValue());
-			partyData.setMaxPrayer(event.getMax());
+			partyData.setPrayer(value);
+			partyData.setMaxPrayer(max);
 		}
 	}
 
@@ -425,7 +512,12 @@ public class PartyPlugin extends Plugin implements KeyListener
 		final int realPrayer = client.getRealSkillLevel(Skill.PRAYER);
 		final PartyMember localMember = party.getLocalMember();
 
-		if (localMember != null)
+		if (localMember != null && ws.isBinary())
+		{
+			lastLocation = null;
+			sendMemberState(localMember, true);
+		}
+		else if (localMember != null)
 		{
 			final SkillUpdate hpUpdate = new SkillUpdate(Skill.HITPOINTS, currentHealth, realHealth);
 			hpUpdate.setMemberId(localMember.getMemberId());
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2020, https://openosrs.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.plugins.party.messages;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.UUID;
+import net.runelite.api.Skill;
+import net.runelite.api.coords.WorldPoint;
+import net.runelite.http.api.ws.WebsocketBinaryCodec;
+
+/**
+ * Binary layout of a {@link MemberStateUpdate}:
+ * <pre>
+ * member id   16 bytes
+ * flags       1 byte, bit 0 set if a location follows
+ * location    x (u16), y (u16), plane (u8)
+ * stat count  1 byte
+ * stats       skill ordinal (u8), level (u8), max (u8)
+ * </pre>
+ * An hp change is 22 bytes on the wire, compared to roughly 150 as json.
+ */
+public class MemberStateUpdateCodec implements WebsocketBinaryCodec<MemberStateUpdate>
+{
+	private static final byte TYPE = 1;
+	private static final int HAS_LOCATION = 1;
+	private static final Skill[] SKILLS = Skill.values();
+
+	@Override
+	public byte getType()
+	{
+		return TYPE;
+	}
+
+	@Override
+	public void encode(MemberStateUpdate message, DataOutput out) throws IOException
+	{
+		final UUID memberId = message.getMemberId();
+		if (memberId == null)
+		{
+			throw new IOException("Member id is required");
+		}
+
+		out.writeLong(memberId.getMostSignificantBits());
+		out.writeLong(memberId.getLeastSignificantBits());
+
+		final WorldPoint point = message.getWorldPoint();
+		out.writeByte(point != null ? HAS_LOCATION : 0);
+
+		if (point != null)
+		{
+			out.writeShort(point.getX());
+			out.writeShort(point.getY());
+			out.writeByte(point.getPlane());
+		}
+
+		out.writeByte(message.getStats().size());
+
+		for (MemberStateUpdate.Stat stat : message.getStats())
+		{
+			out.writeByte(stat.getSkill().ordinal());
+			out.writeByte(Math.min(stat.getLevel(), 255));
+			out.writeByte(Math.min(stat.getMax(), 255));
+		}
+	}
+
+	@Override
+	public MemberStateUpdate decode(DataInput in) throws IOException
+	{
+		final MemberStateUpdate message = new MemberStateUpdate();
+		message.setMemberId(new UUID(in.readLong(), in.readLong()));
+
+		final int flags = in.readUnsignedByte();
+		if ((flags & HAS_LOCATION) != 0)
+		{
+			message.setWorldPoint(new WorldPoint(in.readUnsignedShort(), in.readUnsignedShort(), in.readUnsignedByte()));
+		}
+
+		final int count = in.readUnsignedByte();
+		for (int i = 0; i < count; i++)
+		{
+			final int skill = in.readUnsignedByte();
+			if (skill >= SKILLS.length)
+			{
+				throw new IOException("Unknown skill " + skill);
+			}
+
+			message.addStat(SKILLS[skill], in.readUnsignedByte(), in.readUnsignedByte());
+		}
+
+		return message;
+	}
+}
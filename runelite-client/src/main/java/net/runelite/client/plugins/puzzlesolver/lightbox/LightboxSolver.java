@@ -24,64 +24,162 @@
  */
 package net.runelite.client.plugins.puzzlesolver.lightbox;
 
+/**
+ * Solves the light box by treating it as a linear system over GF(2).
+ * <p>
+ * Every light gives one equation: the lights toggled by the chosen switches
+ * must flip exactly the lights which are currently off. The system is reduced
+ * with Gaussian elimination, after which only the null space (the switch
+ * combinations which cancel out) has to be searched for the smallest answer.
+ */
 public class LightboxSolver
 {
+	private static final int CELLS = LightBox.WIDTH * LightBox.HEIGHT;
+
 	private LightboxState initial;
 	private final LightboxState[] switches = new LightboxState[LightBox.COMBINATIONS_POWER];
 
-	private static boolean isBitSet(int num, int bit)
+	public LightboxSolution solve()
 	{
-		return ((num >>> bit) & 1) != 0;
-	}
+		long[] effects = new long[LightBox.COMBINATIONS_POWER];
+		for (int bit = 0; bit < LightBox.COMBINATIONS_POWER; ++bit)
+		{
+			// unknown switches can't be part of a valid answer, so leave them out of the system
+			if (switches[bit] != null)
+			{
+				effects[bit] = switches[bit].toBits();
+			}
+		}
 
-	private static boolean isSolved(LightboxState s)
-	{
-		for (int i = 0; i < LightBox.WIDTH; ++i)
+		long target = ~initial.toBits();
+
+		// row i holds the switches which toggle light i, and whether light i has to be toggled
+		long[] rows = new long[CELLS];
+		boolean[] rhs = new boolean[CELLS];
+
+		for (int i = 0; i < CELLS; ++i)
 		{
-			for (int j = 0; j < LightBox.HEIGHT; ++j)
+			for (int bit = 0; bit < LightBox.COMBINATIONS_POWER; ++bit)
 			{
-				if (!s.getState(i, j))
+				if (((effects[bit] >>> i) & 1) != 0)
 				{
-					return false;
+					rows[i] |= 1L << bit;
 				}
 			}
+
+			rhs[i] = ((target >>> i) & 1) != 0;
 		}
-		return true;
-	}
 
-	public LightboxSolution solve()
-	{
-		LightboxSolution solution = null;
-		outer:
-		for (int i = 0; i < Math.pow(2, LightBox.COMBINATIONS_POWER); ++i)
+		int[] pivotRows = new int[LightBox.COMBINATIONS_POWER];
+		int rank = 0;
+
+		for (int bit = 0; bit < LightBox.COMBINATIONS_POWER; ++bit)
 		{
-			LightboxState s = initial;
+			pivotRows[bit] = -1;
 
-			for (int bit = 0; bit < LightBox.COMBINATIONS_POWER; ++bit)
+			long mask = 1L << bit;
+			int pivot = -1;
+
+			for (int i = rank; i < CELLS; ++i)
 			{
-				if (isBitSet(i, bit))
+				if ((rows[i] & mask) != 0)
 				{
-					// this switch is unknown, so this can't be a valid answer
-					if (switches[bit] == null)
-					{
-						continue outer;
-					}
+					pivot = i;
+					break;
+				}
+			}
+
+			if (pivot == -1)
+			{
+				// free switch
+				continue;
+			}
 
-					s = s.diff(switches[bit]);
+			swap(rows, rhs, rank, pivot);
+
+			for (int i = 0; i < CELLS; ++i)
+			{
+				if (i != rank && (rows[i] & mask) != 0)
+				{
+					rows[i] ^= rows[rank];
+					rhs[i] ^= rhs[rank];
 				}
 			}
 
-			if (isSolved(s))
+			pivotRows[bit] = rank++;
+		}
+
+		for (int i = rank; i < CELLS; ++i)
+		{
+			if (rhs[i])
+			{
+				// 0 = 1, no combination of the known switches lights everything
+				return null;
+			}
+		}
+
+		// particular solution with every free switch off
+		long particular = 0;
+		for (int bit = 0; bit < LightBox.COMBINATIONS_POWER; ++bit)
+		{
+			if (pivotRows[bit] != -1 && rhs[pivotRows[bit]])
+			{
+				particular |= 1L << bit;
+			}
+		}
+
+		// one null space basis vector per free switch: the free switch plus the pivots it toggles
+		long[] basis = new long[LightBox.COMBINATIONS_POWER];
+		int free = 0;
+
+		for (int bit = 0; bit < LightBox.COMBINATIONS_POWER; ++bit)
+		{
+			if (pivotRows[bit] != -1 || switches[bit] == null)
+			{
+				continue;
+			}
+
+			long vector = 1L << bit;
+			for (int pivot = 0; pivot < LightBox.COMBINATIONS_POWER; ++pivot)
 			{
-				LightboxSolution sol = new LightboxSolution(i);
-				if (solution == null || sol.numMoves() < solution.numMoves())
+				if (pivotRows[pivot] != -1 && ((rows[pivotRows[pivot]] >>> bit) & 1) != 0)
 				{
-					solution = sol;
+					vector |= 1L << pivot;
 				}
 			}
+
+			basis[free++] = vector;
+		}
+
+		// walk the null space in gray code order, flipping one basis vector per step
+		long best = particular;
+		long current = particular;
+
+		for (long i = 1; i < 1L << free; ++i)
+		{
+			current ^= basis[Long.numberOfTrailingZeros(i)];
+
+			int moves = Long.bitCount(current);
+			int bestMoves = Long.bitCount(best);
+
+			if (moves < bestMoves || (moves == bestMoves && current < best))
+			{
+				best = current;
+			}
 		}
 
-		return solution;
+		return new LightboxSolution((int) best);
+	}
+
+	private static void swap(long[] rows, boolean[] rhs, int a, int b)
+	{
+		long row = rows[a];
+		rows[a] = rows[b];
+		rows[b] = row;
+
+		boolean value = rhs[a];
+		rhs[a] = rhs[b];
+		rhs[b] = value;
 	}
 
 	public void setInitial(LightboxState initial)
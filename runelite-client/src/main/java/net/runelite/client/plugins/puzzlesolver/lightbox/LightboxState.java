@@ -41,6 +41,27 @@ public class LightboxState
 		return state[x][y];
 	}
 
+	/**
+	 * Packs the lights into a bitset, with the light at (x, y) stored in bit {@code x * HEIGHT + y}.
+	 */
+	public long toBits()
+	{
+		long bits = 0;
+
+		for (int i = 0; i < LightBox.WIDTH; ++i)
+		{
+			for (int j = 0; j < LightBox.HEIGHT; ++j)
+			{
+				if (state[i][j])
+				{
+					bits |= 1L << (i * LightBox.HEIGHT + j);
+				}
+			}
+		}
+
+		return bits;
+	}
+
 	public LightboxState diff(LightboxState other)
 	{
 		LightboxState newState = new LightboxState();
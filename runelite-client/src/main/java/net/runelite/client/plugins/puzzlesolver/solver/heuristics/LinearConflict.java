@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2020, https://openosrs.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.plugins.puzzlesolver.solver.heuristics;
+
+import static net.runelite.client.plugins.puzzlesolver.solver.PuzzleSolver.BLANK_TILE_VALUE;
+import static net.runelite.client.plugins.puzzlesolver.solver.PuzzleSolver.DIMENSION;
+import net.runelite.client.plugins.puzzlesolver.solver.PuzzleState;
+
+/**
+ * Manhattan distance augmented with the linear conflict heuristic.
+ * <p>
+ * Two tiles which are both in their goal row (or column) but in reversed
+ * order must pass each other, which costs at least two moves on top of
+ * their manhattan distances. For every line the minimum number of tiles
+ * which have to leave the line is the line length minus the longest
+ * increasing subsequence of goal positions.
+ */
+public class LinearConflict implements Heuristic
+{
+	@Override
+	public int computeValue(PuzzleState state)
+	{
+		int value = 0;
+
+		for (int y = 0; y < DIMENSION; y++)
+		{
+			for (int x = 0; x < DIMENSION; x++)
+			{
+				int piece = state.getPiece(x, y);
+
+				if (piece == BLANK_TILE_VALUE)
+				{
+					continue;
+				}
+
+				value += Math.abs(x - piece % DIMENSION) + Math.abs(y - piece / DIMENSION);
+			}
+		}
+
+		int[] line = new int[DIMENSION];
+		int[] scratch = new int[DIMENSION];
+
+		for (int i = 0; i < DIMENSION; i++)
+		{
+			int rowLength = 0;
+			int columnLength = 0;
+
+			for (int j = 0; j < DIMENSION; j++)
+			{
+				int piece = state.getPiece(j, i);
+
+				if (piece != BLANK_TILE_VALUE && piece / DIMENSION == i)
+				{
+					line[rowLength++] = piece % DIMENSION;
+				}
+			}
+
+			value += lineConflict(line, scratch, rowLength);
+
+			for (int j = 0; j < DIMENSION; j++)
+			{
+				int piece = state.getPiece(i, j);
+
+				if (piece != BLANK_TILE_VALUE && piece % DIMENSION == i)
+				{
+					line[columnLength++] = piece / DIMENSION;
+				}
+			}
+
+			value += lineConflict(line, scratch, columnLength);
+		}
+
+		return value;
+	}
+
+	/**
+	 * Computes the linear conflict penalty of a single row or column.
+	 *
+	 * @param goals   goal positions, along the line, of the tiles which belong to it, in board order
+	 * @param scratch work array at least {@code length} long
+	 * @param length  number of valid entries in {@code goals}
+	 * @return two moves for every tile which has to leave the line
+	 */
+	public static int lineConflict(int[] goals, int[] scratch, int length)
+	{
+		if (length < 2)
+		{
+			return 0;
+		}
+
+		// longest increasing subsequence, lines are at most DIMENSION long
+		int[] lis = scratch;
+		int longest = 0;
+
+		for (int i = 0; i < length; i++)
+		{
+			lis[i] = 1;
+
+			for (int j = 0; j < i; j++)
+			{
+				if (goals[j] < goals[i] && lis[j] + 1 > lis[i])
+				{
+					lis[i] = lis[j] + 1;
+				}
+			}
+
+			longest = Math.max(longest, lis[i]);
+		}
+
+		return 2 * (length - longest);
+	}
+}
@@ -0,0 +1,629 @@
+/*
+ * Copyright (c) 2020, https://openosrs.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.plugins.puzzlesolver.solver.pathfinding;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import static net.runelite.client.plugins.puzzlesolver.solver.PuzzleSolver.BLANK_TILE_VALUE;
+import static net.runelite.client.plugins.puzzlesolver.solver.PuzzleSolver.DIMENSION;
+import net.runelite.client.plugins.puzzlesolver.solver.PuzzleState;
+import net.runelite.client.plugins.puzzlesolver.solver.heuristics.LinearConflict;
+
+/**
+ * An IDA* solver which searches a single mutable primitive board instead of
+ * a graph of {@link PuzzleState}s.
+ * <p>
+ * Moves are applied and undone in place, the manhattan distance and linear
+ * conflict heuristic is updated incrementally for the two lines a move touches,
+ * and boards are packed into two longs to key a bounded transposition table.
+ * With a parallelism above one the search tree is split a few moves below the
+ * root and the subtrees are searched concurrently for every bound.
+ */
+public class PackedIDAStar extends Pathfinder
+{
+	private static final int CELLS = DIMENSION * DIMENSION;
+	private static final int BLANK = CELLS - 1;
+	private static final int PACKED_CELLS = 12;
+	private static final int BITS_PER_CELL = 5;
+	private static final long CELL_MASK = (1L << BITS_PER_CELL) - 1;
+
+	private static final int MAX_DEPTH = 256;
+	private static final int DEFAULT_TABLE_BITS = 17;
+	private static final int FRONTIER_PER_THREAD = 8;
+	private static final int MAX_SPLIT_DEPTH = 8;
+	private static final int INTERRUPT_CHECK_MASK = 0xFFF;
+
+	private static final int FOUND = -1;
+	private static final int ABORTED = -2;
+	private static final int NOT_FOUND = Integer.MAX_VALUE;
+
+	private final int parallelism;
+	private final int tableBits;
+
+	public PackedIDAStar()
+	{
+		this(1);
+	}
+
+	public PackedIDAStar(int parallelism)
+	{
+		this(parallelism, DEFAULT_TABLE_BITS);
+	}
+
+	/**
+	 * @param parallelism number of threads searching the split root, 1 to search on the calling thread only
+	 * @param tableBits   log2 of the number of transposition table entries per thread
+	 */
+	public PackedIDAStar(int parallelism, int tableBits)
+	{
+		super(new LinearConflict());
+
+		if (parallelism < 1)
+		{
+			throw new IllegalArgumentException("Parallelism must be at least 1");
+		}
+
+		if (tableBits < 1 || tableBits > 30)
+		{
+			throw new IllegalArgumentException("Table bits must be between 1 and 30");
+		}
+
+		this.parallelism = parallelism;
+		this.tableBits = tableBits;
+	}
+
+	@Override
+	public List<PuzzleState> computePath(PuzzleState root)
+	{
+		int[] tiles = toTiles(root);
+
+		if (!isSolvable(tiles))
+		{
+			return null;
+		}
+
+		int[] moves = parallelism > 1 ? searchParallel(tiles) : searchSerial(tiles);
+
+		if (moves == null)
+		{
+			return null;
+		}
+
+		List<PuzzleState> path = new ArrayList<>(moves.length + 1);
+		path.add(root);
+
+		PuzzleState state = root;
+		int blank = root.getEmptyPiece();
+
+		for (int next : moves)
+		{
+			state = state.swap(blank % DIMENSION, blank / DIMENSION, next % DIMENSION, next / DIMENSION);
+			path.add(state);
+			blank = next;
+		}
+
+		return path;
+	}
+
+	private int[] searchSerial(int[] tiles)
+	{
+		Worker worker = new Worker(tiles, new AtomicBoolean());
+		worker.reset();
+
+		return iterate(worker, worker.heuristic(), MAX_DEPTH + 1);
+	}
+
+	/**
+	 * Runs IDA* iterations from the root on the given worker for every bound below {@code limit}.
+	 *
+	 * @return the moves of the solution, or null if there is none below the limit or the search was interrupted
+	 */
+	private static int[] iterate(Worker worker, int bound, int limit)
+	{
+		while (bound < limit)
+		{
+			int t = worker.search(0, bound, -1);
+
+			if (t == FOUND)
+			{
+				return worker.solution();
+			}
+
+			if (t == ABORTED || t == NOT_FOUND)
+			{
+				return null;
+			}
+
+			bound = t;
+		}
+
+		return null;
+	}
+
+	private int[] searchParallel(int[] tiles)
+	{
+		AtomicBoolean stop = new AtomicBoolean();
+		Worker root = new Worker(tiles, stop);
+		root.reset();
+
+		List<int[]> frontier = split(tiles, root.blank);
+		int splitDepth = frontier.get(0).length;
+
+		// solutions shorter than the split depth are never reached from the frontier
+		int bound = root.heuristic();
+		int[] solution = iterate(root, bound, splitDepth);
+
+		if (solution != null || Thread.currentThread().isInterrupted())
+		{
+			return solution;
+		}
+
+		while (bound < splitDepth)
+		{
+			bound += 2;
+		}
+
+		Worker[] workers = new Worker[parallelism];
+		workers[0] = root;
+
+		for (int i = 1; i < parallelism; i++)
+		{
+			workers[i] = new Worker(tiles, stop);
+		}
+
+		ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+		AtomicInteger cursor = new AtomicInteger();
+
+		try
+		{
+			while (bound <= MAX_DEPTH)
+			{
+				final int iterationBound = bound;
+				cursor.set(0);
+
+				List<Future<Integer>> futures = new ArrayList<>(parallelism);
+				for (Worker worker : workers)
+				{
+					futures.add(executor.submit(() -> worker.searchFrontier(frontier, cursor, iterationBound)));
+				}
+
+				int next = NOT_FOUND;
+
+				for (int i = 0; i < workers.length; i++)
+				{
+					int t = futures.get(i).get();
+
+					if (t == FOUND && solution == null)
+					{
+						solution = workers[i].solution();
+					}
+					else if (t != ABORTED && t != FOUND)
+					{
+						next = Math.min(next, t);
+					}
+				}
+
+				if (solution != null)
+				{
+					return solution;
+				}
+
+				if (stop.get() || next == NOT_FOUND)
+				{
+					return null;
+				}
+
+				bound = next;
+			}
+
+			return null;
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			return null;
+		}
+		catch (ExecutionException e)
+		{
+			throw new IllegalStateException("Puzzle search failed", e.getCause());
+		}
+		finally
+		{
+			stop.set(true);
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Enumerates every sequence of non-reversing blank moves of the smallest depth
+	 * which gives each thread a few subtrees to pick from.
+	 */
+	private List<int[]> split(int[] tiles, int rootBlank)
+	{
+		List<int[]> frontier = new ArrayList<>();
+		frontier.add(new int[0]);
+
+		for (int depth = 0; depth < MAX_SPLIT_DEPTH && frontier.size() < parallelism * FRONTIER_PER_THREAD; depth++)
+		{
+			List<int[]> expanded = new ArrayList<>(frontier.size() * 3);
+
+			for (int[] prefix : frontier)
+			{
+				int blank = prefix.length > 0 ? prefix[prefix.length - 1] : rootBlank;
+				int prev = prefix.length > 1 ? prefix[prefix.length - 2] : prefix.length == 1 ? rootBlank : -1;
+
+				for (int dir = 0; dir < 4; dir++)
+				{
+					int next = neighbour(blank, dir);
+
+					if (next < 0 || next == prev)
+					{
+						continue;
+					}
+
+					int[] moves = new int[prefix.length + 1];
+					System.arraycopy(prefix, 0, moves, 0, prefix.length);
+					moves[prefix.length] = next;
+					expanded.add(moves);
+				}
+			}
+
+			frontier = expanded;
+		}
+
+		return frontier;
+	}
+
+	/**
+	 * @return the cell the blank moves to in the given direction, or -1 if it would leave the board
+	 */
+	private static int neighbour(int blank, int dir)
+	{
+		int x = blank % DIMENSION;
+		int y = blank / DIMENSION;
+
+		switch (dir)
+		{
+			case 0:
+				return x > 0 ? blank - 1 : -1;
+			case 1:
+				return x < DIMENSION - 1 ? blank + 1 : -1;
+			case 2:
+				return y > 0 ? blank - DIMENSION : -1;
+			default:
+				return y < DIMENSION - 1 ? blank + DIMENSION : -1;
+		}
+	}
+
+	private static int[] toTiles(PuzzleState state)
+	{
+		int[] tiles = new int[CELLS];
+
+		for (int i = 0; i < CELLS; i++)
+		{
+			int piece = state.getPiece(i % DIMENSION, i / DIMENSION);
+
+			if (piece == BLANK_TILE_VALUE)
+			{
+				piece = BLANK;
+			}
+			else if (piece < 0 || piece >= BLANK)
+			{
+				throw new IllegalStateException("Invalid piece: " + piece);
+			}
+
+			tiles[i] = piece;
+		}
+
+		return tiles;
+	}
+
+	/**
+	 * On a board with an odd width a configuration is solvable iff the number of inversions is even.
+	 */
+	private static boolean isSolvable(int[] tiles)
+	{
+		int inversions = 0;
+
+		for (int i = 0; i < CELLS; i++)
+		{
+			if (tiles[i] == BLANK)
+			{
+				continue;
+			}
+
+			for (int j = i + 1; j < CELLS; j++)
+			{
+				if (tiles[j] != BLANK && tiles[j] < tiles[i])
+				{
+					inversions++;
+				}
+			}
+		}
+
+		return (inversions & 1) == 0;
+	}
+
+	private final class Worker
+	{
+		private final int[] root;
+		private final AtomicBoolean stop;
+		private final TranspositionTable table = new TranspositionTable(tableBits);
+
+		private final int[] tiles = new int[CELLS];
+		private final int[] rowConflicts = new int[DIMENSION];
+		private final int[] columnConflicts = new int[DIMENSION];
+		private final int[] line = new int[DIMENSION];
+		private final int[] scratch = new int[DIMENSION];
+		private final int[] path = new int[MAX_DEPTH + 1];
+
+		private int blank;
+		private int manhattan;
+		private int conflicts;
+		private long lo;
+		private long hi;
+		private int solutionLength;
+		private int nodes;
+
+		Worker(int[] root, AtomicBoolean stop)
+		{
+			this.root = root;
+			this.stop = stop;
+		}
+
+		void reset()
+		{
+			System.arraycopy(root, 0, tiles, 0, CELLS);
+
+			manhattan = 0;
+			conflicts = 0;
+			lo = 0;
+			hi = 0;
+
+			for (int i = 0; i < CELLS; i++)
+			{
+				int tile = tiles[i];
+				pack(i, tile);
+
+				if (tile == BLANK)
+				{
+					blank = i;
+				}
+				else
+				{
+					manhattan += Math.abs(i % DIMENSION - tile % DIMENSION) + Math.abs(i / DIMENSION - tile / DIMENSION);
+				}
+			}
+
+			for (int i = 0; i < DIMENSION; i++)
+			{
+				rowConflicts[i] = 0;
+				columnConflicts[i] = 0;
+				updateRow(i);
+				updateColumn(i);
+			}
+
+			path[0] = blank;
+		}
+
+		int heuristic()
+		{
+			return manhattan + conflicts;
+		}
+
+		int[] solution()
+		{
+			int[] moves = new int[solutionLength];
+			System.arraycopy(path, 1, moves, 0, solutionLength);
+			return moves;
+		}
+
+		int searchFrontier(List<int[]> frontier, AtomicInteger cursor, int bound)
+		{
+			int min = NOT_FOUND;
+			int i;
+
+			while ((i = cursor.getAndIncrement()) < frontier.size())
+			{
+				int[] prefix = frontier.get(i);
+
+				reset();
+				for (int k = 0; k < prefix.length; k++)
+				{
+					move(prefix[k]);
+					path[k + 1] = prefix[k];
+				}
+
+				int t = search(prefix.length, bound, path[prefix.length - 1]);
+
+				if (t == FOUND)
+				{
+					stop.set(true);
+					return FOUND;
+				}
+
+				if (t == ABORTED)
+				{
+					return ABORTED;
+				}
+
+				min = Math.min(min, t);
+			}
+
+			return min;
+		}
+
+		int search(int g, int bound, int prev)
+		{
+			int h = manhattan + conflicts;
+			int f = g + h;
+
+			if (f > bound)
+			{
+				return f;
+			}
+
+			if (h == 0)
+			{
+				solutionLength = g;
+				return FOUND;
+			}
+
+			if ((++nodes & INTERRUPT_CHECK_MASK) == 0 && (stop.get() || Thread.currentThread().isInterrupted()))
+			{
+				return ABORTED;
+			}
+
+			if (g >= MAX_DEPTH || !table.visit(lo, hi, g, bound))
+			{
+				return NOT_FOUND;
+			}
+
+			int min = NOT_FOUND;
+			int from = blank;
+
+			for (int dir = 0; dir < 4; dir++)
+			{
+				int next = neighbour(from, dir);
+
+				if (next < 0 || next == prev)
+				{
+					continue;
+				}
+
+				move(next);
+				path[g + 1] = next;
+
+				int t = search(g + 1, bound, from);
+
+				// moving the blank back restores the board and the heuristic exactly
+				move(from);
+
+				if (t == FOUND || t == ABORTED)
+				{
+					return t;
+				}
+
+				min = Math.min(min, t);
+			}
+
+			return min;
+		}
+
+		/**
+		 * Slides the tile at {@code next} into the blank cell.
+		 */
+		private void move(int next)
+		{
+			int cell = blank;
+			int tile = tiles[next];
+
+			tiles[cell] = tile;
+			tiles[next] = BLANK;
+			blank = next;
+
+			pack(cell, tile);
+			pack(next, BLANK);
+
+			if (cell / DIMENSION == next / DIMENSION)
+			{
+				// the tile changes column
+				int goalX = tile % DIMENSION;
+				manhattan += Math.abs(cell % DIMENSION - goalX) - Math.abs(next % DIMENSION - goalX);
+				updateColumn(cell % DIMENSION);
+				updateColumn(next % DIMENSION);
+			}
+			else
+			{
+				// the tile changes row
+				int goalY = tile / DIMENSION;
+				manhattan += Math.abs(cell / DIMENSION - goalY) - Math.abs(next / DIMENSION - goalY);
+				updateRow(cell / DIMENSION);
+				updateRow(next / DIMENSION);
+			}
+		}
+
+		private void updateRow(int row)
+		{
+			int length = 0;
+
+			for (int x = 0; x < DIMENSION; x++)
+			{
+				int tile = tiles[row * DIMENSION + x];
+
+				if (tile != BLANK && tile / DIMENSION == row)
+				{
+					line[length++] = tile % DIMENSION;
+				}
+			}
+
+			int value = LinearConflict.lineConflict(line, scratch, length);
+			conflicts += value - rowConflicts[row];
+			rowConflicts[row] = value;
+		}
+
+		private void updateColumn(int column)
+		{
+			int length = 0;
+
+			for (int y = 0; y < DIMENSION; y++)
+			{
+				int tile = tiles[y * DIMENSION + column];
+
+				if (tile != BLANK && tile % DIMENSION == column)
+				{
+					line[length++] = tile / DIMENSION;
+				}
+			}
+
+			int value = LinearConflict.lineConflict(line, scratch, length);
+			conflicts += value - columnConflicts[column];
+			columnConflicts[column] = value;
+		}
+
+		/**
+		 * Stores a cell in the packed key. The last cell is implied by the other 24.
+		 */
+		private void pack(int cell, int tile)
+		{
+			if (cell < PACKED_CELLS)
+			{
+				int shift = cell * BITS_PER_CELL;
+				lo = (lo & ~(CELL_MASK << shift)) | ((long) tile << shift);
+			}
+			else if (cell < 2 * PACKED_CELLS)
+			{
+				int shift = (cell - PACKED_CELLS) * BITS_PER_CELL;
+				hi = (hi & ~(CELL_MASK << shift)) | ((long) tile << shift);
+			}
+		}
+	}
+}
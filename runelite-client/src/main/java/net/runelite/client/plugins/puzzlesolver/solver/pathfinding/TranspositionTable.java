@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2020, https://openosrs.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.plugins.puzzlesolver.solver.pathfinding;
+
+import java.util.Arrays;
+
+/**
+ * A fixed size, always-replace transposition table for packed puzzle boards.
+ * <p>
+ * Entries are tagged with the IDA* bound of the iteration that stored them,
+ * so moving on to the next iteration invalidates the table without clearing it.
+ */
+final class TranspositionTable
+{
+	private final long[] low;
+	private final long[] high;
+	private final int[] stamps;
+	private final short[] depths;
+	private final int shift;
+
+	TranspositionTable(int bits)
+	{
+		int size = 1 << bits;
+
+		this.low = new long[size];
+		this.high = new long[size];
+		this.stamps = new int[size];
+		this.depths = new short[size];
+		this.shift = 64 - bits;
+
+		Arrays.fill(stamps, -1);
+	}
+
+	/**
+	 * Records a visit of a board during the iteration with the given bound.
+	 *
+	 * @return false if the board was already expanded in this iteration at the same or a lower depth,
+	 * in which case searching it again cannot find anything new
+	 */
+	boolean visit(long lo, long hi, int depth, int bound)
+	{
+		int idx = (int) (((lo * 0x9E3779B97F4A7C15L) ^ (hi * 0xC2B2AE3D27D4EB4FL)) >>> shift);
+
+		if (stamps[idx] == bound && low[idx] == lo && high[idx] == hi && depths[idx] <= depth)
+		{
+			return false;
+		}
+
+		low[idx] = lo;
+		high[idx] = hi;
+		stamps[idx] = bound;
+		depths[idx] = (short) depth;
+		return true;
+	}
+}
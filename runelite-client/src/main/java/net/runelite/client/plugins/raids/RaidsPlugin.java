@@ -783,7 +783,10 @@ public class RaidsPlugin extends Plugin
 
 				if (layout == null)
 				{
-					log.debug("Could not find layout match");
+					if (log.isDebugEnabled())
+					{
+						log.debug("Could not find layout match, {} candidates", layoutSolver.findCandidates(raid.toCode()).size());
+					}
 					return;
 				}
 
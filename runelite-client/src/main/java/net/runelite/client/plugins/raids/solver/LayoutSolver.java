@@ -24,8 +24,11 @@
  */
 package net.runelite.client.plugins.raids.solver;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.inject.Singleton;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -84,50 +87,138 @@ public class LayoutSolver
 			"SCPFC.CCSSF - #NEESEN#WSWWNE",
 		};
 
-	public LayoutSolver()
+	/**
+	 * Highest room position + 1, rooms 0-7 are on the top floor and 8-15 on the bottom floor
+	 */
+	private static final int POSITIONS = 16;
+	private static final int SYMBOLS = 256;
+
+	/**
+	 * For every position, the layouts which have no room there and therefore accept any symbol
+	 */
+	private static final long[] vacant = new long[POSITIONS];
+	/**
+	 * For every position and room symbol, the layouts which accept that symbol there
+	 */
+	private static final long[][] accepting = new long[POSITIONS][SYMBOLS];
+	private static long allLayouts;
+
+	static
 	{
 		build();
+		index();
 	}
 
 	public Layout findLayout(String code)
 	{
-		Layout solution = null;
-		int matches = 0;
-		boolean match;
+		long candidates = match(code);
 
-		for (Layout layout : layouts)
+		if (Long.bitCount(candidates) == 1)
 		{
-			match = true;
+			Layout layout = layouts.get(Long.numberOfTrailingZeros(candidates));
+			log.debug("Found matching layout: " + layout.toCode());
+			return layout;
+		}
 
-			for (int i = 0; i < code.length(); i++)
-			{
-				Room room = layout.getRoomAt(i);
-				char c = code.charAt(i);
+		return null;
+	}
 
-				if (room != null && c != ' ' && c != room.getSymbol())
-				{
-					match = false;
-					break;
-				}
+	/**
+	 * Finds every layout compatible with a partially scouted code. Unscouted rooms are
+	 * spaces and match anything.
+	 *
+	 * @return the candidates, those with the most rooms confirmed by the code first
+	 */
+	public List<Layout> findCandidates(String code)
+	{
+		long candidates = match(code);
+		List<Layout> result = new ArrayList<>(Long.bitCount(candidates));
+
+		while (candidates != 0)
+		{
+			result.add(layouts.get(Long.numberOfTrailingZeros(candidates)));
+			candidates &= candidates - 1;
+		}
+
+		// stable, so equally confirmed layouts stay in table order
+		result.sort(Comparator.comparingInt((Layout layout) -> confirmedRooms(layout, code)).reversed());
+		return Collections.unmodifiableList(result);
+	}
+
+	/**
+	 * Intersects the accepting layouts of every scouted room in a single pass over the code.
+	 */
+	@VisibleForTesting
+	static long match(String code)
+	{
+		long candidates = allLayouts;
+
+		for (int i = 0; i < code.length() && candidates != 0; i++)
+		{
+			char c = code.charAt(i);
+
+			if (c == ' ' || i >= POSITIONS)
+			{
+				continue;
 			}
 
-			if (match)
+			candidates &= c < SYMBOLS ? accepting[i][c] : vacant[i];
+		}
+
+		return candidates;
+	}
+
+	private static int confirmedRooms(Layout layout, String code)
+	{
+		int confirmed = 0;
+
+		for (Room room : layout.getRooms())
+		{
+			int position = room.getPosition();
+
+			if (position < code.length() && code.charAt(position) == room.getSymbol())
 			{
-				solution = layout;
-				matches++;
-				log.debug("Found matching layout: " + layout.toCode());
+				confirmed++;
 			}
 		}
 
-		if (matches == 1)
+		return confirmed;
+	}
+
+	private static void index()
+	{
+		if (layouts.size() > Long.SIZE)
 		{
-			return solution;
+			throw new IllegalStateException("Too many layouts to index: " + layouts.size());
 		}
 
-		return null;
+		for (int l = 0; l < layouts.size(); l++)
+		{
+			long bit = 1L << l;
+			allLayouts |= bit;
+
+			for (int position = 0; position < POSITIONS; position++)
+			{
+				Room room = layouts.get(l).getRoomAt(position);
+
+				if (room == null)
+				{
+					vacant[position] |= bit;
+
+					for (int symbol = 0; symbol < SYMBOLS; symbol++)
+					{
+						accepting[position][symbol] |= bit;
+					}
+				}
+				else if (room.getSymbol() < SYMBOLS)
+				{
+					accepting[position][room.getSymbol()] |= bit;
+				}
+			}
+		}
 	}
 
-	private int calcStart(String directions)
+	private static int calcStart(String directions)
 	{
 		int startPos = 0;
 		int position = 0;
@@ -148,7 +239,7 @@ public class LayoutSolver
 		return startPos;
 	}
 
-	private int dirToPosDelta(char direction)
+	private static int dirToPosDelta(char direction)
 	{
 		switch (String.valueOf(direction))
 		{
@@ -169,7 +260,7 @@ public class LayoutSolver
 		}
 	}
 
-	private void build()
+	private static void build()
 	{
 		for (String code : codes)
 		{
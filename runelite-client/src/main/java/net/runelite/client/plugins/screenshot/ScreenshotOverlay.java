@@ -29,7 +29,6 @@ import java.awt.Color;
 import java.awt.Dimension;
 import java.awt.FontMetrics;
 import java.awt.Graphics2D;
-import java.awt.Image;
 import java.awt.image.BufferedImage;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
@@ -41,6 +40,7 @@ import javax.inject.Inject;
 import javax.inject.Singleton;
 import net.runelite.api.Client;
 import net.runelite.api.MainBufferProvider;
+import net.runelite.client.ui.CapturedFrame;
 import net.runelite.client.ui.DrawManager;
 import net.runelite.client.ui.FontManager;
 import net.runelite.client.ui.overlay.Overlay;
@@ -58,7 +58,7 @@ class ScreenshotOverlay extends Overlay
 	private final DrawManager drawManager;
 	private final ScreenshotPlugin plugin;
 
-	private final Queue<Consumer<Image>> consumers = new ConcurrentLinkedQueue<>();
+	private final Queue<Consumer<CapturedFrame>> consumers = new ConcurrentLinkedQueue<>();
 
 	@Inject
 	private ScreenshotOverlay(final Client client, final DrawManager drawManager, final ScreenshotPlugin plugin)
@@ -103,16 +103,16 @@ class ScreenshotOverlay extends Overlay
 
 		// Request the queued screenshots to be taken,
 		// now that the timestamp is visible.
-		Consumer<Image> consumer;
+		Consumer<CapturedFrame> consumer;
 		while ((consumer = consumers.poll()) != null)
 		{
-			drawManager.requestNextFrameListener(consumer);
+			drawManager.requestNextFrame(consumer);
 		}
 
 		return null;
 	}
 
-	void queueForTimestamp(Consumer<Image> screenshotConsumer)
+	void queueForTimestamp(Consumer<CapturedFrame> screenshotConsumer)
 	{
 		if (plugin.getReportButton() == null)
 		{
@@ -31,7 +31,6 @@ import com.google.common.collect.ImmutableMap;
 import com.google.inject.Provides;
 import java.awt.Desktop;
 import java.awt.Graphics;
-import java.awt.Image;
 import java.awt.Toolkit;
 import java.awt.TrayIcon;
 import java.awt.datatransfer.Clipboard;
@@ -98,6 +97,7 @@ import net.runelite.client.plugins.PluginDescriptor;
 import net.runelite.client.plugins.PluginType;
 import net.runelite.client.plugins.screenshot.imgur.ImageUploadRequest;
 import net.runelite.client.plugins.screenshot.imgur.ImageUploadResponse;
+import net.runelite.client.ui.CapturedFrame;
 import net.runelite.client.ui.ClientToolbar;
 import net.runelite.client.ui.ClientUI;
 import net.runelite.client.ui.DrawManager;
@@ -623,10 +623,10 @@ public class ScreenshotPlugin extends Plugin
 			return;
 		}
 
-		Consumer<Image> imageCallback = (img) ->
+		Consumer<CapturedFrame> imageCallback = (frame) ->
 		{
 			// This callback is on the game thread, move to executor thread
-			executor.submit(() -> takeScreenshot(fileName, img, null));
+			executor.submit(() -> takeScreenshot(fileName, frame, null));
 		};
 
 		if (this.displayDate)
@@ -635,7 +635,7 @@ public class ScreenshotPlugin extends Plugin
 		}
 		else
 		{
-			drawManager.requestNextFrameListener(imageCallback);
+			drawManager.requestNextFrame(imageCallback);
 		}
 	}
 
@@ -655,11 +655,10 @@ public class ScreenshotPlugin extends Plugin
 			return;
 		}
 
-		Consumer<Image> imageCallback = (img) ->
+		Consumer<CapturedFrame> imageCallback = (frame) ->
 		{
 			// This callback is on the game thread, move to executor thread
-			executor.submit(() -> takeScreenshot(fileName, img, subdirectory));
-
+			executor.submit(() -> takeScreenshot(fileName, frame, subdirectory));
 		};
 
 		if (this.displayDate)
@@ -668,23 +667,27 @@ public class ScreenshotPlugin extends Plugin
 		}
 		else
 		{
-			drawManager.requestNextFrameListener(imageCallback);
+			drawManager.requestNextFrame(imageCallback);
 		}
 	}
 
-	private void takeScreenshot(String fileName, Image image, @Nullable String subdirectory)
+	private void takeScreenshot(String fileName, CapturedFrame frame, @Nullable String subdirectory)
 	{
-		BufferedImage screenshot = this.includeFrame
-			? new BufferedImage(clientUi.getWidth(), clientUi.getHeight(), BufferedImage.TYPE_INT_ARGB)
-			: new BufferedImage(image.getWidth(null), image.getHeight(null), BufferedImage.TYPE_INT_ARGB);
-
-		Graphics graphics = screenshot.getGraphics();
+		try (CapturedFrame f = frame)
+		{
+			takeScreenshot(fileName, f.getImage(), subdirectory);
+		}
+	}
 
-		int gameOffsetX = 0;
-		int gameOffsetY = 0;
+	private void takeScreenshot(String fileName, BufferedImage image, @Nullable String subdirectory)
+	{
+		final BufferedImage screenshot;
 
 		if (this.includeFrame)
 		{
+			screenshot = new BufferedImage(clientUi.getWidth(), clientUi.getHeight(), BufferedImage.TYPE_INT_ARGB);
+			Graphics graphics = screenshot.getGraphics();
+
 			// Draw the client frame onto the screenshot
 			try
 			{
@@ -697,12 +700,21 @@ public class ScreenshotPlugin extends Plugin
 
 			// Evaluate the position of the game inside the frame
 			final Point canvasOffset = clientUi.getCanvasOffset();
-			gameOffsetX = canvasOffset.getX();
-			gameOffsetY = canvasOffset.getY();
-		}
 
-		// Draw the game onto the screenshot
-		graphics.drawImage(image, gameOffsetX, gameOffsetY, null);
+			// Draw the game onto the screenshot
+			graphics.drawImage(image, canvasOffset.getX(), canvasOffset.getY(), null);
+			graphics.dispose();
+		}
+		else if (this.uploadScreenshot == UploadStyle.CLIPBOARD)
+		{
+			// the clipboard keeps the image after the frame goes back to the pool
+			screenshot = ImageUtil.toARGB(image);
+		}
+		else
+		{
+			// encode the pooled frame directly
+			screenshot = image;
+		}
 
 		File playerFolder;
 		if (client.getLocalPlayer() != null && client.getLocalPlayer().getName() != null)
@@ -0,0 +1,220 @@
+/*
+ * Copyright (c) 2020, https://openosrs.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.rs;
+
+import com.google.common.io.BaseEncoding;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashSet;
+import java.util.Properties;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * A local store of downloaded client artifacts. Each artifact is saved under
+ * the SHA-256 of its contents and is re-hashed before it is first handed out,
+ * so a truncated or corrupted file is dropped instead of loaded. Slots map a
+ * stable name, such as the client config, to the artifact last stored for it.
+ */
+@Slf4j
+class ClientArtifactCache
+{
+	private static final String INDEX = "artifacts.properties";
+	private static final String SOURCE_SUFFIX = ".source";
+
+	private final File directory;
+	private final Properties index = new Properties();
+	private final Set<String> verified = new HashSet<>();
+
+	ClientArtifactCache(File directory)
+	{
+		this.directory = directory;
+
+		final File indexFile = new File(directory, INDEX);
+		if (indexFile.exists())
+		{
+			try (InputStream in = new FileInputStream(indexFile))
+			{
+				index.load(in);
+			}
+			catch (IOException ex)
+			{
+				log.warn("Unable to read client artifact index", ex);
+				index.clear();
+			}
+		}
+	}
+
+	/**
+	 * Gets the artifact stored in a slot.
+	 *
+	 * @param source if not null, the artifact must have been stored with this source
+	 * @return the verified artifact, or null if there is none
+	 */
+	synchronized File get(String slot, String source)
+	{
+		final String hash = index.getProperty(slot);
+		if (hash == null || (source != null && !source.equals(index.getProperty(slot + SOURCE_SUFFIX))))
+		{
+			return null;
+		}
+
+		final File file = new File(directory, hash);
+		if (verified.contains(hash))
+		{
+			return file;
+		}
+
+		try
+		{
+			if (file.exists() && hash.equals(hash(file)))
+			{
+				verified.add(hash);
+				return file;
+			}
+		}
+		catch (IOException ex)
+		{
+			log.warn("Unable to verify client artifact {}", file, ex);
+		}
+
+		log.info("Discarding client artifact {} which failed verification", slot);
+		file.delete();
+		index.remove(slot);
+		index.remove(slot + SOURCE_SUFFIX);
+		return null;
+	}
+
+	/**
+	 * Reads the artifact stored in a slot.
+	 *
+	 * @return the verified contents, or null if there is no readable artifact
+	 */
+	byte[] read(String slot)
+	{
+		final File file = get(slot, null);
+		if (file == null)
+		{
+			return null;
+		}
+
+		try
+		{
+			return Files.readAllBytes(file.toPath());
+		}
+		catch (IOException ex)
+		{
+			log.warn("Unable to read client artifact {}", file, ex);
+			return null;
+		}
+	}
+
+	/**
+	 * Stores an artifact in a slot, replacing and removing the artifact it previously held.
+	 *
+	 * @return the stored artifact
+	 */
+	synchronized File put(String slot, String source, byte[] data) throws IOException
+	{
+		final String hash = hash(data);
+		final File file = new File(directory, hash);
+
+		if (!file.exists())
+		{
+			directory.mkdirs();
+
+			final File tmp = File.createTempFile(hash, ".tmp", directory);
+			try (OutputStream out = new FileOutputStream(tmp))
+			{
+				out.write(data);
+			}
+			Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		}
+
+		verified.add(hash);
+
+		final String previous = (String) index.setProperty(slot, hash);
+		if (source != null)
+		{
+			index.setProperty(slot + SOURCE_SUFFIX, source);
+		}
+		else
+		{
+			index.remove(slot + SOURCE_SUFFIX);
+		}
+
+		if (previous != null && !previous.equals(hash) && !index.containsValue(previous))
+		{
+			new File(directory, previous).delete();
+			verified.remove(previous);
+		}
+
+		try (OutputStream out = new FileOutputStream(new File(directory, INDEX)))
+		{
+			index.store(out, null);
+		}
+
+		return file;
+	}
+
+	private static String hash(File file) throws IOException
+	{
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ))
+		{
+			final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			final MessageDigest digest = sha256();
+			digest.update(buffer);
+			return BaseEncoding.base16().lowerCase().encode(digest.digest());
+		}
+	}
+
+	private static String hash(byte[] data)
+	{
+		return BaseEncoding.base16().lowerCase().encode(sha256().digest(data));
+	}
+
+	private static MessageDigest sha256()
+	{
+		try
+		{
+			return MessageDigest.getInstance("SHA-256");
+		}
+		catch (NoSuchAlgorithmException ex)
+		{
+			throw new IllegalStateException(ex);
+		}
+	}
+}
@@ -26,6 +26,7 @@
 package net.runelite.client.rs;
 
 import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.util.concurrent.TimeUnit;
@@ -41,13 +42,16 @@ class ClientConfigLoader
 	}
 
 	static RSConfig fetch(HttpUrl url) throws IOException
+	{
+		return parse(download(url));
+	}
+
+	static byte[] download(HttpUrl url) throws IOException
 	{
 		final Request request = new Request.Builder()
 			.url(url)
 			.build();
 
-		final RSConfig config = new RSConfig();
-
 		OkHttpClient okHttpClient = new OkHttpClient.Builder()
 			.connectTimeout(2000, TimeUnit.MILLISECONDS)
 			.build();
@@ -59,38 +63,45 @@ class ClientConfigLoader
 				throw new IOException("Unsuccessful response: " + response.message());
 			}
 
-			String str;
-			final BufferedReader in = new BufferedReader(new InputStreamReader(response.body().byteStream()));
-			while ((str = in.readLine()) != null)
-			{
-				int idx = str.indexOf('=');
+			return response.body().bytes();
+		}
+	}
 
-				if (idx == -1)
-				{
-					continue;
-				}
+	static RSConfig parse(byte[] data) throws IOException
+	{
+		final RSConfig config = new RSConfig();
+
+		String str;
+		final BufferedReader in = new BufferedReader(new InputStreamReader(new ByteArrayInputStream(data)));
+		while ((str = in.readLine()) != null)
+		{
+			int idx = str.indexOf('=');
 
-				String s = str.substring(0, idx);
+			if (idx == -1)
+			{
+				continue;
+			}
 
-				switch (s)
-				{
-					case "param":
-						str = str.substring(idx + 1);
-						idx = str.indexOf('=');
-						s = str.substring(0, idx);
+			String s = str.substring(0, idx);
+
+			switch (s)
+			{
+				case "param":
+					str = str.substring(idx + 1);
+					idx = str.indexOf('=');
+					s = str.substring(0, idx);
 
-						config.getAppletProperties().put(s, str.substring(idx + 1));
-						break;
-					case "msg":
-						// ignore
-						break;
-					default:
-						config.getClassLoaderProperties().put(s, str.substring(idx + 1));
-						break;
-				}
+					config.getAppletProperties().put(s, str.substring(idx + 1));
+					break;
+				case "msg":
+					// ignore
+					break;
+				default:
+					config.getClassLoaderProperties().put(s, str.substring(idx + 1));
+					break;
 			}
 		}
 
 		return config;
 	}
-}
\ No newline at end of file
+}
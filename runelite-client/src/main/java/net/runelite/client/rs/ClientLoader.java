@@ -28,7 +28,10 @@ package net.runelite.client.rs;
 
 import com.google.common.base.Strings;
 import com.google.common.io.ByteStreams;
+import io.reactivex.Completable;
+import io.reactivex.schedulers.Schedulers;
 import java.applet.Applet;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
@@ -47,12 +50,16 @@ public class ClientLoader implements Supplier<Applet>
 	private static final String CONFIG_URL = "http://oldschool.runescape.com/jav_config.ws";
 	private static final String BACKUP_CONFIG_URL = "https://raw.githubusercontent.com/open-osrs/hosting/master/jav_config.ws";
 
+	private static final File ARTIFACT_DIR = new File(RuneLite.CACHE_DIR, "client");
+	private static final String CONFIG_SLOT = "jav_config";
+	private static final String GAMEPACK_SLOT = "gamepack";
+
 	private static final int NUM_ATTEMPTS = 10;
 	private final ClientUpdateCheckMode updateCheckMode;
 	private Object client = null;
 
 	private WorldSupplier worldSupplier = new WorldSupplier();
-	private RSConfig config;
+	private final ClientArtifactCache artifacts = new ClientArtifactCache(ARTIFACT_DIR);
 
 	public ClientLoader(ClientUpdateCheckMode updateCheckMode)
 	{
@@ -78,7 +85,7 @@ public class ClientLoader implements Supplier<Applet>
 	{
 		try
 		{
-			downloadConfig();
+			final RSConfig config = loadConfig();
 
 			switch (updateCheckMode)
 			{
@@ -110,23 +117,59 @@ public class ClientLoader implements Supplier<Applet>
 		}
 	}
 
-	private void downloadConfig() throws IOException
+	/**
+	 * Starts from the last verified config if there is one, downloading a fresh
+	 * copy in the background for the next start. Otherwise downloads it now.
+	 */
+	private RSConfig loadConfig() throws IOException
+	{
+		final byte[] cached = artifacts.read(CONFIG_SLOT);
+		if (cached != null)
+		{
+			final RSConfig config = ClientConfigLoader.parse(cached);
+			if (isValid(config))
+			{
+				log.info("Using cached jav_config, refreshing it in the background");
+				Completable.fromAction(() -> downloadConfig(false))
+					.subscribeOn(Schedulers.io())
+					.subscribe(() -> log.debug("Refreshed cached jav_config"),
+						ex -> log.info("Unable to refresh cached jav_config ({})", ex.getMessage()));
+				return config;
+			}
+		}
+
+		return downloadConfig(true);
+	}
+
+	private static boolean isValid(RSConfig config)
+	{
+		return !Strings.isNullOrEmpty(config.getCodeBase()) && !Strings.isNullOrEmpty(config.getInitialJar())
+			&& !Strings.isNullOrEmpty(config.getClassLoaderProperties().get("initial_class"));
+	}
+
+	private RSConfig downloadConfig(boolean showProgress) throws IOException
 	{
 		HttpUrl url = HttpUrl.parse(CONFIG_URL);
 		IOException err = null;
 		for (int attempt = 0; attempt < NUM_ATTEMPTS; attempt++)
 		{
-			RuneLiteSplashScreen.stage(.0, "Connecting with gameserver (try " + (attempt + 1) + "/" + NUM_ATTEMPTS + ")");
+			if (showProgress)
+			{
+				RuneLiteSplashScreen.stage(.0, "Connecting with gameserver (try " + (attempt + 1) + "/" + NUM_ATTEMPTS + ")");
+			}
+
 			try
 			{
-				config = ClientConfigLoader.fetch(url);
+				final byte[] data = ClientConfigLoader.download(url);
+				final RSConfig config = ClientConfigLoader.parse(data);
 
-				if (Strings.isNullOrEmpty(config.getCodeBase()) || Strings.isNullOrEmpty(config.getInitialJar()) || Strings.isNullOrEmpty(config.getInitialClass()))
+				if (!isValid(config))
 				{
 					throw new IOException("Invalid or missing jav_config");
 				}
 
-				return;
+				artifacts.put(CONFIG_SLOT, null, data);
+				return config;
 			}
 			catch (IOException e)
 			{
@@ -156,7 +199,7 @@ public class ClientLoader implements Supplier<Applet>
 			// Update the world applet parameter
 			Map<String, String> appletProperties = backupConfig.getAppletProperties();
 			appletProperties.put(backupConfig.getRuneLiteWorldParam(), Integer.toString(world.getId()));
-			config = backupConfig;
+			return backupConfig;
 		}
 		catch (IOException ex)
 		{
@@ -198,7 +241,7 @@ public class ClientLoader implements Supplier<Applet>
 		return loadFromClass(config, clientClass);
 	}
 
-	private static Applet loadVanilla(final RSConfig config)
+	private Applet loadVanilla(final RSConfig config)
 		throws IOException, ClassNotFoundException, InstantiationException, IllegalAccessException
 	{
 		RuneLiteSplashScreen.stage(.465, "Starting Vanilla Old School RuneScape");
@@ -206,7 +249,21 @@ public class ClientLoader implements Supplier<Applet>
 		final String codebase = config.getCodeBase();
 		final String initialJar = config.getInitialJar();
 		final String initialClass = config.getInitialClass();
-		final URL url = new URL(codebase + initialJar);
+
+		// The jar name changes with each revision, so a cached jar under the same name is the same client
+		File jar = artifacts.get(GAMEPACK_SLOT, initialJar);
+		if (jar == null)
+		{
+			final HttpUrl jarUrl = HttpUrl.parse(codebase + initialJar);
+			if (jarUrl == null)
+			{
+				throw new IOException("Invalid gamepack url: " + codebase + initialJar);
+			}
+
+			jar = artifacts.put(GAMEPACK_SLOT, initialJar, ClientConfigLoader.download(jarUrl));
+		}
+
+		final URL url = jar.toURI().toURL();
 
 		// Must set parent classloader to null, or it will pull from
 		// this class's classloader first
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2020, https://openosrs.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.ui;
+
+import java.awt.Graphics;
+import java.awt.Image;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A copy of a rendered frame in a pooled, int backed image.
+ * <p>
+ * Every holder of a frame owns one reference to it and must {@link #close()}
+ * it when done, from any thread. Once all references are released the image
+ * is reused for a later frame, so it must not be kept past that point.
+ */
+public final class CapturedFrame implements AutoCloseable
+{
+	private final BufferedImage image;
+	private final int[] pixels;
+	private final AtomicInteger references = new AtomicInteger();
+
+	CapturedFrame(int width, int height)
+	{
+		this.image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+		this.pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+	}
+
+	public BufferedImage getImage()
+	{
+		return image;
+	}
+
+	public int getWidth()
+	{
+		return image.getWidth();
+	}
+
+	public int getHeight()
+	{
+		return image.getHeight();
+	}
+
+	/**
+	 * Takes another reference to the frame, which must be closed separately.
+	 */
+	public CapturedFrame retain()
+	{
+		references.incrementAndGet();
+		return this;
+	}
+
+	@Override
+	public void close()
+	{
+		if (references.decrementAndGet() < 0)
+		{
+			references.incrementAndGet();
+			throw new IllegalStateException("Frame released more times than it was retained");
+		}
+	}
+
+	/**
+	 * Copies the frame into a new image which isn't tied to the pool.
+	 */
+	public BufferedImage copy()
+	{
+		BufferedImage copy = new BufferedImage(getWidth(), getHeight(), BufferedImage.TYPE_INT_RGB);
+		int[] dst = ((DataBufferInt) copy.getRaster().getDataBuffer()).getData();
+		System.arraycopy(pixels, 0, dst, 0, pixels.length);
+		return copy;
+	}
+
+	boolean tryAcquire()
+	{
+		return references.compareAndSet(0, 1);
+	}
+
+	boolean isReleased()
+	{
+		return references.get() == 0;
+	}
+
+	boolean hasSize(int width, int height)
+	{
+		return getWidth() == width && getHeight() == height;
+	}
+
+	void copyFrom(int[] src)
+	{
+		System.arraycopy(src, 0, pixels, 0, pixels.length);
+	}
+
+	void copyFrom(Image src)
+	{
+		Graphics graphics = image.getGraphics();
+		graphics.drawImage(src, 0, 0, getWidth(), getHeight(), null);
+		graphics.dispose();
+	}
+}
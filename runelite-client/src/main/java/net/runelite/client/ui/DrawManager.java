@@ -33,6 +33,7 @@ import java.util.function.Consumer;
 import java.util.function.Supplier;
 import javax.inject.Singleton;
 import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.BufferProvider;
 
 @Singleton
 @Slf4j
@@ -40,6 +41,8 @@ public class DrawManager
 {
 	private final List<Runnable> everyFrame = new CopyOnWriteArrayList<>();
 	private final Queue<Consumer<Image>> nextFrame = new ConcurrentLinkedQueue<>();
+	private final Queue<Consumer<CapturedFrame>> nextCapturedFrame = new ConcurrentLinkedQueue<>();
+	private final FramePool framePool = new FramePool();
 
 	public void registerEveryFrameListener(Runnable everyFrameListener)
 	{
@@ -54,12 +57,71 @@ public class DrawManager
 		everyFrame.remove(everyFrameListener);
 	}
 
+	/**
+	 * Requests a copy of the next frame. The listener gets its own image, so prefer
+	 * {@link #requestNextFrame(Consumer)} which doesn't need to allocate one.
+	 */
 	public void requestNextFrameListener(Consumer<Image> nextFrameListener)
 	{
 		nextFrame.add(nextFrameListener);
 	}
 
+	/**
+	 * Requests the next frame as a pooled {@link CapturedFrame}. The listener is called on the
+	 * client thread and owns one reference to the frame, which it must close once done with
+	 * it, for example after handing it off to another thread.
+	 */
+	public void requestNextFrame(Consumer<CapturedFrame> nextFrameListener)
+	{
+		nextCapturedFrame.add(nextFrameListener);
+	}
+
+	/**
+	 * Finishes a frame rendered into the client's buffer, copying its pixels directly
+	 * if any listener wants the frame.
+	 */
+	public void processDrawComplete(BufferProvider bufferProvider)
+	{
+		deliverFrame(() ->
+		{
+			CapturedFrame frame = framePool.acquire(bufferProvider.getWidth(), bufferProvider.getHeight());
+			frame.copyFrom(bufferProvider.getPixels());
+			return frame;
+		});
+	}
+
+	/**
+	 * Finishes a frame, drawing the given image into a pooled frame if any listener wants it.
+	 * The image is only used during this call.
+	 */
+	public void processDrawComplete(Image image)
+	{
+		deliverFrame(() ->
+		{
+			CapturedFrame frame = framePool.acquire(image.getWidth(null), image.getHeight(null));
+			frame.copyFrom(image);
+			return frame;
+		});
+	}
+
 	public void processDrawComplete(Supplier<Image> imageSupplier)
+	{
+		deliverFrame(() ->
+		{
+			Image image = imageSupplier.get();
+
+			if (image == null)
+			{
+				return null;
+			}
+
+			CapturedFrame frame = framePool.acquire(image.getWidth(null), image.getHeight(null));
+			frame.copyFrom(image);
+			return frame;
+		});
+	}
+
+	private void deliverFrame(Supplier<CapturedFrame> frameSupplier)
 	{
 		for (Runnable everyFrameListener : everyFrame)
 		{
@@ -73,37 +135,66 @@ public class DrawManager
 			}
 		}
 
-		Consumer<Image> nextFrameListener = nextFrame.poll();
-		Image image = null;
-		while (nextFrameListener != null)
+		if (nextFrame.isEmpty() && nextCapturedFrame.isEmpty())
 		{
-			if (image == null)
+			return;
+		}
+
+		CapturedFrame frame = null;
+		try
+		{
+			frame = frameSupplier.get();
+		}
+		catch (Exception ex)
+		{
+			log.warn("error getting screenshot", ex);
+		}
+
+		if (frame == null)
+		{
+			nextFrame.clear();
+			nextCapturedFrame.clear();
+			return;
+		}
+
+		try
+		{
+			Consumer<CapturedFrame> capturedFrameListener;
+			while ((capturedFrameListener = nextCapturedFrame.poll()) != null)
 			{
 				try
 				{
-					image = imageSupplier.get();
+					capturedFrameListener.accept(frame.retain());
 				}
-				catch (Exception ex)
+				catch (Exception e)
 				{
-					log.warn("error getting screenshot", ex);
+					log.error("Error in draw consumer", e);
 				}
 			}
 
-			if (image == null)
+			// legacy listeners may keep the image, so they share a copy outside of the pool
+			Image image = null;
+			Consumer<Image> nextFrameListener;
+			while ((nextFrameListener = nextFrame.poll()) != null)
 			{
-				nextFrame.clear();
-				break;
-			}
+				if (image == null)
+				{
+					image = frame.copy();
+				}
 
-			try
-			{
-				nextFrameListener.accept(image);
-			}
-			catch (Exception e)
-			{
-				log.error("Error in draw consumer", e);
+				try
+				{
+					nextFrameListener.accept(image);
+				}
+				catch (Exception e)
+				{
+					log.error("Error in draw consumer", e);
+				}
 			}
-			nextFrameListener = nextFrame.poll();
+		}
+		finally
+		{
+			frame.close();
 		}
 	}
 }
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2020, https://openosrs.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.ui;
+
+/**
+ * A small ring of frame images which are reused once every listener has released them.
+ */
+class FramePool
+{
+	private static final int SIZE = 3;
+
+	private final CapturedFrame[] frames = new CapturedFrame[SIZE];
+	private int next;
+
+	/**
+	 * Gets a released frame of the given size with a single reference held by the caller.
+	 * If every pooled frame is still in use a new one is allocated, which is simply
+	 * dropped once released.
+	 */
+	synchronized CapturedFrame acquire(int width, int height)
+	{
+		for (int i = 0; i < SIZE; i++)
+		{
+			int idx = (next + i) % SIZE;
+			CapturedFrame frame = frames[idx];
+
+			if (frame == null || (!frame.hasSize(width, height) && frame.isReleased()))
+			{
+				frame = new CapturedFrame(width, height);
+				frames[idx] = frame;
+			}
+
+			if (frame.hasSize(width, height) && frame.tryAcquire())
+			{
+				next = (idx + 1) % SIZE;
+				return frame;
+			}
+		}
+
+		CapturedFrame frame = new CapturedFrame(width, height);
+		frame.tryAcquire();
+		return frame;
+	}
+}
@@ -30,7 +30,10 @@ import java.awt.Graphics2D;
 import java.awt.Rectangle;
 import java.awt.geom.Area;
 import java.awt.image.BufferedImage;
-import java.util.List;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Set;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import net.runelite.api.Client;
@@ -55,9 +58,24 @@ public class WorldMapOverlay extends Overlay
 	private static final int TOOLTIP_PADDING_HEIGHT = 1;
 	private static final int TOOLTIP_PADDING_WIDTH = 2;
 
+	/**
+	 * Below this many pixels per tile, points whose centers fall in the same
+	 * {@code CLUSTER_SIZE} pixel cell are drawn as just the topmost of them.
+	 */
+	private static final float CLUSTER_ZOOM = 3.0f;
+	private static final int CLUSTER_SIZE = 4;
+
 	private final WorldMapPointManager worldMapPointManager;
 	private final Client client;
 
+	// render state, reused between frames
+	private int[] visible = new int[0];
+	private int[] drawXs = new int[0];
+	private int[] drawYs = new int[0];
+	private final Set<Long> clusterCells = new HashSet<>();
+	private Set<WorldMapPoint> drawn = Collections.newSetFromMap(new IdentityHashMap<>());
+	private Set<WorldMapPoint> lastDrawn = Collections.newSetFromMap(new IdentityHashMap<>());
+
 	@Inject
 	private WorldMapOverlay(
 		Client client,
@@ -76,10 +94,11 @@ public class WorldMapOverlay extends Overlay
 	@Override
 	public Dimension render(Graphics2D graphics)
 	{
-		final List<WorldMapPoint> points = worldMapPointManager.getWorldMapPoints();
+		final WorldMapPointIndex index = worldMapPointManager.getIndex();
 
-		if (points.isEmpty())
+		if (index.size() == 0)
 		{
+			lastDrawn.clear();
 			return null;
 		}
 
@@ -89,86 +108,154 @@ public class WorldMapOverlay extends Overlay
 			return null;
 		}
 
+		final RenderOverview ro = client.getRenderOverview();
 		final Rectangle worldMapRectangle = widget.getBounds();
 		final Area mapViewArea = getWorldMapClipArea(worldMapRectangle);
 		final Rectangle canvasBounds = new Rectangle(0, 0, client.getCanvasWidth(), client.getCanvasHeight());
 		final Area canvasViewArea = getWorldMapClipArea(canvasBounds);
 		Area currentClip = null;
 
+		// only visit points within the map view, padded by the size of the largest image
+		final float pixelsPerTile = ro.getWorldMapZoom();
+		final Point mapPosition = ro.getWorldMapPosition();
+		final int widthInTiles = (int) Math.ceil(worldMapRectangle.getWidth() / pixelsPerTile);
+		final int heightInTiles = (int) Math.ceil(worldMapRectangle.getHeight() / pixelsPerTile);
+		final int margin = (int) Math.ceil(index.getMaxImageSize() / pixelsPerTile) + 2;
+		final int minX = mapPosition.getX() - widthInTiles / 2 - margin;
+		final int minY = mapPosition.getY() - heightInTiles / 2 - margin;
+
+		if (visible.length < index.size())
+		{
+			visible = new int[index.size()];
+			drawXs = new int[index.size()];
+			drawYs = new int[index.size()];
+		}
+
+		final int count = index.query(minX, minY, minX + widthInTiles + margin * 2, minY + heightInTiles + margin * 2, visible);
+		final boolean cluster = pixelsPerTile < CLUSTER_ZOOM;
+		if (cluster)
+		{
+			clusterCells.clear();
+		}
+
+		// walk back to front so that, when clustering, the point drawn on top of a cell is the one kept
+		for (int i = count - 1; i >= 0; i--)
+		{
+			final WorldMapPoint worldPoint = index.get(visible[i]);
+			final WorldPoint point = worldPoint.getWorldPoint();
+
+			Point drawPoint = worldPoint.getImage() == null || point == null
+				? null
+				: mapWorldPointToGraphicsPoint(ro, worldMapRectangle, point);
+
+			if (drawPoint == null)
+			{
+				worldPoint.setClickbox(null);
+				visible[i] = -1;
+				continue;
+			}
+
+			if (cluster && !worldPoint.isSnapToEdge()
+				&& !clusterCells.add(((long) Math.floorDiv(drawPoint.getX(), CLUSTER_SIZE) << 32) | (Math.floorDiv(drawPoint.getY(), CLUSTER_SIZE) & 0xFFFFFFFFL)))
+			{
+				// hidden under a point drawn later
+				worldPoint.setClickbox(null);
+				visible[i] = -1;
+				continue;
+			}
+
+			drawXs[i] = drawPoint.getX();
+			drawYs[i] = drawPoint.getY();
+		}
+
 		WorldMapPoint tooltipPoint = null;
 
-		for (WorldMapPoint worldPoint : points)
+		for (int i = 0; i < count; i++)
 		{
-			BufferedImage image = worldPoint.getImage();
-			WorldPoint point = worldPoint.getWorldPoint();
+			if (visible[i] < 0)
+			{
+				continue;
+			}
 
-			if (image != null && point != null)
+			final WorldMapPoint worldPoint = index.get(visible[i]);
+			final BufferedImage image = worldPoint.getImage();
+			if (image == null)
 			{
-				Point drawPoint = mapWorldPointToGraphicsPoint(point);
+				continue;
+			}
 
-				if (drawPoint == null)
-				{
-					worldPoint.setClickbox(null);
-					continue;
-				}
+			Point drawPoint = new Point(drawXs[i], drawYs[i]);
 
-				if (worldPoint.isSnapToEdge() && canvasViewArea != currentClip)
-				{
-					graphics.setClip(canvasViewArea);
-					currentClip = canvasViewArea;
-				}
-				else if (!worldPoint.isSnapToEdge() && mapViewArea != currentClip)
-				{
-					graphics.setClip(mapViewArea);
-					currentClip = mapViewArea;
-				}
+			if (worldPoint.isSnapToEdge() && canvasViewArea != currentClip)
+			{
+				graphics.setClip(canvasViewArea);
+				currentClip = canvasViewArea;
+			}
+			else if (!worldPoint.isSnapToEdge() && mapViewArea != currentClip)
+			{
+				graphics.setClip(mapViewArea);
+				currentClip = mapViewArea;
+			}
 
-				if (worldPoint.isSnapToEdge())
+			if (worldPoint.isSnapToEdge())
+			{
+				if (worldMapRectangle.contains(drawPoint.getX(), drawPoint.getY()))
 				{
-					if (worldMapRectangle.contains(drawPoint.getX(), drawPoint.getY()))
+					if (worldPoint.isCurrentlyEdgeSnapped())
 					{
-						if (worldPoint.isCurrentlyEdgeSnapped())
-						{
-							worldPoint.setCurrentlyEdgeSnapped(false);
-							worldPoint.onEdgeUnsnap();
-						}
+						worldPoint.setCurrentlyEdgeSnapped(false);
+						worldPoint.onEdgeUnsnap();
 					}
-					else
+				}
+				else
+				{
+					drawPoint = clipToRectangle(drawPoint, worldMapRectangle);
+					if (!worldPoint.isCurrentlyEdgeSnapped())
 					{
-						drawPoint = clipToRectangle(drawPoint, worldMapRectangle);
-						if (!worldPoint.isCurrentlyEdgeSnapped())
-						{
-							worldPoint.setCurrentlyEdgeSnapped(true);
-							worldPoint.onEdgeSnap();
-						}
+						worldPoint.setCurrentlyEdgeSnapped(true);
+						worldPoint.onEdgeSnap();
 					}
 				}
+			}
 
-				int drawX = drawPoint.getX();
-				int drawY = drawPoint.getY();
+			int drawX = drawPoint.getX();
+			int drawY = drawPoint.getY();
 
-				if (worldPoint.getImagePoint() == null)
-				{
-					drawX -= image.getWidth() / 2;
-					drawY -= image.getHeight() / 2;
-				}
-				else
-				{
-					drawX -= worldPoint.getImagePoint().getX();
-					drawY -= worldPoint.getImagePoint().getY();
-				}
+			if (worldPoint.getImagePoint() == null)
+			{
+				drawX -= image.getWidth() / 2;
+				drawY -= image.getHeight() / 2;
+			}
+			else
+			{
+				drawX -= worldPoint.getImagePoint().getX();
+				drawY -= worldPoint.getImagePoint().getY();
+			}
 
-				graphics.drawImage(image, drawX, drawY, null);
-				Rectangle clickbox = new Rectangle(drawX, drawY, image.getWidth(), image.getHeight());
-				worldPoint.setClickbox(clickbox);
+			graphics.drawImage(image, drawX, drawY, null);
+			Rectangle clickbox = new Rectangle(drawX, drawY, image.getWidth(), image.getHeight());
+			worldPoint.setClickbox(clickbox);
+			drawn.add(worldPoint);
 
-				if (worldPoint.isTooltipVisible())
-				{
-					tooltipPoint = worldPoint;
-				}
+			if (worldPoint.isTooltipVisible())
+			{
+				tooltipPoint = worldPoint;
 			}
 		}
 
+		// points which were drawn last frame but weren't visited this frame must not keep their old clickbox
+		final Set<WorldMapPoint> previous = lastDrawn;
+		lastDrawn = drawn;
+		drawn = previous;
+		for (WorldMapPoint point : previous)
+		{
+			if (!lastDrawn.contains(point))
+			{
+				point.setClickbox(null);
+			}
+		}
+		previous.clear();
+
 		if (tooltipPoint != null)
 		{
 			drawTooltip(graphics, tooltipPoint);
@@ -185,8 +272,16 @@ public class WorldMapOverlay extends Overlay
 	 */
 	public Point mapWorldPointToGraphicsPoint(WorldPoint worldPoint)
 	{
-		RenderOverview ro = client.getRenderOverview();
+		Widget map = client.getWidget(WidgetInfo.WORLD_MAP_VIEW);
+		if (map != null)
+		{
+			return mapWorldPointToGraphicsPoint(client.getRenderOverview(), map.getBounds(), worldPoint);
+		}
+		return null;
+	}
 
+	private static Point mapWorldPointToGraphicsPoint(RenderOverview ro, Rectangle worldMapRect, WorldPoint worldPoint)
+	{
 		if (!ro.getWorldMapData().surfaceContainsPosition(worldPoint.getX(), worldPoint.getY()))
 		{
 			return null;
@@ -194,35 +289,28 @@ public class WorldMapOverlay extends Overlay
 
 		float pixelsPerTile = ro.getWorldMapZoom();
 
-		Widget map = client.getWidget(WidgetInfo.WORLD_MAP_VIEW);
-		if (map != null)
-		{
-			Rectangle worldMapRect = map.getBounds();
-
-			int widthInTiles = (int) Math.ceil(worldMapRect.getWidth() / pixelsPerTile);
-			int heightInTiles = (int) Math.ceil(worldMapRect.getHeight() / pixelsPerTile);
+		int widthInTiles = (int) Math.ceil(worldMapRect.getWidth() / pixelsPerTile);
+		int heightInTiles = (int) Math.ceil(worldMapRect.getHeight() / pixelsPerTile);
 
-			Point worldMapPosition = ro.getWorldMapPosition();
+		Point worldMapPosition = ro.getWorldMapPosition();
 
-			//Offset in tiles from anchor sides
-			int yTileMax = worldMapPosition.getY() - heightInTiles / 2;
-			int yTileOffset = (yTileMax - worldPoint.getY() - 1) * -1;
-			int xTileOffset = worldPoint.getX() + widthInTiles / 2 - worldMapPosition.getX();
+		//Offset in tiles from anchor sides
+		int yTileMax = worldMapPosition.getY() - heightInTiles / 2;
+		int yTileOffset = (yTileMax - worldPoint.getY() - 1) * -1;
+		int xTileOffset = worldPoint.getX() + widthInTiles / 2 - worldMapPosition.getX();
 
-			int xGraphDiff = ((int) (xTileOffset * pixelsPerTile));
-			int yGraphDiff = (int) (yTileOffset * pixelsPerTile);
+		int xGraphDiff = ((int) (xTileOffset * pixelsPerTile));
+		int yGraphDiff = (int) (yTileOffset * pixelsPerTile);
 
-			//Center on tile.
-			yGraphDiff -= pixelsPerTile - Math.ceil(pixelsPerTile / 2);
-			xGraphDiff += pixelsPerTile - Math.ceil(pixelsPerTile / 2);
+		//Center on tile.
+		yGraphDiff -= pixelsPerTile - Math.ceil(pixelsPerTile / 2);
+		xGraphDiff += pixelsPerTile - Math.ceil(pixelsPerTile / 2);
 
-			yGraphDiff = worldMapRect.height - yGraphDiff;
-			yGraphDiff += (int) worldMapRect.getY();
-			xGraphDiff += (int) worldMapRect.getX();
+		yGraphDiff = worldMapRect.height - yGraphDiff;
+		yGraphDiff += (int) worldMapRect.getY();
+		xGraphDiff += (int) worldMapRect.getX();
 
-			return new Point(xGraphDiff, yGraphDiff);
-		}
-		return null;
+		return new Point(xGraphDiff, yGraphDiff);
 	}
 
 	/**
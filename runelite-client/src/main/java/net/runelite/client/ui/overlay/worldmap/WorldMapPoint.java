@@ -28,7 +28,12 @@ import java.awt.Rectangle;
 import java.awt.event.MouseEvent;
 import java.awt.image.BufferedImage;
 import javax.annotation.Nullable;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
 import net.runelite.api.Point;
 import net.runelite.api.coords.WorldPoint;
 
@@ -66,12 +71,53 @@ public class WorldMapPoint
 
 	private String tooltip;
 
+	/**
+	 * The manager this point was last added to, told about changes to the fields its index caches
+	 */
+	@Getter(AccessLevel.NONE)
+	@Setter(AccessLevel.PACKAGE)
+	@EqualsAndHashCode.Exclude
+	@ToString.Exclude
+	private WorldMapPointManager manager;
+
 	protected WorldMapPoint(WorldPoint worldPoint, BufferedImage image)
 	{
 		this.worldPoint = worldPoint;
 		this.image = image;
 	}
 
+	public void setWorldPoint(WorldPoint worldPoint)
+	{
+		this.worldPoint = worldPoint;
+
+		// edge snapping points are drawn regardless of position and aren't spatially indexed
+		if (!snapToEdge)
+		{
+			invalidateIndex();
+		}
+	}
+
+	public void setImage(BufferedImage image)
+	{
+		this.image = image;
+		invalidateIndex();
+	}
+
+	public void setSnapToEdge(boolean snapToEdge)
+	{
+		this.snapToEdge = snapToEdge;
+		invalidateIndex();
+	}
+
+	private void invalidateIndex()
+	{
+		final WorldMapPointManager manager = this.manager;
+		if (manager != null)
+		{
+			manager.invalidateIndex();
+		}
+	}
+
 	public MouseEvent onClick(MouseEvent e)
 	{
 		return e;
@@ -0,0 +1,279 @@
+/*
+ * Copyright (c) 2020, https://openosrs.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.ui.overlay.worldmap;
+
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import net.runelite.api.coords.WorldPoint;
+
+/**
+ * An immutable snapshot of the registered {@link WorldMapPoint}s, indexed by a
+ * point quadtree over their world coordinates.
+ * <p>
+ * Entries are identified by their position in the snapshot, which is also the
+ * order they were added to the {@link WorldMapPointManager} and so the order
+ * they must be drawn in. The tree is stored as a permutation of those
+ * positions where every node owns a contiguous range, so a node that lies
+ * completely inside a query is reported without visiting its children.
+ * <p>
+ * Points which snap to the map edge are drawn even when out of view, so they
+ * are not put in the tree and are returned by every query.
+ */
+final class WorldMapPointIndex
+{
+	private static final int LEAF_CAPACITY = 16;
+	private static final int MAX_DEPTH = 16;
+
+	static final WorldMapPointIndex EMPTY = new WorldMapPointIndex(new ArrayList<>());
+
+	private final WorldMapPoint[] points;
+	private final int[] xs;
+	private final int[] ys;
+	private final int[] snapped;
+	private final int[] order;
+	private final Node root;
+	private final int maxImageSize;
+
+	private static final class Node
+	{
+		private final int minX;
+		private final int minY;
+		private final int maxX;
+		private final int maxY;
+		private final int from;
+		private final int to;
+		private Node[] children;
+
+		private Node(int minX, int minY, int maxX, int maxY, int from, int to)
+		{
+			this.minX = minX;
+			this.minY = minY;
+			this.maxX = maxX;
+			this.maxY = maxY;
+			this.from = from;
+			this.to = to;
+		}
+	}
+
+	WorldMapPointIndex(List<WorldMapPoint> snapshot)
+	{
+		final int size = snapshot.size();
+		points = snapshot.toArray(new WorldMapPoint[0]);
+		xs = new int[size];
+		ys = new int[size];
+
+		int[] indexed = new int[size];
+		int[] edge = new int[size];
+		int indexedCount = 0, edgeCount = 0;
+		int imageSize = 0;
+
+		for (int i = 0; i < size; i++)
+		{
+			final WorldMapPoint point = points[i];
+			final BufferedImage image = point.getImage();
+			if (image != null)
+			{
+				imageSize = Math.max(imageSize, Math.max(image.getWidth(), image.getHeight()));
+			}
+
+			if (point.isSnapToEdge())
+			{
+				edge[edgeCount++] = i;
+				continue;
+			}
+
+			final WorldPoint worldPoint = point.getWorldPoint();
+			if (worldPoint == null)
+			{
+				// never drawn
+				continue;
+			}
+
+			xs[i] = worldPoint.getX();
+			ys[i] = worldPoint.getY();
+			indexed[indexedCount++] = i;
+		}
+
+		maxImageSize = imageSize;
+		snapped = Arrays.copyOf(edge, edgeCount);
+		order = Arrays.copyOf(indexed, indexedCount);
+
+		if (indexedCount == 0)
+		{
+			root = null;
+			return;
+		}
+
+		int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE;
+		int maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE;
+		for (int i : order)
+		{
+			minX = Math.min(minX, xs[i]);
+			minY = Math.min(minY, ys[i]);
+			maxX = Math.max(maxX, xs[i]);
+			maxY = Math.max(maxY, ys[i]);
+		}
+
+		root = build(minX, minY, maxX, maxY, 0, indexedCount, 0);
+	}
+
+	/**
+	 * @return the largest width or height of the point images at the time of the snapshot
+	 */
+	int getMaxImageSize()
+	{
+		return maxImageSize;
+	}
+
+	WorldMapPoint get(int index)
+	{
+		return points[index];
+	}
+
+	int size()
+	{
+		return points.length;
+	}
+
+	/**
+	 * Collects the points inside a rectangle of world tiles, bounds inclusive,
+	 * along with every edge snapping point.
+	 *
+	 * @param out receives the indices of the points in draw order, and must hold at least {@link #size()} entries
+	 * @return the number of points collected
+	 */
+	int query(int minX, int minY, int maxX, int maxY, int[] out)
+	{
+		int count = 0;
+
+		for (int i : snapped)
+		{
+			out[count++] = i;
+		}
+
+		if (root != null)
+		{
+			count = query(root, minX, minY, maxX, maxY, out, count);
+		}
+
+		Arrays.sort(out, 0, count);
+		return count;
+	}
+
+	private int query(Node node, int minX, int minY, int maxX, int maxY, int[] out, int count)
+	{
+		if (node.maxX < minX || node.minX > maxX || node.maxY < minY || node.minY > maxY)
+		{
+			return count;
+		}
+
+		if (node.minX >= minX && node.maxX <= maxX && node.minY >= minY && node.maxY <= maxY)
+		{
+			System.arraycopy(order, node.from, out, count, node.to - node.from);
+			return count + node.to - node.from;
+		}
+
+		if (node.children == null)
+		{
+			for (int i = node.from; i < node.to; i++)
+			{
+				final int index = order[i];
+				if (xs[index] >= minX && xs[index] <= maxX && ys[index] >= minY && ys[index] <= maxY)
+				{
+					out[count++] = index;
+				}
+			}
+			return count;
+		}
+
+		for (Node child : node.children)
+		{
+			count = query(child, minX, minY, maxX, maxY, out, count);
+		}
+		return count;
+	}
+
+	private Node build(int minX, int minY, int maxX, int maxY, int from, int to, int depth)
+	{
+		final Node node = new Node(minX, minY, maxX, maxY, from, to);
+		if (to - from <= LEAF_CAPACITY || depth >= MAX_DEPTH || (minX == maxX && minY == maxY))
+		{
+			return node;
+		}
+
+		final int midX = (minX + maxX) >>> 1;
+		final int midY = (minY + maxY) >>> 1;
+
+		// split the range into west/east, then each half into south/north
+		final int east = partition(from, to, true, midX);
+		final int southWest = partition(from, east, false, midY);
+		final int southEast = partition(east, to, false, midY);
+
+		final List<Node> children = new ArrayList<>(4);
+		addChild(children, minX, minY, midX, midY, from, southWest, depth);
+		addChild(children, minX, midY + 1, midX, maxY, southWest, east, depth);
+		addChild(children, midX + 1, minY, maxX, midY, east, southEast, depth);
+		addChild(children, midX + 1, midY + 1, maxX, maxY, southEast, to, depth);
+		node.children = children.toArray(new Node[0]);
+		return node;
+	}
+
+	private void addChild(List<Node> children, int minX, int minY, int maxX, int maxY, int from, int to, int depth)
+	{
+		if (from < to && minX <= maxX && minY <= maxY)
+		{
+			children.add(build(minX, minY, maxX, maxY, from, to, depth + 1));
+		}
+	}
+
+	/**
+	 * Moves the entries of {@code order[from, to)} with a coordinate at most
+	 * {@code pivot} to the front of the range.
+	 *
+	 * @return the start of the entries past the pivot
+	 */
+	private int partition(int from, int to, boolean byX, int pivot)
+	{
+		final int[] coords = byX ? xs : ys;
+		int i = from;
+		int j = to - 1;
+		while (i <= j)
+		{
+			if (coords[order[i]] <= pivot)
+			{
+				i++;
+			}
+			else
+			{
+				final int tmp = order[i];
+				order[i] = order[j];
+				order[j--] = tmp;
+			}
+		}
+		return i;
+	}
+}
@@ -37,18 +37,48 @@ public class WorldMapPointManager
 	@Getter(AccessLevel.PACKAGE)
 	private final List<WorldMapPoint> worldMapPoints = new CopyOnWriteArrayList<>();
 
+	private volatile WorldMapPointIndex index = WorldMapPointIndex.EMPTY;
+	private volatile boolean indexStale;
+
 	public void add(WorldMapPoint worldMapPoint)
 	{
+		worldMapPoint.setManager(this);
 		worldMapPoints.add(worldMapPoint);
+		indexStale = true;
 	}
 
 	public void remove(WorldMapPoint worldMapPoint)
 	{
 		worldMapPoints.remove(worldMapPoint);
+		indexStale = true;
 	}
 
 	public void removeIf(Predicate<WorldMapPoint> filter)
 	{
 		worldMapPoints.removeIf(filter);
+		indexStale = true;
+	}
+
+	/**
+	 * Marks the index as out of date, after a point changed its position,
+	 * image or edge snapping.
+	 */
+	void invalidateIndex()
+	{
+		indexStale = true;
+	}
+
+	/**
+	 * Gets the spatial index of the current points, rebuilding it if points
+	 * were added, removed or changed since it was last built.
+	 */
+	WorldMapPointIndex getIndex()
+	{
+		if (indexStale)
+		{
+			indexStale = false;
+			index = new WorldMapPointIndex(worldMapPoints);
+		}
+		return index;
 	}
 }
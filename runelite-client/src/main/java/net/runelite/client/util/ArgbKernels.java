@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) 2020, https://openosrs.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.util;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.ColorModel;
+import java.awt.image.DataBufferInt;
+import java.awt.image.Raster;
+import java.awt.image.WritableRaster;
+import java.util.function.IntPredicate;
+
+/**
+ * Pixel kernels over packed, non-premultiplied ARGB ints, the layout of
+ * {@link BufferedImage#TYPE_INT_ARGB}. Each kernel reads {@code n} pixels from
+ * {@code src} and writes them to {@code dst}; passing the same array for both
+ * works in place.
+ */
+public final class ArgbKernels
+{
+	private static final int[] ARGB_MASKS = {0xff0000, 0xff00, 0xff, 0xff000000};
+
+	private static final ThreadLocal<int[]> BUFFER = new ThreadLocal<>();
+
+	private ArgbKernels()
+	{
+	}
+
+	/**
+	 * Gets this thread's pooled pixel buffer, grown to hold at least the given number of pixels.
+	 * The buffer is shared by every caller on the thread, so it must not be held across calls.
+	 */
+	public static int[] buffer(int size)
+	{
+		int[] buffer = BUFFER.get();
+		if (buffer == null || buffer.length < size)
+		{
+			buffer = new int[size];
+			BUFFER.set(buffer);
+		}
+		return buffer;
+	}
+
+	/**
+	 * Copies an image's pixels, as ARGB, into this thread's pooled buffer.
+	 */
+	public static int[] read(BufferedImage image)
+	{
+		final int width = image.getWidth();
+		final int height = image.getHeight();
+		final int[] pixels = buffer(width * height);
+
+		if (image.getType() == BufferedImage.TYPE_INT_ARGB)
+		{
+			// a bulk copy, which leaves the image eligible for acceleration
+			image.getRaster().getDataElements(0, 0, width, height, pixels);
+		}
+		else
+		{
+			image.getRGB(0, 0, width, height, pixels, 0, width);
+		}
+		return pixels;
+	}
+
+	/**
+	 * Copies ARGB pixels into an image covering its whole area.
+	 */
+	public static void write(int[] pixels, BufferedImage image)
+	{
+		final int width = image.getWidth();
+		final int height = image.getHeight();
+
+		if (image.getType() == BufferedImage.TYPE_INT_ARGB)
+		{
+			image.getRaster().setDataElements(0, 0, width, height, pixels);
+		}
+		else
+		{
+			image.setRGB(0, 0, width, height, pixels, 0, width);
+		}
+	}
+
+	/**
+	 * Wraps ARGB pixels in an image without copying them. The image is only valid for as long as
+	 * the array is, which makes it suitable for drawing a pooled buffer.
+	 */
+	static BufferedImage wrap(int[] pixels, int width, int height)
+	{
+		final DataBufferInt buffer = new DataBufferInt(pixels, width * height);
+		final WritableRaster raster = Raster.createPackedRaster(buffer, width, height, width, ARGB_MASKS, null);
+		return new BufferedImage(ColorModel.getRGBdefault(), raster, false, null);
+	}
+
+	/**
+	 * Scales then offsets the color and alpha components, clamping each to 0-255, as a
+	 * {@link java.awt.image.RescaleOp} does.
+	 */
+	public static void rescale(int[] src, int[] dst, int n, float rgbScale, float rgbOffset, float alphaScale, float alphaOffset)
+	{
+		final int[] rgb = lookup(rgbScale, rgbOffset);
+		final int[] alpha = lookup(alphaScale, alphaOffset);
+
+		for (int i = 0; i < n; i++)
+		{
+			final int p = src[i];
+			dst[i] = alpha[p >>> 24] << 24
+				| rgb[(p >> 16) & 0xff] << 16
+				| rgb[(p >> 8) & 0xff] << 8
+				| rgb[p & 0xff];
+		}
+	}
+
+	/**
+	 * Converts pixels to a brightened gray, keeping alpha, as Swing's disabled icon
+	 * {@link javax.swing.GrayFilter} does. Fully transparent pixels become zero.
+	 */
+	public static void grayscale(int[] src, int[] dst, int n)
+	{
+		for (int i = 0; i < n; i++)
+		{
+			final int p = src[i];
+			if ((p >>> 24) == 0)
+			{
+				dst[i] = 0;
+				continue;
+			}
+
+			int gray = (int) ((0.30 * ((p >> 16) & 0xff) + 0.59 * ((p >> 8) & 0xff) + 0.11 * (p & 0xff)) / 3);
+			gray = 255 - (255 - gray) * 50 / 100;
+			dst[i] = (p & 0xff000000) | gray << 16 | gray << 8 | gray;
+		}
+	}
+
+	/**
+	 * Sets pixels meeting a condition to a color, and all others to transparent.
+	 */
+	public static void fill(int[] src, int[] dst, int n, int argb, IntPredicate condition)
+	{
+		for (int i = 0; i < n; i++)
+		{
+			dst[i] = condition.test(src[i]) ? argb : 0;
+		}
+	}
+
+	/**
+	 * Sets pixels meeting a condition to a color, leaving all others unchanged.
+	 */
+	public static void recolor(int[] src, int[] dst, int n, int argb, IntPredicate condition)
+	{
+		for (int i = 0; i < n; i++)
+		{
+			final int p = src[i];
+			dst[i] = condition.test(p) ? argb : p;
+		}
+	}
+
+	/**
+	 * Replaces the color of every pixel, keeping its alpha.
+	 */
+	public static void tint(int[] src, int[] dst, int n, int rgb)
+	{
+		rgb &= 0xffffff;
+		for (int i = 0; i < n; i++)
+		{
+			dst[i] = (src[i] & 0xff000000) | rgb;
+		}
+	}
+
+	public static boolean isNotFullyTransparent(int argb)
+	{
+		return (argb >>> 24) != 0;
+	}
+
+	private static int[] lookup(float scale, float offset)
+	{
+		final int[] table = new int[256];
+		for (int i = 0; i < 256; i++)
+		{
+			final int v = (int) (i * scale + offset);
+			table[i] = v < 0 ? 0 : v > 255 ? 255 : v;
+		}
+		return table;
+	}
+}
@@ -31,17 +31,17 @@ import java.awt.Image;
 import java.awt.geom.AffineTransform;
 import java.awt.image.AffineTransformOp;
 import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
 import java.awt.image.DirectColorModel;
 import java.awt.image.PixelGrabber;
-import java.awt.image.RescaleOp;
 import java.awt.image.WritableRaster;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import javax.imageio.ImageIO;
-import javax.swing.GrayFilter;
+import java.util.function.IntPredicate;
 import java.util.function.Predicate;
+import javax.imageio.ImageIO;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.Client;
 import net.runelite.api.IndexedSprite;
@@ -91,6 +91,18 @@ public class ImageUtil
 		return out;
 	}
 
+	/**
+	 * Gets the memory held by an image's pixel data, for weighing images held in caches.
+	 *
+	 * @param image The image to measure.
+	 * @return      The size of the image's data buffer, in bytes.
+	 */
+	public static int sizeInBytes(final BufferedImage image)
+	{
+		final DataBuffer buffer = image.getRaster().getDataBuffer();
+		return buffer.getSize() * buffer.getNumBanks() * DataBuffer.getDataTypeSize(buffer.getDataType()) / 8;
+	}
+
 	/**
 	 * Offsets an image's luminance by a given value.
 	 *
@@ -101,21 +113,7 @@ public class ImageUtil
 	 */
 	public static BufferedImage luminanceOffset(final Image rawImg, final int offset)
 	{
-		BufferedImage image = toARGB(rawImg);
-		final float offsetFloat = (float) offset;
-		final int numComponents = image.getColorModel().getNumComponents();
-		final float[] scales = new float[numComponents];
-		final float[] offsets = new float[numComponents];
-
-		Arrays.fill(scales, 1f);
-		for (int i = 0; i < numComponents; i++)
-		{
-			offsets[i] = offsetFloat;
-		}
-		// Set alpha to not offset
-		offsets[numComponents - 1] = 0f;
-
-		return offset(image, scales, offsets);
+		return rescale(rawImg, 1f, offset, 1f, 0f);
 	}
 
 	/**
@@ -128,20 +126,7 @@ public class ImageUtil
 	 */
 	public static BufferedImage luminanceScale(final Image rawImg, final float percentage)
 	{
-		BufferedImage image = toARGB(rawImg);
-		final int numComponents = image.getColorModel().getNumComponents();
-		final float[] scales = new float[numComponents];
-		final float[] offsets = new float[numComponents];
-
-		Arrays.fill(offsets, 0f);
-		for (int i = 0; i < numComponents; i++)
-		{
-			scales[i] = percentage;
-		}
-		// Set alpha to not scale
-		scales[numComponents - 1] = 1f;
-
-		return offset(image, scales, offsets);
+		return rescale(rawImg, percentage, 0f, 1f, 0f);
 	}
 
 	/**
@@ -155,16 +140,7 @@ public class ImageUtil
 	 */
 	public static BufferedImage alphaOffset(final Image rawImg, final int offset)
 	{
-		BufferedImage image = toARGB(rawImg);
-		final float offsetFloat = (float) offset;
-		final int numComponents = image.getColorModel().getNumComponents();
-		final float[] scales = new float[numComponents];
-		final float[] offsets = new float[numComponents];
-
-		Arrays.fill(scales, 1f);
-		Arrays.fill(offsets, 0f);
-		offsets[numComponents - 1] = offsetFloat;
-		return offset(image, scales, offsets);
+		return rescale(rawImg, 1f, 0f, 1f, offset);
 	}
 
 	/**
@@ -178,15 +154,7 @@ public class ImageUtil
 	 */
 	public static BufferedImage alphaOffset(final Image rawImg, final float percentage)
 	{
-		BufferedImage image = toARGB(rawImg);
-		final int numComponents = image.getColorModel().getNumComponents();
-		final float[] scales = new float[numComponents];
-		final float[] offsets = new float[numComponents];
-
-		Arrays.fill(scales, 1f);
-		Arrays.fill(offsets, 0f);
-		scales[numComponents - 1] = percentage;
-		return offset(image, scales, offsets);
+		return rescale(rawImg, 1f, 0f, percentage, 0f);
 	}
 
 	/**
@@ -197,8 +165,9 @@ public class ImageUtil
 	 */
 	public static BufferedImage grayscaleImage(final BufferedImage image)
 	{
-		final Image grayImage = GrayFilter.createDisabledImage(image);
-		return ImageUtil.bufferedImageFromImage(grayImage);
+		final int[] pixels = ArgbKernels.read(image);
+		ArgbKernels.grayscale(pixels, pixels, image.getWidth() * image.getHeight());
+		return fromPixels(pixels, image.getWidth(), image.getHeight());
 	}
 
 	/**
@@ -295,7 +264,7 @@ public class ImageUtil
 	 */
 	public static BufferedImage outlineImage(final BufferedImage image, final Color color)
 	{
-		return outlineImage(image, color, ColorUtil::isNotFullyTransparent, false);
+		return outlineImage(image, color, ArgbKernels::isNotFullyTransparent, false);
 	}
 
 	/**
@@ -324,7 +293,7 @@ public class ImageUtil
 	 */
 	public static BufferedImage outlineImage(final BufferedImage image, final Color color, final Boolean outlineCorners)
 	{
-		return outlineImage(image, color, ColorUtil::isNotFullyTransparent, outlineCorners);
+		return outlineImage(image, color, ArgbKernels::isNotFullyTransparent, outlineCorners);
 	}
 
 	/**
@@ -340,8 +309,19 @@ public class ImageUtil
 	 */
 	public static BufferedImage outlineImage(final BufferedImage image, final Color color, final Predicate<Color> fillCondition, final Boolean outlineCorners)
 	{
-		final BufferedImage filledImage = fillImage(image, color, fillCondition);
-		final BufferedImage outlinedImage = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_ARGB);
+		return outlineImage(image, color, colorCondition(fillCondition), outlineCorners);
+	}
+
+	private static BufferedImage outlineImage(final BufferedImage image, final Color color, final IntPredicate fillCondition, final boolean outlineCorners)
+	{
+		final int width = image.getWidth();
+		final int height = image.getHeight();
+		final int[] pixels = ArgbKernels.read(image);
+		ArgbKernels.fill(pixels, pixels, width * height, color.getRGB(), fillCondition);
+
+		// The filled pixels are only drawn here, so they can stay in the pooled buffer
+		final BufferedImage filledImage = ArgbKernels.wrap(pixels, width, height);
+		final BufferedImage outlinedImage = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
 
 		final Graphics2D g2d = outlinedImage.createGraphics();
 		for (int x = -1; x <= 1; x++)
@@ -400,7 +380,7 @@ public class ImageUtil
 	 */
 	public static BufferedImage fillImage(final BufferedImage image, final Color color)
 	{
-		return fillImage(image, color, ColorUtil::isNotFullyTransparent);
+		return fillImage(image, color, ArgbKernels::isNotFullyTransparent);
 	}
 
 	/**
@@ -415,21 +395,14 @@ public class ImageUtil
 	 */
 	static BufferedImage fillImage(final BufferedImage image, final Color color, final Predicate<Color> fillCondition)
 	{
-		final BufferedImage filledImage = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_ARGB);
-		for (int x = 0; x < filledImage.getWidth(); x++)
-		{
-			for (int y = 0; y < filledImage.getHeight(); y++)
-			{
-				final Color pixelColor = new Color(image.getRGB(x, y), true);
-				if (!fillCondition.test(pixelColor))
-				{
-					continue;
-				}
+		return fillImage(image, color, colorCondition(fillCondition));
+	}
 
-				filledImage.setRGB(x, y, color.getRGB());
-			}
-		}
-		return filledImage;
+	private static BufferedImage fillImage(final BufferedImage image, final Color color, final IntPredicate fillCondition)
+	{
+		final int[] pixels = ArgbKernels.read(image);
+		ArgbKernels.fill(pixels, pixels, image.getWidth() * image.getHeight(), color.getRGB(), fillCondition);
+		return fromPixels(pixels, image.getWidth(), image.getHeight());
 	}
 
 	/**
@@ -444,26 +417,21 @@ public class ImageUtil
 	 */
 	public static BufferedImage recolorImage(final BufferedImage image, final Color color, final Predicate<Color> recolorCondition)
 	{
-		final BufferedImage recoloredImage = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_ARGB);
-		for (int x = 0; x < recoloredImage.getWidth(); x++)
-		{
-			for (int y = 0; y < recoloredImage.getHeight(); y++)
-			{
-				final Color pixelColor = new Color(image.getRGB(x, y), true);
-				if (!recolorCondition.test(pixelColor))
-				{
-					recoloredImage.setRGB(x, y, image.getRGB(x, y));
-					continue;
-				}
-
-				recoloredImage.setRGB(x, y, color.getRGB());
-			}
-		}
-		return recoloredImage;
+		final int[] pixels = ArgbKernels.read(image);
+		ArgbKernels.recolor(pixels, pixels, image.getWidth() * image.getHeight(), color.getRGB(), colorCondition(recolorCondition));
+		return fromPixels(pixels, image.getWidth(), image.getHeight());
 	}
 
 	public static BufferedImage recolorImage(BufferedImage image, final Color color)
 	{
+		if (image.getType() == BufferedImage.TYPE_INT_ARGB)
+		{
+			final int[] pixels = ArgbKernels.read(image);
+			ArgbKernels.tint(pixels, pixels, image.getWidth() * image.getHeight(), color.getRGB());
+			ArgbKernels.write(pixels, image);
+			return image;
+		}
+
 		int width = image.getWidth();
 		int height = image.getHeight();
 		WritableRaster raster = image.getRaster();
@@ -483,16 +451,39 @@ public class ImageUtil
 	}
 
 	/**
-	 * Performs a rescale operation on the image's color components.
+	 * Performs a rescale operation on the image's color and alpha components.
 	 *
-	 * @param image   The image to be adjusted.
-	 * @param scales  An array of scale operations to be performed on the image's color components.
-	 * @param offsets An array of offset operations to be performed on the image's color components.
-	 * @return        The modified image after applying the given adjustments.
+	 * @param rawImg      The image to be adjusted.
+	 * @param rgbScale    The scale applied to the image's color components.
+	 * @param rgbOffset   The offset added to the image's color components after scaling.
+	 * @param alphaScale  The scale applied to the image's alpha component.
+	 * @param alphaOffset The offset added to the image's alpha component after scaling.
+	 * @return            A copy of the image after applying the given adjustments.
+	 */
+	private static BufferedImage rescale(final Image rawImg, final float rgbScale, final float rgbOffset, final float alphaScale, final float alphaOffset)
+	{
+		final BufferedImage image = toARGB(rawImg);
+		final int[] pixels = ArgbKernels.read(image);
+		ArgbKernels.rescale(pixels, pixels, image.getWidth() * image.getHeight(), rgbScale, rgbOffset, alphaScale, alphaOffset);
+		return fromPixels(pixels, image.getWidth(), image.getHeight());
+	}
+
+	/**
+	 * Creates an ARGB image holding a copy of the given pixels.
+	 */
+	private static BufferedImage fromPixels(final int[] pixels, final int width, final int height)
+	{
+		final BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+		ArgbKernels.write(pixels, image);
+		return image;
+	}
+
+	/**
+	 * Adapts a {@link Color} predicate to packed ARGB pixels.
 	 */
-	private static BufferedImage offset(final BufferedImage image, final float[] scales, final float[] offsets)
+	private static IntPredicate colorCondition(final Predicate<Color> condition)
 	{
-		return new RescaleOp(scales, offsets, null).filter(image, null);
+		return argb -> condition.test(new Color(argb, true));
 	}
 
 
@@ -26,24 +26,34 @@ package net.runelite.client.ws;
 
 import com.google.gson.Gson;
 import com.google.gson.JsonParseException;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.client.eventbus.EventBus;
 import net.runelite.http.api.RuneLiteAPI;
+import net.runelite.http.api.ws.WebsocketBinaryCodec;
 import net.runelite.http.api.ws.WebsocketGsonFactory;
 import net.runelite.http.api.ws.WebsocketMessage;
 import net.runelite.http.api.ws.messages.Handshake;
+import net.runelite.http.api.ws.messages.HandshakeResponse;
 import net.runelite.http.api.ws.messages.party.PartyMessage;
 import okhttp3.Request;
 import okhttp3.Response;
 import okhttp3.WebSocket;
 import okhttp3.WebSocketListener;
+import okio.ByteString;
 import org.jetbrains.annotations.NotNull;
 
 @Slf4j
@@ -52,11 +62,18 @@ public class WSClient extends WebSocketListener implements AutoCloseable
 {
 	private final EventBus eventBus;
 	private final Collection<Class<? extends WebsocketMessage>> messages = new HashSet<>();
+	private final Map<Class<?>, WebsocketBinaryCodec<?>> codecsByClass = new ConcurrentHashMap<>();
+	private final Map<Byte, WebsocketBinaryCodec<?>> codecsByType = new ConcurrentHashMap<>();
 
 	private volatile Gson gson;
 	@Getter
 	private UUID sessionId;
 	private WebSocket webSocket;
+	/**
+	 * Whether the server accepted binary frames for this connection
+	 */
+	@Getter
+	private volatile boolean binary;
 
 	@Inject
 	private WSClient(EventBus eventBus)
@@ -102,10 +119,12 @@ public class WSClient extends WebSocketListener implements AutoCloseable
 			.url(RuneLiteAPI.getWsEndpoint())
 			.build();
 
+		binary = false;
 		webSocket = RuneLiteAPI.CLIENT.newWebSocket(request, this);
 
 		Handshake handshake = new Handshake();
 		handshake.setSession(sessionId);
+		handshake.setCodecs(Arrays.asList(Handshake.CODEC_BINARY, Handshake.CODEC_JSON));
 		send(handshake);
 	}
 
@@ -117,8 +136,30 @@ public class WSClient extends WebSocketListener implements AutoCloseable
 		}
 	}
 
+	/**
+	 * Register a message which is sent as a binary frame when the server supports it,
+	 * and as json otherwise
+	 */
+	public <T extends WebsocketMessage> void registerMessage(final Class<T> message, final WebsocketBinaryCodec<T> codec)
+	{
+		final WebsocketBinaryCodec<?> existing = codecsByType.putIfAbsent(codec.getType(), codec);
+		if (existing != null && existing != codec)
+		{
+			throw new IllegalArgumentException("Binary frame type " + codec.getType() + " is already registered");
+		}
+
+		codecsByClass.put(message, codec);
+		registerMessage(message);
+	}
+
 	public void unregisterMessage(final Class<? extends WebsocketMessage> message)
 	{
+		final WebsocketBinaryCodec<?> codec = codecsByClass.remove(message);
+		if (codec != null)
+		{
+			codecsByType.remove(codec.getType());
+		}
+
 		if (messages.remove(message))
 		{
 			gson = WebsocketGsonFactory.build(WebsocketGsonFactory.factory(messages));
@@ -133,11 +174,42 @@ public class WSClient extends WebSocketListener implements AutoCloseable
 			connect();
 		}
 
+		final WebsocketBinaryCodec<?> codec = binary ? codecsByClass.get(message.getClass()) : null;
+		if (codec != null)
+		{
+			final ByteString frame = encode(codec, message);
+			if (frame != null)
+			{
+				webSocket.send(frame);
+				log.debug("Sent: {} ({} bytes)", message, frame.size());
+				return;
+			}
+		}
+
 		final String json = gson.toJson(message, WebsocketMessage.class);
 		webSocket.send(json);
 		log.debug("Sent: {}", json);
 	}
 
+	@SuppressWarnings("unchecked")
+	private static <T extends WebsocketMessage> ByteString encode(WebsocketBinaryCodec<T> codec, WebsocketMessage message)
+	{
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+
+		try (DataOutputStream out = new DataOutputStream(bytes))
+		{
+			out.writeByte(codec.getType());
+			codec.encode((T) message, out);
+		}
+		catch (IOException e)
+		{
+			log.debug("Failed to encode message, falling back to json", e);
+			return null;
+		}
+
+		return ByteString.of(bytes.toByteArray());
+	}
+
 	@Override
 	public void close()
 	{
@@ -168,6 +240,13 @@ public class WSClient extends WebSocketListener implements AutoCloseable
 			return;
 		}
 
+		if (message instanceof HandshakeResponse)
+		{
+			binary = Handshake.CODEC_BINARY.equals(((HandshakeResponse) message).getCodec());
+			log.debug("Using {} frames", binary ? "binary" : "json");
+			return;
+		}
+
 		if (message.isParty() && !(message instanceof PartyMessage))
 		{
 			// spoofed message?
@@ -175,7 +254,44 @@ public class WSClient extends WebSocketListener implements AutoCloseable
 		}
 
 		log.debug("Got: {}", text);
-		eventBus.post(PartyMessage.class, message);
+		eventBus.post(message.getClass(), message);
+	}
+
+	@Override
+	public void onMessage(@NotNull WebSocket webSocket, @NotNull ByteString bytes)
+	{
+		if (bytes.size() == 0)
+		{
+			return;
+		}
+
+		final WebsocketBinaryCodec<?> codec = codecsByType.get(bytes.getByte(0));
+		if (codec == null)
+		{
+			log.debug("No codec for binary frame type {}", bytes.getByte(0));
+			return;
+		}
+
+		final WebsocketMessage message;
+
+		try (DataInputStream in = new DataInputStream(bytes.substring(1).inputStream()))
+		{
+			message = codec.decode(in);
+		}
+		catch (IOException e)
+		{
+			log.debug("Failed to decode binary frame", e);
+			return;
+		}
+
+		if (!(message instanceof PartyMessage))
+		{
+			// binary frames are only relayed between party members
+			return;
+		}
+
+		log.debug("Got: {} ({} bytes)", message, bytes.size());
+		eventBus.post(message.getClass(), message);
 	}
 
 	@Override
@@ -183,6 +299,7 @@ public class WSClient extends WebSocketListener implements AutoCloseable
 	{
 		log.info("Websocket {} closed: {}/{}", webSocket, code, reason);
 		this.webSocket = null;
+		this.binary = false;
 	}
 
 	@Override
@@ -190,5 +307,6 @@ public class WSClient extends WebSocketListener implements AutoCloseable
 	{
 		log.warn("Error in websocket {}:{}", response, t);
 		this.webSocket = null;
+		this.binary = false;
 	}
 }
@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2020, https://openosrs.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.game;
+
+import net.runelite.api.CollisionData;
+import net.runelite.api.CollisionDataFlag;
+import static net.runelite.api.Constants.MAX_Z;
+import static net.runelite.api.Constants.SCENE_SIZE;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import org.junit.Before;
+import org.junit.Test;
+
+public class CollisionMapTest
+{
+	private int[][] flags;
+	private CollisionMap collisionMap;
+
+	@Before
+	public void before()
+	{
+		flags = new int[SCENE_SIZE][SCENE_SIZE];
+		collisionMap = new CollisionMap();
+	}
+
+	private void update()
+	{
+		CollisionData[] maps = new CollisionData[MAX_Z];
+		for (int z = 0; z < MAX_Z; z++)
+		{
+			maps[z] = () -> flags;
+		}
+		collisionMap.update(maps);
+	}
+
+	private static int tile(int x, int y)
+	{
+		return x * SCENE_SIZE + y;
+	}
+
+	@Test
+	public void testOpenField()
+	{
+		update();
+
+		int[] path = collisionMap.findPath(0, 10, 10, 15, 12);
+		assertEquals(6, path.length);
+		assertEquals(tile(10, 10), path[0]);
+		assertEquals(tile(15, 12), path[path.length - 1]);
+
+		int[] distances = new int[SCENE_SIZE * SCENE_SIZE];
+		collisionMap.computeDistances(0, 10, 10, distances);
+		assertEquals(5, distances[tile(15, 12)]);
+		assertEquals(0, distances[tile(10, 10)]);
+
+		assertArrayEquals(new int[]{tile(3, 3)}, collisionMap.findPath(0, 3, 3, 3, 3));
+	}
+
+	@Test
+	public void testWallDetour()
+	{
+		// a solid column at x = 20 with a single gap at y = 30
+		for (int y = 0; y < SCENE_SIZE; y++)
+		{
+			if (y != 30)
+			{
+				flags[20][y] = CollisionDataFlag.BLOCK_MOVEMENT_OBJECT;
+			}
+		}
+		update();
+
+		int[] distances = new int[SCENE_SIZE * SCENE_SIZE];
+		collisionMap.computeDistances(0, 19, 10, distances);
+
+		int[] path = collisionMap.findPath(0, 19, 10, 21, 10);
+		assertEquals(distances[tile(21, 10)] + 1, path.length);
+		assertEquals(42, path.length - 1);
+
+		for (int i = 1; i < path.length; i++)
+		{
+			int dx = path[i] / SCENE_SIZE - path[i - 1] / SCENE_SIZE;
+			int dy = path[i] % SCENE_SIZE - path[i - 1] % SCENE_SIZE;
+			assertTrue(collisionMap.canMove(0, path[i - 1] / SCENE_SIZE, path[i - 1] % SCENE_SIZE, dx, dy));
+		}
+
+		assertFalse(collisionMap.canMove(0, 19, 10, 1, 0));
+		// cutting the corner of a blocked tile isn't allowed
+		assertFalse(collisionMap.canMove(0, 19, 31, 1, -1));
+	}
+
+	@Test
+	public void testUnreachable()
+	{
+		// fence in the tile at (50, 50)
+		flags[50][50] = CollisionDataFlag.BLOCK_MOVEMENT_NORTH | CollisionDataFlag.BLOCK_MOVEMENT_EAST
+			| CollisionDataFlag.BLOCK_MOVEMENT_SOUTH | CollisionDataFlag.BLOCK_MOVEMENT_WEST;
+		flags[50][51] = CollisionDataFlag.BLOCK_MOVEMENT_SOUTH;
+		flags[51][50] = CollisionDataFlag.BLOCK_MOVEMENT_WEST;
+		flags[50][49] = CollisionDataFlag.BLOCK_MOVEMENT_NORTH;
+		flags[49][50] = CollisionDataFlag.BLOCK_MOVEMENT_EAST;
+		for (int dx = -1; dx <= 1; dx += 2)
+		{
+			for (int dy = -1; dy <= 1; dy += 2)
+			{
+				flags[50 + dx][50 + dy] = CollisionDataFlag.BLOCK_MOVEMENT_FULL;
+			}
+		}
+		update();
+
+		assertNull(collisionMap.findPath(0, 10, 10, 50, 50));
+		assertNull(collisionMap.findPath(0, 50, 50, 10, 10));
+
+		int[] distances = new int[SCENE_SIZE * SCENE_SIZE];
+		collisionMap.computeDistances(0, 10, 10, distances);
+		assertEquals(CollisionMap.UNREACHABLE, distances[tile(50, 50)]);
+	}
+
+	@Test
+	public void testLineOfSight()
+	{
+		flags[30][30] = CollisionDataFlag.BLOCK_LINE_OF_SIGHT_FULL;
+		update();
+
+		assertFalse(collisionMap.hasLineOfSight(0, 25, 30, 35, 30));
+		assertTrue(collisionMap.hasLineOfSight(0, 25, 31, 35, 31));
+	}
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2020, https://openosrs.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.game;
+
+import java.util.Random;
+import net.runelite.api.coords.WorldArea;
+import net.runelite.api.coords.WorldPoint;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+public class WorldAreaIndexTest
+{
+	private static final WorldArea[] AREAS = {
+		new WorldArea(3200, 3200, 10, 10, 0),
+		new WorldArea(3205, 3205, 20, 20, 0),
+		new WorldArea(3300, 3200, 5, 5, 0),
+		new WorldArea(3300, 3300, 5, 5, 1),
+		new WorldArea(2000, 9000, 300, 40, 0),
+	};
+
+	private final WorldAreaIndex index = new WorldAreaIndex(AREAS);
+
+	@Test
+	public void testIndexOf()
+	{
+		assertEquals(0, index.indexOf(3200, 3200, 0));
+		// overlapping areas resolve to the lowest index
+		assertEquals(0, index.indexOf(3207, 3207, 0));
+		assertEquals(1, index.indexOf(3224, 3224, 0));
+		assertEquals(-1, index.indexOf(3225, 3224, 0));
+		assertEquals(-1, index.indexOf(3302, 3302, 0));
+		assertEquals(3, index.indexOf(3302, 3302, 1));
+		assertEquals(-1, index.indexOf(-50, -50, 0));
+	}
+
+	@Test
+	public void testNearest()
+	{
+		// 3 tiles from area 2, 76 from area 1
+		assertEquals(2, index.nearest(3297, 3202, 0, 10000));
+		assertEquals(-1, index.nearest(3297, 3202, 0, 3));
+		// area 3 is on another plane
+		assertEquals(2, index.nearest(3302, 3260, 0, 10000));
+		assertEquals(3, index.nearest(3302, 3260, 1, 10000));
+		assertEquals(-1, index.nearest(3302, 3260, 2, 10000));
+	}
+
+	@Test
+	public void testMatchesLinearScan()
+	{
+		Random random = new Random(42);
+		for (int i = 0; i < 20_000; i++)
+		{
+			int x = 1500 + random.nextInt(2500);
+			int y = 2800 + random.nextInt(7000);
+			int plane = random.nextInt(2);
+			WorldPoint point = new WorldPoint(x, y, plane);
+
+			int contained = -1;
+			int closest = -1;
+			int closestDistance = 10000;
+			for (int a = 0; a < AREAS.length; a++)
+			{
+				if (contained < 0 && AREAS[a].distanceTo(point) == 0)
+				{
+					contained = a;
+				}
+
+				int distance = AREAS[a].distanceTo(point);
+				if (distance < closestDistance)
+				{
+					closestDistance = distance;
+					closest = a;
+				}
+			}
+
+			assertEquals(contained, index.indexOf(x, y, plane));
+			assertEquals(closest, index.nearest(x, y, plane, 10000));
+		}
+	}
+}
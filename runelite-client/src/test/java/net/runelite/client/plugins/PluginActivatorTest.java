@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) 2020, https://openosrs.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.plugins;
+
+import com.google.inject.Guice;
+import com.google.inject.testing.fieldbinder.Bind;
+import com.google.inject.testing.fieldbinder.BoundFieldModule;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.inject.Inject;
+import net.runelite.api.Client;
+import net.runelite.client.eventbus.EventBus;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import static org.mockito.ArgumentMatchers.any;
+import org.mockito.Mock;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class PluginActivatorTest
+{
+	private static final int REGION = 9043;
+	private static final int[] IN_REGION = {REGION};
+	private static final int[] OUT_OF_REGION = {12850};
+
+	@PluginDescriptor(
+		name = "Region",
+		activation = @PluginActivation(regions = REGION, idleTimeout = 10)
+	)
+	static class RegionPlugin extends Plugin
+	{
+	}
+
+	@PluginDescriptor(
+		name = "Sticky",
+		activation = @PluginActivation(regions = REGION, idleTimeout = -1)
+	)
+	static class StickyPlugin extends Plugin
+	{
+	}
+
+	@PluginDescriptor(
+		name = "Unconditional"
+	)
+	static class UnconditionalPlugin extends Plugin
+	{
+	}
+
+	@Mock
+	@Bind
+	private Client client;
+
+	@Mock
+	@Bind
+	private PluginManager pluginManager;
+
+	@Mock
+	@Bind
+	private ScheduledExecutorService executor;
+
+	@Mock
+	@Bind
+	private EventBus eventBus;
+
+	@Inject
+	private PluginActivator pluginActivator;
+
+	@Before
+	public void before()
+	{
+		Guice.createInjector(BoundFieldModule.of(this)).injectMembers(this);
+
+		// run plugin starts and stops inline
+		lenient().when(executor.submit(any(Runnable.class))).thenAnswer(invocation ->
+		{
+			invocation.<Runnable>getArgument(0).run();
+			return null;
+		});
+	}
+
+	@Test
+	public void testDefer()
+	{
+		assertTrue(pluginActivator.defer(new RegionPlugin()));
+		assertFalse(pluginActivator.defer(new UnconditionalPlugin()));
+	}
+
+	@Test
+	public void testActivate() throws PluginInstantiationException
+	{
+		Plugin plugin = new RegionPlugin();
+		pluginActivator.defer(plugin);
+
+		when(client.getMapRegions()).thenReturn(OUT_OF_REGION);
+		pluginActivator.update(0);
+		verify(pluginManager, never()).activate(plugin);
+
+		when(client.getMapRegions()).thenReturn(IN_REGION);
+		pluginActivator.update(seconds(1));
+		pluginActivator.update(seconds(2));
+		verify(pluginManager, times(1)).activate(plugin);
+	}
+
+	@Test
+	public void testIdleTimeout() throws PluginInstantiationException
+	{
+		Plugin plugin = new RegionPlugin();
+		pluginActivator.defer(plugin);
+
+		when(client.getMapRegions()).thenReturn(IN_REGION);
+		pluginActivator.update(0);
+		verify(pluginManager).activate(plugin);
+
+		// the timeout counts from the last update the condition held
+		pluginActivator.update(seconds(5));
+		when(client.getMapRegions()).thenReturn(OUT_OF_REGION);
+		pluginActivator.update(seconds(14));
+		verify(pluginManager, never()).deactivate(plugin);
+
+		pluginActivator.update(seconds(15));
+		verify(pluginManager).deactivate(plugin);
+
+		// and it starts again on return
+		when(client.getMapRegions()).thenReturn(IN_REGION);
+		pluginActivator.update(seconds(16));
+		verify(pluginManager, times(2)).activate(plugin);
+	}
+
+	@Test
+	public void testNoIdleTimeout() throws PluginInstantiationException
+	{
+		Plugin plugin = new StickyPlugin();
+		pluginActivator.defer(plugin);
+
+		when(client.getMapRegions()).thenReturn(IN_REGION);
+		pluginActivator.update(0);
+
+		when(client.getMapRegions()).thenReturn(OUT_OF_REGION);
+		pluginActivator.update(TimeUnit.DAYS.toNanos(1));
+		verify(pluginManager).activate(plugin);
+		verify(pluginManager, never()).deactivate(plugin);
+	}
+
+	@Test
+	public void testForget() throws PluginInstantiationException
+	{
+		Plugin plugin = new RegionPlugin();
+		pluginActivator.defer(plugin);
+		pluginActivator.forget(plugin);
+
+		pluginActivator.update(0);
+		verify(pluginManager, never()).activate(plugin);
+	}
+
+	@Test
+	public void testFailedActivationDropped() throws PluginInstantiationException
+	{
+		Plugin plugin = new RegionPlugin();
+		pluginActivator.defer(plugin);
+		when(pluginManager.activate(plugin)).thenThrow(new PluginInstantiationException("test"));
+
+		when(client.getMapRegions()).thenReturn(IN_REGION);
+		pluginActivator.update(0);
+		pluginActivator.update(seconds(1));
+		verify(pluginManager, times(1)).activate(plugin);
+	}
+
+	private static long seconds(int seconds)
+	{
+		return TimeUnit.SECONDS.toNanos(seconds);
+	}
+}
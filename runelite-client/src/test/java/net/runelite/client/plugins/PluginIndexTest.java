@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2020, https://openosrs.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.plugins;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class PluginIndexTest
+{
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testParse()
+	{
+		PluginIndex.Entry entry = PluginIndex.parse("net.runelite.client.plugins.foo.FooPlugin\tFoo\tPVM\tfalse\ttrue\tfalse\ttrue\t"
+			+ "net.runelite.client.plugins.bar.BarPlugin,net.runelite.client.plugins.baz.BazPlugin\tnet.runelite.client.plugins.foo.FooConfig");
+
+		assertEquals("net.runelite.client.plugins.foo.FooPlugin", entry.getClassName());
+		assertEquals("Foo", entry.getName());
+		assertEquals(PluginType.PVM, entry.getType());
+		assertFalse(entry.isEnabledByDefault());
+		assertTrue(entry.isHidden());
+		assertFalse(entry.isDeveloperPlugin());
+		assertTrue(entry.isLoadWhenOutdated());
+		assertEquals(Arrays.asList("net.runelite.client.plugins.bar.BarPlugin", "net.runelite.client.plugins.baz.BazPlugin"), entry.getDependencies());
+		assertEquals("net.runelite.client.plugins.foo.FooConfig", entry.getConfig());
+	}
+
+	@Test
+	public void testParseEmptyDependenciesAndConfig()
+	{
+		PluginIndex.Entry entry = PluginIndex.parse("net.runelite.client.plugins.foo.FooPlugin\tFoo\tUNCATEGORIZED\ttrue\tfalse\tfalse\tfalse\t\t");
+
+		assertEquals(Collections.emptyList(), entry.getDependencies());
+		assertNull(entry.getConfig());
+	}
+
+	@Test
+	public void testParseMalformed()
+	{
+		// too few fields
+		assertNull(PluginIndex.parse("net.runelite.client.plugins.foo.FooPlugin\tFoo\tPVM"));
+		// too many fields
+		assertNull(PluginIndex.parse("net.runelite.client.plugins.foo.FooPlugin\tFoo\tPVM\ttrue\tfalse\tfalse\tfalse\t\t\t"));
+		// unknown plugin type
+		assertNull(PluginIndex.parse("net.runelite.client.plugins.foo.FooPlugin\tFoo\tNOPE\ttrue\tfalse\tfalse\tfalse\t\t"));
+		assertNull(PluginIndex.parse(""));
+	}
+
+	@Test
+	public void testRead() throws IOException
+	{
+		File root = folder.newFolder();
+		File index = new File(root, PluginIndex.INDEX);
+		index.getParentFile().mkdirs();
+		Files.write(index.toPath(), Arrays.asList(
+			"# class\tname\ttype\tenabledByDefault\thidden\tdeveloperPlugin\tloadWhenOutdated\tdependencies\tconfig",
+			"net.runelite.client.plugins.bar.BarPlugin\tBar\tUTILITY\ttrue\tfalse\tfalse\tfalse\t\t",
+			"",
+			"malformed",
+			"net.runelite.client.plugins.foo.FooPlugin\tFoo\tPVM\ttrue\tfalse\tfalse\tfalse\tnet.runelite.client.plugins.bar.BarPlugin\t"
+		), StandardCharsets.UTF_8);
+
+		try (URLClassLoader classLoader = new URLClassLoader(new URL[]{root.toURI().toURL()}, null))
+		{
+			List<PluginIndex.Entry> entries = PluginIndex.read(classLoader);
+			assertEquals(2, entries.size());
+			assertEquals("Bar", entries.get(0).getName());
+			assertEquals(Collections.singletonList("net.runelite.client.plugins.bar.BarPlugin"), entries.get(1).getDependencies());
+		}
+	}
+
+	@Test
+	public void testReadWithoutIndex() throws IOException
+	{
+		try (URLClassLoader classLoader = new URLClassLoader(new URL[]{folder.newFolder().toURI().toURL()}, null))
+		{
+			assertNull(PluginIndex.read(classLoader));
+		}
+	}
+}
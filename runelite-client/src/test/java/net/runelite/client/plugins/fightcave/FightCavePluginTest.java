@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2020, https://openosrs.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.plugins.fightcave;
+
+import com.google.inject.Guice;
+import com.google.inject.testing.fieldbinder.Bind;
+import com.google.inject.testing.fieldbinder.BoundFieldModule;
+import java.util.Arrays;
+import javax.inject.Inject;
+import net.runelite.api.Client;
+import net.runelite.api.GameState;
+import net.runelite.api.NPC;
+import net.runelite.api.NpcID;
+import net.runelite.client.callback.ClientThread;
+import net.runelite.client.game.NPCManager;
+import net.runelite.client.ui.overlay.OverlayManager;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import static org.mockito.ArgumentMatchers.any;
+import org.mockito.Mock;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class FightCavePluginTest
+{
+	@Mock
+	@Bind
+	private Client client;
+
+	@Mock
+	@Bind
+	private ClientThread clientThread;
+
+	@Mock
+	@Bind
+	private NPCManager npcManager;
+
+	@Mock
+	@Bind
+	private OverlayManager overlayManager;
+
+	@Mock
+	@Bind
+	private WaveOverlay waveOverlay;
+
+	@Mock
+	@Bind
+	private FightCaveOverlay fightCaveOverlay;
+
+	@Mock
+	@Bind
+	private FightCaveConfig config;
+
+	@Inject
+	private FightCavePlugin fightCavePlugin;
+
+	@Before
+	public void setUp()
+	{
+		Guice.createInjector(BoundFieldModule.of(this)).injectMembers(this);
+
+		when(client.getGameState()).thenReturn(GameState.LOGGED_IN);
+	}
+
+	@Test
+	public void testStartUpAddsExistingNpcs()
+	{
+		NPC jad = npc(NpcID.TZTOKJAD);
+		NPC other = npc(NpcID.TZHAARMEJ);
+		when(client.getMapRegions()).thenReturn(new int[]{FightCavePlugin.FIGHT_CAVE_REGION});
+		when(client.getNpcs()).thenReturn(Arrays.asList(jad, other));
+		when(npcManager.getAttackSpeed(NpcID.TZTOKJAD)).thenReturn(8);
+
+		// run invocations on the client thread straight away
+		doAnswer(invocation ->
+		{
+			((Runnable) invocation.getArgument(0)).run();
+			return null;
+		}).when(clientThread).invoke(any(Runnable.class));
+
+		fightCavePlugin.startUp();
+
+		assertTrue(fightCavePlugin.isValidRegion());
+		assertEquals(1, fightCavePlugin.getFightCaveContainer().size());
+
+		FightCaveContainer container = fightCavePlugin.getFightCaveContainer().iterator().next();
+		assertSame(jad, container.getNpc());
+		assertEquals(8, container.getAttackSpeed());
+	}
+
+	@Test
+	public void testStartUpOutsideFightCave()
+	{
+		when(client.getMapRegions()).thenReturn(new int[]{FightCavePlugin.FIGHT_CAVE_REGION + 1});
+
+		fightCavePlugin.startUp();
+
+		verify(clientThread, never()).invoke(any(Runnable.class));
+		assertTrue(fightCavePlugin.getFightCaveContainer().isEmpty());
+	}
+
+	private static NPC npc(int id)
+	{
+		NPC npc = mock(NPC.class);
+		when(npc.getId()).thenReturn(id);
+		return npc;
+	}
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) 2020, https://openosrs.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.plugins.multiindicators;
+
+import java.awt.Polygon;
+import java.awt.Rectangle;
+import java.awt.geom.Area;
+import java.awt.geom.GeneralPath;
+import java.awt.geom.PathIterator;
+import java.util.Collections;
+import java.util.function.IntFunction;
+import net.runelite.api.Constants;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class ZoneMapTest
+{
+	/**
+	 * Spacing of the grid sampled inside each zone, on top of the tiles around every outline vertex.
+	 */
+	private static final int STRIDE = 16;
+
+	@Test
+	public void testMulticombat()
+	{
+		check(MapLocations::getMulticombat, MapLocations::getMulticombatMap);
+	}
+
+	@Test
+	public void testRoughWilderness()
+	{
+		check(MapLocations::getRoughWilderness, MapLocations::getRoughWildernessMap);
+	}
+
+	@Test
+	public void testWildernessLevelLines()
+	{
+		check(MapLocations::getWildernessLevelLines, MapLocations::getWildernessLevelLinesMap);
+	}
+
+	@Test
+	public void testDeadmanSafeZones()
+	{
+		check(MapLocations::getDeadmanSafeZones, MapLocations::getDeadmanSafeZonesMap);
+	}
+
+	@Test
+	public void testPvpSafeZones()
+	{
+		check(MapLocations::getPvpSafeZones, MapLocations::getPvpSafeZonesMap);
+	}
+
+	@Test
+	public void testLazyPerPlane()
+	{
+		assertSame(MapLocations.getPvpSafeZonesMap(0), MapLocations.getPvpSafeZonesMap(0));
+	}
+
+	@Test
+	public void testSubtract()
+	{
+		ZoneMap outer = ZoneMap.rasterize(Collections.singletonList(new Rectangle(3000, 3000, 100, 100)));
+		ZoneMap inner = ZoneMap.rasterize(Collections.singletonList(new Rectangle(3010, 3010, 10, 10)));
+		ZoneMap ring = outer.subtract(inner);
+
+		assertTrue(ring.contains(3000, 3000));
+		assertTrue(ring.contains(3099, 3099));
+		assertTrue(ring.contains(3009, 3015));
+		assertFalse(ring.contains(3010, 3010));
+		assertFalse(ring.contains(3019, 3019));
+		assertTrue(ring.contains(3020, 3019));
+		assertFalse(ring.contains(3100, 3050));
+	}
+
+	@Test
+	public void testEvenOdd()
+	{
+		// a square with a square hole, drawn as one self-overlapping outline
+		Polygon polygon = new Polygon(
+			new int[]{0, 10, 10, 0, 0, 3, 3, 6, 6, 0},
+			new int[]{0, 0, 10, 10, 3, 3, 6, 6, 3, 3},
+			10);
+		ZoneMap map = ZoneMap.rasterize(Collections.singletonList(polygon));
+
+		for (int x = -1; x <= 10; x++)
+		{
+			for (int y = -1; y <= 10; y++)
+			{
+				assertEquals(x + "," + y, polygon.contains(x + 0.5, y + 0.5), map.contains(x, y));
+			}
+		}
+	}
+
+	@Test
+	public void testAppendBoundary()
+	{
+		ZoneMap map = ZoneMap.rasterize(Collections.singletonList(new Rectangle(3200, 3200, 5, 3)));
+
+		GeneralPath path = new GeneralPath();
+		map.appendBoundary(path, new Rectangle(3190, 3190, 20, 20), null);
+		assertEquals(2 * (5 + 3), segments(path));
+
+		// a window cutting the rectangle only sees the edges inside it
+		path = new GeneralPath();
+		map.appendBoundary(path, new Rectangle(3190, 3190, 12, 20), null);
+		assertEquals(2 * 2 + 3, segments(path));
+
+		// edges away from the clip zone are dropped
+		ZoneMap clip = ZoneMap.rasterize(Collections.singletonList(new Rectangle(3200, 3200, 1, 1)));
+		path = new GeneralPath();
+		map.appendBoundary(path, new Rectangle(3190, 3190, 20, 20), clip);
+		assertEquals(2, segments(path));
+	}
+
+	/**
+	 * Compares the rasters of a zone with the Area built from the same polygons, on every plane.
+	 * For the integer outlines in {@link MapLocations}, {@link Area#contains(double, double)} at
+	 * a tile's south west corner tells whether the tile is covered.
+	 */
+	private static void check(IntFunction<Area> areas, IntFunction<ZoneMap> maps)
+	{
+		Area previous = null;
+		for (int plane = 0; plane < Constants.MAX_Z; plane++)
+		{
+			Area area = areas.apply(plane);
+			if (previous != null && area.equals(previous))
+			{
+				continue;
+			}
+			previous = area;
+
+			ZoneMap map = maps.apply(plane);
+			Rectangle bounds = area.getBounds();
+
+			for (int x = bounds.x - 1; x <= bounds.x + bounds.width; x += STRIDE)
+			{
+				for (int y = bounds.y - 1; y <= bounds.y + bounds.height; y += STRIDE)
+				{
+					assertEquals(plane + ": " + x + "," + y, area.contains(x, y), map.contains(x, y));
+				}
+			}
+
+			float[] coords = new float[6];
+			for (PathIterator it = area.getPathIterator(null); !it.isDone(); it.next())
+			{
+				if (it.currentSegment(coords) == PathIterator.SEG_CLOSE)
+				{
+					continue;
+				}
+
+				// the four tiles meeting at the vertex
+				int vx = Math.round(coords[0]), vy = Math.round(coords[1]);
+				for (int x = vx - 1; x <= vx; x++)
+				{
+					for (int y = vy - 1; y <= vy; y++)
+					{
+						assertEquals(plane + ": " + x + "," + y, area.contains(x, y), map.contains(x, y));
+					}
+				}
+			}
+		}
+	}
+
+	private static int segments(GeneralPath path)
+	{
+		int segments = 0;
+		for (PathIterator it = path.getPathIterator(null); !it.isDone(); it.next())
+		{
+			if (it.currentSegment(new float[6]) == PathIterator.SEG_LINETO)
+			{
+				segments++;
+			}
+		}
+		return segments;
+	}
+}
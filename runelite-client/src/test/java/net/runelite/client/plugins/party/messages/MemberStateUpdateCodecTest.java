@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2020, https://openosrs.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.plugins.party.messages;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.UUID;
+import net.runelite.api.Skill;
+import net.runelite.api.coords.WorldPoint;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import org.junit.Test;
+
+public class MemberStateUpdateCodecTest
+{
+	private final MemberStateUpdateCodec codec = new MemberStateUpdateCodec();
+
+	@Test
+	public void testRoundTrip() throws IOException
+	{
+		final MemberStateUpdate update = new MemberStateUpdate();
+		update.setMemberId(UUID.randomUUID());
+		update.setWorldPoint(new WorldPoint(3222, 3218, 2));
+		update.addStat(Skill.HITPOINTS, 121, 99);
+		update.addStat(Skill.PRAYER, 0, 77);
+
+		final MemberStateUpdate decoded = roundTrip(update);
+		assertEquals(update.getMemberId(), decoded.getMemberId());
+		assertEquals(update.getWorldPoint(), decoded.getWorldPoint());
+		assertEquals(update.getStats(), decoded.getStats());
+	}
+
+	@Test
+	public void testStatsOnly() throws IOException
+	{
+		final MemberStateUpdate update = new MemberStateUpdate();
+		update.setMemberId(UUID.randomUUID());
+		update.addStat(Skill.HITPOINTS, 50, 99);
+
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		codec.encode(update, new DataOutputStream(bytes));
+		assertEquals(21, bytes.size());
+
+		final MemberStateUpdate decoded = roundTrip(update);
+		assertNull(decoded.getWorldPoint());
+		assertEquals(update.getStats(), decoded.getStats());
+	}
+
+	@Test(expected = IOException.class)
+	public void testUnknownSkill() throws IOException
+	{
+		final byte[] frame = new byte[19];
+		frame[17] = 1; // stat count
+		frame[18] = (byte) 0xFF;
+		codec.decode(new DataInputStream(new ByteArrayInputStream(frame)));
+	}
+
+	private MemberStateUpdate roundTrip(MemberStateUpdate update) throws IOException
+	{
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		codec.encode(update, new DataOutputStream(bytes));
+		return codec.decode(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+	}
+}
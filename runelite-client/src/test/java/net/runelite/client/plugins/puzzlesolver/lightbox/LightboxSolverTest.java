@@ -25,6 +25,7 @@
 package net.runelite.client.plugins.puzzlesolver.lightbox;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import org.junit.Test;
 
 public class LightboxSolverTest
@@ -141,4 +142,40 @@ public class LightboxSolverTest
 
 		assertEquals(expected, solution);
 	}
-}
\ No newline at end of file
+
+	@Test
+	public void testUnknownSwitches()
+	{
+		LightboxSolver solver = new LightboxSolver();
+
+		// C and H are not part of the solution, so they don't need to be known
+		solver.setInitial(fromArray(INITIAL));
+		solver.setSwitchChange(Combination.A, fromArray(A));
+		solver.setSwitchChange(Combination.B, fromArray(B));
+		solver.setSwitchChange(Combination.D, fromArray(D));
+		solver.setSwitchChange(Combination.E, fromArray(E));
+		solver.setSwitchChange(Combination.F, fromArray(F));
+		solver.setSwitchChange(Combination.G, fromArray(G));
+
+		LightboxSolution expected = new LightboxSolution();
+		expected.flip(Combination.A);
+		expected.flip(Combination.B);
+		expected.flip(Combination.D);
+		expected.flip(Combination.E);
+		expected.flip(Combination.F);
+		expected.flip(Combination.G);
+
+		assertEquals(expected, solver.solve());
+	}
+
+	@Test
+	public void testUnsolvable()
+	{
+		LightboxSolver solver = new LightboxSolver();
+
+		solver.setInitial(fromArray(INITIAL));
+		solver.setSwitchChange(Combination.A, fromArray(A));
+
+		assertNull(solver.solve());
+	}
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2020, https://openosrs.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.plugins.raids.solver;
+
+import java.util.Arrays;
+import java.util.List;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class LayoutSolverTest
+{
+	private final LayoutSolver layoutSolver = new LayoutSolver();
+
+	@Test
+	public void testEveryLayoutMatchesItself()
+	{
+		for (Layout layout : LayoutSolver.getLayouts())
+		{
+			long candidates = LayoutSolver.match(scoutedCode(layout));
+			int index = LayoutSolver.getLayouts().indexOf(layout);
+
+			assertNotEquals(layout.getCode(), 0, candidates & (1L << index));
+			assertTrue(layoutSolver.findCandidates(scoutedCode(layout)).contains(layout));
+		}
+	}
+
+	@Test
+	public void testUnscoutedMatchesAll()
+	{
+		int layouts = LayoutSolver.getLayouts().size();
+
+		assertEquals(layouts, Long.bitCount(LayoutSolver.match("")));
+		assertEquals(layouts, Long.bitCount(LayoutSolver.match("                ")));
+		assertEquals(layouts, layoutSolver.findCandidates("").size());
+	}
+
+	@Test
+	public void testMismatchedRoomExcludes()
+	{
+		Layout layout = LayoutSolver.getLayouts().get(0);
+		char[] code = scoutedCode(layout).toCharArray();
+		int position = layout.getRooms().get(1).getPosition();
+		code[position] = code[position] == 'C' ? 'P' : 'C';
+
+		assertFalse(layoutSolver.findCandidates(new String(code)).contains(layout));
+	}
+
+	@Test
+	public void testPartialCodeCandidates()
+	{
+		Layout layout = LayoutSolver.getLayouts().get(3);
+		String full = scoutedCode(layout);
+
+		// only scout the first two rooms, so several layouts remain
+		Room first = layout.getRooms().get(0), second = layout.getRooms().get(1);
+		char[] code = new char[full.length()];
+		Arrays.fill(code, ' ');
+		code[first.getPosition()] = first.getSymbol();
+		code[second.getPosition()] = second.getSymbol();
+
+		List<Layout> candidates = layoutSolver.findCandidates(new String(code));
+		assertTrue(candidates.contains(layout));
+		assertEquals(Long.bitCount(LayoutSolver.match(new String(code))), candidates.size());
+	}
+
+	/**
+	 * @return a raid code with every room of the layout scouted, indexed by room position
+	 */
+	private static String scoutedCode(Layout layout)
+	{
+		char[] code = new char[16];
+		Arrays.fill(code, ' ');
+		for (Room room : layout.getRooms())
+		{
+			code[room.getPosition()] = room.getSymbol();
+		}
+		return new String(code);
+	}
+}
@@ -156,7 +156,7 @@ public class ScreenshotPluginTest
 		ChatMessage chatMessageEvent = new ChatMessage(null, GAMEMESSAGE, "", VALUABLE_DROP, null, 0);
 		screenshotPlugin.onChatMessage(chatMessageEvent);
 
-		verify(drawManager).requestNextFrameListener(any(Consumer.class));
+		verify(drawManager).requestNextFrame(any(Consumer.class));
 	}
 
 	@SuppressWarnings("unchecked")
@@ -166,7 +166,7 @@ public class ScreenshotPluginTest
 		ChatMessage chatMessageEvent = new ChatMessage(null, GAMEMESSAGE, "", UNTRADEABLE_DROP, null, 0);
 		screenshotPlugin.onChatMessage(chatMessageEvent);
 
-		verify(drawManager).requestNextFrameListener(any(Consumer.class));
+		verify(drawManager).requestNextFrame(any(Consumer.class));
 	}
 
 	@SuppressWarnings("unchecked")
@@ -187,7 +187,7 @@ public class ScreenshotPluginTest
 		GameTick tick = GameTick.INSTANCE;
 		screenshotPlugin.onGameTick(tick);
 
-		verify(drawManager).requestNextFrameListener(any(Consumer.class));
+		verify(drawManager).requestNextFrame(any(Consumer.class));
 	}
 
 	@SuppressWarnings("unchecked")
@@ -208,7 +208,7 @@ public class ScreenshotPluginTest
 		GameTick tick = GameTick.INSTANCE;
 		screenshotPlugin.onGameTick(tick);
 
-		verify(drawManager).requestNextFrameListener(any(Consumer.class));
+		verify(drawManager).requestNextFrame(any(Consumer.class));
 	}
 
 	@SuppressWarnings("unchecked")
@@ -229,7 +229,7 @@ public class ScreenshotPluginTest
 		GameTick tick = GameTick.INSTANCE;
 		screenshotPlugin.onGameTick(tick);
 
-		verify(drawManager).requestNextFrameListener(any(Consumer.class));
+		verify(drawManager).requestNextFrame(any(Consumer.class));
 	}
 
 	@SuppressWarnings("unchecked")
@@ -250,6 +250,6 @@ public class ScreenshotPluginTest
 		GameTick tick = GameTick.INSTANCE;
 		screenshotPlugin.onGameTick(tick);
 
-		verify(drawManager).requestNextFrameListener(any(Consumer.class));
+		verify(drawManager).requestNextFrame(any(Consumer.class));
 	}
 }
\ No newline at end of file
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2020, https://openosrs.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.rs;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ClientArtifactCacheTest
+{
+	private static final byte[] FIRST = "codebase=http://oldschool1.runescape.com/".getBytes(StandardCharsets.UTF_8);
+	private static final byte[] SECOND = "codebase=http://oldschool2.runescape.com/".getBytes(StandardCharsets.UTF_8);
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testPutAndReload() throws IOException
+	{
+		final File dir = folder.newFolder();
+		new ClientArtifactCache(dir).put("jav_config", null, FIRST);
+
+		assertArrayEquals(FIRST, new ClientArtifactCache(dir).read("jav_config"));
+	}
+
+	@Test
+	public void testSource() throws IOException
+	{
+		final ClientArtifactCache cache = new ClientArtifactCache(folder.newFolder());
+		final File jar = cache.put("gamepack", "gamepack_1.jar", FIRST);
+
+		assertEquals(jar, cache.get("gamepack", "gamepack_1.jar"));
+		assertNull(cache.get("gamepack", "gamepack_2.jar"));
+	}
+
+	@Test
+	public void testReplaceRemovesPrevious() throws IOException
+	{
+		final ClientArtifactCache cache = new ClientArtifactCache(folder.newFolder());
+		final File first = cache.put("jav_config", null, FIRST);
+		cache.put("jav_config", null, SECOND);
+
+		assertFalse(first.exists());
+		assertArrayEquals(SECOND, cache.read("jav_config"));
+	}
+
+	@Test
+	public void testCorruptArtifactIsDiscarded() throws IOException
+	{
+		final File dir = folder.newFolder();
+		final File file = new ClientArtifactCache(dir).put("jav_config", null, FIRST);
+		Files.write(file.toPath(), SECOND);
+
+		final ClientArtifactCache cache = new ClientArtifactCache(dir);
+		assertNull(cache.read("jav_config"));
+		assertFalse(file.exists());
+	}
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2020, https://openosrs.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.ui.overlay.worldmap;
+
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+import net.runelite.api.coords.WorldPoint;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import org.junit.Test;
+
+public class WorldMapPointIndexTest
+{
+	@Test
+	public void testQueryMatchesScan()
+	{
+		Random random = new Random(42);
+		List<WorldMapPoint> points = new ArrayList<>();
+		for (int i = 0; i < 2000; i++)
+		{
+			// clumps of points on the same tile exercise the depth limit
+			int x = i % 100 == 0 ? 3200 : 2000 + random.nextInt(2000);
+			int y = i % 100 == 0 ? 3200 : 2500 + random.nextInt(1500);
+			points.add(new WorldMapPoint(new WorldPoint(x, y, 0), null));
+		}
+
+		WorldMapPointIndex index = new WorldMapPointIndex(points);
+		int[] out = new int[index.size()];
+
+		for (int q = 0; q < 200; q++)
+		{
+			int minX = 1900 + random.nextInt(2200), minY = 2400 + random.nextInt(1700);
+			int maxX = minX + random.nextInt(400), maxY = minY + random.nextInt(400);
+
+			int count = index.query(minX, minY, maxX, maxY, out);
+			assertArrayEquals(scan(points, minX, minY, maxX, maxY), Arrays.copyOf(out, count));
+		}
+
+		// the whole map is one fully contained node
+		assertEquals(points.size(), index.query(0, 0, 10000, 10000, out));
+	}
+
+	@Test
+	public void testEdgeSnappedAlwaysReturned()
+	{
+		WorldMapPoint inside = new WorldMapPoint(new WorldPoint(3200, 3200, 0), null);
+		WorldMapPoint outside = new WorldMapPoint(new WorldPoint(1000, 1000, 0), null);
+		WorldMapPoint snapped = new WorldMapPoint(new WorldPoint(1000, 1000, 0), null);
+		snapped.setSnapToEdge(true);
+		WorldMapPoint nowhere = new WorldMapPoint(null, null);
+
+		WorldMapPointIndex index = new WorldMapPointIndex(Arrays.asList(snapped, inside, nowhere, outside));
+		int[] out = new int[index.size()];
+		int count = index.query(3100, 3100, 3300, 3300, out);
+
+		// in insertion order, without the point that has no location
+		assertArrayEquals(new int[]{0, 1}, Arrays.copyOf(out, count));
+	}
+
+	@Test
+	public void testMaxImageSize()
+	{
+		WorldMapPoint small = new WorldMapPoint(new WorldPoint(3200, 3200, 0), new BufferedImage(10, 12, BufferedImage.TYPE_INT_ARGB));
+		WorldMapPoint large = new WorldMapPoint(new WorldPoint(3200, 3200, 0), new BufferedImage(30, 8, BufferedImage.TYPE_INT_ARGB));
+
+		assertEquals(30, new WorldMapPointIndex(Arrays.asList(small, large)).getMaxImageSize());
+		assertEquals(0, WorldMapPointIndex.EMPTY.getMaxImageSize());
+	}
+
+	@Test
+	public void testManagerRebuildsOnChange()
+	{
+		WorldMapPointManager manager = new WorldMapPointManager();
+		WorldMapPoint point = new WorldMapPoint(new WorldPoint(3200, 3200, 0), null);
+		manager.add(point);
+
+		WorldMapPointIndex index = manager.getIndex();
+		assertSame(index, manager.getIndex());
+
+		point.setWorldPoint(new WorldPoint(3201, 3200, 0));
+		index = assertRebuilt(manager, index);
+
+		point.setImage(new BufferedImage(20, 20, BufferedImage.TYPE_INT_ARGB));
+		index = assertRebuilt(manager, index);
+		assertEquals(20, index.getMaxImageSize());
+
+		point.setSnapToEdge(true);
+		index = assertRebuilt(manager, index);
+
+		// edge snapping points aren't located by the index
+		point.setWorldPoint(new WorldPoint(3300, 3300, 0));
+		assertSame(index, manager.getIndex());
+
+		manager.remove(point);
+		assertEquals(0, assertRebuilt(manager, index).size());
+	}
+
+	@Test
+	public void testManagersTrackedSeparately()
+	{
+		WorldMapPointManager first = new WorldMapPointManager();
+		WorldMapPointManager second = new WorldMapPointManager();
+		WorldMapPoint point = new WorldMapPoint(new WorldPoint(3200, 3200, 0), null);
+		first.add(point);
+		second.add(new WorldMapPoint(new WorldPoint(3200, 3200, 0), null));
+
+		WorldMapPointIndex firstIndex = first.getIndex();
+		WorldMapPointIndex secondIndex = second.getIndex();
+
+		point.setWorldPoint(new WorldPoint(3201, 3200, 0));
+		assertSame(secondIndex, second.getIndex());
+		assertRebuilt(first, firstIndex);
+	}
+
+	private static WorldMapPointIndex assertRebuilt(WorldMapPointManager manager, WorldMapPointIndex previous)
+	{
+		WorldMapPointIndex index = manager.getIndex();
+		assertNotSame(previous, index);
+		return index;
+	}
+
+	private static int[] scan(List<WorldMapPoint> points, int minX, int minY, int maxX, int maxY)
+	{
+		return IntStream.range(0, points.size())
+			.filter(i ->
+			{
+				WorldPoint p = points.get(i).getWorldPoint();
+				return p.getX() >= minX && p.getX() <= maxX && p.getY() >= minY && p.getY() <= maxY;
+			})
+			.toArray();
+	}
+}
@@ -24,6 +24,8 @@
  */
 package net.runelite.client.util;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import java.awt.Color;
 import static java.awt.Color.BLACK;
 import static java.awt.Color.BLUE;
@@ -40,6 +42,7 @@ import javax.annotation.Nonnull;
 import org.apache.commons.lang3.ArrayUtils;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import org.junit.Test;
 
@@ -263,6 +266,20 @@ public class ImageUtilTest
 		assertTrue(bufferedImagesEqual(expected, ImageUtil.fillImage(BLACK_PIXEL_TOP_LEFT, WHITE, ColorUtil::isFullyTransparent)));
 	}
 
+	@Test
+	public void recolorImage()
+	{
+		// fully transparent pixels fail the condition and are kept
+		final BufferedImage expected = new BufferedImage(CORNER_SIZE, CORNER_SIZE, BufferedImage.TYPE_INT_ARGB);
+		expected.setRGB(0, 0, GREEN.getRGB());
+		assertTrue(bufferedImagesEqual(expected, ImageUtil.recolorImage(BLACK_PIXEL_TOP_LEFT, GREEN, ColorUtil::isNotFullyTransparent)));
+
+		// recoloring in place keeps each pixel's alpha
+		final BufferedImage image = oneByOne(BLACK_HALF_TRANSPARENT);
+		assertSame(image, ImageUtil.recolorImage(image, WHITE));
+		assertTrue(bufferedImagesEqual(oneByOne(new Color(255, 255, 255, 128)), image));
+	}
+
 	@Test
 	public void outlineImage()
 	{
@@ -329,6 +346,41 @@ public class ImageUtilTest
 	 * @param actual   The second {@link BufferedImage} to be compared.
 	 * @return A boolean indicating whether the given {@link BufferedImage}s are of the same image data.
 	 */
+	@Test
+	public void sizeInBytes()
+	{
+		assertEquals(36 * 32 * 4, ImageUtil.sizeInBytes(new BufferedImage(36, 32, BufferedImage.TYPE_INT_ARGB)));
+		assertEquals(36 * 32 * 4, ImageUtil.sizeInBytes(new AsyncBufferedImage(36, 32, BufferedImage.TYPE_INT_ARGB)));
+		assertEquals(10 * 10 * 3, ImageUtil.sizeInBytes(new BufferedImage(10, 10, BufferedImage.TYPE_3BYTE_BGR)));
+		assertEquals(10 * 10 * 2, ImageUtil.sizeInBytes(new BufferedImage(10, 10, BufferedImage.TYPE_USHORT_565_RGB)));
+		assertEquals(10 * 10, ImageUtil.sizeInBytes(new BufferedImage(10, 10, BufferedImage.TYPE_BYTE_GRAY)));
+		// one bit per pixel, with each row padded to a whole byte
+		assertEquals(2 * 10, ImageUtil.sizeInBytes(new BufferedImage(10, 10, BufferedImage.TYPE_BYTE_BINARY)));
+	}
+
+	@Test
+	public void sizeInBytesWeigher()
+	{
+		// the weigher used by the item image, outline and sprite caches
+		final Cache<Integer, BufferedImage> cache = CacheBuilder.newBuilder()
+			.maximumWeight(1024 * 1024)
+			.weigher((Integer key, BufferedImage image) -> ImageUtil.sizeInBytes(image))
+			.build();
+
+		final int icon = 36 * 32 * 4;
+		for (int i = 0; i < 1024; i++)
+		{
+			cache.put(i, new BufferedImage(36, 32, BufferedImage.TYPE_INT_ARGB));
+		}
+		assertTrue(cache.size() <= 1024 * 1024 / icon);
+		assertTrue(cache.size() > 1024 * 1024 / icon / 2);
+
+		// a single large image displaces many icons
+		cache.put(-1, new BufferedImage(200, 200, BufferedImage.TYPE_INT_ARGB));
+		assertTrue(cache.asMap().containsKey(-1));
+		assertTrue(cache.size() <= (1024 * 1024 - 200 * 200 * 4) / icon + 1);
+	}
+
 	private boolean bufferedImagesEqual(final @Nonnull BufferedImage expected, final @Nonnull BufferedImage actual)
 	{
 		if (expected.getWidth() != actual.getWidth())
@@ -0,0 +1,283 @@
+/*
+ * Copyright (c) 2020, https://openosrs.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.processor;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * Writes an index of every class annotated with {@code @PluginDescriptor} to
+ * {@value #INDEX}, so the plugin manager can find plugins without loading
+ * every class on the class path.
+ * <p>
+ * The index is UTF-8 text with one plugin per line and tab separated fields:
+ * binary class name, name, type, enabledByDefault, hidden, developerPlugin,
+ * loadWhenOutdated, comma separated dependencies and the config interface
+ * provided by the plugin, if any. Lines starting with {@code #} are comments.
+ * <p>
+ * The annotations are matched by name, so this has no dependency on the client.
+ */
+@SupportedAnnotationTypes(PluginIndexProcessor.PLUGIN_DESCRIPTOR)
+public class PluginIndexProcessor extends AbstractProcessor
+{
+	/**
+	 * Must match {@code net.runelite.client.plugins.PluginIndex#INDEX}
+	 */
+	static final String INDEX = "META-INF/runelite/plugins.index";
+
+	static final String PLUGIN_DESCRIPTOR = "net.runelite.client.plugins.PluginDescriptor";
+	private static final String PLUGIN_DEPENDENCY = "net.runelite.client.plugins.PluginDependency";
+	private static final String PLUGIN_DEPENDENCIES = "net.runelite.client.plugins.PluginDependencies";
+	private static final String PLUGIN = "net.runelite.client.plugins.Plugin";
+	private static final String CONFIG = "net.runelite.client.config.Config";
+	private static final String PROVIDES = "com.google.inject.Provides";
+
+	private final Map<String, String> entries = new TreeMap<>();
+	private final List<Element> originatingElements = new ArrayList<>();
+
+	@Override
+	public SourceVersion getSupportedSourceVersion()
+	{
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv)
+	{
+		if (roundEnv.processingOver())
+		{
+			writeIndex();
+			return false;
+		}
+
+		final Elements elements = processingEnv.getElementUtils();
+		final TypeElement descriptor = elements.getTypeElement(PLUGIN_DESCRIPTOR);
+		if (descriptor == null)
+		{
+			return false;
+		}
+
+		for (Element element : roundEnv.getElementsAnnotatedWith(descriptor))
+		{
+			if (element.getKind() != ElementKind.CLASS)
+			{
+				continue;
+			}
+
+			final TypeElement type = (TypeElement) element;
+			if (!isPlugin(type))
+			{
+				processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+					"Class has a plugin descriptor, but is not a plugin", type);
+				continue;
+			}
+
+			entries.put(elements.getBinaryName(type).toString(), toEntry(type));
+			originatingElements.add(type);
+		}
+
+		return false;
+	}
+
+	private String toEntry(TypeElement type)
+	{
+		final Elements elements = processingEnv.getElementUtils();
+		final AnnotationMirror descriptor = getAnnotation(type, PLUGIN_DESCRIPTOR);
+
+		final StringJoiner entry = new StringJoiner("\t");
+		entry.add(elements.getBinaryName(type));
+		entry.add(sanitize((String) getValue(descriptor, "name")));
+		entry.add(((VariableElement) getValue(descriptor, "type")).getSimpleName());
+		entry.add(String.valueOf(getValue(descriptor, "enabledByDefault")));
+		entry.add(String.valueOf(getValue(descriptor, "hidden")));
+		entry.add(String.valueOf(getValue(descriptor, "developerPlugin")));
+		entry.add(String.valueOf(getValue(descriptor, "loadWhenOutdated")));
+
+		final StringJoiner dependencies = new StringJoiner(",");
+		for (AnnotationMirror dependency : getDependencies(type))
+		{
+			final TypeMirror value = (TypeMirror) getValue(dependency, "value");
+			dependencies.add(elements.getBinaryName((TypeElement) processingEnv.getTypeUtils().asElement(value)));
+		}
+		entry.add(dependencies.toString());
+
+		final TypeElement config = findConfig(type);
+		entry.add(config == null ? "" : elements.getBinaryName(config));
+
+		return entry.toString();
+	}
+
+	private boolean isPlugin(TypeElement type)
+	{
+		// the plugin manager only accepts direct subclasses
+		final TypeMirror superclass = type.getSuperclass();
+		if (superclass.getKind() != TypeKind.DECLARED)
+		{
+			return false;
+		}
+
+		final TypeElement element = (TypeElement) ((DeclaredType) superclass).asElement();
+		return element.getQualifiedName().contentEquals(PLUGIN);
+	}
+
+	private List<AnnotationMirror> getDependencies(TypeElement type)
+	{
+		final List<AnnotationMirror> dependencies = new ArrayList<>();
+
+		final AnnotationMirror single = getAnnotation(type, PLUGIN_DEPENDENCY);
+		if (single != null)
+		{
+			dependencies.add(single);
+		}
+
+		final AnnotationMirror container = getAnnotation(type, PLUGIN_DEPENDENCIES);
+		if (container != null)
+		{
+			@SuppressWarnings("unchecked") final List<? extends AnnotationValue> values =
+				(List<? extends AnnotationValue>) getValue(container, "value");
+			for (AnnotationValue value : values)
+			{
+				dependencies.add((AnnotationMirror) value.getValue());
+			}
+		}
+
+		return dependencies;
+	}
+
+	/**
+	 * Finds the config interface bound by a {@code @Provides} method of the plugin.
+	 */
+	private TypeElement findConfig(TypeElement type)
+	{
+		final TypeElement config = processingEnv.getElementUtils().getTypeElement(CONFIG);
+		if (config == null)
+		{
+			return null;
+		}
+
+		final Types types = processingEnv.getTypeUtils();
+		for (Element member : type.getEnclosedElements())
+		{
+			if (member.getKind() != ElementKind.METHOD || getAnnotation(member, PROVIDES) == null)
+			{
+				continue;
+			}
+
+			final TypeMirror returnType = ((ExecutableElement) member).getReturnType();
+			if (returnType.getKind() == TypeKind.DECLARED && types.isAssignable(returnType, config.asType()))
+			{
+				return (TypeElement) types.asElement(returnType);
+			}
+		}
+
+		return null;
+	}
+
+	private void writeIndex()
+	{
+		if (entries.isEmpty())
+		{
+			return;
+		}
+
+		try
+		{
+			final FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", INDEX,
+				originatingElements.toArray(new Element[0]));
+			try (Writer writer = new OutputStreamWriter(file.openOutputStream(), StandardCharsets.UTF_8))
+			{
+				writer.write("# class\tname\ttype\tenabledByDefault\thidden\tdeveloperPlugin\tloadWhenOutdated\tdependencies\tconfig\n");
+				for (String entry : entries.values())
+				{
+					writer.write(entry);
+					writer.write('\n');
+				}
+			}
+		}
+		catch (IOException ex)
+		{
+			processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Unable to write plugin index: " + ex);
+		}
+	}
+
+	private static AnnotationMirror getAnnotation(Element element, String name)
+	{
+		for (AnnotationMirror mirror : element.getAnnotationMirrors())
+		{
+			final TypeElement annotation = (TypeElement) mirror.getAnnotationType().asElement();
+			if (annotation.getQualifiedName().contentEquals(name))
+			{
+				return mirror;
+			}
+		}
+		return null;
+	}
+
+	private Object getValue(AnnotationMirror mirror, String name)
+	{
+		final Map<? extends ExecutableElement, ? extends AnnotationValue> values =
+			processingEnv.getElementUtils().getElementValuesWithDefaults(mirror);
+		for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : values.entrySet())
+		{
+			if (entry.getKey().getSimpleName().contentEquals(name))
+			{
+				return entry.getValue().getValue();
+			}
+		}
+		return null;
+	}
+
+	private static String sanitize(String value)
+	{
+		return value.replace('\t', ' ').replace('\n', ' ').replace('\r', ' ');
+	}
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2020, https://openosrs.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.processor;
+
+import com.google.testing.compile.Compilation;
+import static com.google.testing.compile.CompilationSubject.assertThat;
+import static com.google.testing.compile.Compiler.javac;
+import com.google.testing.compile.JavaFileObjects;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import org.junit.Test;
+
+public class PluginIndexProcessorTest
+{
+	/**
+	 * Minimal copies of the client types the processor looks up by name.
+	 */
+	private static final JavaFileObject[] CLIENT = {
+		JavaFileObjects.forSourceLines("net.runelite.client.plugins.Plugin",
+			"package net.runelite.client.plugins;",
+			"public abstract class Plugin {}"),
+		JavaFileObjects.forSourceLines("net.runelite.client.plugins.PluginType",
+			"package net.runelite.client.plugins;",
+			"public enum PluginType { PVM, UTILITY, UNCATEGORIZED }"),
+		JavaFileObjects.forSourceLines("net.runelite.client.plugins.PluginDescriptor",
+			"package net.runelite.client.plugins;",
+			"public @interface PluginDescriptor {",
+			"	String name();",
+			"	boolean enabledByDefault() default true;",
+			"	boolean hidden() default false;",
+			"	boolean developerPlugin() default false;",
+			"	boolean loadWhenOutdated() default false;",
+			"	PluginType type() default PluginType.UNCATEGORIZED;",
+			"}"),
+		JavaFileObjects.forSourceLines("net.runelite.client.plugins.PluginDependency",
+			"package net.runelite.client.plugins;",
+			"@java.lang.annotation.Repeatable(PluginDependencies.class)",
+			"public @interface PluginDependency { Class<? extends Plugin> value(); }"),
+		JavaFileObjects.forSourceLines("net.runelite.client.plugins.PluginDependencies",
+			"package net.runelite.client.plugins;",
+			"public @interface PluginDependencies { PluginDependency[] value(); }"),
+		JavaFileObjects.forSourceLines("net.runelite.client.config.Config",
+			"package net.runelite.client.config;",
+			"public interface Config {}"),
+		JavaFileObjects.forSourceLines("com.google.inject.Provides",
+			"package com.google.inject;",
+			"public @interface Provides {}"),
+	};
+
+	@Test
+	public void testIndex()
+	{
+		JavaFileObject foo = JavaFileObjects.forSourceLines("test.FooPlugin",
+			"package test;",
+			"import com.google.inject.Provides;",
+			"import net.runelite.client.plugins.*;",
+			"@PluginDescriptor(name = \"Foo\", type = PluginType.PVM, enabledByDefault = false, loadWhenOutdated = true)",
+			"@PluginDependency(BarPlugin.class)",
+			"@PluginDependency(BazPlugin.class)",
+			"public class FooPlugin extends Plugin {",
+			"	public interface FooConfig extends net.runelite.client.config.Config {}",
+			"	@Provides FooConfig provideConfig() { return null; }",
+			"	@Provides String provideOther() { return null; }",
+			"}");
+		JavaFileObject bar = JavaFileObjects.forSourceLines("test.BarPlugin",
+			"package test;",
+			"import net.runelite.client.plugins.*;",
+			"@PluginDescriptor(name = \"Bar\\tBar\", hidden = true, developerPlugin = true)",
+			"public class BarPlugin extends Plugin {}");
+		JavaFileObject baz = JavaFileObjects.forSourceLines("test.BazPlugin",
+			"package test;",
+			"import net.runelite.client.plugins.*;",
+			"@PluginDescriptor(name = \"Baz\", type = PluginType.UTILITY)",
+			"public class BazPlugin extends Plugin {}");
+
+		Compilation compilation = compile(foo, bar, baz);
+		assertThat(compilation).succeededWithoutWarnings();
+		assertThat(compilation)
+			.generatedFile(StandardLocation.CLASS_OUTPUT, "", PluginIndexProcessor.INDEX)
+			.contentsAsUtf8String()
+			.isEqualTo("# class\tname\ttype\tenabledByDefault\thidden\tdeveloperPlugin\tloadWhenOutdated\tdependencies\tconfig\n"
+				+ "test.BarPlugin\tBar Bar\tUNCATEGORIZED\ttrue\ttrue\ttrue\tfalse\t\t\n"
+				+ "test.BazPlugin\tBaz\tUTILITY\ttrue\tfalse\tfalse\tfalse\t\t\n"
+				+ "test.FooPlugin\tFoo\tPVM\tfalse\tfalse\tfalse\ttrue\ttest.BarPlugin,test.BazPlugin\ttest.FooPlugin$FooConfig\n");
+	}
+
+	@Test
+	public void testNotAPlugin()
+	{
+		JavaFileObject notAPlugin = JavaFileObjects.forSourceLines("test.NotAPlugin",
+			"package test;",
+			"import net.runelite.client.plugins.*;",
+			"@PluginDescriptor(name = \"Not a plugin\")",
+			"public class NotAPlugin {}");
+
+		Compilation compilation = compile(notAPlugin);
+		assertThat(compilation).succeeded();
+		assertThat(compilation).hadWarningContaining("not a plugin").inFile(notAPlugin);
+		assertThat(compilation).hadWarningCount(1);
+	}
+
+	@Test
+	public void testNoPlugins()
+	{
+		JavaFileObject other = JavaFileObjects.forSourceLines("test.Other",
+			"package test;",
+			"public class Other {}");
+
+		Compilation compilation = compile(other);
+		assertThat(compilation).succeededWithoutWarnings();
+		for (JavaFileObject file : compilation.generatedFiles())
+		{
+			if (file.getName().endsWith(PluginIndexProcessor.INDEX))
+			{
+				throw new AssertionError("Index written without any plugins");
+			}
+		}
+	}
+
+	private static Compilation compile(JavaFileObject... sources)
+	{
+		JavaFileObject[] all = new JavaFileObject[CLIENT.length + sources.length];
+		System.arraycopy(CLIENT, 0, all, 0, CLIENT.length);
+		System.arraycopy(sources, 0, all, CLIENT.length, sources.length);
+		return javac()
+			.withProcessors(new PluginIndexProcessor())
+			.compile(all);
+	}
+}
@@ -45,6 +45,7 @@ include(":runelite-mixins")
 include(":injected-client")
 include("injection-annotations")
 include(":runelite-plugin-archetype")
+include(":runelite-plugin-processor")
 include(":http-service")
 include(":http-service-openosrs")
 include(":wiki-scraper")